@@ -1,10 +1,11 @@
 package Main.Consoles;
 
+import Main.MVC.GameRandom;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Random;
 
 /**
  * Public class CustomPanel is used customise the levels based on the player choice such as level type, number of
@@ -137,7 +138,7 @@ public class CustomPanel extends JPanel implements ActionListener {
      */
     public CustomPanel(){
 
-        String[] balls = {"Default","1","2","3","4","5","6","7","8","9","10"};
+        String[] balls = {"Default","1","2","3","4","5","6","7","8","9","10","100","1000","5000"};
         String[] levelType = {"Default","True Ordered","Ordered (Max)","Ordered (Mid)","Ordered (Min)","Random (Min)","Random (Mid)","Random (Max)","True Random"};
         String[] brickRows = {"1","2","3","4","5","6","7","8","9","10"};
         String[] brickInRow = {"1","2","3","4","5","6","8","10","12","15"};
@@ -490,7 +491,7 @@ public class CustomPanel extends JPanel implements ActionListener {
         }
         else if(e.getSource()==randomise){
 
-            Random rnd = new Random();
+            GameRandom rnd = new GameRandom(GameRandom.newSeed());
             for(int i = 0; i < 5;i++){
                 choice[i][0] = rnd.nextInt(9);
                 choice[i][1] = rnd.nextInt(10);
@@ -95,7 +95,7 @@ public class DebugConsole extends JDialog {
              */
             @Override
             public void windowClosing(WindowEvent windowEvent) {
-                gameSounds.getBgm().stop();
+                gameSounds.pauseBgm();
             }
 
             /**
@@ -108,10 +108,13 @@ public class DebugConsole extends JDialog {
             public void windowActivated(WindowEvent windowEvent) {
                 setLocation();
                 debugPanel.enableButton(choice[gameBoard.getLevel()-1][11]==0);
-                Ball b = gameBoard.getBalls()[0];
+                debugPanel.updatePhysicsTime();
+                debugPanel.updateFrameTimes();
+                debugPanel.updateRewind();
+                Ball b = gameBoard.getBalls().get(0);
                 if(!b.isLost()) {
                     debugPanel.enableSlider(true);
-                    debugPanel.setValues(b.getSpeedX(), b.getSpeedY());
+                    debugPanel.setValues((int) b.getSpeedX(), (int) b.getSpeedY());
                 }
                 else {
                     debugPanel.enableSlider(false);
@@ -16,17 +16,27 @@ package Main.Consoles;
  *  You should have received a copy of the GNU General Public License
  *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
+import Main.MVC.FrameTimes;
 import Main.MVC.GameBoardController;
 import Main.MVC.GameEngine;
+import Main.MVC.GameRewind;
+import Main.MVC.GameSimulation;
+import Main.Replay.InputReplay;
 
 import javax.swing.*;
 import javax.swing.event.ChangeListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.io.IOException;
 
 /**
  * Public class DebugPanel is used to call methods to reset ball count, reset ball and player position, move to
- * previous or next level and set the ball movement speed.
+ * previous or next level and set the ball movement speed. The balls can also be switched between sequential and
+ * parallel movement, with the time taken to move the balls in the last update cycle shown to compare the two. A
+ * snapshot of the game can be saved and loaded again to jump back to the point where it was saved, and the rewind
+ * slider moves the game back to any update cycle of the last 60 seconds to resume the game from there. The frames
+ * can be switched between active and passive rendering and between Java2D and software rendering, with the times the
+ * last frames took to render and to reach the screen shown to compare them.
  *
  * @author TanZhunXian, Filippo Ranza
  * @version 1.0
@@ -55,6 +65,58 @@ public class DebugPanel extends JPanel {
     private final JButton resetBalls;
 
     private final JButton resetPosition;
+    /**
+     * JToggleButton to move the balls on several threads.
+     */
+    private final JToggleButton parallelPhysics;
+    /**
+     * JLabel to show the time taken to move the balls in the last update cycle.
+     */
+    private final JLabel physicsTime;
+    /**
+     * JButton to load the saved snapshot of the game.
+     */
+    private final JButton loadSnapshot;
+    /**
+     * The saved snapshot of the game, or null if no snapshot has been saved.
+     */
+    private byte[] quickSave;
+    /**
+     * The copy of the recording of the game taken with the saved snapshot, or null if the game is not recorded.
+     */
+    private InputReplay quickSaveReplay;
+    /**
+     * GameRewind which keeps the last seconds of the game, or null if a replay is watched.
+     */
+    private final GameRewind rewind;
+    /**
+     * JSlider to move the game back to an update cycle kept by the GameRewind.
+     */
+    private final JSlider rewindSlider;
+    /**
+     * JLabel to show how far back the game has been moved.
+     */
+    private final JLabel rewindTime;
+    /**
+     * GameEngine to switch the rendering mode of the frames.
+     */
+    private final GameEngine gameEngine;
+    /**
+     * JToggleButton to render the frames actively instead of through Swing repaints.
+     */
+    private final JToggleButton activeRendering;
+    /**
+     * JLabel to show the times the last frames took to reach the screen.
+     */
+    private final JLabel frameTime;
+    /**
+     * JToggleButton to render the frames by writing their pixels instead of through Java2D.
+     */
+    private final JToggleButton softwareRendering;
+    /**
+     * JLabel to show the time the last frames took to render.
+     */
+    private final JLabel renderTime;
 
     /**
      * This constructor is used to initialize the DebugPanel and add the JButtons and JSliders.
@@ -63,16 +125,40 @@ public class DebugPanel extends JPanel {
     public DebugPanel(GameEngine gameEngine){
 
         this.controller = gameEngine.getController();
+        this.gameEngine = gameEngine;
         initialize();
 
-        JButton skipLevel = makeButton("Skip Level", e -> controller.nextLevel(false));
-        JButton previousLevel = makeButton("Previous Level", e -> controller.previousLevel());
+        GameSimulation simulation = gameEngine.getSimulation();
+        JButton skipLevel = makeButton("Skip Level", e -> simulation.input(GameSimulation.NEXT_LEVEL,0));
+        JButton previousLevel = makeButton("Previous Level", e -> simulation.input(GameSimulation.PREVIOUS_LEVEL,0));
+
+        resetBalls = makeButton("Reset Balls", e -> simulation.input(GameSimulation.RESET_BALL_COUNT,0));
+        resetPosition = makeButton("Reset Position", e -> simulation.input(GameSimulation.RESET_BALLS,0));
+
+        ballXSpeed = makeSlider(e -> simulation.input(GameSimulation.SET_BALL_SPEED_X,ballXSpeed.getValue()));
+        ballYSpeed = makeSlider(e -> simulation.input(GameSimulation.SET_BALL_SPEED_Y,ballYSpeed.getValue()));
 
-        resetBalls = makeButton("Reset Balls", e -> controller.resetBallCount());
-        resetPosition = makeButton("Reset Position", e -> controller.ballReset());
+        parallelPhysics = new JToggleButton("Parallel Physics");
+        parallelPhysics.addActionListener(e -> controller.setParallelPhysics(parallelPhysics.isSelected()));
+        physicsTime = new JLabel("",SwingConstants.CENTER);
 
-        ballXSpeed = makeSlider(e -> gameEngine.getGameBoard().getBalls()[0].setSpeedX(ballXSpeed.getValue()));
-        ballYSpeed = makeSlider(e -> gameEngine.getGameBoard().getBalls()[0].setSpeedY(ballYSpeed.getValue()));
+        JButton saveSnapshot = makeButton("Save Snapshot", e -> saveSnapshot(simulation));
+        loadSnapshot = makeButton("Load Snapshot", e -> loadSnapshot(simulation));
+        saveSnapshot.setEnabled(gameEngine.getReplayPlayer() == null);
+        loadSnapshot.setEnabled(false);
+
+        rewind = gameEngine.getRewind();
+        rewindSlider = new JSlider(0,0);
+        rewindSlider.addChangeListener(e -> rewindTo(rewindSlider.getValue()));
+        rewindTime = new JLabel("",SwingConstants.CENTER);
+
+        activeRendering = new JToggleButton("Active Rendering");
+        activeRendering.addActionListener(e -> gameEngine.setActiveRendering(activeRendering.isSelected()));
+        frameTime = new JLabel("",SwingConstants.CENTER);
+
+        softwareRendering = new JToggleButton("Software Rendering");
+        softwareRendering.addActionListener(e -> gameEngine.setSoftwareRendering(softwareRendering.isSelected()));
+        renderTime = new JLabel("",SwingConstants.CENTER);
 
         this.add(skipLevel);
         this.add(resetBalls);
@@ -82,6 +168,21 @@ public class DebugPanel extends JPanel {
 
         this.add(ballXSpeed);
         this.add(ballYSpeed);
+
+        this.add(parallelPhysics);
+        this.add(physicsTime);
+
+        this.add(saveSnapshot);
+        this.add(loadSnapshot);
+
+        this.add(rewindSlider);
+        this.add(rewindTime);
+
+        this.add(activeRendering);
+        this.add(frameTime);
+
+        this.add(softwareRendering);
+        this.add(renderTime);
     }
 
     /**
@@ -89,7 +190,7 @@ public class DebugPanel extends JPanel {
      */
     private void initialize(){
         this.setBackground(DEF_BKG);
-        this.setLayout(new GridLayout(3,2));
+        this.setLayout(new GridLayout(8,2));
     }
 
     /**
@@ -112,7 +213,7 @@ public class DebugPanel extends JPanel {
      * @return This method returns a JSlider with the given min and max values which is assigned an action listener.
      */
     private JSlider makeSlider(ChangeListener e){
-        JSlider out = new JSlider(-4, 4);
+        JSlider out = new JSlider(-GameBoardController.MAX_BALL_SPEED, GameBoardController.MAX_BALL_SPEED);
         out.setMajorTickSpacing(1);
         out.setSnapToTicks(true);
         out.setPaintTicks(true);
@@ -139,4 +240,94 @@ public class DebugPanel extends JPanel {
         resetBalls.setEnabled(bool);
         resetPosition.setEnabled(bool);
     }
+
+    /**
+     * This method saves a snapshot of the game to be loaded later, together with a copy of the recording so far.
+     * @param simulation The game to take a snapshot of.
+     */
+    private void saveSnapshot(GameSimulation simulation){
+        quickSave = simulation.snapshot();
+        quickSaveReplay = simulation.getReplaySoFar();
+        loadSnapshot.setEnabled(true);
+    }
+
+    /**
+     * This method loads the saved snapshot back into the game. The recording of the game goes back to the copy taken
+     * with the snapshot, so the game is still recorded and its highscores can still be saved.
+     * @param simulation The game to restore the snapshot into.
+     */
+    private void loadSnapshot(GameSimulation simulation){
+        try {
+            simulation.restore(quickSave,quickSaveReplay);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * This method moves the game back to an update cycle kept by the GameRewind, unless the game is already there. If
+     * the update cycle was dropped as the game went on, the rewind slider is set again instead.
+     * @param index The index of the kept update cycle, counting from the oldest.
+     */
+    private void rewindTo(int index){
+        if(rewind == null || index == rewind.getPosition())
+            return;
+        try {
+            rewind.rewindTo(index);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        catch (IndexOutOfBoundsException e) {
+            updateRewind();
+            return;
+        }
+        showRewindTime();
+    }
+
+    /**
+     * This method sets the rewind slider to the update cycles kept by the GameRewind, with the knob at the update
+     * cycle the game is at. The slider is disabled if there is nothing to go back to.
+     */
+    public void updateRewind(){
+        if(rewind == null || rewind.size() < 2) {
+            rewindSlider.setEnabled(false);
+            rewindTime.setText("Rewind: -");
+            return;
+        }
+        rewindSlider.getModel().setRangeProperties(rewind.getPosition(),0,0,rewind.size()-1,false);
+        rewindSlider.setEnabled(true);
+        showRewindTime();
+    }
+
+    /**
+     * This method shows how many seconds of game time the game has been moved back.
+     */
+    private void showRewindTime(){
+        double seconds = (rewind.size() - 1 - rewind.getPosition()) / (double) controller.getTickRate();
+        rewindTime.setText(String.format("Rewind: -%.2f s",seconds));
+    }
+
+    /**
+     * This method shows the time taken to move the balls in the last update cycle and whether the balls are moved
+     * on several threads.
+     */
+    public void updatePhysicsTime(){
+        parallelPhysics.setSelected(controller.isParallelPhysics());
+        physicsTime.setText(String.format("Ball Physics: %.3f ms",controller.getPhysicsTime() / 1e6));
+    }
+
+    /**
+     * This method shows the times the last frames took to render and to reach the screen, the longest of them and how
+     * evenly the frames were paced, and whether the frames are rendered actively and by software.
+     */
+    public void updateFrameTimes(){
+        FrameTimes times = gameEngine.getFrameTimes();
+        activeRendering.setSelected(gameEngine.isActiveRendering());
+        softwareRendering.setSelected(gameEngine.isSoftwareRendering());
+        frameTime.setText(String.format("<html>Shown: %.2f ms, max %.2f ms<br>Jitter: %.2f ms</html>",
+                times.getAveragePresent() / 1e6,times.getMaxPresent() / 1e6,times.getJitter() / 1e6));
+        renderTime.setText(String.format("Frame: %.3f ms",times.getAverageRender() / 1e6));
+    }
 }
@@ -1,18 +1,24 @@
 package Main.MVC;
 
 import Main.Others.GameSounds;
+import Main.Replay.InputReplay;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
 
 /**
- * Public class BrickBreaker is responsible for loading in the GameEngine to start generating the game. The gamer timer
- * is also started and loops through update and draw cycles to simulate gameplay. Game listeners can be found here,
+ * Public class BrickBreaker is responsible for loading in the GameEngine to start generating the game. The game loop
+ * is also started and loops through fixed update cycles and draw cycles to simulate gameplay. Game listeners can be found here,
  * and they keep track of the key inputs and mouse inputs on the pause menu. The detection boxes for the pause menu
  * options are created here. The DebugConsole is also created here.
+ * <p>
+ * The game is shown either actively, by rendering each frame straight into a GameCanvas placed over the component, or
+ * passively, by asking Swing to repaint the component. The GameEngine decides which, and the mode can be switched
+ * while the game runs to compare the two. When rendering passively, only the area which has changed since the last
+ * frame is repainted.
  *
  * @author TanZhunXian
  * @version 1.0
@@ -21,9 +27,9 @@ import java.io.IOException;
 public class BrickBreaker extends JComponent {
 
     /**
-     * Timer to loop through update and draw cycles.
+     * GameLoop to loop through update and draw cycles.
      */
-    private Timer gameTimer;
+    private final GameLoop gameLoop;
     /**
      * GameEngine to get the results of user inputs.
      */
@@ -32,49 +38,86 @@ public class BrickBreaker extends JComponent {
      * The dimensions of the game screen to draw the pause menu.
      */
     private final Dimension area;
+    /**
+     * GameCanvas the frames are rendered into when rendering actively.
+     */
+    private GameCanvas canvas;
+    /**
+     * The time the last repaint was asked for when rendering passively, or 0 if it has been painted.
+     */
+    private long requested = 0;
 
     /**
-     * This constructor is used to start the game by calling the GameEngine. The game timer is also started to start the
+     * This constructor is used to start the game by calling the GameEngine. The game loop is also started to start the
      * update and draw cycles. Game listeners are also added to keep track and respond to user inputs. The DebugConsole
      * is also loaded in.
      * @param owner The JFrame screen used to center the DebugConsole and the game.
      * @param choice The custom choice of the player in customising the game levels.
      * @param gameSounds The BGM and sound effects of the game.
      * @param area The area of the game screen to draw the pause menu.
+     * @param tickRate The number of update cycles in one second.
      * @throws IOException This constructor throws IOException if game background image is not found.
      */
-    public BrickBreaker(JFrame owner, int[][] choice, GameSounds gameSounds, Dimension area) throws IOException {
+    public BrickBreaker(JFrame owner, int[][] choice, GameSounds gameSounds, Dimension area, int tickRate) throws IOException {
         super();
         this.area = area;
-        GameEngine engine = new GameEngine(owner,choice,gameSounds,area);
-        this.engine = engine;
+        this.engine = new GameEngine(owner,choice,gameSounds,area,tickRate);
         this.initialize();
 
-        gameTimer = new Timer(10,e ->{
-            try {
-                engine.update();
-            }
-            catch (FileNotFoundException ex) {
-                ex.printStackTrace();
-            }
+        gameLoop = new GameLoop(engine,this::present,tickRate);
+        gameLoop.start();
+    }
+
+    /**
+     * This constructor is used to watch a replay in real time. The game is created from the replay and the game loop
+     * feeds the inputs of the replay into the game at the tick rate of the replay.
+     * @param owner The JFrame screen used to center the DebugConsole and the game.
+     * @param replay The replay to be watched.
+     * @param gameSounds The BGM and sound effects of the game.
+     * @throws IOException This constructor throws IOException if game background image is not found.
+     */
+    public BrickBreaker(JFrame owner, InputReplay replay, GameSounds gameSounds) throws IOException {
+        super();
+        this.area = replay.getArea();
+        this.engine = new GameEngine(owner,replay,gameSounds);
+        this.initialize();
+
+        gameLoop = new GameLoop(engine,this::present,replay.getTickRate());
+        gameLoop.start();
+    }
 
-            repaint();
+    /**
+     * This constructor is used to resume a game from its last checkpoint. The game is created from the checkpoint and
+     * the game loop goes on at the tick rate of the game.
+     * @param owner The JFrame screen used to center the DebugConsole and the game.
+     * @param snapshot The snapshot of the checkpoint.
+     * @param replay The recording of the game up to the checkpoint.
+     * @param gameSounds The BGM and sound effects of the game.
+     * @throws IOException This constructor throws IOException if game background image is not found, or if the
+     *                     checkpoint cannot be resumed.
+     */
+    public BrickBreaker(JFrame owner, byte[] snapshot, InputReplay replay, GameSounds gameSounds) throws IOException {
+        super();
+        this.area = replay.getArea();
+        this.engine = new GameEngine(owner,snapshot,replay,gameSounds);
+        this.initialize();
 
-            if(engine.getGameBoard().isEnded())
-                gameTimer.stop();
-        });
-        gameTimer.start();
+        gameLoop = new GameLoop(engine,this::present,replay.getTickRate());
+        gameLoop.start();
     }
 
     /**
-     * This method is used to add listeners to the JFrame to receive player inputs for the game.
+     * This method is used to add listeners to the JFrame to receive player inputs for the game. The same listeners are
+     * added to the GameCanvas, which receives the inputs while the game is rendered actively.
      */
     private void initialize() {
         this.setPreferredSize(area);
+        this.setLayout(new BorderLayout());
         this.setFocusable(true);
         this.requestFocusInWindow();
+        canvas = new GameCanvas(engine,area);
 
-        this.addKeyListener(new KeyAdapter() {
+        KeyListener keyListener = new KeyAdapter() {
 
             /**
              * This method is used to respond to the key inputs by the player.
@@ -93,9 +136,9 @@ public class BrickBreaker extends JComponent {
             public void keyReleased(KeyEvent keyEvent) {
                 engine.handleReleaseEvent();
             }
-        });
+        };
 
-        this.addMouseListener(new MouseAdapter() {
+        MouseListener mouseListener = new MouseAdapter() {
             /**
              * This mouse listener is called when the mouse is clicked and relevant events are loaded if the pause
              * menu is loaded and the mouse is inside a button.
@@ -105,9 +148,9 @@ public class BrickBreaker extends JComponent {
             public void mouseClicked(MouseEvent mouseEvent) {
                 engine.handleMouseClick(mouseEvent);
             }
-        });
+        };
 
-        this.addMouseMotionListener(new MouseMotionAdapter() {
+        MouseMotionListener mouseMotionListener = new MouseMotionAdapter() {
             /**
              * This mouse motion listener is called when the mouse is moved and the mouse cursor is changed to
              * hand cursor if the mouse cursor is inside a button in the pause menu.
@@ -117,17 +160,61 @@ public class BrickBreaker extends JComponent {
             public void mouseMoved(MouseEvent mouseEvent) {
                 engine.handleMouseMotion(mouseEvent);
             }
-        });
+        };
+
+        for(Component screen : new Component[]{this,canvas}) {
+            screen.addKeyListener(keyListener);
+            screen.addMouseListener(mouseListener);
+            screen.addMouseMotionListener(mouseMotionListener);
+        }
+    }
+
+    /**
+     * This method is called by the game loop after every frame to show the game on the screen. When rendering
+     * actively, the frame is rendered into the GameCanvas at once. When rendering passively, Swing is asked to
+     * repaint each area of the component which has changed. The GameCanvas is put over the component or taken away
+     * when the mode has been switched, and the whole component is repainted when the GameCanvas is taken away.
+     */
+    private void present() {
+        boolean active = engine.isActiveRendering();
+        if(active != (canvas.getParent() == this)) {
+            if(active)
+                this.add(canvas,BorderLayout.CENTER);
+            else
+                this.remove(canvas);
+            this.validate();
+            (active ? canvas : this).requestFocusInWindow();
+            if(!active)
+                this.repaint();
+        }
+        if(active)
+            canvas.present(gameLoop.getAlpha());
+        else {
+            List<Rectangle> dirty = engine.getDirtyRegions();
+            if(dirty.isEmpty())
+                return;
+            if(requested == 0)
+                requested = System.nanoTime();
+            for(Rectangle region : dirty)
+                this.repaint(region);
+        }
     }
 
     /**
-     * This method is used to draw the graphics for the entire game. The game renderer is called from here to render
-     * the game. The detection boxes for the pause menu options are also drawn here.
+     * This method is used to draw the graphics for the entire game when rendering passively. The game renderer is
+     * called from here to render the game, and only draws the area inside the clip of the graphics, which Swing sets
+     * to the areas asked to be repainted. The detection boxes for the pause menu options are also drawn here. The time
+     * since the repaint was asked for is measured. Nothing is drawn while the GameCanvas covers the component.
      * @param g This parameter is used to get the graphics to draw the game.
      */
     public void paint(Graphics g) {
-        engine.render(g);
+        if(canvas.getParent() == this)
+            return;
+        long started = System.nanoTime();
+        engine.render(g,gameLoop.getAlpha());
         Toolkit.getDefaultToolkit().sync();
+        engine.getFrameTimes().record(requested == 0 ? started : requested,started,System.nanoTime());
+        requested = 0;
     }
 
     /**
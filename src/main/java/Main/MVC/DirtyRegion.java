@@ -0,0 +1,262 @@
+package Main.MVC;
+
+import Main.Models.Ball;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
+import Main.Models.Player;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Public class DirtyRegion finds the areas of the game screen which have changed since the last frame, so the screen
+ * can be repainted only where needed. There is a rectangle for each ball, the player and the power up, covering where
+ * they were and where they are, for each line of the game messages which has changed and for each brick which has
+ * been broken, repaired or cracked. Only the rectangles which overlap are merged, so changes far apart on the screen
+ * do not make the whole area between them repainted. It also holds where the game messages are drawn, so the
+ * renderers and the areas found always agree.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class DirtyRegion {
+
+    /**
+     * The x coordinate the game messages are drawn from.
+     */
+    public static final int MESSAGE_X = 210;
+    /**
+     * The distance between the lines of the game messages.
+     */
+    public static final int MESSAGE_SPACING = 15;
+    /**
+     * The number of lines of the game messages.
+     */
+    private static final int MESSAGE_LINES = 6;
+    /**
+     * The number of balls in play above which the balls are covered by one rectangle, as thousands of balls can be in
+     * play and they would cover most of the screen anyway.
+     */
+    private static final int MAX_BALLS = 32;
+    /**
+     * The share of the screen covered by the changed areas above which the whole screen is repainted instead, as one
+     * large repaint then costs less than many small ones.
+     */
+    private static final double FULL_SHARE = 0.5;
+
+    /**
+     * GameBoard to get the positions of the balls, player, power up, game messages and bricks.
+     */
+    private final GameBoard gameBoard;
+    /**
+     * Dimensions of the game screen, which the areas found are kept inside.
+     */
+    private final Dimension area;
+    /**
+     * The areas covered by the balls, player, power up and pause menu when the dirty regions were last found, which
+     * have to be repainted again to clear them.
+     */
+    private List<Rectangle> drawn = new ArrayList<>();
+    /**
+     * The level when the dirty regions were last found, or 0 if the whole screen is to be repainted.
+     */
+    private int drawnLevel = 0;
+    /**
+     * The characters of the game messages when the dirty regions were last found.
+     */
+    private final char[][] shownMessages = new char[MESSAGE_LINES][0];
+    /**
+     * The lengths of the game messages when the dirty regions were last found, which are 0 if they were not shown.
+     */
+    private final int[] shownLengths = new int[MESSAGE_LINES];
+
+    /**
+     * This constructor creates the finder of the changed areas of a game.
+     * @param gameBoard GameBoard to get the positions of the balls, player, power up, game messages and bricks.
+     * @param area Dimensions of the game screen.
+     */
+    public DirtyRegion(GameBoard gameBoard, Dimension area) {
+        this.gameBoard = gameBoard;
+        this.area = area;
+    }
+
+    /**
+     * This method finds the areas of the screen which have changed since it was last called. The balls, player and
+     * power up are each covered from their last positions to their current positions, so they are held whatever
+     * fraction of the update cycle they are drawn at, together with the areas they covered before. The lines of the
+     * game messages which have changed, the bricks which have changed and their borders are also covered. The whole
+     * screen has changed when the pause menu is shown or hidden, the level has changed or the region has been reset.
+     * The bricks must be checked before the renderer clears their changes.
+     * @return The areas which have changed are returned, which do not overlap and are none if nothing has changed.
+     */
+    public List<Rectangle> find() {
+        int level = gameBoard.getLevel();
+        List<Rectangle> moving = new ArrayList<>();
+        if(gameBoard.isShowPauseMenu())
+            moving.add(new Rectangle(area));
+        else {
+            addBalls(gameBoard.getBalls(),moving);
+
+            Player player = gameBoard.getPlayer();
+            Rectangle face = player.getPlayerFace().getBounds();
+            Rectangle before = new Rectangle(face);
+            before.translate((int) Math.floor(player.getPreviousX() - player.getX()),
+                    (int) Math.floor(player.getPreviousY() - player.getY()));
+            face.add(before);
+            moving.add(face);
+
+            if(!gameBoard.getPowerUp().isCollected() && gameBoard.getPowerUp().isSpawned())
+                moving.add(gameBoard.getPowerUp().getPowerUp().getBounds());
+            for(Rectangle region : moving)
+                region.grow(2,2);
+        }
+
+        List<Rectangle> dirty = new ArrayList<>(moving);
+        dirty.addAll(drawn);
+        addMessages(dirty);
+        BrickStore bricks = gameBoard.getBricks()[level-1];
+        if(level != drawnLevel) {
+            dirty.clear();
+            dirty.add(new Rectangle(area));
+        }
+        else {
+            for(int i = bricks.nextChanged(0); i >= 0; i = bricks.nextChanged(i + 1))
+                dirty.add(new Rectangle(bricks.getX(i) - 1,bricks.getY(i) - 1,bricks.getWidth(i) + 3,bricks.getHeight(i) + 3));
+        }
+        drawn = moving;
+        drawnLevel = level;
+        return merge(dirty);
+    }
+
+    /**
+     * This method makes the next areas found cover the whole screen, for when the screen has been drawn by something
+     * else in between.
+     */
+    public void reset() {
+        drawnLevel = 0;
+    }
+
+    /**
+     * This method merges the changed areas which overlap, keeping them inside the screen. If the merged areas cover
+     * more than a share of the screen, the whole screen is returned instead.
+     * @param regions This parameter holds the changed areas.
+     * @return The merged areas are returned, which do not overlap.
+     */
+    private List<Rectangle> merge(List<Rectangle> regions){
+
+        Rectangle screen = new Rectangle(area);
+        List<Rectangle> merged = new ArrayList<>();
+        for(Rectangle region : regions) {
+            Rectangle next = region.intersection(screen);
+            if(next.isEmpty())
+                continue;
+            for(int i = 0; i < merged.size(); i++) {
+                if(merged.get(i).intersects(next)) { //the grown area may now overlap areas already passed
+                    next.add(merged.remove(i));
+                    i = -1;
+                }
+            }
+            merged.add(next);
+        }
+        long covered = 0;
+        for(Rectangle region : merged)
+            covered += (long) region.width * region.height;
+        if(covered > area.width * area.height * FULL_SHARE) {
+            merged.clear();
+            merged.add(screen);
+        }
+        return merged;
+    }
+
+    /**
+     * This method adds the areas the balls in play move across in the last update cycle. Each ball has its own area,
+     * unless more than MAX_BALLS are in play, when one area is found for all of them without creating a rectangle for
+     * each ball.
+     * @param balls This parameter holds the pool of balls.
+     * @param regions This parameter holds the areas the balls are added to.
+     */
+    private void addBalls(BallPool balls, List<Rectangle> regions){
+
+        if(balls.getActive() == 0)
+            return;
+        double r = GameBoard.BALL_DIAMETER / 2.0 + 1;
+        if(balls.getActive() <= MAX_BALLS) {
+            for(int i = 0; i < balls.getActive(); i++) {
+                Ball ball = balls.get(i);
+                double x = ball.getX(), y = ball.getY();
+                double previousX = ball.getPreviousX(), previousY = ball.getPreviousY();
+                regions.add(cover(Math.min(x,previousX) - r,Math.min(y,previousY) - r,
+                        Math.max(x,previousX) + r,Math.max(y,previousY) + r));
+            }
+            return;
+        }
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            minX = Math.min(minX,Math.min(ball.getX(),ball.getPreviousX()));
+            minY = Math.min(minY,Math.min(ball.getY(),ball.getPreviousY()));
+            maxX = Math.max(maxX,Math.max(ball.getX(),ball.getPreviousX()));
+            maxY = Math.max(maxY,Math.max(ball.getY(),ball.getPreviousY()));
+        }
+        regions.add(cover(minX - r,minY - r,maxX + r,maxY + r));
+    }
+
+    /**
+     * This method creates the smallest rectangle of whole pixels covering an area.
+     * @param minX This parameter is the left side of the area.
+     * @param minY This parameter is the top side of the area.
+     * @param maxX This parameter is the right side of the area.
+     * @param maxY This parameter is the bottom side of the area.
+     * @return The rectangle covering the area is returned.
+     */
+    private static Rectangle cover(double minX, double minY, double maxX, double maxY){
+
+        int x = (int) Math.floor(minX);
+        int y = (int) Math.floor(minY);
+        return new Rectangle(x,y,(int) Math.ceil(maxX) - x,(int) Math.ceil(maxY) - y);
+    }
+
+    /**
+     * This method adds an area for each line of the game messages which has changed since the dirty regions were last
+     * found, and keeps a copy of the lines to find the next changes. The lines are all hidden when the first line is
+     * empty.
+     * @param regions This parameter holds the areas the changed lines are added to.
+     */
+    private void addMessages(List<Rectangle> regions){
+
+        int y = getMessageArea().y;
+        boolean shown = gameBoard.getGameMessage(0).length() != 0;
+        for(int i = 0; i < MESSAGE_LINES; i++) {
+            GameMessage message = gameBoard.getGameMessage(i);
+            int length = shown ? message.length() : 0;
+            if(length == shownLengths[i] && Arrays.equals(message.getChars(),0,length,shownMessages[i],0,length))
+                continue;
+            regions.add(new Rectangle(MESSAGE_X,y + i * MESSAGE_SPACING,area.width - MESSAGE_X,23));
+            if(shownMessages[i].length < length)
+                shownMessages[i] = new char[message.getChars().length];
+            System.arraycopy(message.getChars(),0,shownMessages[i],0,length);
+            shownLengths[i] = length;
+        }
+    }
+
+    /**
+     * This method returns the baseline of the first line of the game messages, which depends on whether the player
+     * is at the bottom or the top of the screen.
+     * @return The y coordinate of the baseline is returned.
+     */
+    public int getMessageY(){
+        return gameBoard.getChoice()[gameBoard.getLevel()-1][9]==0 ? 225 : 150;
+    }
+
+    /**
+     * This method returns the area the game messages are drawn in.
+     * @return The area of the game messages is returned.
+     */
+    public Rectangle getMessageArea(){
+        return new Rectangle(MESSAGE_X,getMessageY() - 20,area.width - MESSAGE_X,(MESSAGE_LINES - 1) * MESSAGE_SPACING + 28);
+    }
+}
@@ -0,0 +1,129 @@
+package Main.MVC;
+
+/**
+ * Public class FrameTimes measures how the frames of the game reach the screen, so the active and passive rendering
+ * modes can be compared in the DebugConsole. For each of the last frames, it keeps the time taken to render the frame,
+ * the time from the game loop asking for the frame until it was shown, and the time since the frame before was shown.
+ * The spread of the times between frames shows how evenly the frames are paced.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class FrameTimes {
+
+    /**
+     * The number of frames kept, which is about a second of frames.
+     */
+    private static final int FRAMES = 120;
+
+    /**
+     * The times taken to render the frames in nanoseconds.
+     */
+    private final long[] render = new long[FRAMES];
+    /**
+     * The times from asking for the frames until they were shown in nanoseconds.
+     */
+    private final long[] present = new long[FRAMES];
+    /**
+     * The times between the frames being shown in nanoseconds.
+     */
+    private final long[] interval = new long[FRAMES];
+    /**
+     * The number of frames recorded so far.
+     */
+    private long count = 0;
+    /**
+     * The time the last frame was shown, or 0 if no frame has been shown.
+     */
+    private long lastShown = 0;
+
+    /**
+     * This method records a frame which has been shown.
+     * @param requested The time the game loop asked for the frame.
+     * @param started The time the frame started to be rendered.
+     * @param shown The time the frame was shown.
+     */
+    public void record(long requested, long started, long shown) {
+        int slot = (int) (count % FRAMES);
+        render[slot] = shown - started;
+        present[slot] = shown - requested;
+        interval[slot] = lastShown == 0 ? 0 : shown - lastShown;
+        lastShown = shown;
+        count++;
+    }
+
+    /**
+     * This method clears the recorded frames, so the frames of another rendering mode are not mixed in.
+     */
+    public void clear() {
+        count = 0;
+        lastShown = 0;
+    }
+
+    /**
+     * This method returns the number of frames kept.
+     * @return The number of frames kept is returned.
+     */
+    public int size() {
+        return (int) Math.min(count,FRAMES);
+    }
+
+    /**
+     * This method returns the average time taken to render the kept frames.
+     * @return The average time in nanoseconds is returned, or 0 if no frame is kept.
+     */
+    public long getAverageRender() {
+        return average(render,0);
+    }
+
+    /**
+     * This method returns the average time from asking for the kept frames until they were shown.
+     * @return The average time in nanoseconds is returned, or 0 if no frame is kept.
+     */
+    public long getAveragePresent() {
+        return average(present,0);
+    }
+
+    /**
+     * This method returns the longest time from asking for a kept frame until it was shown.
+     * @return The longest time in nanoseconds is returned, or 0 if no frame is kept.
+     */
+    public long getMaxPresent() {
+        long max = 0;
+        for(int i = 0; i < size(); i++)
+            max = Math.max(max,present[i]);
+        return max;
+    }
+
+    /**
+     * This method returns how far the times between the kept frames spread from their average, which is 0 if the
+     * frames are shown at an even pace.
+     * @return The standard deviation of the times between the frames in nanoseconds is returned.
+     */
+    public long getJitter() {
+        int first = count > FRAMES ? 0 : 1; //the first frame has no frame before it
+        long mean = average(interval,first);
+        double sum = 0;
+        int frames = 0;
+        for(int i = first; i < size(); i++) {
+            double d = interval[i] - mean;
+            sum += d * d;
+            frames++;
+        }
+        return frames == 0 ? 0 : (long) Math.sqrt(sum / frames);
+    }
+
+    /**
+     * This method returns the average of the kept values of a time.
+     * @param times The values of the time.
+     * @param first The slot of the first value to be counted.
+     * @return The average of the values is returned, or 0 if there are none.
+     */
+    private long average(long[] times, int first) {
+        long sum = 0;
+        for(int i = first; i < size(); i++)
+            sum += times[i];
+        return size() <= first ? 0 : sum / (size() - first);
+    }
+}
@@ -1,7 +1,7 @@
 package Main.MVC;
 
-import Main.Models.Ball;
-import Main.Models.Brick;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
 import Main.Models.GodModePowerUp;
 import Main.Models.Player;
 import Main.Others.LevelGeneration;
@@ -34,9 +34,13 @@ public class GameBoard {
      */
     public static final int POWER_UP_DIAMETER = 20;
     /**
-     * This is the double array of Bricks to hold the bricks generated for all 5 levels.
+     * The number of balls for each ball count option in the CustomConsole. The first option is the default.
      */
-    private final Brick[][][] bricks;
+    private static final int[] BALL_COUNTS = {3,1,2,3,4,5,6,7,8,9,10,100,1000,5000};
+    /**
+     * This is the array of BrickStores to hold the bricks generated for all 5 levels.
+     */
+    private final BrickStore[] bricks;
     /**
      * Double array of integer to record player scores and times.
      */
@@ -50,9 +54,9 @@ public class GameBoard {
      */
     private final Player player;
     /**
-     * This is the ball used in the game.
+     * This is the pool of balls used in the game.
      */
-    private final Ball[] balls;
+    private final BallPool balls;
     /**
      * This is the power up in the game.
      */
@@ -83,9 +87,13 @@ public class GameBoard {
      */
     private int powerUpSpawns = 0;
     /**
-     * This is the current start time used to count in-game time.
+     * This is the update cycle at which the current second of in-game time started.
      */
     private int startTime = 0;
+    /**
+     * This is the number of update cycles processed while the game is running.
+     */
+    private int tick = 0;
 
     /**
      * This is the flag to signal if pause menu is loaded.
@@ -109,9 +117,30 @@ public class GameBoard {
      */
     private Point playerStartPoint = new Point(0,0);
     /**
-     * This is the String array to hold the game messages.
+     * This is the array to hold the game messages. Each message keeps its text in a reusable char buffer so that the
+     * messages can be updated and rendered without creating Strings.
      */
-    private final String[] gameMessages;
+    private final GameMessage[] gameMessages;
+    /**
+     * This is the seed of the game. Games with the same seed, choices and player actions play the same.
+     */
+    private final long seed;
+    /**
+     * This is the randomizer for the speeds of new balls.
+     */
+    private final GameRandom ballRandom;
+    /**
+     * This is the randomizer for the positions of the power up.
+     */
+    private final GameRandom powerUpRandom;
+    /**
+     * This is the randomizer for the chance of a brick taking damage.
+     */
+    private final GameRandom impactRandom;
+    /**
+     * This is the randomizer for the paths of the cracks of the bricks.
+     */
+    private final GameRandom crackRandom;
 
     /**
      * This constructor loads in the game entities such as bricks, ball and player. The score and time are also
@@ -120,22 +149,41 @@ public class GameBoard {
      * @param area The area of the game screen used to spawn the game entities.
      */
     public GameBoard(int[][] choice,Dimension area) {
+        this(choice,area,GameRandom.newSeed());
+    }
+
+    /**
+     * This constructor loads in the game entities with randomizers split from the given seed, so that games with the
+     * same seed are the same. The level generation, new balls, power up, brick damage and cracks each draw from their
+     * own randomizer, so using one of them more often does not change the values of the others.
+     * @param choice The choices of the player in the custom console to create the custom levels.
+     * @param area The area of the game screen used to spawn the game entities.
+     * @param seed The seed of the game.
+     */
+    public GameBoard(int[][] choice,Dimension area,long seed) {
         this.choice = choice;
+        this.seed = seed;
+        GameRandom random = new GameRandom(seed);
+        GameRandom levelRandom = random.split();
+        ballRandom = random.split();
+        powerUpRandom = random.split();
+        impactRandom = random.split();
+        crackRandom = random.split();
         player = new Player(new Point(area.width/2,area.height-20),150,10,area);
         powerUp = new GodModePowerUp(new Point(area.width/2,area.height/2),POWER_UP_DIAMETER);
-        bricks = (new LevelGeneration(choice,area,LEVELS_COUNT)).makeCustomLevels(new Rectangle(0,0,area.width,area.height));
+        bricks = (new LevelGeneration(choice,area,LEVELS_COUNT,levelRandom)).makeCustomLevels(new Rectangle(0,0,area.width,area.height));
         scoreAndTime = new int[LEVELS_COUNT+1][2];
-        gameMessages = new String[6];
-        balls = new Ball[10];
-        for(int i = 0; i < 10; i++)
-            balls[i] = new Ball(new Point(area.width/2,area.height-20),BALL_DIAMETER);
+        gameMessages = new GameMessage[6];
+        for(int i = 0; i < gameMessages.length; i++)
+            gameMessages[i] = new GameMessage();
+        balls = new BallPool(10,new Point(area.width/2,area.height-20),BALL_DIAMETER);
     }
 
     /**
-     * This method returns the double array of Bricks.
-     * @return The double array of Bricks is returned.
+     * This method returns the array of BrickStores holding the bricks of each level.
+     * @return The array of BrickStores is returned.
      */
-    public Brick[][][] getBricks() {
+    public BrickStore[] getBricks() {
         return bricks;
     }
     /**
@@ -146,12 +194,55 @@ public class GameBoard {
         return player;
     }
     /**
-     * This method returns the ball.
-     * @return The ball is returned.
+     * This method returns the seed of the game.
+     * @return The seed of the game is returned.
+     */
+    public long getSeed() {
+        return seed;
+    }
+    /**
+     * This method returns the randomizer for the speeds of new balls.
+     * @return The randomizer for the speeds of new balls is returned.
+     */
+    public GameRandom getBallRandom() {
+        return ballRandom;
+    }
+    /**
+     * This method returns the randomizer for the positions of the power up.
+     * @return The randomizer for the positions of the power up is returned.
+     */
+    public GameRandom getPowerUpRandom() {
+        return powerUpRandom;
+    }
+    /**
+     * This method returns the randomizer for the chance of a brick taking damage.
+     * @return The randomizer for the chance of a brick taking damage is returned.
+     */
+    public GameRandom getImpactRandom() {
+        return impactRandom;
+    }
+    /**
+     * This method returns the randomizer for the paths of the cracks of the bricks.
+     * @return The randomizer for the paths of the cracks of the bricks is returned.
      */
-    public Ball[] getBalls() {
+    public GameRandom getCrackRandom() {
+        return crackRandom;
+    }
+    /**
+     * This method returns the pool of balls.
+     * @return The pool of balls is returned.
+     */
+    public BallPool getBalls() {
         return balls;
     }
+    /**
+     * This method returns the number of balls for a ball count option in the CustomConsole.
+     * @param option The ball count option.
+     * @return The number of balls for the option is returned.
+     */
+    public static int getBallCountOption(int option) {
+        return BALL_COUNTS[option];
+    }
     /**
      * This method returns the choices of the player in the CustomConsole.
      * @return The choices of the player in the CustomConsole is returned.
@@ -311,19 +402,33 @@ public class GameBoard {
         this.powerUpSpawns = powerUpSpawns;
     }
     /**
-     * This method returns the start time of the game.
-     * @return The start time of the game is returned.
+     * This method returns the update cycle at which the current second of in-game time started.
+     * @return The update cycle at which the current second started is returned.
      */
     public int getStartTime() {
         return startTime;
     }
     /**
-     * This method changes the start time of the game.
-     * @param startTime This is the new start time of the game.
+     * This method changes the update cycle at which the current second of in-game time started.
+     * @param startTime This is the new update cycle at which the current second started.
      */
     public void setStartTime(int startTime) {
         this.startTime = startTime;
     }
+    /**
+     * This method returns the number of update cycles processed while the game is running.
+     * @return The number of update cycles processed is returned.
+     */
+    public int getTick() {
+        return tick;
+    }
+    /**
+     * This method changes the number of update cycles processed while the game is running.
+     * @param tick This is the new number of update cycles processed.
+     */
+    public void setTick(int tick) {
+        this.tick = tick;
+    }
     /**
      * This method returns the ball lost flag.
      * @return The ball lost flag is returned.
@@ -383,17 +488,28 @@ public class GameBoard {
     /**
      * This method returns the message specified with the code.
      * @param num The code of the message to be returned.
-     * @return The message specified with the code is returned.
+     * @return The message specified with the code is returned, or null if the message is empty.
      */
     public String getGameMessages(int num) {
-        return gameMessages[num];
+        return gameMessages[num].length() == 0 ? null : gameMessages[num].toString();
     }
     /**
      * This method changes the specified game message with a new game message.
      * @param num The code of the message to be changed.
-     * @param gameMessage The new game message.
+     * @param gameMessage The new game message, or null to empty the message.
      */
     public void setGameMessages(int num,String gameMessage) {
-        this.gameMessages[num] = gameMessage;
+        this.gameMessages[num].clear();
+        if(gameMessage != null)
+            this.gameMessages[num].append(gameMessage);
+    }
+    /**
+     * This method returns the buffer of the message specified with the code. The buffer can be changed in place and
+     * drawn directly, so no Strings are created.
+     * @param num The code of the message to be returned.
+     * @return The buffer of the message specified with the code is returned.
+     */
+    public GameMessage getGameMessage(int num) {
+        return gameMessages[num];
     }
 }
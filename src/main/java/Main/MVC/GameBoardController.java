@@ -1,26 +1,28 @@
 package Main.MVC;
 
 import Main.Models.Ball;
-import Main.Models.Brick;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
 import Main.Models.GodModePowerUp;
 import Main.Models.Player;
-import Main.Others.GameSounds;
-import Main.Scores.ScoreBoard;
+import Main.Physics.BallGrid;
+import Main.Physics.BrickGrid;
+import Main.Physics.ImpactBuffer;
+import Main.Physics.SweptCollision;
 
-import javax.sound.sampled.Clip;
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
 import java.awt.geom.RectangularShape;
-import java.io.FileNotFoundException;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * Public class GameBoardController is the Controller of the MVC design pattern and is responsible for processing all
  * the entity behaviour in the game. All movement and collision are processed here, all score and time are calculated
  * here and all flags are processed here. After the data is processed, the new data is loaded into the GameBoard so
- * that it can be rendered by the renderer.
+ * that it can be rendered by the renderer. The controller does not depend on the screen or on audio. Side effects
+ * such as sound effects and highscore popups are sent to a GameListener, so the game can also be run headless.
  *
  * @author TanZhunXian
  * @version 1.0
@@ -33,21 +35,49 @@ public class GameBoardController {
      */
     private static final int DEF_MOVE_AMOUNT = 5;
     /**
-     * The code for impact to the top of brick.
+     * The highest horizontal and vertical speed of the ball.
      */
-    public static final int UP_IMPACT = 100;
+    public static final int MAX_BALL_SPEED = 8;
     /**
-     * The code for impact to the bottom of brick.
+     * The most impacts of a ball which are processed in a single update cycle.
      */
-    public static final int DOWN_IMPACT = 200;
+    private static final int MAX_BOUNCES = 8;
     /**
-     * The code for impact to the left of brick.
+     * The fewest balls moved by one thread when the balls are moved in parallel.
      */
-    public static final int LEFT_IMPACT = 300;
+    private static final int MIN_PARTITION = 256;
     /**
-     * The code for impact to the right of brick.
+     * The distance the ball is pushed away from a surface after an impact so that it does not touch it again.
      */
-    public static final int RIGHT_IMPACT = 400;
+    private static final double SKIN = 0.01;
+    /**
+     * The code for no impact of the ball.
+     */
+    private static final int NO_IMPACT = 0;
+    /**
+     * The code for impact with the left or right page border.
+     */
+    private static final int SIDE_IMPACT = 1;
+    /**
+     * The code for impact with the top or bottom page border.
+     */
+    private static final int END_IMPACT = 2;
+    /**
+     * The code for impact with the player.
+     */
+    private static final int PLAYER_IMPACT = 3;
+    /**
+     * The code for impact with a brick.
+     */
+    private static final int BRICK_IMPACT = 4;
+    /**
+     * The code for the ball leaving the page border behind the player.
+     */
+    private static final int LOST_IMPACT = 5;
+    /**
+     * The point where lost balls are kept.
+     */
+    private static final Point LOST_POINT = new Point(300,225);
     /**
      * The code for the left side of the brick.
      */
@@ -80,36 +110,59 @@ public class GameBoardController {
      * The steps of the crack.
      */
     public static final int DEF_STEPS = 35;
+    /**
+     * The default number of update cycles in one second of game time. The speeds of the ball and player are given in
+     * pixels per update cycle at this rate and are scaled when the game runs at another rate.
+     */
+    public static final int BASE_TICK_RATE = 100;
+    /**
+     * The highest number of update cycles in one second of game time. At higher rates an update cycle is too short
+     * for the game loop to pace.
+     */
+    public static final int MAX_TICK_RATE = 10_000;
 
     /**
-     * Randomizer to get random values for power up position, crack path and brick damage probability.
+     * Randomizer to get random speeds for new balls. It is split from the seed of the GameBoard, so each game has its
+     * own.
+     */
+    private final GameRandom ballRandom;
+    /**
+     * Randomizer to get random positions for the power up.
+     */
+    private final GameRandom powerUpRandom;
+    /**
+     * Randomizer to get random values for brick damage probability.
      */
-    private static final Random random = new Random();
+    private final GameRandom impactRandom;
+    /**
+     * Randomizer to get random values for crack paths.
+     */
+    private final GameRandom crackRandom;
 
     /**
      * GameBoard to get all game data.
      */
     private final GameBoard gameBoard;
     /**
-     * GameSounds to add BGM and sound effects to the game.
+     * GameListener to notify the front end about sound effects, BGM and highscores.
      */
-    private final GameSounds gameSounds;
+    private final GameListener listener;
     /**
-     * JFrame to center ScoreBoard on screen.
+     * Queue of the events emitted during an update cycle, which are handed to the subscribers afterwards.
      */
-    private final JFrame owner;
+    private final GameEventQueue events = new GameEventQueue();
     /**
-     * This is the double array of Bricks to hold the bricks generated for all 5 levels.
+     * This is the array of BrickStores to hold the bricks generated for all 5 levels.
      */
-    private final Brick[][][] bricks;
+    private final BrickStore[] bricks;
     /**
      * Player to manipulate movement.
      */
     private final Player player;
     /**
-     * Ball to manipulate movement and collision.
+     * Pool of balls to manipulate movement and collision.
      */
-    private final Ball[] balls;
+    private final BallPool balls;
     /**
      * Power up to manipulate position, spawn and collection.
      */
@@ -122,61 +175,224 @@ public class GameBoardController {
      * Dimensions of game screen to set game boundaries.
      */
     private final Dimension area;
+    /**
+     * The point of impact of the ball with a brick, which is reused for every impact.
+     */
+    private final Point2D.Double impactPoint = new Point2D.Double();
+    /**
+     * The spatial index of the bricks of each level to find the bricks near the path of the ball.
+     */
+    private final BrickGrid[] grids;
+    /**
+     * The buffers recording the impacts of the balls, one for each group of balls moved by a thread.
+     */
+    private final ImpactBuffer[] buffers;
+    /**
+     * The flag to move the balls on several threads.
+     */
+    private boolean parallelPhysics = false;
+    /**
+     * The time taken to move the balls in the last update cycle in nanoseconds.
+     */
+    private long physicsTime = 0;
+    /**
+     * The spatial index of the balls in play to find the balls near the power up.
+     */
+    private final BallGrid ballGrid;
+    /**
+     * The indexes of the balls near the power up.
+     */
+    private int[] nearBalls = new int[0];
+    /**
+     * The game data each game message was last generated from, so that a message is only generated again when its
+     * game data changes.
+     */
+    private final int[][] messageInputs = new int[6][3];
+    /**
+     * The number of update cycles in one second of game time.
+     */
+    private int tickRate = BASE_TICK_RATE;
+    /**
+     * The fraction of a default update cycle which passes in one update cycle at the current tick rate.
+     */
+    private double stepScale = 1;
 
     /**
      * This constructor loads in GameBoard where the game data is kept. Game data is read using getters to be
      * manipulated. After that, the old data is overwritten by the new manipulated data by using setters. Game sounds
-     * such as BGM and sound effects are also added by loading in GameSounds.
-     * @param owner JFrame to center ScoreBoard on screen.
+     * such as BGM and sound effects and the highscore popups are sent to the GameListener.
      * @param gameBoard GameBoard to get all game data.
-     * @param gameSounds GameSounds to add BGM and sound effects to the game.
+     * @param listener GameListener to notify the front end, or GameListener.NONE for a headless game.
      * @param area Dimensions of game screen to set game boundaries.
      */
-    public GameBoardController(JFrame owner,GameBoard gameBoard,GameSounds gameSounds,Dimension area) {
+    public GameBoardController(GameBoard gameBoard,GameListener listener,Dimension area) {
         this.gameBoard = gameBoard;
-        this.gameSounds = gameSounds;
-        this.owner = owner;
+        this.listener = listener;
+        this.ballRandom = gameBoard.getBallRandom();
+        this.powerUpRandom = gameBoard.getPowerUpRandom();
+        this.impactRandom = gameBoard.getImpactRandom();
+        this.crackRandom = gameBoard.getCrackRandom();
         this.bricks = gameBoard.getBricks();
         this.player = gameBoard.getPlayer();
         this.balls = gameBoard.getBalls();
         this.powerUp = gameBoard.getPowerUp();
         this.choice = gameBoard.getChoice();
         this.area = area;
+        this.grids = new BrickGrid[bricks.length];
+        int size = 0;
+        for(int i = 0; i < bricks.length; i++) {
+            grids[i] = new BrickGrid(bricks[i]);
+            size = Math.max(size,grids[i].size());
+        }
+        this.buffers = new ImpactBuffer[Runtime.getRuntime().availableProcessors() * 4];
+        for(int i = 0; i < buffers.length; i++)
+            buffers[i] = new ImpactBuffer(size);
+        this.ballGrid = new BallGrid(area.width,area.height,GameBoard.BALL_DIAMETER + GameBoard.POWER_UP_DIAMETER);
+        for(int[] inputs : messageInputs)
+            Arrays.fill(inputs,Integer.MIN_VALUE);
+        events.subscribe(this::notifyListener);
         nextLevel(false);
     }
 
     /**
      * This method controls and updates the entire game. First, a power up is spawned if available. Then, the player
-     * and ball are moved. After that, any impacts between the player, ball and bricks are checked and processed.
-     * Then, the time and score are calculated and the game messages are updated. Finally, the game checks to see
-     * if the game has done anything special like losing the ball or destroying all the walls and responds accordingly.
-     * The method is not accessed when game is paused or has ended.
-     * @throws FileNotFoundException This method throws FileNotFoundException when audio file is not found.
-     */
-    public void update() throws FileNotFoundException {
+     * is moved and the ball is moved along its path, processing any impacts between the ball, player and bricks on
+     * the way. The score is added as bricks are broken. Then, the time is calculated and the game messages are updated.
+     * Finally, the game checks to see if the game has done anything special like losing the ball or destroying all the
+     * walls and responds accordingly.
+     * The method is not accessed when game is paused or has ended. The events emitted during the update cycle, such as
+     * sound effects and highscores, are handed to the subscribers once the update cycle is done.
+     */
+    public void update() {
         if(gameBoard.isNotPaused()&&!gameBoard.isEnded()) {
             powerUpRandomSpawn();
             movePlayer();
             moveBall();
-            findImpacts();
-            calculateScoreAndTime();
+            calculateTime();
             gameChecks();
         }
         generateGameMessages();
+        events.drain();
+    }
+
+    /**
+     * This method returns the queue of the events of the game, so that more subscribers can be added.
+     * @return The GameEventQueue is returned.
+     */
+    public GameEventQueue getEvents(){
+        return events;
+    }
+
+    /**
+     * This method tells the GameListener about an event of the game. It is the first subscriber of the event queue.
+     * @param type The type code of the event.
+     * @param first The first value of the event.
+     * @param second The second value of the event.
+     */
+    private void notifyListener(int type, int first, int second){
+        switch (type) {
+            case GameEventQueue.BALL_BOUNCED -> listener.playSoundEffect("Bounce");
+            case GameEventQueue.BRICK_DAMAGED -> listener.playSoundEffect("Damage");
+            case GameEventQueue.BRICK_DEFLECTED -> listener.playSoundEffect("Deflect");
+            case GameEventQueue.BALL_LOST -> listener.playSoundEffect("BallLost");
+            case GameEventQueue.POWER_UP_COLLECTED -> listener.playSoundEffect("Pickup");
+            case GameEventQueue.GAME_PAUSED -> listener.gamePaused();
+            case GameEventQueue.GAME_RESUMED -> listener.gameResumed(first);
+            case GameEventQueue.GAME_OVER -> {
+                listener.playSoundEffect("GameOver");
+                listener.gameOver(first);
+            }
+            case GameEventQueue.LEVEL_CLEARED -> {
+                if(second == 1) {
+                    listener.playSoundEffect("NextLevel");
+                    listener.showScoreBoard(first, gameBoard.getScoreAndTime());
+                }
+            }
+            case GameEventQueue.GAME_CLEARED -> {
+                if(second == 1) {
+                    listener.playSoundEffect("LastLevel");
+                    listener.showScoreBoard(0, gameBoard.getScoreAndTime());
+                }
+            }
+        }
+    }
+
+    /**
+     * This method changes the number of update cycles in one second of game time. The movement of the ball and player
+     * is scaled so that the game plays at the same speed at every tick rate.
+     * @param tickRate The new number of update cycles in one second.
+     * @throws IllegalArgumentException If the tick rate is not from 1 to MAX_TICK_RATE.
+     */
+    public void setTickRate(int tickRate){
+        checkTickRate(tickRate);
+        this.tickRate = tickRate;
+        this.stepScale = (double) BASE_TICK_RATE / tickRate;
+    }
+
+    /**
+     * This method checks if a number of update cycles in one second can be played.
+     * @param tickRate The number of update cycles in one second.
+     * @return A boolean to signal if the tick rate is from 1 to MAX_TICK_RATE is returned.
+     */
+    public static boolean isValidTickRate(long tickRate){
+        return tickRate >= 1 && tickRate <= MAX_TICK_RATE;
+    }
+
+    /**
+     * This method checks a number of update cycles in one second before it is used.
+     * @param tickRate The number of update cycles in one second.
+     * @throws IllegalArgumentException If the tick rate is not from 1 to MAX_TICK_RATE.
+     */
+    public static void checkTickRate(long tickRate){
+        if(!isValidTickRate(tickRate))
+            throw new IllegalArgumentException("tick rate " + tickRate + " is not from 1 to " + MAX_TICK_RATE);
+    }
+
+    /**
+     * This method returns the number of update cycles in one second of game time.
+     * @return The number of update cycles in one second is returned.
+     */
+    public int getTickRate(){
+        return tickRate;
+    }
+
+    /**
+     * This method changes the flag to move the balls on several threads. The game plays the same either way.
+     * @param parallelPhysics The new flag to move the balls on several threads.
+     */
+    public void setParallelPhysics(boolean parallelPhysics){
+        this.parallelPhysics = parallelPhysics;
+    }
+
+    /**
+     * This method returns the flag to move the balls on several threads.
+     * @return The flag to move the balls on several threads is returned.
+     */
+    public boolean isParallelPhysics(){
+        return parallelPhysics;
+    }
+
+    /**
+     * This method returns the time taken to move the balls in the last update cycle.
+     * @return The time taken to move the balls in nanoseconds is returned.
+     */
+    public long getPhysicsTime(){
+        return physicsTime;
     }
 
     /**
      * This method defines the movement of the player. The new position of the player is calculated by adding the move
-     * amount of the player to the old position of the player. The new position of the player is then set as the old
-     * position. The player is then moved to this new position. By calling this method in quick succession, movement
-     * can be simulated.
+     * amount of the player, scaled to the tick rate, to the old position of the player. The player is then moved to
+     * this new position. By calling this method in quick succession, movement can be simulated.
      */
     public void movePlayer(){
-        double x = player.getMidPoint().getX() + player.getMoveAmount();
-        double y = player.getMidPoint().getY() + player.getVerticalMoveAmount();
-        if(x < player.getMin() || x > player.getMax() || y < player.getTop() || y > player.getBottom()) //if X-coordinate exceeds min or max value
-            return; //stop player from moving
-        player.setMidPoint(new Point((int)x,(int)y));
+        double x = player.getX() + player.getMoveAmount() * stepScale;
+        double y = player.getY() + player.getVerticalMoveAmount() * stepScale;
+        if(x < player.getMin() || x > player.getMax() || y < player.getTop() || y > player.getBottom()) { //if X-coordinate exceeds min or max value
+            player.moveTo(player.getX(),player.getY()); //stop player from moving
+            return;
+        }
+        player.moveTo(x,y);
         player.getPlayerFace().setLocation(player.getMidPoint().x - (int)player.getPlayerFace().getWidth()/2,player.getMidPoint().y); //set new player location
     }
 
@@ -217,32 +433,250 @@ public class GameBoardController {
     }
 
     /**
-     * This method defines the movement of the ball. The new position of the ball is calculated by adding the speed of
-     * the ball to the old position of the ball. The ball is then moved to this new position. By calling this method
-     * in quick succession, movement can be simulated.
+     * This method defines the movement of the ball. The balls are moved in two phases. First, each ball in play is
+     * moved along its path for one update cycle, scaled to the tick rate, against the bricks as they were at the start
+     * of the update cycle, and its impacts are recorded. The balls can be split into groups which are moved on several
+     * threads at once, as each ball only changes itself. Then, the recorded impacts are processed on this thread in the
+     * order of the balls, so bricks are damaged in the same order and the game plays the same whether the balls are
+     * moved in parallel or not. The balls lost on the way are then taken out of play. By calling this method in quick
+     * succession, movement can be simulated.
      */
     public void moveBall(){ //move ball according to speed
-        for(Ball ball: balls) {
-            if(!ball.isLost()) {
-                RectangularShape tmp = (RectangularShape) ball.getBallFace();
-                ball.setCenter(new Point((int) (ball.getCenter().getX() + ball.getSpeedX()), (int) (ball.getCenter().getY() + ball.getSpeedY()))); //set ball at new location according to speed
+        long start = System.nanoTime();
+        final int active = balls.getActive();
+        final int parts = parallelPhysics ? Math.max(1,Math.min(buffers.length,active / MIN_PARTITION)) : 1;
 
-                double w = tmp.getWidth(); //get ball width
-                double h = tmp.getHeight(); //get ball height
+        if(parts == 1)
+            sweepBalls(buffers[0],0,active);
+        else
+            IntStream.range(0,parts).parallel().forEach(p -> sweepBalls(buffers[p],active * p / parts,active * (p+1) / parts));
 
-                tmp.setFrame((ball.getCenter().getX() - (w / 2)), (ball.getCenter().getY() - (h / 2)), w, h);
-                ball.setBallFace(tmp);
+        for(int p = 0; p < parts; p++)
+            processImpacts(buffers[p]);
+        balls.removeLost(); //move the balls lost in this update cycle out of play
+        physicsTime = System.nanoTime() - start;
+    }
+
+    /**
+     * This method moves a group of balls along their paths and records their impacts.
+     * @param buffer The buffer to record the impacts of the group.
+     * @param from The index of the first ball of the group.
+     * @param to The index after the last ball of the group.
+     */
+    private void sweepBalls(ImpactBuffer buffer, int from, int to){
+        for(int i = from; i < to; i++)
+            sweepBall(balls.get(i),i,buffer);
+    }
+
+    /**
+     * This method processes the recorded impacts of a group of balls in the order they were found. Bounces emit an
+     * event, bricks hit are damaged and lost balls are lost. A brick broken by an earlier impact in the same update
+     * cycle is not damaged again.
+     * @param buffer The buffer holding the impacts of the group.
+     */
+    private void processImpacts(ImpactBuffer buffer){
+        for(int i = 0; i < buffer.size(); i++) {
+            switch (buffer.getKind(i)) {
+                case ImpactBuffer.BOUNCE -> events.emit(GameEventQueue.BALL_BOUNCED,buffer.getBall(i),0);
+                case ImpactBuffer.BRICK -> brickImpact(buffer.getBrick(i),buffer.getX(i),buffer.getY(i),buffer.getNormalX(i),buffer.getNormalY(i));
+                case ImpactBuffer.LOST -> ballLost(balls.get(buffer.getBall(i)));
+            }
+        }
+        buffer.clear();
+    }
+
+    /**
+     * This method moves the ball along its path and checks for any impacts with continuous collision detection. The
+     * earliest impact on the path with the page borders, the player or a brick is found, the ball is moved to the
+     * point of impact and the impact is processed. Only the bricks near the path, which are found with the BrickGrid
+     * of the level, are checked. The ball then continues on its new path for the rest of the update cycle, so a fast
+     * ball can bounce several times in one update cycle but can never pass through a brick or the player. If impact
+     * occurs with the player or the page borders, the direction of the ball is reversed. If the ball leaves the page
+     * border behind the player, the ball is lost. If power up has been collected then the ball passes through the
+     * bricks and damages every brick on its path. The impacts are recorded to be processed later, so the bricks and
+     * the rest of the game are not changed here.
+     * @param ball The ball to be moved.
+     * @param index The index of the ball in the pool.
+     * @param buffer The buffer to record the impacts of the ball.
+     */
+    private void sweepBall(Ball ball, int index, ImpactBuffer buffer){
+        SweptCollision collision = buffer.getCollision();
+        int[] candidates = buffer.getCandidates();
+        BrickGrid grid = grids[gameBoard.getLevel()-1];
+        BrickStore store = bricks[gameBoard.getLevel()-1];
+        Rectangle face = player.getPlayerFace();
+        int orientation = choice[gameBoard.getLevel()-1][9];
+        double radius = GameBoard.BALL_DIAMETER / 2.0;
+        double x = ball.getX();
+        double y = ball.getY();
+        double remaining = 1;
+
+        for(int bounce = 0; bounce < MAX_BOUNCES && remaining > 0; bounce++) {
+            double dx = ball.getSpeedX() * stepScale * remaining;
+            double dy = ball.getSpeedY() * stepScale * remaining;
+            double time = 1;
+            double normalX = 0;
+            double normalY = 0;
+            int impact = NO_IMPACT;
+            int target = -1;
+
+            if(dx != 0) { //left and right page borders
+                double t = Math.max(((dx < 0 ? radius : area.width - radius) - x) / dx, 0);
+                if(t < time) {
+                    time = t;
+                    impact = SIDE_IMPACT;
+                    normalX = -Math.signum(dx);
+                }
+            }
+
+            if(dy != 0) { //top and bottom page borders
+                double t = Math.max(((dy < 0 ? radius : area.height - radius) - y) / dy, 0);
+                if(t < time) {
+                    time = t;
+                    impact = ((dy > 0) == (orientation == 0)) && !ball.isCollected() ? LOST_IMPACT : END_IMPACT;
+                    normalX = 0;
+                    normalY = -Math.signum(dy);
+                }
+            }
+
+            if(collision.overlaps(x,y,radius,face.getMinX(),face.getMinY(),face.getMaxX(),face.getMaxY())) {
+                if(dy != 0 && (y < face.getCenterY()) == (dy > 0)) { //player moved into ball
+                    time = 0;
+                    impact = PLAYER_IMPACT;
+                    normalX = 0;
+                    normalY = -Math.signum(dy);
+                }
+            }
+            else if(collision.sweep(x,y,dx,dy,radius,face.getMinX(),face.getMinY(),face.getMaxX(),face.getMaxY()) && collision.getTime() < time) {
+                time = collision.getTime();
+                impact = PLAYER_IMPACT;
+                normalX = collision.getNormalX();
+                normalY = collision.getNormalY();
+            }
+
+            int found = grid.query(Math.min(x,x + dx) - radius,Math.min(y,y + dy) - radius,Math.max(x,x + dx) + radius,Math.max(y,y + dy) + radius,candidates);
+            for(int i = 0; i < found; i++) {
+                int b = candidates[i];
+                if(store.isBroken(b))
+                    continue;
+                int minX = store.getX(b), minY = store.getY(b);
+                int maxX = minX + store.getWidth(b), maxY = minY + store.getHeight(b);
+                if(ball.isCollected()) { //damage every brick on the path without deflection
+                    if(bounce == 0 && collision.overlaps(x,y,radius,minX,minY,maxX,maxY))
+                        buffer.add(ImpactBuffer.BRICK,index,b,x,y,-ball.getSpeedX(),-ball.getSpeedY());
+                    else if(collision.sweep(x,y,dx,dy,radius,minX,minY,maxX,maxY) && collision.getTime() <= time)
+                        buffer.add(ImpactBuffer.BRICK,index,b,x + dx * collision.getTime(),y + dy * collision.getTime(),collision.getNormalX(),collision.getNormalY());
+                }
+                else if(collision.sweep(x,y,dx,dy,radius,minX,minY,maxX,maxY) && collision.getTime() < time) {
+                    time = collision.getTime();
+                    impact = BRICK_IMPACT;
+                    target = b;
+                    normalX = collision.getNormalX();
+                    normalY = collision.getNormalY();
+                }
+            }
+
+            x += dx * time + normalX * SKIN; //move ball to point of impact
+            y += dy * time + normalY * SKIN;
+            remaining *= 1 - time;
+
+            switch (impact) {
+                case SIDE_IMPACT -> {
+                    buffer.add(ImpactBuffer.BOUNCE,index,-1,x,y,normalX,normalY);
+                    reverseX(ball);
+                }
+                case END_IMPACT -> {
+                    buffer.add(ImpactBuffer.BOUNCE,index,-1,x,y,normalX,normalY);
+                    reverseY(ball);
+                }
+                case PLAYER_IMPACT -> {
+                    buffer.add(ImpactBuffer.BOUNCE,index,-1,x,y,normalX,normalY);
+                    deflect(ball,normalX,normalY);
+                }
+                case BRICK_IMPACT -> {
+                    deflect(ball,normalX,normalY);
+                    buffer.add(ImpactBuffer.BRICK,index,target,x,y,normalX,normalY);
+                }
+                case LOST_IMPACT -> {
+                    buffer.add(ImpactBuffer.LOST,index,-1,x,y,normalX,normalY);
+                    return;
+                }
             }
         }
+
+        RectangularShape tmp = (RectangularShape) ball.getBallFace();
+        ball.moveTo(x,y); //set ball at new location
+
+        double w = tmp.getWidth(); //get ball width
+        double h = tmp.getHeight(); //get ball height
+
+        tmp.setFrame((ball.getX() - (w / 2)), (ball.getY() - (h / 2)), w, h);
+        ball.setBallFace(tmp);
+    }
+
+    /**
+     * This method reverses the direction of the ball after an impact with the surface normal. The horizontal or
+     * vertical speed of the ball is reversed, whichever moves the ball into the surface. If both do, the one closer
+     * to the surface normal is reversed.
+     * @param ball The ball which impacted the surface.
+     * @param normalX The horizontal part of the surface normal.
+     * @param normalY The vertical part of the surface normal.
+     */
+    private void deflect(Ball ball, double normalX, double normalY){
+        boolean horizontal = ball.getSpeedX() * normalX < 0;
+        boolean vertical = ball.getSpeedY() * normalY < 0;
+        if(horizontal && (!vertical || Math.abs(normalX) > Math.abs(normalY)))
+            reverseX(ball);
+        else if(vertical)
+            reverseY(ball);
+    }
+
+    /**
+     * This method processes an impact of the ball with a brick. The side of the brick which is hit is found from the
+     * surface normal and the point of impact is the point of the brick closest to the ball. The brick count decreases
+     * if the brick is broken by the impact.
+     * @param b The index of the brick which is hit.
+     * @param x The horizontal position of the center of the ball at the time of impact.
+     * @param y The vertical position of the center of the ball at the time of impact.
+     * @param normalX The horizontal part of the surface normal.
+     * @param normalY The vertical part of the surface normal.
+     */
+    private void brickImpact(int b, double x, double y, double normalX, double normalY){
+        BrickStore store = bricks[gameBoard.getLevel()-1];
+        int minX = store.getX(b), minY = store.getY(b);
+        int dir;
+        if(Math.abs(normalX) > Math.abs(normalY))
+            dir = normalX < 0 ? LEFT : RIGHT;
+        else
+            dir = normalY < 0 ? UP : DOWN;
+
+        impactPoint.setLocation(Math.max(minX,Math.min(x,minX + store.getWidth(b))),Math.max(minY,Math.min(y,minY + store.getHeight(b))));
+        if(setImpact(impactPoint,dir,b))
+            brickBroken(store,b);
+    }
+
+    /**
+     * This method updates the game data when a brick is broken. The brick count decreases and the score of the brick
+     * is added to the current level score and the total score, so the score never has to be counted again from all
+     * the bricks.
+     * @param store The BrickStore of the current level.
+     * @param b The index of the brick which is broken.
+     */
+    private void brickBroken(BrickStore store, int b){
+        gameBoard.setBrickCount(gameBoard.getBrickCount() - 1);
+        gameBoard.setScore(0,gameBoard.getScore(0) + store.getScore(b));
+        gameBoard.setScore(gameBoard.getLevel(),gameBoard.getScore(gameBoard.getLevel()) + store.getScore(b));
+        events.emit(GameEventQueue.BRICK_BROKEN,b,store.getScore(b));
     }
 
     /**
      * This method adds horizontal speed to the ball until max horizontal speed.
      */
     public void addSpeedX(){
-        for(Ball ball: balls) {
-            if (ball.getSpeedX() < 4 && !ball.isLost())
-                ball.setSpeedX(ball.getSpeedX() + 1);
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            if (ball.getSpeedX() < MAX_BALL_SPEED && !ball.isLost())
+                ball.setSpeedX(Math.min(ball.getSpeedX() + 1,MAX_BALL_SPEED));
         }
     }
 
@@ -250,9 +684,10 @@ public class GameBoardController {
      * This method minus horizontal speed from the ball until min horizontal speed.
      */
     public void minusSpeedX(){
-        for(Ball ball: balls) {
-            if (ball.getSpeedX() > -4 && !ball.isLost())
-                ball.setSpeedX(ball.getSpeedX() - 1);
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            if (ball.getSpeedX() > -MAX_BALL_SPEED && !ball.isLost())
+                ball.setSpeedX(Math.max(ball.getSpeedX() - 1,-MAX_BALL_SPEED));
         }
     }
 
@@ -260,9 +695,10 @@ public class GameBoardController {
      * This method adds vertical speed to the ball until max vertical speed.
      */
     public void addSpeedY(){
-        for(Ball ball: balls) {
-            if (ball.getSpeedY() < 4 && !ball.isLost())
-                ball.setSpeedY(ball.getSpeedY() + 1);
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            if (ball.getSpeedY() < MAX_BALL_SPEED && !ball.isLost())
+                ball.setSpeedY(Math.min(ball.getSpeedY() + 1,MAX_BALL_SPEED));
         }
     }
 
@@ -270,9 +706,10 @@ public class GameBoardController {
      * This method minus vertical speed from the ball until min vertical speed.
      */
     public void minusSpeedY(){
-        for(Ball ball: balls) {
-            if (ball.getSpeedY() > -4 && !ball.isLost())
-                ball.setSpeedY(ball.getSpeedY() - 1);
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            if (ball.getSpeedY() > -MAX_BALL_SPEED && !ball.isLost())
+                ball.setSpeedY(Math.max(ball.getSpeedY() - 1,-MAX_BALL_SPEED));
         }
     }
 
@@ -284,19 +721,12 @@ public class GameBoardController {
         gameBoard.setPauseFlag(gameBoard.isNotPaused());
         if(gameBoard.isNotPaused()){
 
-            gameBoard.setStartTime((int) java.time.Instant.now().getEpochSecond());
+            gameBoard.setStartTime(gameBoard.getTick());
             gameBoard.setMessageFlag(0);
-
-            if(gameSounds.getSongID()==gameBoard.getLevel())
-                gameSounds.getBgm().loop(Clip.LOOP_CONTINUOUSLY);
-            else {
-                gameSounds.setBgm("BGM" + gameBoard.getLevel());
-                gameSounds.getBgm().loop(Clip.LOOP_CONTINUOUSLY);
-                gameSounds.setSongID(gameBoard.getLevel());
-            }
+            events.emit(GameEventQueue.GAME_RESUMED,gameBoard.getLevel(),0);
         }
         else {
-            gameSounds.getBgm().stop();
+            events.emit(GameEventQueue.GAME_PAUSED,0,0);
         }
     }
 
@@ -308,17 +738,18 @@ public class GameBoardController {
     public void setBallSpeed(){
         int speedX,speedY;
 
-        for(Ball ball: balls) {
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
             if(!ball.isLost()) {
                 do {
-                    speedX = random.nextInt(5) - 2; //random speed for ball in X-axis, - for left, + for right
+                    speedX = ballRandom.nextInt(5) - 2; //random speed for ball in X-axis, - for left, + for right
                 } while (speedX == 0); //continue loop if speed-X is 0
 
                 do {
                     if (choice[gameBoard.getLevel() - 1][9] == 0)
-                        speedY = -random.nextInt(3); //random speed for ball in Y-axis, always - for up
+                        speedY = -ballRandom.nextInt(3); //random speed for ball in Y-axis, always - for up
                     else
-                        speedY = random.nextInt(3); //random speed for ball in Y-axis, always + for down
+                        speedY = ballRandom.nextInt(3); //random speed for ball in Y-axis, always + for down
                 } while (speedY == 0); //continue loop if speed-Y is 0
 
                 ball.setSpeedX(speedX);
@@ -342,30 +773,24 @@ public class GameBoardController {
     }
 
     /**
-     * This method calculates the current level score and time and the total level score and time. The score is counted
-     * based on the number of bricks broken. The time is incremented by the second by using a start time. When current
-     * time exceeds start time, 1 second is added and the start time is reset. This allows the player to pause the game
-     * as the start time is also reset when game is resumed.
+     * This method calculates the current level time and the total time. The time is counted in update cycles so that
+     * the game time does not depend on the wall clock. When a full second of update cycles has passed since the start
+     * time, 1 second is added to both times and the start time is reset. This allows the player to pause the game as
+     * the start time is also reset when game is resumed. The scores are not calculated here, as they are added when
+     * each brick is broken.
      */
-    public void calculateScoreAndTime(){
+    public void calculateTime(){
 
-        gameBoard.setScore(0,returnPreviousLevelsScore());
-        for(Brick[] brick: bricks[gameBoard.getLevel()-1]){
-            for(Brick b: brick)
-                if(b.isBroken())
-                    gameBoard.setScore(0,gameBoard.getScore(0) + b.getScore());
-        }
-        gameBoard.setScore(gameBoard.getLevel(),gameBoard.getScore(0) - returnPreviousLevelsScore());
-
-        if((int) java.time.Instant.now().getEpochSecond() > gameBoard.getStartTime()){
+        gameBoard.setTick(gameBoard.getTick()+1);
+        if(gameBoard.getTick() - gameBoard.getStartTime() >= tickRate){
             gameBoard.setTime(0,gameBoard.getTime(0)+1);
-            gameBoard.setStartTime((int) java.time.Instant.now().getEpochSecond());
+            gameBoard.setTime(gameBoard.getLevel(),gameBoard.getTime(gameBoard.getLevel())+1);
+            gameBoard.setStartTime(gameBoard.getTick());
 
             if(powerUp.isCollected()) {
                 gameBoard.setGodModeTimeLeft(gameBoard.getGodModeTimeLeft()-1);
             }
         }
-        gameBoard.setTime(gameBoard.getLevel(),gameBoard.getTime(0) - returnPreviousLevelsTime());
     }
 
     /**
@@ -395,18 +820,15 @@ public class GameBoardController {
     /**
      * This method checks the game to see if any special conditions are fulfilled such as losing the ball, breaking
      * all the bricks or collecting the power up and processes the game accordingly.
-     * @throws FileNotFoundException This method throws FileNotFoundException when audio file is not found.
      */
-    public void gameChecks() throws FileNotFoundException {
+    public void gameChecks() {
 
-        if(choice[gameBoard.getLevel()-1][11] == 0 && balls[0].isLost()){
+        if(choice[gameBoard.getLevel()-1][11] == 0 && balls.getActive() == 0){
 
             if(gameBoard.getBallCount() == 0){
                 resetLevelData();
                 gameBoard.setMessageFlag(1);
-                gameSounds.playSoundEffect("GameOver");
-                gameSounds.setBgm("BGM" + gameBoard.getLevel());
-                gameSounds.getBgm().loop(Clip.LOOP_CONTINUOUSLY);
+                events.emit(GameEventQueue.GAME_OVER,gameBoard.getLevel(),0);
             }
             else
                 ballReset();
@@ -419,9 +841,7 @@ public class GameBoardController {
             if(gameBoard.getBallCount() == 0){
                 resetLevelData();
                 gameBoard.setMessageFlag(1);
-                gameSounds.playSoundEffect("GameOver");
-                gameSounds.setBgm("BGM" + gameBoard.getLevel());
-                gameSounds.getBgm().loop(Clip.LOOP_CONTINUOUSLY);
+                events.emit(GameEventQueue.GAME_OVER,gameBoard.getLevel(),0);
                 if(gameBoard.isNotPaused())
                     reversePauseFlag();
             }
@@ -429,10 +849,8 @@ public class GameBoardController {
 
         if(gameBoard.getBrickCount() == 0){ //if level complete / brick count 0
 
-            if(choice[gameBoard.getLevel()-1][10]==0 && (gameBoard.getScore(gameBoard.getLevel())>0 && gameBoard.getTime(gameBoard.getLevel())>0)) {
-                gameSounds.playSoundEffect("NextLevel");
-                new ScoreBoard(owner, gameBoard.getLevel(), gameBoard.getScoreAndTime(), choice);
-            }
+            boolean highscore = choice[gameBoard.getLevel()-1][10]==0 && (gameBoard.getScore(gameBoard.getLevel())>0 && gameBoard.getTime(gameBoard.getLevel())>0);
+            events.emit(GameEventQueue.LEVEL_CLEARED,gameBoard.getLevel(),highscore ? 1 : 0);
 
             if(gameBoard.getLevel() < bricks.length){ //if level left / level number < total level
                 wallReset();
@@ -443,31 +861,38 @@ public class GameBoardController {
                     reversePauseFlag();
             }
             else {
-                if((choice[0][10]==0&&choice[1][10]==0&&choice[2][10]==0&&choice[3][10]==0&&choice[4][10]==0) && (gameBoard.getScore(0)>0 && gameBoard.getTime(0)>0)) {
-                    gameSounds.playSoundEffect("LastLevel");
-                    new ScoreBoard(owner, 0, gameBoard.getScoreAndTime(), choice);
-                }
+                boolean gameHighscore = (choice[0][10]==0&&choice[1][10]==0&&choice[2][10]==0&&choice[3][10]==0&&choice[4][10]==0) && (gameBoard.getScore(0)>0 && gameBoard.getTime(0)>0);
+                events.emit(GameEventQueue.GAME_CLEARED,0,gameHighscore ? 1 : 0);
                 gameBoard.setMessageFlag(3);
                 gameBoard.setEndFlag(true);
             }
         }
 
-        for(Ball ball: balls) {
-            if (powerUpCollected(ball) && powerUp.isSpawned() && !powerUp.isCollected()) {
-                ball.setCollected(true);
-                gameSounds.playSoundEffect("Pickup");
-                powerUp.setCollected(true);
-                powerUp.setSpawned(false);
-                gameBoard.setGodModeTimeLeft(10);
-            }
-
-            if (powerUp.isCollected() && ball.isCollected()) {
-                if (gameBoard.getGodModeTimeLeft() == 0) {
-                    powerUp.setCollected(false);
-                    ball.setCollected(false);
+        if(powerUp.isSpawned() && !powerUp.isCollected()) { //only look at the balls near the power up
+            if(nearBalls.length < balls.capacity())
+                nearBalls = new int[balls.capacity()];
+            ballGrid.build(balls);
+            double reach = (GameBoard.BALL_DIAMETER + GameBoard.POWER_UP_DIAMETER) / 2.0;
+            Point p = powerUp.getMidPoint();
+            int found = ballGrid.query(p.x - reach,p.y - reach,p.x + reach,p.y + reach,nearBalls);
+            for(int i = 0; i < found; i++) {
+                Ball ball = balls.get(nearBalls[i]);
+                if(powerUpCollected(ball)) {
+                    ball.setCollected(true);
+                    events.emit(GameEventQueue.POWER_UP_COLLECTED,nearBalls[i],0);
+                    powerUp.setCollected(true);
+                    powerUp.setSpawned(false);
+                    gameBoard.setGodModeTimeLeft(10);
+                    break;
                 }
             }
         }
+
+        if(powerUp.isCollected() && gameBoard.getGodModeTimeLeft() == 0) {
+            powerUp.setCollected(false);
+            for(int i = 0; i < balls.getActive(); i++)
+                balls.get(i).setCollected(false);
+        }
     }
 
     /**
@@ -504,7 +929,7 @@ public class GameBoardController {
             resetLevelScoreAndTime();
 
         gameBoard.setLevel(gameBoard.getLevel()+1);
-        gameBoard.setBrickCount(bricks[gameBoard.getLevel()-1][0].length+bricks[gameBoard.getLevel()-1][1].length);
+        gameBoard.setBrickCount(bricks[gameBoard.getLevel()-1].size());
         resetLevelData();
     }
 
@@ -521,7 +946,7 @@ public class GameBoardController {
         resetLevelScoreAndTime();
         wallReset();
         gameBoard.setLevel(gameBoard.getLevel()-1);
-        gameBoard.setBrickCount(bricks[gameBoard.getLevel()-1][0].length+bricks[gameBoard.getLevel()-1][1].length);
+        gameBoard.setBrickCount(bricks[gameBoard.getLevel()-1].size());
         resetLevelData();
     }
 
@@ -544,7 +969,8 @@ public class GameBoardController {
     /**
      * This method is used to reset the player and the ball to the default starting position. It is triggered when
      * the current ball has left the page border. This can occur with the bottom or top border depending on the player
-     * orientation. The ball is reset with a new horizontal and vertical speed. The ball lost flag is then set to false.
+     * orientation. All balls are taken out of play and the number of balls of the level are put back into play from the
+     * pool of balls. The balls are reset with a new horizontal and vertical speed.
      */
     public void ballReset(){
 
@@ -554,23 +980,12 @@ public class GameBoardController {
 
         if(choice[gameBoard.getLevel()-1][11]==0)
             ballCount = 1;
-        else {
-            if(choice[gameBoard.getLevel()-1][8]==0)
-                ballCount = 3;
-            else
-                ballCount = choice[gameBoard.getLevel()-1][8];
-        }
-
-        for(Ball ball: balls) {
-            ball.setLost(true);
-            ball.setCollected(false);
-            ball.setSpeedX(0);
-            ball.setSpeedY(0);
-            ball.setCenter(new Point(300,225));
-        }
+        else
+            ballCount = GameBoard.getBallCountOption(choice[gameBoard.getLevel()-1][8]);
 
+        balls.clear(); //take all balls out of play
         for(int i = 0; i < ballCount; i++)
-            balls[i].setLost(false);
+            balls.spawn();
 
         gameBoard.setBallStartPoint(new Point(area.width/2,((area.height * (1-orientation))-20)*key));
         gameBoard.setPlayerStartPoint(new Point(area.width/2,(((area.height-10) * (1-orientation))-10)*key));
@@ -587,7 +1002,8 @@ public class GameBoardController {
      * @param p This is the new center point of the ball.
      */
     public void ballMoveTo(Point p){ //move ball to point p
-        for(Ball ball: balls) {
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
             if(!ball.isLost()) {
                 ball.setCenter(p);
 
@@ -643,7 +1059,7 @@ public class GameBoardController {
         int x,y;
 
         if(gameBoard.getPowerUpSpawns() < (gameBoard.getTime(gameBoard.getLevel())/60 + 1) && !powerUp.isSpawned() && !powerUp.isCollected()) {
-            x = random.nextInt(401) + 100;
+            x = powerUpRandom.nextInt(401) + 100;
             if (choice[gameBoard.getLevel() - 1][9] == 0) {
                 y = 325;
             } else {
@@ -651,19 +1067,23 @@ public class GameBoardController {
             }
             powerUp.setSpawned(true);
             powerUp.setCollected(false);
-            powerUp.setMidPoint(new Point(x,y));
+            powerUp.getMidPoint().setLocation(x,y);
             powerUpMoveTo(powerUp.getMidPoint());
             gameBoard.setPowerUpSpawns(gameBoard.getPowerUpSpawns()+1);
         }
     }
 
     /**
-     * This method checks to see if the power up is collected by checking to see if any of the 5 points of the ball are
-     * inside the power up.
+     * This method checks to see if the power up is collected by checking to see if the ball overlaps the power up.
+     * The distance between the centers of the ball and the power up is compared with the sum of their radii, so no
+     * objects are created.
      * @return This method returns a boolean to signal if the power up is collected.
      */
     public boolean powerUpCollected(Ball ball){
-        return (powerUp.getPowerUp().contains(ball.getCenter())||powerUp.getPowerUp().contains(ball.getUp())||powerUp.getPowerUp().contains(ball.getDown())||powerUp.getPowerUp().contains(ball.getLeft())||powerUp.getPowerUp().contains(ball.getRight()));
+        double dx = ball.getX() - powerUp.getMidPoint().x;
+        double dy = ball.getY() - powerUp.getMidPoint().y;
+        double reach = (GameBoard.BALL_DIAMETER + GameBoard.POWER_UP_DIAMETER) / 2.0;
+        return dx * dx + dy * dy < reach * reach;
     }
 
     /**
@@ -671,10 +1091,8 @@ public class GameBoardController {
      * and setting their broken flag to false. The brick count and ball count is also reset.
      */
     public void wallReset(){
-        for(Brick[] brick : bricks[gameBoard.getLevel()-1])
-            for(Brick b: brick)
-                repair(b); //reset brick to full strength
-        gameBoard.setBrickCount(bricks[gameBoard.getLevel()-1][0].length+bricks[gameBoard.getLevel()-1][1].length);
+        bricks[gameBoard.getLevel()-1].repairAll(); //reset bricks to full strength
+        gameBoard.setBrickCount(bricks[gameBoard.getLevel()-1].size());
         resetBallCount();
     }
 
@@ -682,223 +1100,65 @@ public class GameBoardController {
      * This method is used to reset number of balls the player has.
      */
     public void resetBallCount(){
-        if(choice[gameBoard.getLevel()-1][8]!=0) {
-            gameBoard.setBallCount(choice[gameBoard.getLevel()-1][8]);
-        }
-        else{
-            gameBoard.setBallCount(3);
-        }
+        gameBoard.setBallCount(GameBoard.getBallCountOption(choice[gameBoard.getLevel()-1][8]));
     }
 
-    /**
-     * This method is used to repair the bricks by setting their broken flag to false and resetting their strength. The
-     * crack on the bricks are also removed if they are present.
-     * @param b The brick to be repaired.
-     */
-    public void repair(Brick b){ //repair brick
-        b.setBroken(false);
-        b.setStrength(b.getFullStrength());
-        if(b.isCrackable()) {
-            b.getCrack().reset(); //remove crack
-            b.setBrickFace(b.getBrickFaceNew());
-        }
-    }
 
     /**
-     * This method checks for any impact of the ball with the player. If player face contains the bottom side of
-     * the ball inside and orientation of the player is at the bottom, then impact has occurred. If player face
-     * contains the top side of the ball inside and orientation of the player is at the top, then impact
-     * has occurred.
-     *
-     * @return A boolean to signify if impact between the ball and player has occurred is returned.
+     * This method is used when the ball leaves the page border behind the player. The ball is lost and the ball count
+     * decreases. The ball is taken out of play at the end of the movement of the balls.
+     * @param ball The ball which is lost.
      */
-    public boolean ballPlayerImpact(Ball ball){
-        return player.getPlayerFace().contains(ball.getCenter()) && (player.getPlayerFace().contains(ball.getDown()) || player.getPlayerFace().contains(ball.getUp()));
-    }
-
-    /**
-     * This method is used to check for any impacts of the ball and define all the behaviours when impact with
-     * the ball occurs. If impact occurs with the player, vertical direction of ball is reversed. If impact occurs
-     * with a brick, the method below will compute the outcome. If impact occurs with the left and right page borders,
-     * horizontal direction of ball is reversed. For a game with bottom player orientation, if impact occurs with the
-     * top page border, vertical direction of ball is reversed. For a game with top player orientation, if impact occurs
-     * with the bottom page border, vertical direction of ball is reversed. Finally, if ball leaves the bottom page
-     * border on bottom player orientation or leaves the top page border on top player orientation, ball is lost,
-     * ball count decreases and player and ball position are reset.
-     */
-    public void findImpacts(){
-        int orientation = choice[gameBoard.getLevel()-1][9];
-        for(Ball ball: balls) {
-            if (ballPlayerImpact(ball)) { //if player hits ball
-                gameSounds.playSoundEffect("Bounce");
-                reverseY(ball);
-            }
-            else if (impactWall(ball)) {
-                gameBoard.setBrickCount(gameBoard.getBrickCount() - 1);
-            }
-            else if (ball.getLeft().getX() < 0 || ball.getRight().getX() > area.width) { //if ball impacts border
-                gameSounds.playSoundEffect("Bounce");
-                reverseX(ball);
-            }
-            else {
-                if((orientation == 0 && (ball.getUp().getY() < 0 || (ball.getDown().getY() > area.height && ball.isCollected()))) || (orientation == 1 && (ball.getDown().getY() > area.height || (ball.getUp().getY() < 0 && ball.isCollected())))){
-                    gameSounds.playSoundEffect("Bounce");
-                    reverseY(ball); //reverse Y-direction
-                }
-                else if ((orientation == 0 && ball.getDown().getY() > area.height) || (orientation == 1 && ball.getUp().getY() < 0)){
-                    ballLost(ball);
-                }
-            }
-        }
-    }
-
     public void ballLost(Ball ball){
-        gameSounds.playSoundEffect("BallLost");
-        ball.setCenter(new Point(300,225));
+        ball.setCenter(LOST_POINT);
         ball.setSpeedX(0);
         ball.setSpeedY(0);
         ball.setLost(true);
         gameBoard.setBallCount(gameBoard.getBallCount()-1);
-    }
-
-    /**
-     * This method is used to check for any impacts of the ball and the bricks. If impact occurs with a brick, it
-     * checks if the brick is already broken. If brick is already broken, no impact occurs and the ball just passes
-     * through. If brick is not broken, impact occurs and brick count will decrease if the brick is broken. The
-     * direction of impact between the ball and brick are taken and the direction of motion of the ball is reversed.
-     * If power up has been collected then ball deflection is disabled and bricks are destroyed instantly on collision
-     * with the ball.
-     *
-     * @return This method returns a boolean to signify if the brick impacted by the ball is unbroken at the start
-     *         of the collision but is broken by the impact with the ball. This is so that brick count can be deceased.
-     */
-    private boolean impactWall(Ball ball){ //method to check impact with wall
-
-        Point[] vertical = {ball.getUp(),ball.getCenter(),ball.getDown()};
-        Point[] horizontal = {ball.getLeft(),ball.getCenter(),ball.getRight()};
-        Point[] points = {vertical[Integer.signum(ball.getSpeedY())+1],horizontal[Integer.signum(ball.getSpeedY())+1]};
-
-        int width = bricks[gameBoard.getLevel()-1][0][0].getBrickFace().getBounds().width;
-        int brickRow = 600 / width;
-
-        int evenLength = bricks[gameBoard.getLevel()-1][0].length;
-        int oddLength = bricks[gameBoard.getLevel()-1][1].length;
-
-        int evenRow = evenLength / brickRow;
-        int oddRow = oddLength / (brickRow + 1);
-        int totalRow = evenRow + oddRow;
-
-        int orientation = choice[gameBoard.getLevel()-1][9];
-        int key = 2 * orientation - 1;
-
-        boolean[] collision = new boolean[2];
-
-        int cycle = 0;
-        for (Point point: points) {
-            if(points[cycle].getY() < (450 * orientation) + (totalRow * 20 * (1-orientation)) && points[cycle].getY() > (450 - (totalRow * 20)) * orientation) {
-                int parity = ((((450 * orientation) - point.y) * key) / 20) % 2;
-                int block = ((((600 * orientation) - point.x) * key + (parity * width / 2)) / width) + (brickRow + parity) * ((((((450 * orientation) - point.y) * key) / 20) - parity) / 2);
-                Brick b = bricks[gameBoard.getLevel()-1][parity][block];
-                collision[cycle] = returnImpact(findImpact(ball, b), b, ball);
-                cycle++;
-            }
-        }
-        return collision[0] || collision[1];
-    }
-
-    private boolean returnImpact(int impact, Brick b, Ball ball){
-        switch (impact) {
-            case UP_IMPACT -> {
-                if (!ball.isCollected())
-                    reverseY(ball);
-                return setImpact(ball.getDown(), UP, b);
-            }
-            case DOWN_IMPACT -> {
-                if (!ball.isCollected())
-                    reverseY(ball);
-                return setImpact(ball.getUp(), DOWN, b);
-            } //Horizontal Impact
-            case LEFT_IMPACT -> {
-                if (!ball.isCollected())
-                    reverseX(ball);
-                return setImpact(ball.getRight(), LEFT, b);
-            }
-            case RIGHT_IMPACT -> {
-                if (!ball.isCollected())
-                    reverseX(ball);
-                return setImpact(ball.getLeft(), RIGHT, b);
-            }
-            default -> {
-                return false;
-            }
-        }
-    }
-
-    /**
-     * This method checks to see if impact occurs between the ball and brick. If the brick is already broken, then
-     * no impact occurs. If the brick is scanned to see if any points of the ball is contained within the brick face.
-     * If there is, then collision has occurred and the direction of collision is returned.
-     *
-     * @param b This is the ball that is checked against the bricks.
-     * @param brick This is the brick that is checked.
-     * @return This method returns 0 if no collision occurs, else it returns a code to signify the direction
-     *         of collision.
-     */
-    public final int findImpact(Ball b,Brick brick){ //get direction of impact
-        if(brick.isBroken()) //if already broken return 0
-            return 0;
-        int out  = 0;
-        if(brick.getBrickFace().contains(b.getRight())) //else get direction of impact if brick face detects ball directional face
-            out = LEFT_IMPACT;
-        else if(brick.getBrickFace().contains(b.getLeft()))
-            out = RIGHT_IMPACT;
-        else if(brick.getBrickFace().contains(b.getUp()))
-            out = DOWN_IMPACT;
-        else if(brick.getBrickFace().contains(b.getDown()))
-            out = UP_IMPACT;
-        return out; //return direction of impact
+        events.emit(GameEventQueue.BALL_LOST,gameBoard.getBallCount(),0);
     }
 
     /**
      * This method is used to check if an impact occurs with a brick. If the brick is already broken then
      * no impact occurs. If the brick is unbroken, impact occurs and the condition of the brick is returned.
-     * If the brick is crackable, the point of impact and crack direction are used to generate a crack and
-     * update the brick.
+     * If the brick is crackable, the point of impact and crack direction are used to generate a crack on the
+     * brick.
      *
      * @param point The point of impact of the ball and the brick.
      * @param dir The direction of the brick face impacted by the ball.
-     * @param b This is the brick that is checked.
+     * @param b This is the index of the brick that is checked in the current level.
      * @return This method returns a boolean to signify the condition of the brick.
      */
-    public boolean setImpact(Point2D point, int dir, Brick b) { //get point of impact and impact direction
-        if(b.isBroken()) //if already broken then no impact
+    public boolean setImpact(Point2D point, int dir, int b) { //get point of impact and impact direction
+        BrickStore store = bricks[gameBoard.getLevel()-1];
+        if(store.isBroken(b)) //if already broken then no impact
             return false;
 
-        if(impact(b)) {
-            if (!b.isBroken() && b.isCrackable()) { //if not broken and crackable
-                makeCrack(point, dir, b); //make crack at point of impact and in given direction
-                updateBrick(b); //update brick to show crack
+        if(impact(store,b)) {
+            if (!store.isBroken(b) && store.isCrackable(b)) { //if not broken and crackable
+                makeCrack(point, dir, store, b); //make crack at point of impact and in given direction
                 return false; //signal not broken
             }
         }
-        return b.isBroken();
+        return store.isBroken(b);
     }
 
     /**
      * This method causes an impact to the brick if the random probability is less than the damage probability. If
      * impact occurs, then brick strength is reduced and brick broken condition is updated. There are different
-     * sound effects for successful and unsuccessful impacts.
-     * @param b This is the brick that is checked.
+     * events for successful and unsuccessful impacts.
+     * @param store This is the BrickStore of the current level.
+     * @param b This is the index of the brick that is checked.
      * @return This method returns a boolean to signal if impact is successful.
      */
-    private boolean impact(Brick b){
-        if(random.nextDouble() < b.getBreakProbability()){ //if random probability less than DAMAGE_PROBABILITY
-            gameSounds.playSoundEffect("Damage");
-            b.setStrength(b.getStrength()-1); //reduce brick strength
-            b.setBroken(b.getStrength() == 0); //if strength = 0, signal brick broken
+    private boolean impact(BrickStore store, int b){
+        if(impactRandom.nextDouble() < store.getBreakProbability(b)){ //if random probability less than DAMAGE_PROBABILITY
+            store.setStrength(b,store.getStrength(b)-1); //reduce brick strength
+            store.setBroken(b,store.getStrength(b) == 0); //if strength = 0, signal brick broken
+            events.emit(GameEventQueue.BRICK_DAMAGED,b,store.getStrength(b));
             return true;
         }
-        gameSounds.playSoundEffect("Deflect");
+        events.emit(GameEventQueue.BRICK_DEFLECTED,b,0);
         return false;
     }
 
@@ -906,11 +1166,12 @@ public class GameBoardController {
      * This method creates a crack from the impact point in the given direction.
      * @param point The impact point of the ball and brick.
      * @param direction The direction of travel of the crack in the brick.
-     * @param b This is the brick to be cracked.
+     * @param store This is the BrickStore of the current level.
+     * @param b This is the index of the brick to be cracked.
      */
-    private void makeCrack(Point2D point, int direction, Brick b){ //get point of impact and crack direction
+    private void makeCrack(Point2D point, int direction, BrickStore store, int b){ //get point of impact and crack direction
 
-        Rectangle bounds = b.getBrickFace().getBounds(); //get brick bounds
+        Rectangle bounds = new Rectangle(store.getX(b),store.getY(b),store.getWidth(b),store.getHeight(b)); //get brick bounds
         Point impact = new Point((int)point.getX(),(int)point.getY()); //get point of impact
         Point start = new Point(); //start point of crack
         Point end = new Point(); //end point of crack
@@ -920,27 +1181,27 @@ public class GameBoardController {
                 start.setLocation(bounds.x + bounds.width, bounds.y); //top of right border
                 end.setLocation(bounds.x + bounds.width, bounds.y + bounds.height); //bottom of right border
                 Point tmp = makeRandomPoint(start,end,VERTICAL); //random point of right border
-                makeCrack(impact,tmp,b); //make crack from point of impact to random point of right border
+                makeCrack(impact,tmp,store,b); //make crack from point of impact to random point of right border
 
                 break;
             case RIGHT:
                 start.setLocation(bounds.getLocation()); //top of left border
                 end.setLocation(bounds.x, bounds.y + bounds.height); //bottom of left border
                 tmp = makeRandomPoint(start,end,VERTICAL); //random point of left border
-                makeCrack(impact,tmp,b); //make crack from point of impact to random point of left border
+                makeCrack(impact,tmp,store,b); //make crack from point of impact to random point of left border
 
                 break;
             case UP:
                 start.setLocation(bounds.x, bounds.y + bounds.height); //left of bottom border
                 end.setLocation(bounds.x + bounds.width, bounds.y + bounds.height); //right of bottom border
                 tmp = makeRandomPoint(start,end,HORIZONTAL); //random point of bottom border
-                makeCrack(impact,tmp,b); //make crack from point of impact to random point of bottom border
+                makeCrack(impact,tmp,store,b); //make crack from point of impact to random point of bottom border
                 break;
             case DOWN:
                 start.setLocation(bounds.getLocation()); //left of top border
                 end.setLocation(bounds.x + bounds.width, bounds.y); //right of top border
                 tmp = makeRandomPoint(start,end,HORIZONTAL); //random point of top border
-                makeCrack(impact,tmp,b); //make crack from point of impact to random point of top border
+                makeCrack(impact,tmp,store,b); //make crack from point of impact to random point of top border
                 break;
         }
     }
@@ -949,9 +1210,10 @@ public class GameBoardController {
      * This method creates a crack from the impact point to the randomly selected end point.
      * @param start The impact point between the ball and brick.
      * @param end A randomly selected point on the other side of the brick from the point of impact.
-     * @param b This is the brick to be cracked.
+     * @param store This is the BrickStore of the current level.
+     * @param b This is the index of the brick to be cracked.
      */
-    private void makeCrack(Point start, Point end, Brick b){ //make crack
+    private void makeCrack(Point start, Point end, BrickStore store, int b){ //make crack
 
         GeneralPath path = new GeneralPath(); //path of crack
 
@@ -970,17 +1232,7 @@ public class GameBoardController {
             path.lineTo(x,y); //draw crack to (x,y)
         }
         path.lineTo(end.x,end.y); //draw crack to final position
-        b.getCrack().append(path,true); //connect crack to brick
-    }
-
-    /**
-     * This method appends the new crack to the brick and updates the brick face.
-     * @param b This is the brick to be cracked.
-     */
-    private void updateBrick(Brick b){
-        GeneralPath gp = b.getCrack(); //get crack
-        gp.append(b.getBrickFace(),false); //append crack to brick
-        b.setBrickFace(gp);
+        store.addCrack(b,path); //connect crack to brick
     }
 
     /**
@@ -997,11 +1249,11 @@ public class GameBoardController {
 
         switch (direction) {
             case HORIZONTAL -> {
-                pos = random.nextInt(to.x - from.x) + from.x; //get random X-coordinate between from.x to to.x
+                pos = crackRandom.nextInt(to.x - from.x) + from.x; //get random X-coordinate between from.x to to.x
                 out.setLocation(pos, to.y); //set out to new point
             }
             case VERTICAL -> {
-                pos = random.nextInt(to.y - from.y) + from.y; //get random Y-coordinate between from.y to.y
+                pos = crackRandom.nextInt(to.y - from.y) + from.y; //get random Y-coordinate between from.y to.y
                 out.setLocation(to.x, pos); //set out to new point
             }
         }
@@ -1014,55 +1266,80 @@ public class GameBoardController {
      */
     private int randomInBounds(){ //get random addition to Y-coordinate
         int n = (DEF_CRACK_DEPTH * 2) + 1;
-        return random.nextInt(n) - DEF_CRACK_DEPTH; //return random number between -bound to bound
+        return crackRandom.nextInt(n) - DEF_CRACK_DEPTH; //return random number between -bound to bound
     }
 
     /**
      * This method generates the game messages depending on the message flags and game data. The messages are then
-     * rendered into the game.
+     * rendered into the game. Each message is only generated again when the game data it shows has changed, and the
+     * text is written into the reusable buffer of the message, so no Strings are created.
      */
     private void generateGameMessages(){
 
-        String message = null;
-        if(gameBoard.getMessageFlag()==0)
-            message = String.format("Bricks: %d  Balls: %d",gameBoard.getBrickCount(),gameBoard.getBallCount());
-        else if(gameBoard.getMessageFlag()==1)
-            message = "Game over";
-        else if(gameBoard.getMessageFlag()==2)
-            message = "Go to Next Level";
-        else if(gameBoard.getMessageFlag()==3)
-            message = "ALL WALLS DESTROYED";
-        else if(gameBoard.getMessageFlag()==4)
-            message = "Restarting Game...";
-        else if(gameBoard.getMessageFlag()==5)
-            message = "Focus Lost";
-
-        gameBoard.setGameMessages(0,message);
-
-        String totalScore = String.format("Total Score: %d", gameBoard.getScoreAndTime()[0][0]);
-        gameBoard.setGameMessages(1,totalScore);
-        String levelScore = String.format("Level %d Score: %d", gameBoard.getLevel(), gameBoard.getScoreAndTime()[gameBoard.getLevel()][0]);
-        gameBoard.setGameMessages(2,levelScore);
-
-        int systemClock = gameBoard.getScoreAndTime()[0][1];
-        int totalMinutes = systemClock/60;
-        int totalSeconds = systemClock%60;
-
-        int levelClock = gameBoard.getScoreAndTime()[gameBoard.getLevel()][1];
-        int levelMinutes = levelClock/60;
-        int levelSeconds = levelClock%60;
-
-        String totalTime = String.format("Total Time: %02d:%02d", totalMinutes, totalSeconds);
-        gameBoard.setGameMessages(3,totalTime);
-        String levelTime = String.format("Level %d Time: %02d:%02d", gameBoard.getLevel(), levelMinutes, levelSeconds);
-        gameBoard.setGameMessages(4,levelTime);
-
-        String godMode;
-        if(gameBoard.getPowerUp().isCollected())
-            godMode = String.format("God Mode Activated: %d", gameBoard.getGodModeTimeLeft());
-        else
-            godMode = String.format("God Mode Orbs Left: %d", (gameBoard.getScoreAndTime()[gameBoard.getLevel()][1]/60 + 1) - gameBoard.getPowerUpSpawns());
+        int level = gameBoard.getLevel();
+        int[][] scoreAndTime = gameBoard.getScoreAndTime();
+        int flag = gameBoard.getMessageFlag();
+
+        if(changed(0,flag,flag==0 ? gameBoard.getBrickCount() : 0,flag==0 ? gameBoard.getBallCount() : 0)) {
+            GameMessage message = gameBoard.getGameMessage(0).clear();
+            if(flag==0)
+                message.append("Bricks: ").append(gameBoard.getBrickCount()).append("  Balls: ").append(gameBoard.getBallCount());
+            else if(flag==1)
+                message.append("Game over");
+            else if(flag==2)
+                message.append("Go to Next Level");
+            else if(flag==3)
+                message.append("ALL WALLS DESTROYED");
+            else if(flag==4)
+                message.append("Restarting Game...");
+            else if(flag==5)
+                message.append("Focus Lost");
+        }
+
+        if(changed(1,scoreAndTime[0][0],0,0))
+            gameBoard.getGameMessage(1).clear().append("Total Score: ").append(scoreAndTime[0][0]);
+        if(changed(2,level,scoreAndTime[level][0],0))
+            gameBoard.getGameMessage(2).clear().append("Level ").append(level).append(" Score: ").append(scoreAndTime[level][0]);
+
+        int systemClock = scoreAndTime[0][1];
+        if(changed(3,systemClock,0,0))
+            gameBoard.getGameMessage(3).clear().append("Total Time: ").append(systemClock/60,2).append(":").append(systemClock%60,2);
+        int levelClock = scoreAndTime[level][1];
+        if(changed(4,level,levelClock,0))
+            gameBoard.getGameMessage(4).clear().append("Level ").append(level).append(" Time: ").append(levelClock/60,2).append(":").append(levelClock%60,2);
+
+        boolean collected = gameBoard.getPowerUp().isCollected();
+        int godMode = collected ? gameBoard.getGodModeTimeLeft() : (levelClock/60 + 1) - gameBoard.getPowerUpSpawns();
+        if(changed(5,collected ? 1 : 0,godMode,0))
+            gameBoard.getGameMessage(5).clear().append(collected ? "God Mode Activated: " : "God Mode Orbs Left: ").append(godMode);
+    }
+
+    /**
+     * This method generates all the game messages again, whether or not their game data has changed. It is used after
+     * a snapshot is restored, as the game data then changes without the messages noticing.
+     */
+    void refreshMessages(){
+        for(int[] inputs : messageInputs)
+            Arrays.fill(inputs,Integer.MIN_VALUE);
+        generateGameMessages();
+    }
 
-        gameBoard.setGameMessages(5,godMode);
+    /**
+     * This method checks if the game data shown by a game message has changed since the message was last generated.
+     * The new game data is kept for the next check.
+     * @param num The code of the message.
+     * @param first The first value of game data shown by the message.
+     * @param second The second value of game data shown by the message.
+     * @param third The third value of game data shown by the message.
+     * @return This method returns a boolean to signal if the message has to be generated again.
+     */
+    private boolean changed(int num,int first,int second,int third){
+        int[] inputs = messageInputs[num];
+        if(inputs[0]==first && inputs[1]==second && inputs[2]==third)
+            return false;
+        inputs[0] = first;
+        inputs[1] = second;
+        inputs[2] = third;
+        return true;
     }
 }
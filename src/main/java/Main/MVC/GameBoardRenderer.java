@@ -1,9 +1,11 @@
 package Main.MVC;
 
 import Main.Models.Ball;
-import Main.Models.Brick;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
 import Main.Models.GodModePowerUp;
 import Main.Models.Player;
+import Main.Physics.BrickGrid;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -11,11 +13,23 @@ import java.awt.font.FontRenderContext;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Public class GameBoardRenderer is the View of the MVC design pattern and is responsible for rendering all the
  * graphics in the game. The renderer renders everything from the bricks, ball and player to the game messages and the
  * pause menu.
+ * <p>
+ * The background and the bricks of each level are drawn once into an off-screen image, the brick layer, which is
+ * copied to the screen every frame with the moving parts drawn on top. Only the bricks which have been broken, repaired
+ * or cracked since the last frame are redrawn into the brick layer, together with the bricks next to them which share
+ * their borders, so drawing a frame takes about the same time however many bricks the level has. The bricks are drawn
+ * into the brick layer a type at a time, filling all of them before drawing their borders, so the colour is only
+ * changed once for each type instead of twice for every brick.
+ * <p>
+ * The renderer also finds the areas of the screen which have changed since the last frame through a DirtyRegion, so
+ * the screen can be repainted only where needed. Only the parts inside the clip of the graphics are drawn.
  *
  * @author TanZhunXian
  * @version 1.0
@@ -51,6 +65,10 @@ public class GameBoardRenderer implements Renderer {
      * Menu words colour of green.
      */
     private static final Color MENU_COLOR = new Color(0,255,0);
+    /**
+     * The font of the game messages.
+     */
+    private static final Font MESSAGE_FONT = new Font("Monospaced",Font.BOLD,16);
     /**
      * Font for pause menu words.
      */
@@ -68,9 +86,29 @@ public class GameBoardRenderer implements Renderer {
      */
     private final Dimension area;
     /**
-     * Image for Game background.
+     * Image for Game background, drawn over the white background colour.
+     */
+    private final BufferedImage background;
+    /**
+     * The brick layer of each level, which holds the background and the bricks, or null until the level is drawn.
+     */
+    private final BufferedImage[] layers;
+    /**
+     * The grid of the bricks of each level, used to find the bricks next to a changed brick.
+     */
+    private final BrickGrid[] grids;
+    /**
+     * The array to hold the indexes of the bricks found by the grids.
      */
-    private final Image newImage;
+    private int[] found = new int[0];
+    /**
+     * The array to hold the indexes of the bricks to be drawn, ordered by their type.
+     */
+    private int[] sorted = new int[0];
+    /**
+     * DirtyRegion to find the areas of the screen which have changed since the last frame.
+     */
+    private final DirtyRegion dirtyRegion;
 
     /**
      * This constructor loads in the GameBoard so that renderer can get all information for rendering and the screen
@@ -84,44 +122,152 @@ public class GameBoardRenderer implements Renderer {
         this.area = area;
         menuFont = new Font("Monospaced",Font.PLAIN,TEXT_SIZE);
         BufferedImage myPicture = ImageIO.read(new File("image/BrickBreakerGameBackground.png"));
-        newImage = myPicture.getScaledInstance((int)area.getWidth(),(int)area.getHeight(), Image.SCALE_DEFAULT);
+        background = createImage();
+        Graphics2D g2d = background.createGraphics();
+        clear(g2d);
+        g2d.drawImage(myPicture,0,0,area.width,area.height,null);
+        g2d.dispose();
+        layers = new BufferedImage[gameBoard.getBricks().length];
+        grids = new BrickGrid[gameBoard.getBricks().length];
+        dirtyRegion = new DirtyRegion(gameBoard,area);
+    }
+
+    /**
+     * This method creates an off-screen image the size of the game screen. The image is compatible with the screen,
+     * so it can be copied to the screen without being converted.
+     * @return The new image is returned.
+     */
+    private BufferedImage createImage() {
+        if(GraphicsEnvironment.isHeadless())
+            return new BufferedImage(area.width,area.height,BufferedImage.TYPE_INT_RGB);
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(area.width,area.height,Transparency.OPAQUE);
     }
 
     /**
-     * This method is used to render the graphics for the entire game screen. The game screen is first cleared with a
-     * white background. Then, a gray background is loaded. The game condition, score and time strings are drawn in
-     * blue and then the ball, bricks, player and power up are drawn. Finally, if the pause menu is loaded,the pause
+     * This method is used to render the graphics for the entire game screen. The brick layer of the level, which
+     * holds the white and gray backgrounds and the bricks, is brought up to date and copied to the screen first. The
+     * game condition, score and time strings are drawn in black and the bricks over them are copied from the brick
+     * layer again, so the bricks stay on top of the strings. Then the ball, player and power up are drawn. The
+     * ball and player are interpolated between their last two positions. Finally, if the pause menu is loaded,the pause
      * menu is drawn with its buttons.
      * @param g This parameter is used to control the graphics such as colour, composite and font.
+     * @param alpha The fraction of an update cycle since the last update cycle, used to interpolate moving entities.
      */
     @Override
-    public void render(Graphics g) {
+    public void render(Graphics g, double alpha) {
 
         Graphics2D g2d = (Graphics2D)g;
-
-        clear(g2d);
-
-        g2d.drawImage(newImage,0,0,null);
-
-        drawMessages(g2d);
-
-        for(Brick[] brick : gameBoard.getBricks()[gameBoard.getLevel()-1]) {
-            for(Brick b: brick)
-                if(!b.isBroken())
-                    drawBrick(b, g2d);
+        Rectangle clip = g2d.getClipBounds();
+
+        BufferedImage layer = getLayer(gameBoard.getLevel()-1);
+        if(clip == null)
+            g2d.drawImage(layer,0,0,null);
+        else
+            g2d.drawImage(layer,clip.x,clip.y,clip.x + clip.width,clip.y + clip.height,
+                    clip.x,clip.y,clip.x + clip.width,clip.y + clip.height,null);
+
+        if(clip == null || clip.intersects(dirtyRegion.getMessageArea())) {
+            drawMessages(g2d);
+            coverMessages(layer,g2d,clip);
         }
 
         if(!gameBoard.getPowerUp().isCollected() && gameBoard.getPowerUp().isSpawned()){
             drawPowerUp(gameBoard.getPowerUp(),g2d);
         }
 
-        drawBall(gameBoard.getBalls(),g2d);
-        drawPlayer(gameBoard.getPlayer(),g2d);
+        drawBall(gameBoard.getBalls(),g2d,clip,alpha);
+        drawPlayer(gameBoard.getPlayer(),g2d,alpha);
 
         if(gameBoard.isShowPauseMenu())
             drawMenu(g2d);
     }
 
+    /**
+     * This method finds the areas of the screen which have changed since it was last called, which must be before the
+     * next frame is drawn.
+     * @return The areas which have changed are returned, which are none if nothing has changed.
+     */
+    @Override
+    public List<Rectangle> getDirtyRegions() {
+        return dirtyRegion.find();
+    }
+
+    /**
+     * This method drops the brick layers, so the bricks are drawn from scratch in the next frame, and makes the next
+     * dirty regions cover the whole screen.
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(layers,null);
+        dirtyRegion.reset();
+    }
+
+    /**
+     * This method returns the brick layer of a level, brought up to date with the bricks. The first time a level is
+     * drawn, its brick layer is created with all of its bricks. After that, only the bricks which have changed and the
+     * bricks next to them are redrawn. The changes of the bricks are then cleared.
+     * @param level The index of the level.
+     * @return The brick layer of the level is returned.
+     */
+    private BufferedImage getLayer(int level) {
+        BrickStore bricks = gameBoard.getBricks()[level];
+        if(layers[level] == null) {
+            layers[level] = createImage();
+            grids[level] = new BrickGrid(bricks);
+            if(found.length < bricks.size()) {
+                found = new int[bricks.size()];
+                sorted = new int[bricks.size()];
+            }
+            Graphics2D g2d = layers[level].createGraphics();
+            g2d.drawImage(background,0,0,null);
+            int count = 0;
+            for(int i = 0; i < bricks.size(); i++) {
+                if(!bricks.isBroken(i))
+                    found[count++] = i;
+            }
+            drawBricks(bricks, count, g2d);
+            g2d.dispose();
+        }
+        else if(bricks.hasChanged()) {
+            Graphics2D g2d = layers[level].createGraphics();
+            for(int i = bricks.nextChanged(0); i >= 0; i = bricks.nextChanged(i + 1))
+                redrawBrick(bricks, grids[level], i, g2d);
+            g2d.dispose();
+        }
+        bricks.clearChanged();
+        return layers[level];
+    }
+
+    /**
+     * This method redraws the area of a brick in the brick layer. The background is copied back over the area, which
+     * includes the border of the brick, and the unbroken bricks which overlap the area are drawn again in the same
+     * order as when the brick layer was created, clipped to the area.
+     * @param bricks This parameter holds the bricks of the level.
+     * @param grid This parameter is the grid used to find the bricks overlapping the area.
+     * @param i This parameter is the index of the brick to be redrawn.
+     * @param g2d This parameter is used to draw into the brick layer.
+     */
+    private void redrawBrick(BrickStore bricks, BrickGrid grid, int i, Graphics2D g2d){
+
+        int x = bricks.getX(i) - 1;
+        int y = bricks.getY(i) - 1;
+        int width = bricks.getWidth(i) + 3;
+        int height = bricks.getHeight(i) + 3;
+        g2d.setClip(x,y,width,height);
+        g2d.drawImage(background,0,0,null);
+
+        int hits = grid.query(x,y,x + width,y + height,found);
+        Arrays.sort(found,0,hits);
+        int count = 0;
+        for(int j = 0; j < hits; j++) {
+            if(!bricks.isBroken(found[j]))
+                found[count++] = found[j];
+        }
+        drawBricks(bricks, count, g2d);
+        g2d.setClip(null);
+    }
+
     /**
      * This method is used to clear the background by filling it with white colour.
      * @param g2d This parameter is used to control the graphics such as colour.
@@ -133,58 +279,120 @@ public class GameBoardRenderer implements Renderer {
     }
 
     /**
-     * This method is used to draw the bricks by filling inner colour and drawing outer colour.
-     * @param brick This parameter tells the method what colour to use for the bricks.
+     * This method is used to draw bricks a type at a time. The bricks are ordered by their type, then all of them are
+     * filled with their inner colours, and then their borders and cracks are drawn with their outer colours, so the
+     * colour is only changed when the type changes. Where the borders of bricks of different types meet, the border
+     * of the later type is on top.
+     * @param bricks This parameter holds the bricks of the current level.
+     * @param count This parameter is the number of bricks to be drawn, whose indexes are at the start of found.
      * @param g2d This parameter is used to control the graphics such as colour.
      */
-    private void drawBrick(Brick brick,Graphics2D g2d){
-
-        g2d.setColor(brick.getInner());
-        g2d.fill(brick.getBrickFace());
+    private void drawBricks(BrickStore bricks, int count, Graphics2D g2d){
+
+        bricks.sortByType(found,count,sorted);
+        for(int j = 0; j < count; j++) {
+            int i = sorted[j];
+            if(j == 0 || bricks.getType(i) != bricks.getType(sorted[j-1]))
+                g2d.setColor(bricks.getInner(i));
+            g2d.fillRect(bricks.getX(i),bricks.getY(i),bricks.getWidth(i),bricks.getHeight(i));
+        }
 
-        g2d.setColor(brick.getBorder());
-        g2d.draw(brick.getBrickFace());
+        for(int j = 0; j < count; j++) {
+            int i = sorted[j];
+            if(j == 0 || bricks.getType(i) != bricks.getType(sorted[j-1]))
+                g2d.setColor(bricks.getBorder(i));
+            g2d.drawRect(bricks.getX(i),bricks.getY(i),bricks.getWidth(i),bricks.getHeight(i));
+            if(bricks.getCrack(i) != null)
+                g2d.draw(bricks.getCrack(i));
+        }
     }
 
     /**
-     * This method is used to draw the ball by filling inner colour and drawing outer colour.
-     * @param balls This parameter holds all the available balls.
+     * This method copies the unbroken bricks which overlap the game messages from the brick layer over the messages,
+     * so the bricks are drawn on top of the messages as they were before the brick layer was used.
+     * @param layer This parameter is the brick layer of the level.
      * @param g2d This parameter is used to control the graphics such as colour.
+     * @param clip This parameter is the area being drawn, or null if the whole screen is drawn.
      */
-    private void drawBall(Ball[] balls, Graphics2D g2d){
-
-        for(Ball ball: balls) {
-            if(!ball.isLost()) {
-                Shape s = ball.getBallFace();
-
-                if(!ball.isCollected() && ball == balls[0])
-                    g2d.setColor(ball.getFirst());
-                else if(!ball.isCollected() && ball != balls[0])
-                    g2d.setColor(ball.getInner());
-                else if(ball.isCollected())
-                    g2d.setColor(ball.getPowerUp());
-                g2d.fill(s);
+    private void coverMessages(BufferedImage layer, Graphics2D g2d, Rectangle clip){
+
+        if(gameBoard.getGameMessage(0).length()==0)
+            return;
+
+        int level = gameBoard.getLevel()-1;
+        BrickStore bricks = gameBoard.getBricks()[level];
+        Rectangle messages = dirtyRegion.getMessageArea();
+        if(clip != null)
+            Rectangle.intersect(messages,clip,messages);
+        int hits = grids[level].query(messages.x,messages.y,messages.x + messages.width,messages.y + messages.height,found);
+        for(int j = 0; j < hits; j++) {
+            int i = found[j];
+            if(bricks.isBroken(i))
+                continue;
+            int left = Math.max(bricks.getX(i),messages.x);
+            int top = Math.max(bricks.getY(i),messages.y);
+            int right = Math.min(bricks.getX(i) + bricks.getWidth(i) + 1,messages.x + messages.width);
+            int bottom = Math.min(bricks.getY(i) + bricks.getHeight(i) + 1,messages.y + messages.height);
+            if(left < right && top < bottom)
+                g2d.drawImage(layer,left,top,right,bottom,left,top,right,bottom,null);
+        }
+    }
 
-                g2d.setColor(ball.getBorder());
-                g2d.draw(s);
-            }
+    /**
+     * This method is used to draw the ball by filling inner colour and drawing outer colour. The ball is moved back
+     * from its current position towards its last position according to the interpolation fraction. The balls are drawn
+     * as ovals at whole pixel positions, which is much faster than drawing their shapes when thousands of balls are in
+     * play. The balls outside the clip are skipped.
+     * @param balls This parameter holds the pool of balls, of which only the balls in play are drawn.
+     * @param g2d This parameter is used to control the graphics such as colour.
+     * @param clip This parameter is the area being drawn, or null if the whole screen is drawn.
+     * @param alpha The fraction of an update cycle since the last update cycle.
+     */
+    private void drawBall(BallPool balls, Graphics2D g2d, Rectangle clip, double alpha){
+
+        int d = GameBoard.BALL_DIAMETER;
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            int x = (int) Math.round(ball.getPreviousX() + (ball.getX() - ball.getPreviousX()) * alpha - d / 2.0);
+            int y = (int) Math.round(ball.getPreviousY() + (ball.getY() - ball.getPreviousY()) * alpha - d / 2.0);
+            if(clip != null && !clip.intersects(x,y,d + 1,d + 1))
+                continue;
+
+            if(ball.isCollected())
+                g2d.setColor(ball.getPowerUp());
+            else if(i == 0)
+                g2d.setColor(ball.getFirst());
+            else
+                g2d.setColor(ball.getInner());
+            g2d.fillOval(x,y,d,d);
+
+            g2d.setColor(ball.getBorder());
+            g2d.drawOval(x,y,d,d);
         }
     }
 
+
+
     /**
-     * This method is used to draw the player by filling inner colour and drawing outer colour.
+     * This method is used to draw the player by filling inner colour and drawing outer colour. The player is moved
+     * back from its current position towards its last position according to the interpolation fraction.
      * @param p This parameter tells the method what colour to use for the player.
      * @param g2d This parameter is used to control the graphics such as colour.
+     * @param alpha The fraction of an update cycle since the last update cycle.
      */
-    private void drawPlayer(Player p, Graphics2D g2d){
+    private void drawPlayer(Player p, Graphics2D g2d, double alpha){
 
         Shape s = p.getPlayerFace();
+        double dx = (p.getPreviousX() - p.getX()) * (1 - alpha);
+        double dy = (p.getPreviousY() - p.getY()) * (1 - alpha);
+        g2d.translate(dx,dy);
 
         g2d.setColor(p.getInner());
         g2d.fill(s);
 
         g2d.setColor(p.getBorder());
         g2d.draw(s);
+        g2d.translate(-dx,-dy);
     }
 
     /**
@@ -194,26 +402,18 @@ public class GameBoardRenderer implements Renderer {
      */
     private void drawMessages(Graphics2D g2d){
 
+        if(gameBoard.getGameMessage(0).length()==0)
+            return;
+
         Font tmpFont = g2d.getFont();
 
-        g2d.setFont(new Font("Monospaced",Font.BOLD,16));
+        g2d.setFont(MESSAGE_FONT);
         g2d.setColor(Color.BLACK);
 
-        if(gameBoard.getChoice()[gameBoard.getLevel()-1][9]==0 && gameBoard.getGameMessages(0)!=null) {
-            g2d.drawString(gameBoard.getGameMessages(0), 210, 225);
-            g2d.drawString(gameBoard.getGameMessages(1), 210, 240);
-            g2d.drawString(gameBoard.getGameMessages(2), 210, 255);
-            g2d.drawString(gameBoard.getGameMessages(3), 210, 270);
-            g2d.drawString(gameBoard.getGameMessages(4), 210, 285);
-            g2d.drawString(gameBoard.getGameMessages(5), 210, 300);
-        }
-        else if(gameBoard.getChoice()[gameBoard.getLevel()-1][9]==1 && gameBoard.getGameMessages(0)!=null){
-            g2d.drawString(gameBoard.getGameMessages(0), 210, 150);
-            g2d.drawString(gameBoard.getGameMessages(1), 210, 165);
-            g2d.drawString(gameBoard.getGameMessages(2), 210, 180);
-            g2d.drawString(gameBoard.getGameMessages(3), 210, 195);
-            g2d.drawString(gameBoard.getGameMessages(4), 210, 210);
-            g2d.drawString(gameBoard.getGameMessages(5), 210, 225);
+        int y = dirtyRegion.getMessageY();
+        for(int i = 0; i < 6; i++) {
+            GameMessage message = gameBoard.getGameMessage(i);
+            g2d.drawChars(message.getChars(), 0, message.length(), DirtyRegion.MESSAGE_X, y + i * DirtyRegion.MESSAGE_SPACING);
         }
         g2d.setFont(tmpFont);
     }
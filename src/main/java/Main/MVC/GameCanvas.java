@@ -0,0 +1,72 @@
+package Main.MVC;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Public class GameCanvas is the screen used for active rendering. Instead of asking Swing to repaint the game and
+ * waiting for the repaint to be scheduled, the game loop renders each frame straight into a back buffer of the canvas
+ * and flips it onto the screen at once, so every frame is shown as soon as it is ready. The canvas is triple buffered
+ * where the screen allows it, so the game loop rarely waits for the screen.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameCanvas extends Canvas {
+
+    /**
+     * The number of buffers of the canvas.
+     */
+    private static final int BUFFERS = 3;
+
+    /**
+     * GameEngine which renders the frames.
+     */
+    private final GameEngine engine;
+
+    /**
+     * This constructor creates the canvas for the given GameEngine. The buffers are created when the canvas is first
+     * shown.
+     * @param engine GameEngine which renders the frames.
+     * @param area The dimensions of the game screen.
+     */
+    public GameCanvas(GameEngine engine, Dimension area) {
+        this.engine = engine;
+        this.setPreferredSize(area);
+        this.setIgnoreRepaint(true);
+        this.setFocusable(true);
+    }
+
+    /**
+     * This method renders a frame into the back buffer and shows it. If the contents of the buffers are lost, for
+     * example when the window is covered, the frame is rendered again. The frame is not shown if the canvas is not on
+     * the screen yet.
+     * @param alpha The fraction of an update cycle since the last update cycle, used to interpolate moving entities.
+     */
+    public void present(double alpha) {
+        long requested = System.nanoTime();
+        if(!isDisplayable() || getWidth() == 0 || getHeight() == 0)
+            return;
+        BufferStrategy strategy = getBufferStrategy();
+        if(strategy == null) {
+            createBufferStrategy(BUFFERS);
+            strategy = getBufferStrategy();
+        }
+        long started = System.nanoTime();
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    engine.render(g,alpha);
+                }
+                finally {
+                    g.dispose();
+                }
+            } while(strategy.contentsRestored());
+            strategy.show();
+        } while(strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        engine.getFrameTimes().record(requested,started,System.nanoTime());
+    }
+}
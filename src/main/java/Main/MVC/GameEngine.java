@@ -2,19 +2,33 @@ package Main.MVC;
 
 import Main.Consoles.DebugConsole;
 import Main.Others.GameSounds;
+import Main.Replay.InputReplay;
+import Main.Replay.ReplayPlayer;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.font.FontRenderContext;
-import java.io.FileNotFoundException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 /**
- * Public class GameBoard is responsible for loading in the GameBoard, Controller and Renderer. It connects the game
- * timer to the game data which is updated and rendered every cycle to simulate gameplay. It also handles all the
- * inputs by the user such as key presses and mouse clicks.
+ * Public class GameEngine is responsible for loading in the GameSimulation and Renderer. It connects the game
+ * timer to the game data which is updated and rendered every cycle to simulate gameplay. It also translates all the
+ * inputs by the user such as key presses and mouse clicks into actions of the GameSimulation. Every game is recorded
+ * into a replay file, and a replay can be watched by creating the GameEngine from the replay instead of the choices.
+ * A snapshot of the game and the recording so far are written to checkpoint files every 30 seconds of game time, so
+ * the game can be resumed after a crash, and the last 60 seconds of the game are kept so the DebugConsole can go back
+ * in time. The frames are
+ * rendered actively into a GameCanvas by default, or passively through Swing repaints, and the times they take to
+ * reach the screen are measured so the two can be compared in the DebugConsole. The frames can also be drawn by the
+ * RasterRenderer, which writes the pixels of the frames itself, instead of through Java2D.
  *
  * @author TanZhunXian
  * @version 1.0
@@ -34,6 +48,30 @@ public class GameEngine {
      * Restart button area.
      */
     private Rectangle restartButtonRect;
+    /**
+     * The file the last game is recorded into.
+     */
+    public static final String REPLAY_FILE = "replays/LastGame.bbr";
+    /**
+     * The file the snapshot of the last checkpoint of the game is written into, to resume the game after a crash.
+     */
+    public static final String CHECKPOINT_FILE = "saves/Checkpoint.bbs";
+    /**
+     * The file the recording of the game up to the last checkpoint is written into, to resume the game after a crash.
+     */
+    public static final String CHECKPOINT_REPLAY_FILE = "saves/Checkpoint.bbr";
+    /**
+     * The number of seconds of game time between checkpoints.
+     */
+    private static final int CHECKPOINT_SECONDS = 30;
+    /**
+     * The number of seconds of game time kept to go back to in the DebugConsole.
+     */
+    private static final int REWIND_SECONDS = 60;
+    /**
+     * The size of the memory used to keep the seconds of game time to go back to.
+     */
+    private static final int REWIND_BYTES = 8 << 20;
     /**
      * Continue string to get an estimate of options area.
      */
@@ -54,18 +92,26 @@ public class GameEngine {
      * JFrame to get mouse cursor to change to hand cursor.
      */
     private final JFrame owner;
+    /**
+     * Headless core of the game which holds the GameBoard and Controller.
+     */
+    private final GameSimulation simulation;
     /**
      * GameBoard to hold all game data.
      */
     private final GameBoard gameBoard;
     /**
-     * Controller to manipulate game data.
+     * Renderer to render game graphics through Java2D.
      */
-    private final GameBoardController controller;
+    private final Renderer renderer;
     /**
-     * Renderer to render game graphics.
+     * Renderer to render game graphics by writing the pixels of the frames.
      */
-    private final Renderer renderer;
+    private final Renderer rasterRenderer;
+    /**
+     * The Renderer which drew the last frame.
+     */
+    private Renderer lastRenderer;
     /**
      * DebugConsole to debug the game.
      */
@@ -75,29 +121,157 @@ public class GameEngine {
      */
     private final GameSounds gameSounds;
     /**
-     * Choices of player in CustomConsole to correctly manipulate game data.
+     * ReplayPlayer which feeds the inputs of a replay into the game, or null if the player is playing.
+     */
+    private final ReplayPlayer replayPlayer;
+    /**
+     * GameRewind which keeps the last seconds of the game, or null if a replay is watched.
+     */
+    private final GameRewind rewind;
+    /**
+     * The times taken by the last frames to reach the screen.
+     */
+    private final FrameTimes frameTimes = new FrameTimes();
+    /**
+     * Flag to signal if the frames are rendered actively into a GameCanvas instead of through Swing repaints.
      */
-    private final int[][] choice;
+    private volatile boolean activeRendering = true;
+    /**
+     * Flag to signal if the frames are rendered by the RasterRenderer instead of through Java2D.
+     */
+    private volatile boolean softwareRendering = false;
+    /**
+     * Flag to signal if the end of the game has been handled.
+     */
+    private boolean ended = false;
 
     /**
-     * This constructor initialises the GameBoard, Controller and Renderer so that the game data can be saved,
-     * manipulated and rendered.
+     * This constructor initialises the GameSimulation and Renderer so that the game data can be saved,
+     * manipulated and rendered. The GameSimulation notifies the Swing front end through a SwingGameListener.
      * @param owner JFrame used to center screen in ScoreBoard.
      * @param choice Player choice from custom console to be generated into levels in GameBoard.
      * @param gameSounds GameSounds to add BGM and sound effects to the game.
      * @param area Dimensions of the game screen to set game boundaries and draw pause menu.
+     * @param tickRate The number of update cycles in one second.
      * @throws IOException This constructor throws IOException if game background image is not found.
      */
-    public GameEngine(JFrame owner, int[][] choice, GameSounds gameSounds, Dimension area) throws IOException {
-        gameBoard = new GameBoard(choice,area);
-        controller = new GameBoardController(owner,gameBoard,gameSounds,area);
+    public GameEngine(JFrame owner, int[][] choice, GameSounds gameSounds, Dimension area, int tickRate) throws IOException {
+        SwingGameListener listener = new SwingGameListener(owner,gameSounds,choice);
+        simulation = new GameSimulation(choice,area,listener,tickRate);
+        listener.setReplaySource(simulation::getReplaySoFar);
+        replayPlayer = null;
+        rewind = new GameRewind(simulation,REWIND_SECONDS,REWIND_BYTES);
+        gameBoard = simulation.getGameBoard();
         renderer = new GameBoardRenderer(gameBoard,area);
+        rasterRenderer = new RasterRenderer(gameBoard,area);
+        lastRenderer = renderer;
         debugConsole = new DebugConsole(owner,this, gameSounds);
         menuFont = new Font("Monospaced",Font.PLAIN,TEXT_SIZE);
-        this.choice = choice;
         this.gameSounds = gameSounds;
         this.owner = owner;
         this.area = area;
+        startRecording();
+    }
+
+    /**
+     * This constructor loads a replay to be watched in real time. The game is created from the header of the replay,
+     * and the inputs of the player are ignored while the replay plays.
+     * @param owner JFrame used to center screen in ScoreBoard.
+     * @param replay The replay to be watched.
+     * @param gameSounds GameSounds to add BGM and sound effects to the game.
+     * @throws IOException This constructor throws IOException if game background image is not found.
+     */
+    public GameEngine(JFrame owner, InputReplay replay, GameSounds gameSounds) throws IOException {
+        replayPlayer = new ReplayPlayer(replay,new SwingGameListener(owner,gameSounds,replay.getChoice()));
+        simulation = replayPlayer.getSimulation();
+        rewind = null;
+        gameBoard = simulation.getGameBoard();
+        area = replay.getArea();
+        renderer = new GameBoardRenderer(gameBoard,area);
+        rasterRenderer = new RasterRenderer(gameBoard,area);
+        lastRenderer = renderer;
+        debugConsole = new DebugConsole(owner,this, gameSounds);
+        menuFont = new Font("Monospaced",Font.PLAIN,TEXT_SIZE);
+        this.gameSounds = gameSounds;
+        this.owner = owner;
+    }
+
+    /**
+     * This constructor resumes a game from its last checkpoint, such as after a crash. The game is created from the
+     * header of the recording up to the checkpoint and goes on being recorded into the replay file from its start. The
+     * game is paused, so the player can get ready before it goes on.
+     * @param owner JFrame used to center screen in ScoreBoard.
+     * @param snapshot The snapshot of the checkpoint.
+     * @param replay The recording of the game up to the checkpoint.
+     * @param gameSounds GameSounds to add BGM and sound effects to the game.
+     * @throws IOException This constructor throws IOException if game background image is not found, or if the
+     *                     snapshot is broken or was not taken together with the recording.
+     */
+    public GameEngine(JFrame owner, byte[] snapshot, InputReplay replay, GameSounds gameSounds) throws IOException {
+        SwingGameListener listener = new SwingGameListener(owner,gameSounds,replay.getChoice());
+        simulation = GameSimulation.resume(snapshot,replay,listener,openReplayFile());
+        simulation.pause();
+        listener.setReplaySource(simulation::getReplaySoFar);
+        replayPlayer = null;
+        rewind = new GameRewind(simulation,REWIND_SECONDS,REWIND_BYTES);
+        gameBoard = simulation.getGameBoard();
+        area = replay.getArea();
+        renderer = new GameBoardRenderer(gameBoard,area);
+        rasterRenderer = new RasterRenderer(gameBoard,area);
+        lastRenderer = renderer;
+        debugConsole = new DebugConsole(owner,this, gameSounds);
+        menuFont = new Font("Monospaced",Font.PLAIN,TEXT_SIZE);
+        this.gameSounds = gameSounds;
+        this.owner = owner;
+    }
+
+    /**
+     * This method starts recording the game into the replay file. The game still runs if the file cannot be created.
+     */
+    private void startRecording() {
+        OutputStream out = openReplayFile();
+        if(out == null)
+            return;
+        try {
+            simulation.startRecording(out);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * This method opens the replay file to record the game into.
+     * @return The stream to the replay file is returned, or null if the file cannot be created.
+     */
+    private static OutputStream openReplayFile() {
+        File file = new File(REPLAY_FILE);
+        file.getParentFile().mkdirs();
+        try {
+            return new BufferedOutputStream(new FileOutputStream(file));
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * This method checks if a checkpoint of a game which has not ended is left to be resumed.
+     * @return A boolean to signal if both checkpoint files exist is returned.
+     */
+    public static boolean hasCheckpoint() {
+        return new File(CHECKPOINT_FILE).isFile() && new File(CHECKPOINT_REPLAY_FILE).isFile();
+    }
+
+    /**
+     * This method deletes the checkpoint files on a background thread, after any checkpoint still being written.
+     */
+    public static void deleteCheckpoint() {
+        GameSnapshot.delete(new File(CHECKPOINT_FILE),new File(CHECKPOINT_REPLAY_FILE)).exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        });
     }
 
     /**
@@ -106,71 +280,61 @@ public class GameEngine {
      */
     public void handleEvent(KeyEvent keyEvent) {
 
+        if(replayPlayer != null)
+            return;
+
         switch(keyEvent.getKeyCode()){
 
             case KeyEvent.VK_A:
-                controller.moveLeft();
+                simulation.moveLeft();
                 break;
 
             case KeyEvent.VK_D:
-                controller.moveRight();
+                simulation.moveRight();
                 break;
 
             case KeyEvent.VK_W:
-                if(choice[gameBoard.getLevel()-1][10]==1)
-                    controller.moveUp();
+                simulation.moveUp();
                 break;
 
             case KeyEvent.VK_S:
-                if(choice[gameBoard.getLevel()-1][10]==1)
-                    controller.moveDown();
+                simulation.moveDown();
                 break;
 
             case KeyEvent.VK_UP:
-                if(choice[gameBoard.getLevel()-1][10]==1)
-                    controller.minusSpeedY();
+                simulation.changeBallSpeed(0,-1);
                 break;
 
             case KeyEvent.VK_DOWN:
-                if(choice[gameBoard.getLevel()-1][10]==1)
-                    controller.addSpeedY();
+                simulation.changeBallSpeed(0,1);
                 break;
 
             case KeyEvent.VK_LEFT:
-                if(choice[gameBoard.getLevel()-1][10]==1)
-                    controller.minusSpeedX();
+                simulation.changeBallSpeed(-1,0);
                 break;
 
             case KeyEvent.VK_RIGHT:
-                if(choice[gameBoard.getLevel()-1][10]==1)
-                    controller.addSpeedX();
+                simulation.changeBallSpeed(1,0);
                 break;
 
             case KeyEvent.VK_ESCAPE:
-                if(!gameBoard.isEnded()) {
-                    gameBoard.setShowPauseMenu(!gameBoard.isShowPauseMenu());
-                }
-                if(gameBoard.isNotPaused())
-                    controller.reversePauseFlag();
+                simulation.togglePauseMenu();
                 break;
 
             case KeyEvent.VK_SPACE:
-                if(!gameBoard.isShowPauseMenu())
-                    controller.reversePauseFlag();
+                simulation.togglePause();
                 break;
 
             case KeyEvent.VK_F1:
                 if(keyEvent.isAltDown() && keyEvent.isShiftDown()) {
-                    if(gameBoard.isNotPaused()){
-                        controller.reversePauseFlag();
-                    }
+                    simulation.pause();
                     if(!gameBoard.isEnded())
                         debugConsole.setVisible(true);
                 }
                 break;
 
             default:
-                controller.stop();
+                simulation.stop();
         }
     }
 
@@ -178,7 +342,8 @@ public class GameEngine {
      * This method is used to respond to the key releases by the player.
      */
     public void handleReleaseEvent(){
-        controller.stop();
+        if(replayPlayer == null)
+            simulation.stop();
     }
 
     /**
@@ -188,19 +353,18 @@ public class GameEngine {
     public void handleMouseClick(MouseEvent mouseEvent){
 
         Point p = mouseEvent.getPoint();
-        if(!gameBoard.isShowPauseMenu())
+        if(!gameBoard.isShowPauseMenu() || replayPlayer != null)
             return;
         if(continueButtonRect.contains(p)){
-            gameBoard.setShowPauseMenu(false);
+            simulation.continueGame();
         }
         else if(restartButtonRect.contains(p)){
-            gameBoard.setMessageFlag(4);
-            controller.resetLevelData();
-            gameBoard.setShowPauseMenu(false);
+            simulation.restartLevel();
             gameSounds.setBgm("BGM"+gameBoard.getLevel());
-            gameSounds.getBgm().stop();
+            gameSounds.pauseBgm();
         }
         else if(exitButtonRect.contains(p)){
+            simulation.stopRecording();
             System.exit(0);
         }
     }
@@ -224,28 +388,118 @@ public class GameEngine {
     }
 
     /**
-     * This method calls the update method in Controller to update game data.
-     * @throws FileNotFoundException This method throws FileNotFoundException when audio file is not found.
+     * This method calls the update method in GameSimulation to update game data. When a replay is watched, the inputs
+     * of the replay are applied first. The recording of the game is closed and the checkpoint is deleted when the game
+     * ends, and a checkpoint is taken every 30 seconds of game time while it runs. The game time is counted in the update cycles the game is not
+     * paused, so no checkpoints are taken while the game is paused. The last seconds of the game are kept to go back to.
+     */
+    public void update() {
+        int running = gameBoard.getTick();
+        if(replayPlayer != null)
+            replayPlayer.step();
+        else {
+            simulation.update();
+            rewind.update();
+        }
+        if(gameBoard.isEnded()) {
+            if(!ended && replayPlayer == null)
+                deleteCheckpoint();
+            ended = true;
+            simulation.stopRecording();
+        }
+        else if(replayPlayer == null && gameBoard.getTick() != running
+                && gameBoard.getTick() % (getController().getTickRate() * CHECKPOINT_SECONDS) == 0)
+            saveCheckpoint();
+    }
+
+    /**
+     * This method takes a snapshot of the game and a copy of its recording and writes them to the checkpoint files on
+     * a background thread. A game which is not recorded is not checkpointed, as it could not be resumed with its
+     * recording.
      */
-    public void update() throws FileNotFoundException {
-        controller.update();
+    private void saveCheckpoint() {
+        InputReplay replay = simulation.getReplaySoFar();
+        if(replay == null)
+            return;
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        try {
+            replay.write(recording);
+        }
+        catch (IOException e) { //cannot happen when writing to memory
+            throw new IllegalStateException(e);
+        }
+        GameSnapshot.save(recording.toByteArray(),new File(CHECKPOINT_REPLAY_FILE)).exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        });
+        GameSnapshot.save(simulation.snapshot(),new File(CHECKPOINT_FILE)).exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        });
     }
 
     /**
      * This method calls the render method in Renderer to render game graphics.
      * @param g This is used to control the graphics during the rendering of game graphics.
+     * @param alpha The fraction of an update cycle since the last update cycle, used to interpolate moving entities.
      */
-    public void render(Graphics g) {
-        renderer.render(g);
+    public void render(Graphics g, double alpha) {
+        getRenderer().render(g,alpha);
         drawPauseMenuChoices(g);
     }
 
+    /**
+     * This method calls the Renderer to find the areas of the game screen which have changed since the last frame.
+     * @return The areas which have changed are returned, which are none if nothing has changed.
+     */
+    public List<Rectangle> getDirtyRegions() {
+        return getRenderer().getDirtyRegions();
+    }
+
+    /**
+     * This method returns the Renderer chosen to render the frames. When the choice has changed, the chosen Renderer
+     * is reset, as the other Renderer has been drawing the frames and taking the changes of the bricks.
+     * @return The chosen Renderer is returned.
+     */
+    private Renderer getRenderer() {
+        Renderer current = softwareRendering ? rasterRenderer : renderer;
+        if(current != lastRenderer) {
+            current.reset();
+            lastRenderer = current;
+        }
+        return current;
+    }
+
     /**
      * This method returns the Controller to access the methods within.
      * @return The Controller is returned.
      */
     public GameBoardController getController(){
-        return controller;
+        return simulation.getController();
+    }
+
+    /**
+     * This method returns the GameSimulation which is the headless core of the game.
+     * @return The GameSimulation is returned.
+     */
+    public GameSimulation getSimulation(){
+        return simulation;
+    }
+
+    /**
+     * This method returns the ReplayPlayer of the replay being watched.
+     * @return The ReplayPlayer is returned, or null if the player is playing.
+     */
+    public ReplayPlayer getReplayPlayer(){
+        return replayPlayer;
+    }
+
+    /**
+     * This method returns the GameRewind which keeps the last seconds of the game.
+     * @return The GameRewind is returned, or null if a replay is watched.
+     */
+    public GameRewind getRewind(){
+        return rewind;
     }
 
     /**
@@ -256,6 +510,50 @@ public class GameEngine {
         return gameBoard;
     }
 
+    /**
+     * This method returns the times taken by the last frames to reach the screen.
+     * @return The FrameTimes of the last frames is returned.
+     */
+    public FrameTimes getFrameTimes(){
+        return frameTimes;
+    }
+
+    /**
+     * This method checks if the frames are rendered actively into a GameCanvas.
+     * @return A boolean to signal if the frames are rendered actively is returned.
+     */
+    public boolean isActiveRendering(){
+        return activeRendering;
+    }
+
+    /**
+     * This method switches between rendering the frames actively into a GameCanvas and through Swing repaints. The
+     * measured frame times are cleared so the two modes are not mixed.
+     * @param activeRendering A boolean to signal if the frames are to be rendered actively.
+     */
+    public void setActiveRendering(boolean activeRendering){
+        this.activeRendering = activeRendering;
+        frameTimes.clear();
+    }
+
+    /**
+     * This method checks if the frames are rendered by the RasterRenderer.
+     * @return A boolean to signal if the frames are rendered by the RasterRenderer is returned.
+     */
+    public boolean isSoftwareRendering(){
+        return softwareRendering;
+    }
+
+    /**
+     * This method switches between rendering the frames by the RasterRenderer and through Java2D. The measured frame
+     * times are cleared so the two renderers are not mixed.
+     * @param softwareRendering A boolean to signal if the frames are to be rendered by the RasterRenderer.
+     */
+    public void setSoftwareRendering(boolean softwareRendering){
+        this.softwareRendering = softwareRendering;
+        frameTimes.clear();
+    }
+
     /**
      * This method is used to draw the detection boxes for the pause menu options.
      * @param g This parameter is used to get the graphics to draw the detection boxes for the pause menu options.
@@ -295,9 +593,7 @@ public class GameEngine {
      * game.
      */
     public void onLostFocus(){
-        if(gameBoard.isNotPaused()){
-            controller.reversePauseFlag();
-        }
-        gameBoard.setMessageFlag(5);
+        if(replayPlayer == null)
+            simulation.onLostFocus();
     }
 }
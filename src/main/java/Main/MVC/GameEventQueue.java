@@ -0,0 +1,162 @@
+package Main.MVC;
+
+import java.util.Arrays;
+
+/**
+ * Public class GameEventQueue takes the side effects of the game out of the update cycle. While the balls are moved
+ * and the game is checked, the GameBoardController only emits events such as a brick being damaged or a ball being
+ * lost into the queue, and the subscribers, such as the sound effects, the highscore popups or any statistics, are
+ * told about the events after the update cycle has been processed. The update cycle therefore never waits for the
+ * speakers, the disk or a dialog.
+ * <p>
+ * Each event is a type code with two int values, kept in arrays which are reused every update cycle, so emitting an
+ * event creates no objects. The arrays only grow, by doubling, when more events are emitted in one update cycle than
+ * ever before.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameEventQueue {
+
+    /**
+     * Event of a ball bouncing off a page border or the player. The first value is the index of the ball.
+     */
+    public static final int BALL_BOUNCED = 0;
+    /**
+     * Event of a brick taking damage. The first value is the index of the brick and the second its strength left.
+     */
+    public static final int BRICK_DAMAGED = 1;
+    /**
+     * Event of a ball hitting a brick without damaging it. The first value is the index of the brick.
+     */
+    public static final int BRICK_DEFLECTED = 2;
+    /**
+     * Event of a brick being broken. The first value is the index of the brick and the second its score.
+     */
+    public static final int BRICK_BROKEN = 3;
+    /**
+     * Event of a ball being lost. The first value is the number of balls the player has left.
+     */
+    public static final int BALL_LOST = 4;
+    /**
+     * Event of a level being cleared. The first value is the level number and the second is 1 if the score of the
+     * level can be a highscore.
+     */
+    public static final int LEVEL_CLEARED = 5;
+    /**
+     * Event of the last level being cleared. The second value is 1 if the score of the game can be a highscore.
+     */
+    public static final int GAME_CLEARED = 6;
+    /**
+     * Event of the player running out of balls. The first value is the level number which is restarted.
+     */
+    public static final int GAME_OVER = 7;
+    /**
+     * Event of a ball collecting the power up. The first value is the index of the ball.
+     */
+    public static final int POWER_UP_COLLECTED = 8;
+    /**
+     * Event of the game being paused.
+     */
+    public static final int GAME_PAUSED = 9;
+    /**
+     * Event of the game being resumed. The first value is the level number which is resumed.
+     */
+    public static final int GAME_RESUMED = 10;
+
+    /**
+     * The subscribers told about the events.
+     */
+    private Subscriber[] subscribers = new Subscriber[0];
+    /**
+     * The number of events in the queue.
+     */
+    private int size = 0;
+    /**
+     * The type codes of the events.
+     */
+    private int[] types = new int[64];
+    /**
+     * The first values of the events.
+     */
+    private int[] firsts = new int[64];
+    /**
+     * The second values of the events.
+     */
+    private int[] seconds = new int[64];
+    /**
+     * A flag to signal if the events are being handed to the subscribers.
+     */
+    private boolean draining = false;
+
+    /**
+     * Public interface Subscriber is told about the events of the game after each update cycle.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+
+        /**
+         * This method is called for every event, in the order the events were emitted.
+         * @param type The type code of the event.
+         * @param first The first value of the event.
+         * @param second The second value of the event.
+         */
+        void onEvent(int type, int first, int second);
+    }
+
+    /**
+     * This method adds a subscriber which is told about every event from now on.
+     * @param subscriber The subscriber to be added.
+     */
+    public void subscribe(Subscriber subscriber) {
+        subscribers = Arrays.copyOf(subscribers,subscribers.length + 1);
+        subscribers[subscribers.length - 1] = subscriber;
+    }
+
+    /**
+     * This method emits an event into the queue. The queue grows if it is full.
+     * @param type The type code of the event.
+     * @param first The first value of the event.
+     * @param second The second value of the event.
+     */
+    public void emit(int type, int first, int second) {
+        if(size == types.length) {
+            types = Arrays.copyOf(types,size * 2);
+            firsts = Arrays.copyOf(firsts,size * 2);
+            seconds = Arrays.copyOf(seconds,size * 2);
+        }
+        types[size] = type;
+        firsts[size] = first;
+        seconds[size] = second;
+        size++;
+    }
+
+    /**
+     * This method hands the events in the queue to every subscriber in the order they were emitted and empties the
+     * queue. Events emitted by a subscriber are handed out in the same call, after the events before them. If a
+     * subscriber drains the queue again, the call returns at once and the events are left to the first call.
+     */
+    public void drain() {
+        if(draining)
+            return;
+        draining = true;
+        try {
+            for(int i = 0; i < size; i++)
+                for(Subscriber subscriber : subscribers)
+                    subscriber.onEvent(types[i],firsts[i],seconds[i]);
+        }
+        finally {
+            size = 0;
+            draining = false;
+        }
+    }
+
+    /**
+     * This method returns the number of events in the queue.
+     * @return The number of events in the queue is returned.
+     */
+    public int size() {
+        return size;
+    }
+}
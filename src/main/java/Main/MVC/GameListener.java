@@ -0,0 +1,49 @@
+package Main.MVC;
+
+/**
+ * Public interface GameListener is used by the GameBoardController to notify the front end of the game about
+ * side effects such as sound effects, BGM changes and the highscore popups. The controller itself never touches
+ * the screen or the speakers so that the game can also be simulated without a display. All methods do nothing by
+ * default so that a headless game only needs to use NONE.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public interface GameListener {
+
+    /**
+     * Listener which ignores every notification. It is used to run the game without a display or audio.
+     */
+    GameListener NONE = new GameListener() {};
+
+    /**
+     * This method is called when a sound effect should be played.
+     * @param name The name of the sound effect.
+     */
+    default void playSoundEffect(String name){}
+
+    /**
+     * This method is called when the game is paused.
+     */
+    default void gamePaused(){}
+
+    /**
+     * This method is called when the game is resumed.
+     * @param level The level number which is resumed.
+     */
+    default void gameResumed(int level){}
+
+    /**
+     * This method is called when the player has run out of balls and the level is restarted.
+     * @param level The level number which is restarted.
+     */
+    default void gameOver(int level){}
+
+    /**
+     * This method is called when the highscores of a level or of the whole game should be shown.
+     * @param level The level number of the highscores, or 0 for the highscores of the whole game.
+     * @param scoreAndTime All the scores and times of the player.
+     */
+    default void showScoreBoard(int level, int[][] scoreAndTime){}
+}
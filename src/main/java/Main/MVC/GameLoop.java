@@ -0,0 +1,153 @@
+package Main.MVC;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Public class GameLoop drives the update and draw cycles of the game with a fixed time step. A dedicated thread
+ * paces the frames and runs each frame on the event dispatch thread. Every frame, the time passed since the last
+ * frame is added to an accumulator and as many fixed update cycles as fit into the accumulator are processed, so the
+ * game runs at the same speed no matter how late a frame is. The time left over in the accumulator is used to
+ * interpolate the rendering between the last two update cycles.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameLoop implements Runnable {
+
+    /**
+     * The number of frames drawn in one second.
+     */
+    private static final int FRAME_RATE = 120;
+    /**
+     * The longest time in nanoseconds which is processed in a single frame. A longer gap, for example while a modal
+     * dialog is shown, is dropped instead of being caught up with a burst of update cycles.
+     */
+    private static final long MAX_FRAME_TIME = 250_000_000L;
+
+    /**
+     * GameEngine which is updated and rendered.
+     */
+    private final GameEngine engine;
+    /**
+     * The action which shows the game on the screen after every frame.
+     */
+    private final Runnable present;
+    /**
+     * The length of a single update cycle in nanoseconds.
+     */
+    private final long stepTime;
+    /**
+     * The time in nanoseconds which has passed but has not been processed by an update cycle yet.
+     */
+    private long accumulator = 0;
+    /**
+     * The time in nanoseconds at which the last frame started.
+     */
+    private long lastFrame;
+    /**
+     * The fraction of an update cycle between the last update cycle and the current frame.
+     */
+    private volatile double alpha = 0;
+    /**
+     * Flag to signal if the game loop is running.
+     */
+    private volatile boolean running = false;
+    /**
+     * The thread which paces the frames.
+     */
+    private Thread thread;
+
+    /**
+     * This constructor creates a game loop which updates the given GameEngine with the given tick rate.
+     * @param engine GameEngine which is updated and rendered.
+     * @param present The action which shows the game on the screen after every frame, either by rendering it at once
+     *                or by asking Swing to repaint it.
+     * @param tickRate The number of update cycles in one second.
+     * @throws IllegalArgumentException If the tick rate is not from 1 to GameBoardController.MAX_TICK_RATE.
+     */
+    public GameLoop(GameEngine engine, Runnable present, int tickRate) {
+        GameBoardController.checkTickRate(tickRate);
+        this.engine = engine;
+        this.present = present;
+        this.stepTime = 1_000_000_000L / tickRate;
+    }
+
+    /**
+     * This method starts the thread of the game loop.
+     */
+    public void start() {
+        if(running)
+            return;
+        running = true;
+        lastFrame = System.nanoTime();
+        thread = new Thread(this,"Game Loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This method stops the thread of the game loop after the current frame.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * This method paces the frames. Each frame is run on the event dispatch thread and the thread then sleeps until
+     * the next frame is due.
+     */
+    @Override
+    public void run() {
+        long frameTime = 1_000_000_000L / FRAME_RATE;
+        long nextFrame = System.nanoTime();
+        while(running) {
+            try {
+                EventQueue.invokeAndWait(this::frame);
+                nextFrame += frameTime;
+                long sleep = nextFrame - System.nanoTime();
+                if(sleep > 0)
+                    Thread.sleep(sleep / 1_000_000L, (int) (sleep % 1_000_000L));
+                else
+                    nextFrame = System.nanoTime();
+            }
+            catch (InterruptedException e) {
+                running = false;
+            }
+            catch (InvocationTargetException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method processes a single frame. All the update cycles which are due are processed and the game is shown
+     * on the screen. The game loop stops when the game has ended.
+     */
+    private void frame() {
+        long now = System.nanoTime();
+        accumulator += Math.min(now - lastFrame, MAX_FRAME_TIME);
+        lastFrame = now;
+
+        while(accumulator >= stepTime) {
+            engine.update();
+            accumulator -= stepTime;
+        }
+        alpha = engine.getGameBoard().isNotPaused() ? (double) accumulator / stepTime : 1;
+
+        present.run();
+
+        if(engine.getGameBoard().isEnded())
+            running = false;
+    }
+
+    /**
+     * This method returns the fraction of an update cycle between the last update cycle and the current frame. It is
+     * used to interpolate the moving entities when rendering.
+     * @return The fraction of an update cycle is returned.
+     */
+    public double getAlpha() {
+        return alpha;
+    }
+}
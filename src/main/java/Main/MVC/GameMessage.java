@@ -0,0 +1,118 @@
+package Main.MVC;
+
+import java.util.Arrays;
+
+/**
+ * Public class GameMessage holds the text of a single line of game messages in a reusable char buffer. The text is
+ * built by appending words and numbers to the buffer, so a message can be updated without creating any Strings or
+ * other objects, and the renderer can draw the chars straight from the buffer.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameMessage {
+
+    /**
+     * The chars of the message. The buffer grows if a message does not fit.
+     */
+    private char[] chars = new char[48];
+    /**
+     * The number of chars of the message in the buffer.
+     */
+    private int length = 0;
+
+    /**
+     * This method removes the text of the message.
+     * @return This message is returned so that more text can be appended.
+     */
+    public GameMessage clear() {
+        length = 0;
+        return this;
+    }
+
+    /**
+     * This method appends a String to the message.
+     * @param text The String to be appended.
+     * @return This message is returned so that more text can be appended.
+     */
+    public GameMessage append(String text) {
+        ensureCapacity(length + text.length());
+        text.getChars(0,text.length(),chars,length);
+        length += text.length();
+        return this;
+    }
+
+    /**
+     * This method appends a number to the message.
+     * @param value The number to be appended.
+     * @return This message is returned so that more text can be appended.
+     */
+    public GameMessage append(int value) {
+        return append(value,1);
+    }
+
+    /**
+     * This method appends a number to the message with at least the given number of digits. Leading zeros are added
+     * to short numbers, so a number of seconds can be appended with 2 digits.
+     * @param value The number to be appended.
+     * @param digits The least number of digits of the number.
+     * @return This message is returned so that more text can be appended.
+     */
+    public GameMessage append(int value, int digits) {
+        long number = value; //long so that the lowest int can be negated
+        if(number < 0) {
+            ensureCapacity(length + 1);
+            chars[length++] = '-';
+            number = -number;
+        }
+
+        int count = 1;
+        for(long rest = number / 10; rest > 0; rest /= 10)
+            count++;
+        count = Math.max(count,digits);
+
+        ensureCapacity(length + count);
+        for(int i = length + count - 1; i >= length; i--) { //write digits from the right
+            chars[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        length += count;
+        return this;
+    }
+
+    /**
+     * This method makes sure that the buffer has room for the given number of chars.
+     * @param capacity The number of chars which must fit into the buffer.
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity > chars.length)
+            chars = Arrays.copyOf(chars,Math.max(capacity,chars.length * 2));
+    }
+
+    /**
+     * This method returns the buffer holding the chars of the message. Only the chars up to the length of the message
+     * are part of the message.
+     * @return The buffer of the message is returned.
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * This method returns the number of chars of the message.
+     * @return The length of the message is returned.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * This method returns the message as a new String.
+     * @return The message is returned as a String.
+     */
+    @Override
+    public String toString() {
+        return new String(chars,0,length);
+    }
+}
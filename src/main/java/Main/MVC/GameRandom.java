@@ -0,0 +1,174 @@
+package Main.MVC;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Public class GameRandom is the randomizer of a game. It uses the SplitMix64 generator, which only keeps a single long
+ * of state and needs no locking, so every game can own its randomizers without the games slowing each other down. A
+ * randomizer can be split into a new randomizer whose values are independent of the values of the original, so each
+ * part of the game, such as the level generation or the cracks of the bricks, can draw from its own stream. Drawing
+ * more values from one stream then does not change the values of the other streams, and games made from the same seed
+ * always play the same.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameRandom {
+
+    /**
+     * The default gamma, which is the odd fractional part of the golden ratio.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    /**
+     * The scale to turn the top 53 bits of a long into a double between 0 and 1.
+     */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    /**
+     * The source of seeds for randomizers made without a seed.
+     */
+    private static final AtomicLong SEEDER = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+    /**
+     * The state of the generator, which advances by the gamma every value.
+     */
+    private long seed;
+    /**
+     * The odd number added to the state every value. Split randomizers get their own gamma.
+     */
+    private final long gamma;
+
+    /**
+     * This constructor creates a randomizer with the given seed. Randomizers with the same seed give the same values.
+     * @param seed The seed of the randomizer.
+     */
+    public GameRandom(long seed) {
+        this(seed,GOLDEN_GAMMA);
+    }
+
+    /**
+     * This constructor creates a randomizer with the given state and gamma.
+     * @param seed The state of the generator.
+     * @param gamma The odd number added to the state every value.
+     */
+    private GameRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * This method returns a new seed which is different every call, for games which do not need to be repeated.
+     * @return A new seed is returned.
+     */
+    public static long newSeed() {
+        return mix64(SEEDER.getAndAdd(2 * GOLDEN_GAMMA));
+    }
+
+    /**
+     * This method splits off a new randomizer. The values of the new randomizer are independent of the values of this
+     * randomizer, and the same split of randomizers with the same seed gives the same new randomizer.
+     * @return The new randomizer is returned.
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong(),mixGamma(nextSeed()));
+    }
+
+    /**
+     * This method returns a random long.
+     * @return A random long is returned.
+     */
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * This method returns a random int between 0, inclusive, and the bound, exclusive. Every value is equally likely.
+     * @param bound The bound of the int, which must be positive.
+     * @return A random int below the bound is returned.
+     */
+    public int nextInt(int bound) {
+        if(bound <= 0)
+            throw new IllegalArgumentException("bound must be positive");
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if((bound & m) == 0) //power of 2, so the low bits can be masked
+            return r & m;
+        for(int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1); //reject the uneven top of the range
+        return r;
+    }
+
+    /**
+     * This method returns a random double between 0, inclusive, and 1, exclusive.
+     * @return A random double is returned.
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * This method returns a random boolean.
+     * @return A random boolean is returned.
+     */
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    /**
+     * This method returns the state of the generator, so that it can be kept in a snapshot of the game.
+     * @return The state of the generator is returned.
+     */
+    long getState() {
+        return seed;
+    }
+
+    /**
+     * This method changes the state of the generator when a snapshot of the game is restored. The gamma is not kept
+     * in the snapshot, as randomizers split from the same seed always get the same gamma.
+     * @param state The new state of the generator.
+     */
+    void setState(long state) {
+        seed = state;
+    }
+
+    /**
+     * This method advances the state of the generator.
+     * @return The new state is returned.
+     */
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    /**
+     * This method mixes the bits of a state into a random long.
+     * @param z The state to be mixed.
+     * @return The mixed long is returned.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * This method mixes the bits of a state into a random int.
+     * @param z The state to be mixed.
+     * @return The mixed int is returned.
+     */
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * This method mixes the bits of a state into an odd gamma with enough changing bits to give a good stream.
+     * @param z The state to be mixed.
+     * @return The gamma is returned.
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
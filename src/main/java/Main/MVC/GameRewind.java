@@ -0,0 +1,386 @@
+package Main.MVC;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Public class GameRewind keeps the last seconds of a game so the DebugConsole can go back in time and resume the game
+ * from any update cycle. A snapshot of the game is taken after every update cycle in which the game ran, but only the
+ * bytes which changed since the last snapshot are kept. Every second, or whenever the size of the snapshot changes,
+ * the whole snapshot is kept as a key frame which the changes that follow are applied to.
+ * <p>
+ * The kept snapshots are written one after another into a ring of bytes which is allocated once. When the ring is
+ * full, the oldest key frame and the changes that follow it are dropped, so the memory used never grows however long
+ * the game is played. Taking and comparing a snapshot of a normal level takes a few microseconds and creates no
+ * garbage, so the game does not slow down.
+ * <p>
+ * The game is still recorded after it goes back in time. The inputs recorded after the point it went back to are
+ * kept until the game goes on from there, by running or by an input of the player, and are then dropped from the
+ * recording together with the snapshots after that point, so the replay gives the game which was played.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameRewind {
+
+    /**
+     * The number of snapshots between key frames.
+     */
+    private static final int KEY_INTERVAL = 100;
+    /**
+     * The number of unchanged bytes which ends a run of changed bytes, as shorter gaps cost more to skip than to copy.
+     */
+    private static final int GAP = 4;
+
+    /**
+     * The game being kept.
+     */
+    private final GameSimulation simulation;
+    /**
+     * The writer which takes the snapshots of the game.
+     */
+    private final GameSnapshot writer = new GameSnapshot();
+    /**
+     * The ring of bytes holding the kept snapshots.
+     */
+    private final byte[] ring;
+    /**
+     * The offsets into the ring of the kept snapshots, indexed by slot.
+     */
+    private final int[] offset;
+    /**
+     * The lengths in the ring of the kept snapshots, indexed by slot.
+     */
+    private final int[] length;
+    /**
+     * The number of update cycles the game had run for at each kept snapshot, indexed by slot.
+     */
+    private final int[] boardTick;
+    /**
+     * The flags to signal if the kept snapshots are key frames, indexed by slot.
+     */
+    private final boolean[] key;
+    /**
+     * The slot of the oldest kept snapshot.
+     */
+    private int first = 0;
+    /**
+     * The number of kept snapshots.
+     */
+    private int count = 0;
+    /**
+     * The index of the kept snapshot the game is at, counting from the oldest, or -1 if nothing is kept.
+     */
+    private int position = -1;
+    /**
+     * The offset into the ring where the next snapshot is written.
+     */
+    private int write = 0;
+    /**
+     * The number of snapshots kept since the last key frame.
+     */
+    private int sinceKey = 0;
+    /**
+     * A flag to signal if the next snapshot must be a key frame, as the last kept snapshot is not the last snapshot
+     * taken.
+     */
+    private boolean forceKey = true;
+    /**
+     * The last snapshot kept, which the next snapshot is compared to.
+     */
+    private byte[] previous = new byte[0];
+    /**
+     * The length of the last snapshot kept.
+     */
+    private int previousLength = 0;
+    /**
+     * The buffer the changes between two snapshots are encoded into.
+     */
+    private byte[] changes = new byte[0];
+    /**
+     * The buffer a kept snapshot is rebuilt into when the game goes back in time.
+     */
+    private byte[] rebuilt = new byte[0];
+
+    /**
+     * This constructor allocates the ring for the given number of seconds of a game.
+     * @param simulation The game to be kept.
+     * @param seconds The number of seconds of game time to keep.
+     * @param bytes The size of the ring of bytes. If the snapshots of a level with many balls do not fit, fewer seconds
+     *              are kept.
+     */
+    public GameRewind(GameSimulation simulation, int seconds, int bytes) {
+        this.simulation = simulation;
+        int capacity = Math.max(seconds * simulation.getController().getTickRate(),1);
+        ring = new byte[bytes];
+        offset = new int[capacity];
+        length = new int[capacity];
+        boardTick = new int[capacity];
+        key = new boolean[capacity];
+    }
+
+    /**
+     * This method takes a snapshot of the game if it has run since the last snapshot kept. If the game went back in
+     * time and has gone on from there, the snapshots after the point it went back to are dropped first, as the game
+     * now goes another way.
+     */
+    public void update() {
+        dropFuture();
+        int tick = simulation.getGameBoard().getTick();
+        if(position >= 0 && boardTick[slot(position)] == tick)
+            return;
+
+        int size = writer.write(simulation);
+        byte[] snapshot = writer.array();
+        boolean isKey = forceKey || sinceKey >= KEY_INTERVAL || size != previousLength;
+        int encoded = isKey ? size : encodeChanges(snapshot,size);
+        if(!isKey && encoded > size / 2) { //the game changed too much for the changes to be worth keeping
+            isKey = true;
+            encoded = size;
+        }
+        if(!append(isKey ? snapshot : changes,encoded,isKey,tick)) {
+            if(isKey || !append(snapshot,size,true,tick)) { //changes whose key frame was dropped are kept whole
+                clear();
+                return;
+            }
+            isKey = true;
+        }
+
+        if(previous.length < size)
+            previous = new byte[snapshot.length];
+        System.arraycopy(snapshot,0,previous,0,size);
+        previousLength = size;
+        sinceKey = isKey ? 1 : sinceKey + 1;
+        forceKey = false;
+    }
+
+    /**
+     * This method moves the game back, or forward again, to a kept snapshot. The snapshot is rebuilt from the key
+     * frame before it and restored into the game, which is left paused so it only goes on when the player resumes
+     * it. The snapshots after it are kept until the game goes on, so the game can still be moved forward. The game is
+     * still recorded, as the inputs recorded after the snapshot are dropped from the recording once the game goes on.
+     * @param index The index of the kept snapshot, counting from the oldest.
+     * @throws IOException If the snapshot cannot be restored.
+     * @throws IndexOutOfBoundsException If no snapshot is kept at the index, which is also the case for the snapshots
+     *                                   after the point the game went back to once the game has gone on from there.
+     */
+    public void rewindTo(int index) throws IOException {
+        dropFuture();
+        if(index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("no snapshot kept at " + index);
+        int start = index;
+        while(!key[slot(start)])
+            start--;
+
+        int size = length[slot(start)];
+        if(rebuilt.length < size)
+            rebuilt = new byte[Math.max(size,previous.length)];
+        System.arraycopy(ring,offset[slot(start)],rebuilt,0,size);
+        for(int i = start + 1; i <= index; i++)
+            applyChanges(slot(i),size);
+
+        GameSnapshot.restore(simulation,rebuilt,size);
+        simulation.getGameBoard().setPauseFlag(true);
+        position = index;
+        forceKey = true;
+    }
+
+    /**
+     * This method drops every kept snapshot.
+     */
+    public void clear() {
+        first = 0;
+        count = 0;
+        position = -1;
+        write = 0;
+        forceKey = true;
+    }
+
+    /**
+     * This method encodes the bytes of a snapshot which changed since the last snapshot kept. Each run of changed
+     * bytes is encoded as the number of unchanged bytes skipped, the number of changed bytes and the changed bytes.
+     * @param snapshot The array holding the snapshot.
+     * @param size The length of the snapshot, which is the same as the length of the last snapshot kept.
+     * @return The length of the encoded changes is returned.
+     */
+    private int encodeChanges(byte[] snapshot, int size) {
+        if(changes.length < size * 2 + 16)
+            changes = new byte[snapshot.length * 2 + 16];
+        int out = 0;
+        int done = 0;
+        while(done < size) {
+            int mismatch = Arrays.mismatch(snapshot,done,size,previous,done,size);
+            if(mismatch < 0)
+                break;
+            int start = done + mismatch;
+            int end = start + 1;
+            while(end < size) {
+                if(snapshot[end] != previous[end]) {
+                    end++;
+                    continue;
+                }
+                int limit = Math.min(size,end + GAP);
+                int gap = Arrays.mismatch(snapshot,end,limit,previous,end,limit);
+                if(gap < 0)
+                    break;
+                end += gap + 1;
+            }
+            out = putVarInt(changes,out,start - done);
+            out = putVarInt(changes,out,end - start);
+            System.arraycopy(snapshot,start,changes,out,end - start);
+            out += end - start;
+            done = end;
+        }
+        return out;
+    }
+
+    /**
+     * This method applies the changes kept in a slot to the rebuilt snapshot.
+     * @param slot The slot of the changes.
+     * @param size The length of the rebuilt snapshot.
+     */
+    private void applyChanges(int slot, int size) {
+        int in = offset[slot];
+        int end = in + length[slot];
+        int done = 0;
+        while(in < end) {
+            int skip = 0;
+            for(int shift = 0; ; shift += 7) {
+                byte b = ring[in++];
+                skip |= (b & 0x7f) << shift;
+                if(b >= 0)
+                    break;
+            }
+            int run = 0;
+            for(int shift = 0; ; shift += 7) {
+                byte b = ring[in++];
+                run |= (b & 0x7f) << shift;
+                if(b >= 0)
+                    break;
+            }
+            done += skip;
+            System.arraycopy(ring,in,rebuilt,done,run);
+            in += run;
+            done += run;
+        }
+    }
+
+    /**
+     * This method writes a variable length integer, 7 bits per byte with the top bit set on all but the last byte.
+     * @param buffer The array to write to.
+     * @param at The offset to write at.
+     * @param value The value to be written, which must not be negative.
+     * @return The offset after the integer is returned.
+     */
+    private static int putVarInt(byte[] buffer, int at, int value) {
+        while((value & ~0x7f) != 0) {
+            buffer[at++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buffer[at++] = (byte) value;
+        return at;
+    }
+
+    /**
+     * This method appends a snapshot to the ring, dropping the oldest snapshots to make room.
+     * @param bytes The array holding the snapshot or its changes.
+     * @param size The number of bytes to be kept.
+     * @param isKey A flag to signal if the snapshot is a key frame.
+     * @param tick The number of update cycles the game had run for at the snapshot.
+     * @return A boolean to signal if the snapshot fits into the ring is returned.
+     */
+    private boolean append(byte[] bytes, int size, boolean isKey, int tick) {
+        if(size > ring.length)
+            return false;
+        if(count == offset.length)
+            dropOldest();
+        if(write + size > ring.length) { //no room at the end, so the oldest snapshots there are dropped
+            while(count > 0 && offset[first] >= write)
+                dropOldest();
+            write = 0;
+        }
+        while(count > 0 && offset[first] >= write && offset[first] < write + size)
+            dropOldest();
+        if(!isKey && count == 0) //the changes have lost their key frame
+            return false;
+
+        int slot = slot(count);
+        System.arraycopy(bytes,0,ring,write,size);
+        offset[slot] = write;
+        length[slot] = size;
+        boardTick[slot] = tick;
+        key[slot] = isKey;
+        write += size;
+        position = count++;
+        return true;
+    }
+
+    /**
+     * This method drops the oldest key frame and the changes which follow it, as changes cannot be rebuilt without
+     * their key frame.
+     */
+    private void dropOldest() {
+        do {
+            first = (first + 1) % offset.length;
+            count--;
+            position--;
+        } while(count > 0 && !key[first]);
+        if(count == 0)
+            write = 0;
+    }
+
+    /**
+     * This method drops the snapshots after the one the game is at if the game has gone on from it, as the recording
+     * of the game no longer holds the inputs which led to them.
+     */
+    private void dropFuture() {
+        if(position < count - 1 && !simulation.isRewound())
+            truncate();
+    }
+
+    /**
+     * This method drops the snapshots after the one the game is at.
+     */
+    private void truncate() {
+        count = position + 1;
+        int last = slot(position);
+        write = offset[last] + length[last];
+    }
+
+    /**
+     * This method returns the slot of a kept snapshot.
+     * @param index The index of the kept snapshot, counting from the oldest.
+     * @return The slot of the snapshot is returned.
+     */
+    private int slot(int index) {
+        return (first + index) % offset.length;
+    }
+
+    /**
+     * This method returns the number of kept snapshots, which is one for every update cycle the game ran.
+     * @return The number of kept snapshots is returned.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * This method returns the index of the kept snapshot the game is at.
+     * @return The index of the snapshot the game is at is returned, or -1 if nothing is kept.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * This method returns the number of bytes of the ring used by the kept snapshots.
+     * @return The number of bytes used is returned.
+     */
+    public int getBytesUsed() {
+        int used = 0;
+        for(int i = 0; i < count; i++)
+            used += length[slot(i)];
+        return used;
+    }
+}
@@ -0,0 +1,563 @@
+package Main.MVC;
+
+import Main.Replay.InputReplay;
+import Main.Replay.ReplayRecorder;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Public class GameSimulation is the headless core of the game. It holds the GameBoard and the GameBoardController
+ * and processes the player actions, but does not use the screen, the audio or any dialogs. The Swing front end
+ * (GameEngine) is built on top of it, and it can also be stepped on its own as fast as possible to simulate games
+ * for balancing and testing.
+ * <p>
+ * Every player action is applied through {@link #input(int, int)} with an input code, so the actions can be recorded
+ * by a ReplayRecorder and played back into a game with the same seed to give the same game. When the game goes back to
+ * a snapshot, the inputs recorded after it are dropped once the game goes on from there, so the game is still recorded
+ * and its highscores can still be verified.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameSimulation {
+
+    /**
+     * Input code to move the player to the left.
+     */
+    public static final int MOVE_LEFT = 0;
+    /**
+     * Input code to move the player to the right.
+     */
+    public static final int MOVE_RIGHT = 1;
+    /**
+     * Input code to move the player up.
+     */
+    public static final int MOVE_UP = 2;
+    /**
+     * Input code to move the player down.
+     */
+    public static final int MOVE_DOWN = 3;
+    /**
+     * Input code to stop the player.
+     */
+    public static final int STOP = 4;
+    /**
+     * Input code to change the ball speed. The value is (x + 1) * 3 + (y + 1) for the changes x and y.
+     */
+    public static final int CHANGE_BALL_SPEED = 5;
+    /**
+     * Input code to open or close the pause menu.
+     */
+    public static final int TOGGLE_PAUSE_MENU = 6;
+    /**
+     * Input code to pause or resume the game.
+     */
+    public static final int TOGGLE_PAUSE = 7;
+    /**
+     * Input code to close the pause menu.
+     */
+    public static final int CONTINUE = 8;
+    /**
+     * Input code to restart the current level.
+     */
+    public static final int RESTART = 9;
+    /**
+     * Input code for the game losing focus.
+     */
+    public static final int LOST_FOCUS = 10;
+    /**
+     * Input code to pause the game if it is running.
+     */
+    public static final int PAUSE = 11;
+    /**
+     * Input code to resume the game if it is paused.
+     */
+    public static final int RESUME = 12;
+    /**
+     * Input code to skip to the next level.
+     */
+    public static final int NEXT_LEVEL = 13;
+    /**
+     * Input code to go back to the previous level.
+     */
+    public static final int PREVIOUS_LEVEL = 14;
+    /**
+     * Input code to reset the ball count.
+     */
+    public static final int RESET_BALL_COUNT = 15;
+    /**
+     * Input code to reset the position of the balls.
+     */
+    public static final int RESET_BALLS = 16;
+    /**
+     * Input code to set the horizontal speed of the first ball. The value is the new speed.
+     */
+    public static final int SET_BALL_SPEED_X = 17;
+    /**
+     * Input code to set the vertical speed of the first ball. The value is the new speed.
+     */
+    public static final int SET_BALL_SPEED_Y = 18;
+
+    /**
+     * GameBoard to hold all game data.
+     */
+    private final GameBoard gameBoard;
+    /**
+     * Controller to manipulate game data.
+     */
+    private final GameBoardController controller;
+    /**
+     * Choices of player in CustomConsole to correctly manipulate game data.
+     */
+    private final int[][] choice;
+    /**
+     * Dimensions of the game screen, kept for the header of a replay.
+     */
+    private final Dimension area;
+    /**
+     * The number of update cycles processed.
+     */
+    private long tick = 0;
+    /**
+     * Recorder of the player actions, or null if the game is not recorded.
+     */
+    private ReplayRecorder recorder;
+    /**
+     * A flag to signal if an update cycle is being processed.
+     */
+    private boolean updating = false;
+    /**
+     * The update cycle of the snapshot the game last went back to, whose later inputs are still recorded until the
+     * game goes on from it, or -1 if the game has gone on.
+     */
+    private long jumpTick = -1;
+
+    /**
+     * This constructor creates a headless game which ignores all sound effects and highscore popups.
+     * @param choice Player choice from custom console to be generated into levels in GameBoard.
+     * @param area Dimensions of the game screen to set game boundaries.
+     */
+    public GameSimulation(int[][] choice, Dimension area) {
+        this(choice,area,GameListener.NONE,GameBoardController.BASE_TICK_RATE);
+    }
+
+    /**
+     * This constructor initialises the GameBoard and Controller so that the game data can be saved and manipulated.
+     * @param choice Player choice from custom console to be generated into levels in GameBoard.
+     * @param area Dimensions of the game screen to set game boundaries.
+     * @param listener GameListener to notify the front end about sound effects, BGM and highscores.
+     * @param tickRate The number of update cycles in one second of game time.
+     */
+    public GameSimulation(int[][] choice, Dimension area, GameListener listener, int tickRate) {
+        this(choice,area,listener,tickRate,GameRandom.newSeed());
+    }
+
+    /**
+     * This constructor initialises a game whose randomness comes from the given seed, so games with the same seed,
+     * choices and player actions play the same.
+     * @param choice Player choice from custom console to be generated into levels in GameBoard.
+     * @param area Dimensions of the game screen to set game boundaries.
+     * @param listener GameListener to notify the front end about sound effects, BGM and highscores.
+     * @param tickRate The number of update cycles in one second of game time.
+     * @param seed The seed of the randomizer of the game.
+     */
+    public GameSimulation(int[][] choice, Dimension area, GameListener listener, int tickRate, long seed) {
+        this.choice = choice;
+        this.area = new Dimension(area);
+        gameBoard = new GameBoard(choice,area,seed);
+        controller = new GameBoardController(gameBoard,listener,area);
+        controller.setTickRate(tickRate);
+    }
+
+    /**
+     * This method processes a single update cycle of the game.
+     */
+    public void update() {
+        if(gameBoard.isNotPaused())
+            keepJump();
+        updating = true;
+        controller.update();
+        updating = false;
+        tick++;
+    }
+
+    /**
+     * This method steps the game without any player until the game has ended or the given number of update cycles
+     * has been processed. The game is resumed whenever it is paused, for example after a ball is lost or a level is
+     * cleared.
+     * @param maxTicks The maximum number of update cycles to process.
+     * @return The number of update cycles processed is returned.
+     */
+    public int run(int maxTicks) {
+        int ticks = 0;
+        while(ticks < maxTicks && !gameBoard.isEnded()) {
+            if(!gameBoard.isNotPaused())
+                input(RESUME,0);
+            update();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * This method applies a player action and records it if the game is recorded. Movement actions which do not
+     * change the movement of the player, such as the repeats of a held key, are not recorded as they change nothing.
+     * The events emitted by the action, such as the game being paused, are handed to the subscribers afterwards.
+     * @param code The input code of the action.
+     * @param value The value of the action, which is 0 for actions without a value.
+     */
+    public void input(int code, int value) {
+        keepJump();
+        int moveAmount = gameBoard.getPlayer().getMoveAmount();
+        int verticalMoveAmount = gameBoard.getPlayer().getVerticalMoveAmount();
+        apply(code,value);
+        controller.getEvents().drain();
+        if(recorder == null)
+            return;
+        if(code <= STOP && moveAmount == gameBoard.getPlayer().getMoveAmount()
+                && verticalMoveAmount == gameBoard.getPlayer().getVerticalMoveAmount())
+            return;
+        recorder.record(code,value);
+    }
+
+    /**
+     * This method applies a player action to the game.
+     * @param code The input code of the action.
+     * @param value The value of the action, which is 0 for actions without a value.
+     */
+    private void apply(int code, int value) {
+        switch(code) {
+            case MOVE_LEFT -> controller.moveLeft();
+            case MOVE_RIGHT -> controller.moveRight();
+            case MOVE_UP -> {
+                if(isFreeMovement())
+                    controller.moveUp();
+            }
+            case MOVE_DOWN -> {
+                if(isFreeMovement())
+                    controller.moveDown();
+            }
+            case STOP -> controller.stop();
+            case CHANGE_BALL_SPEED -> applyBallSpeed(value / 3 - 1,value % 3 - 1);
+            case TOGGLE_PAUSE_MENU -> {
+                if(!gameBoard.isEnded())
+                    gameBoard.setShowPauseMenu(!gameBoard.isShowPauseMenu());
+                if(gameBoard.isNotPaused())
+                    controller.reversePauseFlag();
+            }
+            case TOGGLE_PAUSE -> {
+                if(!gameBoard.isShowPauseMenu())
+                    controller.reversePauseFlag();
+            }
+            case CONTINUE -> gameBoard.setShowPauseMenu(false);
+            case RESTART -> {
+                gameBoard.setMessageFlag(4);
+                controller.resetLevelData();
+                gameBoard.setShowPauseMenu(false);
+            }
+            case LOST_FOCUS -> {
+                if(gameBoard.isNotPaused())
+                    controller.reversePauseFlag();
+                gameBoard.setMessageFlag(5);
+            }
+            case PAUSE -> {
+                if(gameBoard.isNotPaused())
+                    controller.reversePauseFlag();
+            }
+            case RESUME -> {
+                if(!gameBoard.isNotPaused())
+                    controller.reversePauseFlag();
+            }
+            case NEXT_LEVEL -> controller.nextLevel(false);
+            case PREVIOUS_LEVEL -> controller.previousLevel();
+            case RESET_BALL_COUNT -> controller.resetBallCount();
+            case RESET_BALLS -> controller.ballReset();
+            case SET_BALL_SPEED_X -> gameBoard.getBalls().get(0).setSpeedX(value);
+            case SET_BALL_SPEED_Y -> gameBoard.getBalls().get(0).setSpeedY(value);
+            default -> throw new IllegalArgumentException("unknown input code " + code);
+        }
+    }
+
+    /**
+     * This method moves the player to the left.
+     */
+    public void moveLeft() {
+        input(MOVE_LEFT,0);
+    }
+
+    /**
+     * This method moves the player to the right.
+     */
+    public void moveRight() {
+        input(MOVE_RIGHT,0);
+    }
+
+    /**
+     * This method moves the player up if free movement is enabled for the level.
+     */
+    public void moveUp() {
+        input(MOVE_UP,0);
+    }
+
+    /**
+     * This method moves the player down if free movement is enabled for the level.
+     */
+    public void moveDown() {
+        input(MOVE_DOWN,0);
+    }
+
+    /**
+     * This method stops the player movement.
+     */
+    public void stop() {
+        input(STOP,0);
+    }
+
+    /**
+     * This method changes the ball speed if free movement is enabled for the level.
+     * @param x The change in horizontal speed, which is -1, 0 or 1.
+     * @param y The change in vertical speed, which is -1, 0 or 1.
+     */
+    public void changeBallSpeed(int x, int y) {
+        input(CHANGE_BALL_SPEED,(Integer.signum(x) + 1) * 3 + Integer.signum(y) + 1);
+    }
+
+    /**
+     * This method applies a change of the ball speed if free movement is enabled for the level.
+     * @param x The change in horizontal speed, which is -1, 0 or 1.
+     * @param y The change in vertical speed, which is -1, 0 or 1.
+     */
+    private void applyBallSpeed(int x, int y) {
+        if(!isFreeMovement())
+            return;
+        if(x > 0)
+            controller.addSpeedX();
+        else if(x < 0)
+            controller.minusSpeedX();
+        if(y > 0)
+            controller.addSpeedY();
+        else if(y < 0)
+            controller.minusSpeedY();
+    }
+
+    /**
+     * This method opens or closes the pause menu. The game is paused if it is running.
+     */
+    public void togglePauseMenu() {
+        input(TOGGLE_PAUSE_MENU,0);
+    }
+
+    /**
+     * This method pauses or resumes the game if the pause menu is not shown.
+     */
+    public void togglePause() {
+        input(TOGGLE_PAUSE,0);
+    }
+
+    /**
+     * This method closes the pause menu and continues the game.
+     */
+    public void continueGame() {
+        input(CONTINUE,0);
+    }
+
+    /**
+     * This method restarts the current level and closes the pause menu.
+     */
+    public void restartLevel() {
+        input(RESTART,0);
+    }
+
+    /**
+     * This method pauses the game and shows the focus lost message.
+     */
+    public void onLostFocus() {
+        input(LOST_FOCUS,0);
+    }
+
+    /**
+     * This method pauses the game if it is running, for example when the DebugConsole is opened.
+     */
+    public void pause() {
+        input(PAUSE,0);
+    }
+
+    /**
+     * This method starts recording the player actions into a replay. The replay is closed when the game ends or
+     * when the program exits.
+     * @param out The stream to write the replay to, which is closed when the replay is closed.
+     * @throws IOException If the header of the replay cannot be encoded.
+     * @throws IllegalStateException If the game has already started.
+     */
+    public void startRecording(OutputStream out) throws IOException {
+        if(tick != 0)
+            throw new IllegalStateException("recording must start before the first update cycle");
+        recorder = new ReplayRecorder(out,this::getTick,gameBoard.getSeed(),controller.getTickRate(),area,choice);
+    }
+
+    /**
+     * This method stops recording the player actions and closes the replay.
+     */
+    public void stopRecording() {
+        keepJump();
+        if(recorder != null)
+            recorder.close();
+    }
+
+    /**
+     * This method takes a copy of the recording of the game so far. If called during an update cycle, such as when a
+     * highscore is shown, the copy includes that update cycle, so playing the copy back reaches the same point.
+     * @return The copy of the recording is returned, or null if the game is not recorded.
+     */
+    public InputReplay getReplaySoFar() {
+        if(recorder == null)
+            return null;
+        long length = updating ? tick + 1 : tick;
+        if(jumpTick >= 0)
+            return recorder.snapshot(jumpTick,gameBoard.isNotPaused() ? -1 : PAUSE,length);
+        return recorder.snapshot(length);
+    }
+
+    /**
+     * This method takes a snapshot of the whole state of the game, which can be restored later to jump back to this
+     * update cycle. It must be called between update cycles.
+     * @return The snapshot is returned.
+     */
+    public byte[] snapshot() {
+        return GameSnapshot.capture(this);
+    }
+
+    /**
+     * This method restores a snapshot taken of this game right after an update cycle, such as by the GameRewind. The
+     * inputs recorded at or after the update cycle of the snapshot are dropped from the recording once the game goes
+     * on, so the recording goes on from the snapshot.
+     * @param snapshot The snapshot to be restored.
+     * @throws IOException If the snapshot is broken or was taken of a different game.
+     */
+    public void restore(byte[] snapshot) throws IOException {
+        GameSnapshot.restore(this,snapshot);
+    }
+
+    /**
+     * This method restores a snapshot taken of this game together with a copy of its recording. The recording is
+     * replaced by the copy, so the recording goes on from the snapshot wherever the snapshot was taken.
+     * @param snapshot The snapshot to be restored.
+     * @param replay The copy of the recording taken with the snapshot, or null if the game was not recorded.
+     * @throws IOException If the snapshot is broken or was taken of a different game.
+     */
+    public void restore(byte[] snapshot, InputReplay replay) throws IOException {
+        GameSnapshot.restore(this,snapshot);
+        if(recorder != null && replay != null) {
+            recorder.replace(replay);
+            jumpTick = -1;
+        }
+    }
+
+    /**
+     * This method creates a new game from a checkpoint, which is a snapshot of a game together with the copy of its
+     * recording taken with it, such as to resume a game after a crash. The new game is recorded starting with the
+     * inputs of the copy, so its replay gives the whole game from the start and its highscores can still be saved.
+     * @param snapshot The snapshot to be restored.
+     * @param replay The copy of the recording taken with the snapshot.
+     * @param listener GameListener to notify the front end, or GameListener.NONE for a headless game.
+     * @param out The stream to record the game into, or null if the game is not recorded.
+     * @return The resumed game is returned.
+     * @throws IOException If the snapshot is broken or was not taken together with the replay. The recording is
+     *                     closed then.
+     */
+    public static GameSimulation resume(byte[] snapshot, InputReplay replay, GameListener listener, OutputStream out)
+            throws IOException {
+        GameSimulation simulation = new GameSimulation(replay.getChoice(),replay.getArea(),listener,
+                replay.getTickRate(),replay.getSeed());
+        if(out != null)
+            simulation.startRecording(out);
+        try {
+            simulation.restore(snapshot,replay);
+            if(simulation.getTick() != replay.getLength())
+                throw new IOException("snapshot was not taken with the replay");
+        }
+        catch (IOException e) {
+            simulation.stopRecording();
+            throw e;
+        }
+        return simulation;
+    }
+
+    /**
+     * This method moves the game to the update cycle of a snapshot being restored. The inputs recorded after it are
+     * kept until the game goes on, so the game can still be moved forward to a later snapshot of the same recording.
+     * @param tick The update cycle of the snapshot.
+     */
+    void jumpTo(long tick) {
+        jumpTick = tick;
+        this.tick = tick;
+    }
+
+    /**
+     * This method drops the inputs recorded at or after the update cycle the game last went back to, as the game goes
+     * on from there. Going back leaves the game paused without an input, so the pause is recorded if the game is
+     * paused.
+     */
+    private void keepJump() {
+        if(jumpTick < 0)
+            return;
+        if(recorder != null) {
+            recorder.truncate(jumpTick);
+            if(!gameBoard.isNotPaused())
+                recorder.record(jumpTick,PAUSE,0);
+        }
+        jumpTick = -1;
+    }
+
+    /**
+     * This method checks if the game has gone back to a snapshot and has not gone on from it yet, so the inputs
+     * recorded after the snapshot are still kept.
+     * @return A boolean to signal if the game has gone back and not gone on is returned.
+     */
+    public boolean isRewound() {
+        return jumpTick >= 0;
+    }
+
+    /**
+     * This method returns the number of update cycles processed.
+     * @return The number of update cycles processed is returned.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * This method returns the dimensions of the game screen.
+     * @return The dimensions of the game screen are returned.
+     */
+    Dimension getArea() {
+        return area;
+    }
+
+    /**
+     * This method checks to see if free movement is enabled for the current level.
+     * @return A boolean to signal if free movement is enabled is returned.
+     */
+    private boolean isFreeMovement() {
+        return choice[gameBoard.getLevel()-1][10]==1;
+    }
+
+    /**
+     * This method returns the GameBoard to access the data within.
+     * @return The GameBoard is returned.
+     */
+    public GameBoard getGameBoard() {
+        return gameBoard;
+    }
+
+    /**
+     * This method returns the Controller to access the methods within.
+     * @return The Controller is returned.
+     */
+    public GameBoardController getController() {
+        return controller;
+    }
+}
@@ -0,0 +1,612 @@
+package Main.MVC;
+
+import Main.Models.Ball;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
+import Main.Models.GodModePowerUp;
+import Main.Models.Player;
+
+import java.awt.*;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
+import java.awt.geom.RectangularShape;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Public class GameSnapshot takes and restores snapshots of the whole state of a game in a compact binary format, for
+ * checkpoints to resume a game after a crash and jumping back in the DebugConsole.
+ * <p>
+ * The levels of a game are generated from its seed and choices, so the snapshot only holds the header of the game,
+ * which is the same as the header of a replay, and the state which changes while the game is played. This is the
+ * game data and flags of the GameBoard, the scores and times, the states of the randomizers, the player, the power up,
+ * the balls in play and the strength, condition and cracks of the bricks of the current level. The bricks of the
+ * other levels are always repaired when their level is left, so they are not kept. A snapshot of a normal level takes
+ * a few kilobytes and is taken or restored in a few microseconds on the thread of the game, while writing it to a
+ * file is left to a background thread.
+ * <p>
+ * Restoring a snapshot does not stop the recording of the game. The recording is cut back to the update cycle of the
+ * snapshot once the game goes on from it, so the replay still gives the same game and its highscores can be saved.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameSnapshot {
+
+    /**
+     * The magic number at the start of every snapshot, which is "BBSS" in ASCII.
+     */
+    public static final int MAGIC = 0x42425353;
+    /**
+     * The version of the snapshot format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The background thread which writes the snapshots to files.
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r,"Snapshot Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The buffer the snapshot is written into, which grows when it is full.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    /**
+     * The array to hold the points of a segment of a crack.
+     */
+    private final float[] coords = new float[6];
+    /**
+     * The BrickStore whose cracks were last written, so the cracks are only encoded again when they change.
+     */
+    private BrickStore crackStore;
+    /**
+     * The number of times the cracks of the BrickStore had changed when they were last written.
+     */
+    private int crackChanges;
+    /**
+     * The cracks last written.
+     */
+    private byte[] crackBytes = new byte[0];
+    /**
+     * The length of the cracks last written.
+     */
+    private int crackLength = 0;
+
+    /**
+     * This constructor creates a writer of snapshots whose buffer is reused for every snapshot it takes, so a
+     * snapshot can be taken every update cycle without creating garbage.
+     */
+    public GameSnapshot() {
+    }
+
+    /**
+     * This method takes a snapshot of a game. It must be called between update cycles, on the thread of the game.
+     * @param simulation The game to take a snapshot of.
+     * @return The snapshot is returned.
+     */
+    public static byte[] capture(GameSimulation simulation) {
+        GameSnapshot snapshot = new GameSnapshot();
+        return Arrays.copyOf(snapshot.array(),snapshot.write(simulation));
+    }
+
+    /**
+     * This method takes a snapshot of a game into the buffer of the writer, replacing the last snapshot it took. It
+     * must be called between update cycles, on the thread of the game.
+     * @param simulation The game to take a snapshot of.
+     * @return The length of the snapshot is returned.
+     */
+    public int write(GameSimulation simulation) {
+        buffer.clear();
+        writeGame(simulation);
+        return buffer.position();
+    }
+
+    /**
+     * This method returns the array holding the last snapshot taken by the writer, which is held in the first bytes
+     * of the array. The array is replaced when the buffer grows.
+     * @return The array holding the last snapshot is returned.
+     */
+    public byte[] array() {
+        return buffer.array();
+    }
+
+    /**
+     * This method restores a snapshot into a game with the same seed, choices and screen size as the game the
+     * snapshot was taken of. The game is left exactly as it was when the snapshot was taken, so it plays on the same.
+     * The game goes on being recorded. The inputs recorded at or after the update cycle of the snapshot are dropped
+     * once the game goes on from it, so the snapshot must have been taken of this game right after an update cycle.
+     * @param simulation The game to restore the snapshot into.
+     * @param snapshot The snapshot to be restored.
+     * @throws IOException If the snapshot is broken or was taken of a different game. The game is only changed if the
+     *                     header of the snapshot matches the game.
+     */
+    public static void restore(GameSimulation simulation, byte[] snapshot) throws IOException {
+        restore(simulation,snapshot,snapshot.length);
+    }
+
+    /**
+     * This method restores a snapshot held in the first bytes of an array into a game with the same seed, choices and
+     * screen size as the game the snapshot was taken of.
+     * @param simulation The game to restore the snapshot into.
+     * @param snapshot The array holding the snapshot.
+     * @param length The length of the snapshot.
+     * @throws IOException If the snapshot is broken or was taken of a different game. The game is only changed if the
+     *                     header of the snapshot matches the game.
+     */
+    public static void restore(GameSimulation simulation, byte[] snapshot, int length) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(snapshot,0,length);
+        try {
+            readHeader(in);
+            if(in.getLong() != simulation.getGameBoard().getSeed())
+                throw new IOException("snapshot of a different game");
+            int tickRate = in.getInt();
+            if(!GameBoardController.isValidTickRate(tickRate))
+                throw new IOException("broken snapshot");
+            Dimension area = new Dimension(in.getInt(),in.getInt());
+            int[][] choice = readChoice(in);
+            if(!area.equals(simulation.getArea()) || !Arrays.deepEquals(choice,simulation.getGameBoard().getChoice()))
+                throw new IOException("snapshot of a different game");
+            long tick = in.getLong();
+            int level = in.getInt(in.position());
+            if(level < 1 || level > GameBoard.LEVELS_COUNT)
+                throw new IOException("broken snapshot");
+            simulation.jumpTo(tick);
+            simulation.getController().setTickRate(tickRate);
+            readBoard(in,simulation.getGameBoard());
+            simulation.getController().refreshMessages();
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("broken snapshot",e);
+        }
+    }
+
+    /**
+     * This method creates a new game from the header of a snapshot and restores the snapshot into it.
+     * @param snapshot The snapshot to be restored.
+     * @param listener GameListener to notify the front end, or GameListener.NONE for a headless game.
+     * @return The restored game is returned.
+     * @throws IOException If the snapshot is broken.
+     */
+    public static GameSimulation load(byte[] snapshot, GameListener listener) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(snapshot);
+        GameSimulation simulation;
+        try {
+            readHeader(in);
+            long seed = in.getLong();
+            int tickRate = in.getInt();
+            if(!GameBoardController.isValidTickRate(tickRate))
+                throw new IOException("broken snapshot");
+            Dimension area = new Dimension(in.getInt(),in.getInt());
+            simulation = new GameSimulation(readChoice(in),area,listener,tickRate,seed);
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("broken snapshot",e);
+        }
+        restore(simulation,snapshot);
+        return simulation;
+    }
+
+    /**
+     * This method creates a new game from a snapshot file.
+     * @param file The file holding the snapshot.
+     * @param listener GameListener to notify the front end, or GameListener.NONE for a headless game.
+     * @return The restored game is returned.
+     * @throws IOException If the file cannot be read or does not hold a snapshot.
+     */
+    public static GameSimulation load(File file, GameListener listener) throws IOException {
+        return load(Files.readAllBytes(file.toPath()),listener);
+    }
+
+    /**
+     * This method writes a snapshot to a file on a background thread, so the game does not wait for the disk. The
+     * snapshot is written to a temporary file first which then replaces the file, so a crash while writing never
+     * leaves a broken snapshot behind.
+     * @param snapshot The snapshot to be written.
+     * @param file The file to write the snapshot to.
+     * @return A CompletableFuture which completes when the snapshot has been written is returned.
+     */
+    public static CompletableFuture<Void> save(byte[] snapshot, File file) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Path target = file.toPath().toAbsolutePath();
+                Files.createDirectories(target.getParent());
+                Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+                Files.write(temporary,snapshot);
+                Files.move(temporary,target,StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        },WRITER);
+    }
+
+    /**
+     * This method deletes files on the background thread which writes the snapshots, so a snapshot still being written
+     * to one of the files is deleted too.
+     * @param files The files to be deleted.
+     * @return A CompletableFuture which completes when the files have been deleted is returned.
+     */
+    public static CompletableFuture<Void> delete(File... files) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                for(File file : files)
+                    Files.deleteIfExists(file.toPath());
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        },WRITER);
+    }
+
+    /**
+     * This method checks the magic number and version at the start of a snapshot.
+     * @param in The buffer holding the snapshot.
+     * @throws IOException If the buffer does not hold a snapshot of this version.
+     */
+    private static void readHeader(ByteBuffer in) throws IOException {
+        if(in.getInt() != MAGIC)
+            throw new IOException("not a snapshot");
+        int version = in.get() & 0xff;
+        if(version != VERSION)
+            throw new IOException("unsupported snapshot version " + version);
+    }
+
+    /**
+     * This method reads the choices of the player from the header of a snapshot.
+     * @param in The buffer holding the snapshot.
+     * @return The choices of the player are returned.
+     */
+    private static int[][] readChoice(ByteBuffer in) {
+        int[][] choice = new int[in.getInt()][in.getInt()];
+        for(int[] level : choice)
+            for(int i = 0; i < level.length; i++)
+                level[i] = in.getInt();
+        return choice;
+    }
+
+    /**
+     * This method makes sure there is room for the given number of bytes in the buffer, doubling it if there is not.
+     * @param bytes The number of bytes to be written.
+     */
+    private void ensure(int bytes) {
+        if(buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2,buffer.position() + bytes));
+            larger.put(buffer.array(),0,buffer.position());
+            buffer = larger;
+        }
+    }
+
+    /**
+     * This method writes the header and the state of a game into the buffer.
+     * @param simulation The game to be written.
+     */
+    private void writeGame(GameSimulation simulation) {
+        GameBoard gameBoard = simulation.getGameBoard();
+        int[][] choice = gameBoard.getChoice();
+        Dimension area = simulation.getArea();
+        int columns = choice.length == 0 ? 0 : choice[0].length;
+
+        ensure(41 + choice.length * columns * 4);
+        buffer.putInt(MAGIC).put((byte) VERSION).putLong(gameBoard.getSeed());
+        buffer.putInt(simulation.getController().getTickRate()).putInt(area.width).putInt(area.height);
+        buffer.putInt(choice.length).putInt(columns);
+        for(int[] level : choice)
+            for(int value : level)
+                buffer.putInt(value);
+        buffer.putLong(simulation.getTick());
+
+        writeBoard(gameBoard);
+    }
+
+    /**
+     * This method writes the game data, flags, scores and times, randomizers and entities of the GameBoard.
+     * @param gameBoard The GameBoard to be written.
+     */
+    private void writeBoard(GameBoard gameBoard) {
+        int[][] scoreAndTime = gameBoard.getScoreAndTime();
+        ensure(101 + scoreAndTime.length * 8);
+        buffer.putInt(gameBoard.getLevel()).putInt(gameBoard.getMessageFlag());
+        buffer.putInt(gameBoard.getBrickCount()).putInt(gameBoard.getBallCount());
+        buffer.putInt(gameBoard.getGodModeTimeLeft()).putInt(gameBoard.getPowerUpSpawns());
+        buffer.putInt(gameBoard.getStartTime()).putInt(gameBoard.getTick());
+        buffer.put(flags(gameBoard.isShowPauseMenu(),!gameBoard.isNotPaused(),gameBoard.isEnded()));
+        writePoint(gameBoard.getBallStartPoint());
+        writePoint(gameBoard.getPlayerStartPoint());
+        buffer.putInt(scoreAndTime.length);
+        for(int[] level : scoreAndTime)
+            buffer.putInt(level[0]).putInt(level[1]);
+        buffer.putLong(gameBoard.getBallRandom().getState()).putLong(gameBoard.getPowerUpRandom().getState());
+        buffer.putLong(gameBoard.getImpactRandom().getState()).putLong(gameBoard.getCrackRandom().getState());
+
+        writePlayer(gameBoard.getPlayer());
+        writePowerUp(gameBoard.getPowerUp());
+        writeBalls(gameBoard.getBalls());
+        writeBricks(gameBoard.getBricks()[gameBoard.getLevel()-1]);
+    }
+
+    /**
+     * This method writes a point. There must be room for 8 bytes in the buffer.
+     * @param p The point to be written.
+     */
+    private void writePoint(Point p) {
+        buffer.putInt(p.x).putInt(p.y);
+    }
+
+    /**
+     * This method writes the position, movement and face of the player.
+     * @param player The player to be written.
+     */
+    private void writePlayer(Player player) {
+        ensure(48);
+        buffer.putDouble(player.getPreviousX()).putDouble(player.getPreviousY());
+        buffer.putDouble(player.getX()).putDouble(player.getY());
+        buffer.putInt(player.getMoveAmount()).putInt(player.getVerticalMoveAmount());
+        buffer.putInt(player.getPlayerFace().x).putInt(player.getPlayerFace().y);
+    }
+
+    /**
+     * This method writes the flags, position and face of the power up.
+     * @param powerUp The power up to be written.
+     */
+    private void writePowerUp(GodModePowerUp powerUp) {
+        ensure(25);
+        buffer.put(flags(powerUp.isSpawned(),powerUp.isCollected(),false));
+        writePoint(powerUp.getMidPoint());
+        RectangularShape face = (RectangularShape) powerUp.getPowerUp();
+        buffer.putDouble(face.getX()).putDouble(face.getY());
+    }
+
+    /**
+     * This method writes the balls in play in the order of the pool, so the first ball stays the first ball.
+     * @param balls The pool of balls to be written.
+     */
+    private void writeBalls(BallPool balls) {
+        ensure(4 + balls.getActive() * 65);
+        buffer.putInt(balls.getActive());
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            RectangularShape face = (RectangularShape) ball.getBallFace();
+            buffer.putDouble(ball.getPreviousX()).putDouble(ball.getPreviousY());
+            buffer.putDouble(ball.getX()).putDouble(ball.getY());
+            buffer.putDouble(ball.getSpeedX()).putDouble(ball.getSpeedY());
+            buffer.putDouble(face.getX()).putDouble(face.getY());
+            buffer.put(flags(ball.isLost(),ball.isCollected(),false));
+        }
+    }
+
+    /**
+     * This method writes the strength and condition of every brick of a level in one byte per brick, followed by the
+     * cracks of the cracked bricks. The cracks hardly ever change between two snapshots, so the writer keeps a copy of
+     * the cracks last written and only encodes them again when they have changed.
+     * @param store The BrickStore of the level to be written.
+     */
+    private void writeBricks(BrickStore store) {
+        ensure(8 + store.size());
+        buffer.putInt(store.size());
+        for(int i = 0; i < store.size(); i++)
+            buffer.put((byte) (store.getStrength(i) | (store.isBroken(i) ? 0x80 : 0)));
+
+        if(store == crackStore && store.getCrackChanges() == crackChanges) {
+            ensure(crackLength);
+            buffer.put(crackBytes,0,crackLength);
+            return;
+        }
+        int start = buffer.position();
+        writeCracks(store);
+        crackStore = store;
+        crackChanges = store.getCrackChanges();
+        crackLength = buffer.position() - start;
+        if(crackBytes.length < crackLength)
+            crackBytes = new byte[crackLength * 2];
+        System.arraycopy(buffer.array(),start,crackBytes,0,crackLength);
+    }
+
+    /**
+     * This method writes the cracks of the cracked bricks of a level as the segments of their paths.
+     * @param store The BrickStore of the level to be written.
+     */
+    private void writeCracks(BrickStore store) {
+        ensure(4);
+        int countAt = buffer.position();
+        int count = 0;
+        buffer.putInt(0);
+        for(int i = 0; i < store.size(); i++) {
+            GeneralPath crack = store.getCrack(i);
+            if(crack == null || crack.getCurrentPoint() == null)
+                continue;
+            ensure(8);
+            buffer.putInt(i);
+            int segmentsAt = buffer.position();
+            int segments = 0;
+            buffer.putInt(0);
+            for(PathIterator it = crack.getPathIterator(null); !it.isDone(); it.next()) {
+                int type = it.currentSegment(coords);
+                int points = points(type);
+                ensure(1 + points * 8);
+                buffer.put((byte) type);
+                for(int c = 0; c < points * 2; c++)
+                    buffer.putFloat(coords[c]);
+                segments++;
+            }
+            buffer.putInt(segmentsAt,segments);
+            count++;
+        }
+        buffer.putInt(countAt,count);
+    }
+
+    /**
+     * This method reads the game data, flags, scores and times, randomizers and entities into the GameBoard.
+     * @param in The buffer holding the snapshot.
+     * @param gameBoard The GameBoard to be restored.
+     * @throws IOException If the snapshot does not fit the levels of the GameBoard.
+     */
+    private static void readBoard(ByteBuffer in, GameBoard gameBoard) throws IOException {
+        BrickStore previous = gameBoard.getBricks()[gameBoard.getLevel()-1];
+        gameBoard.setLevel(in.getInt());
+        gameBoard.setMessageFlag(in.getInt());
+        gameBoard.setBrickCount(in.getInt());
+        gameBoard.setBallCount(in.getInt());
+        gameBoard.setGodModeTimeLeft(in.getInt());
+        gameBoard.setPowerUpSpawns(in.getInt());
+        gameBoard.setStartTime(in.getInt());
+        gameBoard.setTick(in.getInt());
+        int flags = in.get();
+        gameBoard.setShowPauseMenu((flags & 1) != 0);
+        gameBoard.setPauseFlag((flags & 2) != 0);
+        gameBoard.setEndFlag((flags & 4) != 0);
+        gameBoard.setBallStartPoint(new Point(in.getInt(),in.getInt()));
+        gameBoard.setPlayerStartPoint(new Point(in.getInt(),in.getInt()));
+        int[][] scoreAndTime = gameBoard.getScoreAndTime();
+        if(in.getInt() != scoreAndTime.length)
+            throw new IOException("broken snapshot");
+        for(int[] level : scoreAndTime) {
+            level[0] = in.getInt();
+            level[1] = in.getInt();
+        }
+        gameBoard.getBallRandom().setState(in.getLong());
+        gameBoard.getPowerUpRandom().setState(in.getLong());
+        gameBoard.getImpactRandom().setState(in.getLong());
+        gameBoard.getCrackRandom().setState(in.getLong());
+
+        readPlayer(in,gameBoard.getPlayer());
+        readPowerUp(in,gameBoard.getPowerUp());
+        readBalls(in,gameBoard.getBalls());
+
+        BrickStore store = gameBoard.getBricks()[gameBoard.getLevel()-1];
+        previous.repairAll();
+        if(store != previous)
+            store.repairAll();
+        readBricks(in,store);
+    }
+
+    /**
+     * This method reads the position, movement and face of the player. The player is moved twice, so both its old and
+     * new position are restored for the interpolation between update cycles.
+     * @param in The buffer holding the snapshot.
+     * @param player The player to be restored.
+     */
+    private static void readPlayer(ByteBuffer in, Player player) {
+        player.moveTo(in.getDouble(),in.getDouble());
+        player.moveTo(in.getDouble(),in.getDouble());
+        player.setMoveAmount(in.getInt());
+        player.setVerticalMoveAmount(in.getInt());
+        player.getPlayerFace().setLocation(in.getInt(),in.getInt());
+    }
+
+    /**
+     * This method reads the flags, position and face of the power up.
+     * @param in The buffer holding the snapshot.
+     * @param powerUp The power up to be restored.
+     */
+    private static void readPowerUp(ByteBuffer in, GodModePowerUp powerUp) {
+        int flags = in.get();
+        powerUp.setSpawned((flags & 1) != 0);
+        powerUp.setCollected((flags & 2) != 0);
+        powerUp.setMidPoint(new Point(in.getInt(),in.getInt()));
+        RectangularShape face = (RectangularShape) powerUp.getPowerUp();
+        face.setFrame(in.getDouble(),in.getDouble(),face.getWidth(),face.getHeight());
+    }
+
+    /**
+     * This method takes all the balls out of play and puts the balls of the snapshot back into play in their order.
+     * Each ball is moved twice, so both its old and new position are restored.
+     * @param in The buffer holding the snapshot.
+     * @param balls The pool of balls to be restored.
+     * @throws IOException If the number of balls is negative.
+     */
+    private static void readBalls(ByteBuffer in, BallPool balls) throws IOException {
+        int active = in.getInt();
+        if(active < 0 || active > in.remaining() / 65)
+            throw new IOException("broken snapshot");
+        balls.clear();
+        for(int i = 0; i < active; i++) {
+            Ball ball = balls.spawn();
+            ball.moveTo(in.getDouble(),in.getDouble());
+            ball.moveTo(in.getDouble(),in.getDouble());
+            ball.setSpeedX(in.getDouble());
+            ball.setSpeedY(in.getDouble());
+            RectangularShape face = (RectangularShape) ball.getBallFace();
+            face.setFrame(in.getDouble(),in.getDouble(),face.getWidth(),face.getHeight());
+            int flags = in.get();
+            ball.setLost((flags & 1) != 0);
+            ball.setCollected((flags & 2) != 0);
+        }
+    }
+
+    /**
+     * This method reads the strength and condition of every brick of a level and rebuilds the cracks of the cracked
+     * bricks. The bricks must have been repaired first.
+     * @param in The buffer holding the snapshot.
+     * @param store The BrickStore of the level to be restored.
+     * @throws IOException If the snapshot holds a different number of bricks than the level.
+     */
+    private static void readBricks(ByteBuffer in, BrickStore store) throws IOException {
+        if(in.getInt() != store.size())
+            throw new IOException("snapshot of a different level");
+        for(int i = 0; i < store.size(); i++) {
+            int value = in.get();
+            store.setStrength(i,value & 0x7f);
+            store.setBroken(i,(value & 0x80) != 0);
+        }
+
+        int count = in.getInt();
+        for(int c = 0; c < count; c++) {
+            int index = in.getInt();
+            int segments = in.getInt();
+            GeneralPath crack = new GeneralPath(GeneralPath.WIND_NON_ZERO,Math.max(segments,2));
+            for(int s = 0; s < segments; s++) {
+                int type = in.get();
+                switch(type) {
+                    case PathIterator.SEG_MOVETO -> crack.moveTo(in.getFloat(),in.getFloat());
+                    case PathIterator.SEG_LINETO -> crack.lineTo(in.getFloat(),in.getFloat());
+                    case PathIterator.SEG_QUADTO -> crack.quadTo(in.getFloat(),in.getFloat(),in.getFloat(),in.getFloat());
+                    case PathIterator.SEG_CUBICTO -> crack.curveTo(in.getFloat(),in.getFloat(),in.getFloat(),
+                            in.getFloat(),in.getFloat(),in.getFloat());
+                    case PathIterator.SEG_CLOSE -> crack.closePath();
+                    default -> throw new IOException("broken snapshot");
+                }
+            }
+            store.addCrack(index,crack);
+        }
+    }
+
+    /**
+     * This method packs up to 3 flags into a byte.
+     * @param first The flag kept in the lowest bit.
+     * @param second The flag kept in the second bit.
+     * @param third The flag kept in the third bit.
+     * @return The byte holding the flags is returned.
+     */
+    private static byte flags(boolean first, boolean second, boolean third) {
+        return (byte) ((first ? 1 : 0) | (second ? 2 : 0) | (third ? 4 : 0));
+    }
+
+    /**
+     * This method returns the number of points of a segment of a path.
+     * @param type The type of the segment.
+     * @return The number of points of the segment is returned.
+     */
+    private static int points(int type) {
+        return switch(type) {
+            case PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 1;
+            case PathIterator.SEG_QUADTO -> 2;
+            case PathIterator.SEG_CUBICTO -> 3;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package Main.MVC;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+
+/**
+ * Public class GlyphAtlas holds the printable characters of a font drawn once into masks, so text can be written
+ * straight into the pixels of an image by the RasterRenderer without going through the text pipeline of Java2D. The
+ * characters are drawn without anti-aliasing, the same way the game messages are drawn on the screen, so each mask
+ * only says which pixels of the character are covered.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GlyphAtlas {
+
+    /**
+     * The first character held, which is the space.
+     */
+    private static final char FIRST = ' ';
+    /**
+     * The last character held, which is the tilde.
+     */
+    private static final char LAST = '~';
+
+    /**
+     * The masks of the characters, one row after another, with 0 for uncovered pixels.
+     */
+    private final byte[][] masks = new byte[LAST - FIRST + 1][];
+    /**
+     * The distance from the pen position to the left side of the mask of each character.
+     */
+    private final int[] left = new int[LAST - FIRST + 1];
+    /**
+     * The distance from the baseline up to the top of the mask of each character.
+     */
+    private final int[] top = new int[LAST - FIRST + 1];
+    /**
+     * The width of the mask of each character.
+     */
+    private final int[] widths = new int[LAST - FIRST + 1];
+    /**
+     * The height of the mask of each character.
+     */
+    private final int[] heights = new int[LAST - FIRST + 1];
+    /**
+     * The distance the pen moves after each character.
+     */
+    private final int[] advances = new int[LAST - FIRST + 1];
+
+    /**
+     * This constructor draws each printable character of the font into a cell and keeps the covered part of the cell
+     * as the mask of the character.
+     * @param font The font of the characters.
+     */
+    public GlyphAtlas(Font font) {
+        BufferedImage cell = new BufferedImage(1,1,BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g2d = cell.createGraphics();
+        FontMetrics metrics = g2d.getFontMetrics(font);
+        g2d.dispose();
+
+        int pad = font.getSize() / 2 + 2;
+        int width = metrics.getMaxAdvance() + pad * 2;
+        int height = metrics.getAscent() + metrics.getDescent() + pad * 2;
+        int baseline = pad + metrics.getAscent();
+        cell = new BufferedImage(width,height,BufferedImage.TYPE_BYTE_GRAY);
+        byte[] pixels = ((DataBufferByte) cell.getRaster().getDataBuffer()).getData();
+        char[] c = new char[1];
+        for(char ch = FIRST; ch <= LAST; ch++) {
+            int i = ch - FIRST;
+            g2d = cell.createGraphics();
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0,0,width,height);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(font);
+            c[0] = ch;
+            g2d.drawChars(c,0,1,pad,baseline);
+            g2d.dispose();
+            advances[i] = metrics.charWidth(ch);
+
+            int minX = width, minY = height, maxX = -1, maxY = -1;
+            for(int y = 0; y < height; y++)
+                for(int x = 0; x < width; x++)
+                    if(pixels[y * width + x] != 0) {
+                        minX = Math.min(minX,x);
+                        minY = Math.min(minY,y);
+                        maxX = Math.max(maxX,x);
+                        maxY = Math.max(maxY,y);
+                    }
+            if(maxX < 0) {
+                masks[i] = new byte[0];
+                continue;
+            }
+            left[i] = minX - pad;
+            top[i] = baseline - minY;
+            widths[i] = maxX - minX + 1;
+            heights[i] = maxY - minY + 1;
+            masks[i] = new byte[widths[i] * heights[i]];
+            for(int y = 0; y < heights[i]; y++)
+                System.arraycopy(pixels,(minY + y) * width + minX,masks[i],y * widths[i],widths[i]);
+        }
+    }
+
+    /**
+     * This method writes characters into the pixels of an image. Characters which are not held are left out, but the
+     * pen still moves past them. Only the pixels inside the clip are written.
+     * @param pixels The pixels of the image, one row after another.
+     * @param stride The width of the image.
+     * @param clip The area of the image which may be written, which must lie inside the image.
+     * @param chars The array holding the characters.
+     * @param length The number of characters to be written from the start of the array.
+     * @param x The x coordinate of the pen at the first character.
+     * @param y The y coordinate of the baseline.
+     * @param rgb The colour of the characters.
+     */
+    public void draw(int[] pixels, int stride, Rectangle clip, char[] chars, int length, int x, int y, int rgb) {
+        int clipRight = clip.x + clip.width;
+        int clipBottom = clip.y + clip.height;
+        for(int n = 0; n < length; n++) {
+            int i = chars[n] - FIRST;
+            if(i < 0 || i >= masks.length) {
+                x += advances['?' - FIRST];
+                continue;
+            }
+            int gx = x + left[i];
+            int gy = y - top[i];
+            int x0 = Math.max(gx,clip.x), x1 = Math.min(gx + widths[i],clipRight);
+            int y0 = Math.max(gy,clip.y), y1 = Math.min(gy + heights[i],clipBottom);
+            byte[] mask = masks[i];
+            for(int py = y0; py < y1; py++) {
+                int row = (py - gy) * widths[i] - gx;
+                int out = py * stride;
+                for(int px = x0; px < x1; px++)
+                    if(mask[row + px] != 0)
+                        pixels[out + px] = rgb;
+            }
+            x += advances[i];
+        }
+    }
+
+    /**
+     * This method returns the width of characters when written by the atlas.
+     * @param chars The array holding the characters.
+     * @param length The number of characters from the start of the array.
+     * @return The distance the pen moves past the characters is returned.
+     */
+    public int getWidth(char[] chars, int length) {
+        int width = 0;
+        for(int n = 0; n < length; n++) {
+            int i = chars[n] - FIRST;
+            width += advances[i < 0 || i >= masks.length ? '?' - FIRST : i];
+        }
+        return width;
+    }
+}
@@ -0,0 +1,632 @@
+package Main.MVC;
+
+import Main.Models.Ball;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
+import Main.Models.GodModePowerUp;
+import Main.Models.Player;
+import Main.Physics.BrickGrid;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Public class RasterRenderer is a software renderer which draws the game by writing the pixels of a frame straight
+ * into an int array, instead of filling and drawing shapes through Java2D. The finished frame is copied to the screen
+ * once. The bricks and the player are filled and outlined row by row, and the balls and the power up are stamped from
+ * masks which are drawn once through Java2D, so they look the same as when drawn by the GameBoardRenderer. The game
+ * messages and the pause menu are written from GlyphAtlases of their fonts.
+ * <p>
+ * As in the GameBoardRenderer, the background and the bricks of each level are kept in a brick layer, and only the
+ * changed bricks and their neighbours are redrawn into it. The cracks of the bricks are still drawn through Java2D, as
+ * they are only drawn when a brick is cracked. The frame is kept between frames, so only the area written over in the
+ * frames before and the changed bricks are copied back from the brick layer before the next frame is written. The
+ * player is moved by whole pixels when interpolated. Only the pixels inside the clip of the graphics are written, so
+ * the frame can be repainted only where it has changed.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class RasterRenderer implements Renderer {
+
+    /**
+     * Continue string.
+     */
+    private static final String CONTINUE = "Continue";
+    /**
+     * Restart string
+     */
+    private static final String RESTART = "Restart";
+    /**
+     * Exit string.
+     */
+    private static final String EXIT = "Exit";
+    /**
+     * Pause Menu String
+     */
+    private static final String PAUSE = "Pause Menu";
+    /**
+     * Menu words colour of green.
+     */
+    private static final int MENU_RGB = 0x00ff00;
+    /**
+     * The fraction of the screen left showing behind the pause menu, out of 256.
+     */
+    private static final int MENU_SHADE = 115;
+    /**
+     * The mask value of a pixel filled with the inner colour.
+     */
+    private static final int INNER = 1;
+    /**
+     * The mask value of a pixel drawn with the border colour.
+     */
+    private static final int BORDER = 2;
+
+    /**
+     * GameBoard to get all information needed to draw the ball, bricks, player and game messages.
+     */
+    private final GameBoard gameBoard;
+    /**
+     * Dimensions of the game screen.
+     */
+    private final Dimension area;
+    /**
+     * The frame the game is drawn into.
+     */
+    private final BufferedImage frame;
+    /**
+     * The pixels of the frame.
+     */
+    private final int[] pixels;
+    /**
+     * The pixels of the white background with the game background image drawn over it.
+     */
+    private final int[] background;
+    /**
+     * The brick layer of each level, which holds the background and the bricks, or null until the level is drawn.
+     */
+    private final BufferedImage[] layers;
+    /**
+     * The grid of the bricks of each level, used to find the bricks next to a changed brick.
+     */
+    private final BrickGrid[] grids;
+    /**
+     * The array to hold the indexes of the bricks found by the grids.
+     */
+    private int[] found = new int[0];
+    /**
+     * The array to hold the indexes of the bricks to be drawn, ordered by their type.
+     */
+    private int[] sorted = new int[0];
+    /**
+     * DirtyRegion to find the areas of the screen which have changed since the last frame.
+     */
+    private final DirtyRegion dirtyRegion;
+    /**
+     * GlyphAtlas of the font of the game messages.
+     */
+    private final GlyphAtlas messageGlyphs;
+    /**
+     * GlyphAtlas of the font of the pause menu.
+     */
+    private final GlyphAtlas menuGlyphs;
+    /**
+     * The mask of a ball drawn at the top left corner.
+     */
+    private final byte[] ballMask;
+    /**
+     * The shape of the power up the power up mask was drawn from.
+     */
+    private Shape powerUpShape;
+    /**
+     * The mask of the power up.
+     */
+    private byte[] powerUpMask;
+    /**
+     * The area of the screen covered by the power up mask.
+     */
+    private Rectangle powerUpBounds;
+    /**
+     * The area of the image being drawn into which may be written.
+     */
+    private final Rectangle clip = new Rectangle();
+    /**
+     * The index of the level the frame was last written for, or -1 if the frame has to be copied from the brick layer
+     * again.
+     */
+    private int frameLevel = -1;
+    /**
+     * The left side of the area of the frame which differs from the brick layer apart from what is written next.
+     */
+    private int staleLeft = Integer.MAX_VALUE;
+    /**
+     * The top side of the area of the frame which differs from the brick layer apart from what is written next.
+     */
+    private int staleTop = Integer.MAX_VALUE;
+    /**
+     * The right side of the area of the frame which differs from the brick layer apart from what is written next.
+     */
+    private int staleRight = Integer.MIN_VALUE;
+    /**
+     * The bottom side of the area of the frame which differs from the brick layer apart from what is written next.
+     */
+    private int staleBottom = Integer.MIN_VALUE;
+
+    /**
+     * This constructor loads in the GameBoard so that renderer can get all information for rendering, draws the
+     * background and prepares the masks of the balls and the characters.
+     * @param gameBoard GameBoard to get all information needed to draw the ball, bricks, player and game messages.
+     * @param area Dimensions of the game screen.
+     * @throws IOException This constructor throws IOException if game background image is not found.
+     */
+    public RasterRenderer(GameBoard gameBoard, Dimension area) throws IOException {
+        this.gameBoard = gameBoard;
+        this.area = area;
+        BufferedImage myPicture = ImageIO.read(new File("image/BrickBreakerGameBackground.png"));
+        BufferedImage image = new BufferedImage(area.width,area.height,BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0,0,area.width,area.height);
+        g2d.drawImage(myPicture,0,0,area.width,area.height,null);
+        g2d.dispose();
+        background = getPixels(image);
+        frame = new BufferedImage(area.width,area.height,BufferedImage.TYPE_INT_RGB);
+        pixels = getPixels(frame);
+        layers = new BufferedImage[gameBoard.getBricks().length];
+        grids = new BrickGrid[gameBoard.getBricks().length];
+        dirtyRegion = new DirtyRegion(gameBoard,area);
+        messageGlyphs = new GlyphAtlas(new Font("Monospaced",Font.BOLD,16));
+        menuGlyphs = new GlyphAtlas(new Font("Monospaced",Font.PLAIN,30));
+        int d = GameBoard.BALL_DIAMETER;
+        ballMask = createMask(new Rectangle(0,0,d + 1,d + 1),g -> {
+            g.fillOval(0,0,d,d);
+            g.setColor(new Color(BORDER));
+            g.drawOval(0,0,d,d);
+        });
+    }
+
+    /**
+     * This method returns the pixels of an image of type TYPE_INT_RGB, which are written to directly.
+     * @param image The image.
+     * @return The pixels of the image, one row after another, are returned.
+     */
+    private static int[] getPixels(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * This method draws a shape through Java2D into a mask, which records for each pixel if it was filled with the
+     * inner colour, drawn with the border colour or left alone.
+     * @param bounds The area of the screen the mask covers.
+     * @param painter The painter which draws the shape in screen coordinates, given graphics set to the inner value.
+     * @return The mask, one row after another, is returned.
+     */
+    private static byte[] createMask(Rectangle bounds, Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage(bounds.width,bounds.height,BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.translate(-bounds.x,-bounds.y);
+        g2d.setColor(new Color(INNER));
+        painter.accept(g2d);
+        g2d.dispose();
+        int[] values = getPixels(image);
+        byte[] mask = new byte[values.length];
+        for(int i = 0; i < values.length; i++)
+            mask[i] = (byte) values[i];
+        return mask;
+    }
+
+    /**
+     * This method is used to render the graphics for the entire game screen into the frame, which is then copied to
+     * the screen. The brick layer of the level is brought up to date and the parts of the frame which differ from it
+     * are copied back from it first, and then the game messages are written under the bricks, and the power up, balls
+     * and player are written over it.
+     * Finally, if the pause menu is loaded, the frame is shaded and the pause menu is written. Only the area inside the
+     * clip of the graphics is drawn and copied, and if the clip does not cover the whole screen, the whole clip is
+     * copied back from the brick layer.
+     * @param g This parameter is used to copy the frame to the screen.
+     * @param alpha The fraction of an update cycle since the last update cycle, used to interpolate moving entities.
+     */
+    @Override
+    public void render(Graphics g, double alpha) {
+
+        int level = gameBoard.getLevel()-1;
+        int[] layer = getPixels(getLayer(level));
+        if(level != frameLevel) {
+            markStale(0,0,area.width,area.height);
+            frameLevel = level;
+        }
+
+        Rectangle bounds = g.getClipBounds();
+        clip.setBounds(0,0,area.width,area.height);
+        if(bounds != null && !bounds.contains(clip)) {
+            Rectangle.intersect(clip,bounds,clip);
+            if(clip.isEmpty())
+                return;
+            copyLayer(layer,clip.x,clip.y,clip.x + clip.width,clip.y + clip.height);
+        }
+        else {
+            copyLayer(layer,Math.max(staleLeft,0),Math.max(staleTop,0),Math.min(staleRight,area.width),
+                    Math.min(staleBottom,area.height));
+            staleLeft = staleTop = Integer.MAX_VALUE;
+            staleRight = staleBottom = Integer.MIN_VALUE;
+        }
+
+        drawMessages(layer);
+
+        GodModePowerUp powerUp = gameBoard.getPowerUp();
+        if(!powerUp.isCollected() && powerUp.isSpawned())
+            drawPowerUp(powerUp);
+
+        drawBall(gameBoard.getBalls(),alpha);
+        drawPlayer(gameBoard.getPlayer(),alpha);
+
+        if(gameBoard.isShowPauseMenu())
+            drawMenu();
+
+        g.drawImage(frame,clip.x,clip.y,clip.x + clip.width,clip.y + clip.height,
+                clip.x,clip.y,clip.x + clip.width,clip.y + clip.height,null);
+    }
+
+    /**
+     * This method copies an area of the brick layer into the frame.
+     * @param layer This parameter is the pixels of the brick layer.
+     * @param left This parameter is the left side of the area.
+     * @param top This parameter is the top side of the area.
+     * @param right This parameter is the right side of the area.
+     * @param bottom This parameter is the bottom side of the area.
+     */
+    private void copyLayer(int[] layer, int left, int top, int right, int bottom){
+
+        for(int y = top; y < bottom; y++)
+            System.arraycopy(layer,y * area.width + left,pixels,y * area.width + left,right - left);
+    }
+
+    /**
+     * This method adds an area to the area of the frame which differs from the brick layer, for the area to be copied
+     * back from the brick layer before the next frame covering the whole screen is written.
+     * @param x This parameter is the x coordinate of the top left corner of the area.
+     * @param y This parameter is the y coordinate of the top left corner of the area.
+     * @param width This parameter is the width of the area.
+     * @param height This parameter is the height of the area.
+     */
+    private void markStale(int x, int y, int width, int height){
+
+        staleLeft = Math.min(staleLeft,x);
+        staleTop = Math.min(staleTop,y);
+        staleRight = Math.max(staleRight,x + width);
+        staleBottom = Math.max(staleBottom,y + height);
+    }
+
+    /**
+     * This method finds the areas of the screen which have changed since it was last called, which must be before the
+     * next frame is drawn.
+     * @return The areas which have changed are returned, which are none if nothing has changed.
+     */
+    @Override
+    public List<Rectangle> getDirtyRegions() {
+        return dirtyRegion.find();
+    }
+
+    /**
+     * This method drops the brick layers, so the bricks are drawn from scratch in the next frame, and makes the next
+     * dirty regions cover the whole screen.
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(layers,null);
+        dirtyRegion.reset();
+        frameLevel = -1;
+    }
+
+    /**
+     * This method returns the brick layer of a level, brought up to date with the bricks. The first time a level is
+     * drawn, its brick layer is created with all of its bricks. After that, only the bricks which have changed and the
+     * bricks next to them are redrawn, and the frame is marked to be copied again where they are. The changes of the
+     * bricks are then cleared.
+     * @param level The index of the level.
+     * @return The brick layer of the level is returned.
+     */
+    private BufferedImage getLayer(int level) {
+        BrickStore bricks = gameBoard.getBricks()[level];
+        if(layers[level] == null) {
+            layers[level] = new BufferedImage(area.width,area.height,BufferedImage.TYPE_INT_RGB);
+            grids[level] = new BrickGrid(bricks);
+            if(found.length < bricks.size()) {
+                found = new int[bricks.size()];
+                sorted = new int[bricks.size()];
+            }
+            System.arraycopy(background,0,getPixels(layers[level]),0,background.length);
+            redrawArea(bricks,layers[level],new Rectangle(0,0,area.width,area.height),null);
+        }
+        else if(bricks.hasChanged()) {
+            for(int i = bricks.nextChanged(0); i >= 0; i = bricks.nextChanged(i + 1)) {
+                Rectangle redraw = new Rectangle(bricks.getX(i) - 1,bricks.getY(i) - 1,bricks.getWidth(i) + 3,bricks.getHeight(i) + 3);
+                redrawArea(bricks,layers[level],redraw.intersection(new Rectangle(area)),grids[level]);
+                markStale(redraw.x,redraw.y,redraw.width,redraw.height);
+            }
+        }
+        bricks.clearChanged();
+        return layers[level];
+    }
+
+    /**
+     * This method redraws an area of a brick layer. The background is copied back over the area and the unbroken
+     * bricks which overlap the area are drawn again, clipped to the area. As in the GameBoardRenderer, the bricks are
+     * ordered by their type and all of them are filled before their borders and cracks are drawn.
+     * @param bricks This parameter holds the bricks of the level.
+     * @param layer This parameter is the brick layer.
+     * @param redraw This parameter is the area to be redrawn.
+     * @param grid This parameter is the grid used to find the bricks overlapping the area, or null to draw every brick.
+     */
+    private void redrawArea(BrickStore bricks, BufferedImage layer, Rectangle redraw, BrickGrid grid){
+
+        if(redraw.isEmpty())
+            return;
+        int[] target = getPixels(layer);
+        clip.setBounds(redraw);
+        for(int y = clip.y; y < clip.y + clip.height; y++)
+            System.arraycopy(background,y * area.width + clip.x,target,y * area.width + clip.x,clip.width);
+
+        int hits = bricks.size();
+        if(grid != null) {
+            hits = grid.query(clip.x,clip.y,clip.x + clip.width,clip.y + clip.height,found);
+            Arrays.sort(found,0,hits);
+        }
+        int count = 0;
+        for(int j = 0; j < hits; j++) {
+            int i = grid == null ? j : found[j];
+            if(!bricks.isBroken(i))
+                found[count++] = i;
+        }
+        bricks.sortByType(found,count,sorted);
+
+        for(int j = 0; j < count; j++) {
+            int i = sorted[j];
+            fill(target,bricks.getX(i),bricks.getY(i),bricks.getWidth(i),bricks.getHeight(i),bricks.getInner(i).getRGB());
+        }
+        Graphics2D g2d = null;
+        for(int j = 0; j < count; j++) {
+            int i = sorted[j];
+            outline(target,bricks.getX(i),bricks.getY(i),bricks.getWidth(i),bricks.getHeight(i),bricks.getBorder(i).getRGB());
+            if(bricks.getCrack(i) != null) {
+                if(g2d == null) {
+                    g2d = layer.createGraphics();
+                    g2d.setClip(clip);
+                }
+                g2d.setColor(bricks.getBorder(i));
+                g2d.draw(bricks.getCrack(i));
+            }
+        }
+        if(g2d != null)
+            g2d.dispose();
+    }
+
+    /**
+     * This method draws the outline of a rectangle, covering the same pixels as drawRect of Java2D.
+     * @param target This parameter is the pixels drawn into.
+     * @param x This parameter is the x coordinate of the top left corner.
+     * @param y This parameter is the y coordinate of the top left corner.
+     * @param width This parameter is the width of the rectangle.
+     * @param height This parameter is the height of the rectangle.
+     * @param border This parameter is the border colour.
+     */
+    private void outline(int[] target, int x, int y, int width, int height, int border){
+
+        fill(target,x,y,width + 1,1,border);
+        fill(target,x,y + height,width + 1,1,border);
+        fill(target,x,y,1,height + 1,border);
+        fill(target,x + width,y,1,height + 1,border);
+    }
+
+    /**
+     * This method fills a rectangle with the inner colour and draws its outline with the border colour, covering the
+     * same pixels as fillRect and drawRect of Java2D.
+     * @param target This parameter is the pixels drawn into.
+     * @param x This parameter is the x coordinate of the top left corner.
+     * @param y This parameter is the y coordinate of the top left corner.
+     * @param width This parameter is the width of the rectangle.
+     * @param height This parameter is the height of the rectangle.
+     * @param inner This parameter is the inner colour.
+     * @param border This parameter is the border colour.
+     */
+    private void drawRect(int[] target, int x, int y, int width, int height, int inner, int border){
+
+        fill(target,x,y,width,height,inner);
+        outline(target,x,y,width,height,border);
+    }
+
+    /**
+     * This method fills the part of a rectangle inside the clip with a colour.
+     * @param target This parameter is the pixels drawn into.
+     * @param x This parameter is the x coordinate of the top left corner.
+     * @param y This parameter is the y coordinate of the top left corner.
+     * @param width This parameter is the width of the rectangle.
+     * @param height This parameter is the height of the rectangle.
+     * @param rgb This parameter is the colour.
+     */
+    private void fill(int[] target, int x, int y, int width, int height, int rgb){
+
+        int x0 = Math.max(x,clip.x), x1 = Math.min(x + width,clip.x + clip.width);
+        int y0 = Math.max(y,clip.y), y1 = Math.min(y + height,clip.y + clip.height);
+        if(x0 >= x1)
+            return;
+        for(int row = y0; row < y1; row++)
+            Arrays.fill(target,row * area.width + x0,row * area.width + x1,rgb);
+    }
+
+    /**
+     * This method writes the part of a mask inside the clip into the frame, with the inner and border colours.
+     * @param mask This parameter is the mask.
+     * @param x This parameter is the x coordinate of the top left corner of the mask.
+     * @param y This parameter is the y coordinate of the top left corner of the mask.
+     * @param width This parameter is the width of the mask.
+     * @param height This parameter is the height of the mask.
+     * @param inner This parameter is the inner colour.
+     * @param border This parameter is the border colour.
+     */
+    private void stamp(byte[] mask, int x, int y, int width, int height, int inner, int border){
+
+        int x0 = Math.max(x,clip.x), x1 = Math.min(x + width,clip.x + clip.width);
+        int y0 = Math.max(y,clip.y), y1 = Math.min(y + height,clip.y + clip.height);
+        for(int row = y0; row < y1; row++) {
+            int in = (row - y) * width - x;
+            int out = row * area.width;
+            for(int col = x0; col < x1; col++) {
+                byte value = mask[in + col];
+                if(value == INNER)
+                    pixels[out + col] = inner;
+                else if(value == BORDER)
+                    pixels[out + col] = border;
+            }
+        }
+    }
+
+    /**
+     * This method is used to write the balls in play into the frame. Each ball is moved back from its current position
+     * towards its last position according to the interpolation fraction and stamped from the ball mask with its
+     * colours.
+     * @param balls This parameter holds the pool of balls, of which only the balls in play are drawn.
+     * @param alpha The fraction of an update cycle since the last update cycle.
+     */
+    private void drawBall(BallPool balls, double alpha){
+
+        int d = GameBoard.BALL_DIAMETER;
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            int x = (int) Math.round(ball.getPreviousX() + (ball.getX() - ball.getPreviousX()) * alpha - d / 2.0);
+            int y = (int) Math.round(ball.getPreviousY() + (ball.getY() - ball.getPreviousY()) * alpha - d / 2.0);
+            markStale(x,y,d + 1,d + 1);
+
+            Color inner;
+            if(ball.isCollected())
+                inner = ball.getPowerUp();
+            else if(i == 0)
+                inner = ball.getFirst();
+            else
+                inner = ball.getInner();
+            stamp(ballMask,x,y,d + 1,d + 1,inner.getRGB(),ball.getBorder().getRGB());
+        }
+    }
+
+    /**
+     * This method is used to write the player into the frame. The player is moved back from its current position
+     * towards its last position according to the interpolation fraction, rounded to whole pixels.
+     * @param p This parameter tells the method where the player is and what colour to use.
+     * @param alpha The fraction of an update cycle since the last update cycle.
+     */
+    private void drawPlayer(Player p, double alpha){
+
+        Rectangle face = p.getPlayerFace();
+        int dx = (int) Math.round((p.getPreviousX() - p.getX()) * (1 - alpha));
+        int dy = (int) Math.round((p.getPreviousY() - p.getY()) * (1 - alpha));
+        drawRect(pixels,face.x + dx,face.y + dy,face.width,face.height,p.getInner().getRGB(),p.getBorder().getRGB());
+        markStale(face.x + dx,face.y + dy,face.width + 1,face.height + 1);
+    }
+
+    /**
+     * This method is used to write the power up into the frame. The mask of the power up is drawn again whenever its
+     * shape changes.
+     * @param powerUp This parameter tells the method what shape and colour to use for the power up.
+     */
+    private void drawPowerUp(GodModePowerUp powerUp){
+
+        Shape s = powerUp.getPowerUp();
+        if(s != powerUpShape) {
+            powerUpShape = s;
+            powerUpBounds = s.getBounds();
+            powerUpBounds.grow(1,1);
+            powerUpMask = createMask(powerUpBounds,g -> {
+                g.fill(s);
+                g.setColor(new Color(BORDER));
+                g.draw(s);
+            });
+        }
+        stamp(powerUpMask,powerUpBounds.x,powerUpBounds.y,powerUpBounds.width,powerUpBounds.height,
+                powerUp.getInner().getRGB(),powerUp.getBorder().getRGB());
+        markStale(powerUpBounds.x,powerUpBounds.y,powerUpBounds.width,powerUpBounds.height);
+    }
+
+    /**
+     * This method is used to write the game messages into the frame. The unbroken bricks which overlap the messages
+     * are then copied from the brick layer over them again, so the bricks are on top of the messages.
+     * @param layer This parameter is the pixels of the brick layer.
+     */
+    private void drawMessages(int[] layer){
+
+        if(gameBoard.getGameMessage(0).length()==0)
+            return;
+
+        Rectangle messages = dirtyRegion.getMessageArea();
+        markStale(messages.x,messages.y,messages.width,messages.height);
+        int y = dirtyRegion.getMessageY();
+        for(int i = 0; i < 6; i++) {
+            GameMessage message = gameBoard.getGameMessage(i);
+            messageGlyphs.draw(pixels,area.width,clip,message.getChars(),message.length(),DirtyRegion.MESSAGE_X,
+                    y + i * DirtyRegion.MESSAGE_SPACING,0);
+        }
+
+        Rectangle.intersect(messages,clip,messages);
+        int level = gameBoard.getLevel()-1;
+        BrickStore bricks = gameBoard.getBricks()[level];
+        int hits = grids[level].query(messages.x,messages.y,messages.x + messages.width,messages.y + messages.height,found);
+        for(int j = 0; j < hits; j++) {
+            int i = found[j];
+            if(bricks.isBroken(i))
+                continue;
+            int left = Math.max(bricks.getX(i),messages.x);
+            int top = Math.max(bricks.getY(i),messages.y);
+            int right = Math.min(bricks.getX(i) + bricks.getWidth(i) + 1,messages.x + messages.width);
+            int bottom = Math.min(bricks.getY(i) + bricks.getHeight(i) + 1,messages.y + messages.height);
+            if(left < right && top < bottom)
+                copyLayer(layer,left,top,right,bottom);
+        }
+    }
+
+    /**
+     * This method is used to shade the frame and write the strings of the pause menu over it.
+     */
+    private void drawMenu(){
+
+        markStale(0,0,area.width,area.height);
+        for(int y = clip.y; y < clip.y + clip.height; y++) {
+            for(int x = clip.x, i = y * area.width + x; x < clip.x + clip.width; x++, i++) {
+                int p = pixels[i];
+                pixels[i] = (((p & 0xff00ff) * MENU_SHADE >>> 8) & 0xff00ff) | (((p & 0xff00) * MENU_SHADE >>> 8) & 0xff00);
+            }
+        }
+
+        char[] title = PAUSE.toCharArray();
+        drawMenuString(title,(area.width - menuGlyphs.getWidth(title,title.length)) / 2,area.height / 10);
+
+        int x = area.width / 8;
+        int y = area.height / 4;
+
+        drawMenuString(CONTINUE.toCharArray(),x,y);
+
+        y *= 2;
+
+        drawMenuString(RESTART.toCharArray(),x,y);
+
+        y *= 3.0/2;
+
+        drawMenuString(EXIT.toCharArray(),x,y);
+    }
+
+    /**
+     * This method is used to write a string of the pause menu into the frame.
+     * @param chars This parameter holds the characters of the string.
+     * @param x This parameter is the x coordinate of the start of the string.
+     * @param y This parameter is the y coordinate of the baseline of the string.
+     */
+    private void drawMenuString(char[] chars, int x, int y){
+        menuGlyphs.draw(pixels,area.width,clip,chars,chars.length,x,y,MENU_RGB);
+    }
+}
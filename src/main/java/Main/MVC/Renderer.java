@@ -1,6 +1,7 @@
 package Main.MVC;
 
 import java.awt.*;
+import java.util.List;
 
 /**
  * Public interface Renderer is used to create an interface for renderers to be created. It is useful if more than one
@@ -14,6 +15,20 @@ public interface Renderer {
     /**
      * This method is to be overridden in the subclass and is used to render the game graphics.
      * @param g This parameter is used to control the graphics of the new classes.
+     * @param alpha The fraction of an update cycle since the last update cycle, used to interpolate moving entities.
      */
-    void render(Graphics g);
+    void render(Graphics g, double alpha);
+
+    /**
+     * This method is to be overridden in the subclass and is used to find the areas of the game screen which have
+     * changed since the last time it was called, so only those areas need to be repainted.
+     * @return The areas which have changed are returned, which are none if nothing has changed.
+     */
+    List<Rectangle> getDirtyRegions();
+
+    /**
+     * This method is to be overridden in the subclass and is used to drop anything kept from earlier frames, so the
+     * next frame is drawn from scratch. It is called when another renderer has been drawing the game.
+     */
+    void reset();
 }
@@ -0,0 +1,123 @@
+package Main.MVC;
+
+import Main.Others.GameSounds;
+import Main.Replay.InputReplay;
+import Main.Replay.ScoreClaim;
+import Main.Scores.ScoreBoard;
+
+import javax.swing.*;
+import java.io.FileNotFoundException;
+import java.util.function.Supplier;
+
+/**
+ * Public class SwingGameListener connects the GameBoardController to the Swing front end of the game. Sound effects
+ * and BGM are played through GameSounds and the highscores are shown in a ScoreBoard centered on the game screen.
+ * Each highscore is shown with the replay of the game so far, so the ScoreBoard can verify it before it is saved.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class SwingGameListener implements GameListener {
+
+    /**
+     * JFrame to center ScoreBoard on screen.
+     */
+    private final JFrame owner;
+    /**
+     * GameSounds to add BGM and sound effects to the game.
+     */
+    private final GameSounds gameSounds;
+    /**
+     * Choices of player in CustomConsole to generate the highscore category.
+     */
+    private final int[][] choice;
+    /**
+     * Source of the replay of the game so far, or null if the game is not recorded.
+     */
+    private Supplier<InputReplay> replaySource;
+
+    /**
+     * This constructor loads in the JFrame and GameSounds used to respond to the game notifications.
+     * @param owner JFrame to center ScoreBoard on screen.
+     * @param gameSounds GameSounds to add BGM and sound effects to the game.
+     * @param choice Choices of player in CustomConsole to generate the highscore category.
+     */
+    public SwingGameListener(JFrame owner, GameSounds gameSounds, int[][] choice) {
+        this.owner = owner;
+        this.gameSounds = gameSounds;
+        this.choice = choice;
+    }
+
+    /**
+     * This method plays the sound effect through GameSounds.
+     * @param name The name of the sound effect.
+     */
+    @Override
+    public void playSoundEffect(String name) {
+        gameSounds.playSoundEffect(name);
+    }
+
+    /**
+     * This method pauses the BGM when the game is paused.
+     */
+    @Override
+    public void gamePaused() {
+        gameSounds.pauseBgm();
+    }
+
+    /**
+     * This method resumes the BGM of the level. If another song is playing, it fades into the BGM of the level.
+     * @param level The level number which is resumed.
+     */
+    @Override
+    public void gameResumed(int level) {
+        if(gameSounds.getSongID()==level)
+            gameSounds.resumeBgm();
+        else {
+            gameSounds.setBgm("BGM" + level);
+            gameSounds.setSongID(level);
+        }
+    }
+
+    /**
+     * This method restarts the BGM of the level when the game is over.
+     * @param level The level number which is restarted.
+     */
+    @Override
+    public void gameOver(int level) {
+        gameSounds.setBgm("BGM" + level);
+    }
+
+    /**
+     * This method shows the highscores in a ScoreBoard. The replay and the scores are taken at once, but the
+     * ScoreBoard, which waits for the player, is only shown after the update cycle has finished, so the game loop is
+     * never held up by it.
+     * @param level The level number of the highscores, or 0 for the highscores of the whole game.
+     * @param scoreAndTime All the scores and times of the player.
+     */
+    @Override
+    public void showScoreBoard(int level, int[][] scoreAndTime) {
+        InputReplay replay = replaySource == null ? null : replaySource.get();
+        ScoreClaim claim = replay == null ? null : new ScoreClaim(level,scoreAndTime[level][0],scoreAndTime[level][1],replay);
+        int[][] scores = new int[scoreAndTime.length][];
+        for(int i = 0; i < scoreAndTime.length; i++)
+            scores[i] = scoreAndTime[i].clone();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                new ScoreBoard(owner, level, scores, choice, claim);
+            }
+            catch (FileNotFoundException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * This method sets the source of the replay of the game so far, which is attached to every highscore shown.
+     * @param replaySource The source of the replay, which returns null if the game is not recorded.
+     */
+    public void setReplaySource(Supplier<InputReplay> replaySource) {
+        this.replaySource = replaySource;
+    }
+}
@@ -1,7 +1,17 @@
 /**
  * This package holds the java files related to the MVC design pattern. The Model is the GameBoard, the Controller
- * is GameBoardController and the View is GameBoardRenderer. BrickBreaker is where the update and render loop is
- * called and the user inputs are obtained. GameEngine is where the MVC classes are initialised and the user inputs
- * are processed and Renderer is the interface which GameBoardRenderer implements.
+ * is GameBoardController and the View is GameBoardRenderer. BrickBreaker is where the GameLoop which runs the fixed
+ * update cycles and the render loop is started and the user inputs are obtained. GameEngine is where the MVC classes
+ * are initialised and the user inputs are processed and Renderer is the interface which GameBoardRenderer implements.
+ * GameSimulation is the headless core which holds the Model and Controller, and GameListener is the interface used by
+ * the Controller to send sound effects and highscore popups to the front end, which SwingGameListener implements.
+ * The Controller emits these into a GameEventQueue during the update cycle and hands them to the GameListener and
+ * any other subscribers once the update cycle is done.
+ * GameRandom is the seeded randomizer which each game splits into one stream for every part of the game, and
+ * GameSnapshot takes and restores snapshots of the whole state of a game, which GameRewind keeps for the last
+ * seconds of the game so the DebugConsole can go back in time. GameCanvas is the buffered screen the frames are
+ * rendered into when active rendering is used, and FrameTimes measures how long the frames take to reach the screen.
+ * RasterRenderer is a second Renderer which writes the pixels of the frames itself, using GlyphAtlas for the text, and
+ * DirtyRegion finds the areas of the screen which have changed since the last frame for both renderers.
  */
 package Main.MVC;
\ No newline at end of file
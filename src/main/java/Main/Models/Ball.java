@@ -21,47 +21,66 @@ public class Ball {
     /**
      * This is the speed of the ball in the horizontal direction.
      */
-    private int speedX = 0;
+    private double speedX = 0;
     /**
      * This is the speed of the ball in the vertical direction.
      */
-    private int speedY = 0;
+    private double speedY = 0;
     /**
      * The diameter of the ball.
      */
     private final int diameter;
     /**
-     * This point is defined as the center point of the ball.
+     * This point is defined as the center point of the ball. It is moved instead of replaced, so moving the ball
+     * does not create any objects.
      */
-    private Point center;
+    private final Point center;
+    /**
+     * The exact horizontal position of the center of the ball. The center point is rounded from it.
+     */
+    private double x;
+    /**
+     * The exact vertical position of the center of the ball. The center point is rounded from it.
+     */
+    private double y;
+    /**
+     * The exact horizontal position of the center of the ball before the last move. It is used to interpolate the
+     * ball between update cycles when rendering.
+     */
+    private double previousX;
+    /**
+     * The exact vertical position of the center of the ball before the last move. It is used to interpolate the
+     * ball between update cycles when rendering.
+     */
+    private double previousY;
     /**
      * This point is defined as the top point of the ball.
      */
-    private Point up;
+    private final Point up;
     /**
      * This point is defined as the bottom point of the ball.
      */
-    private Point down;
+    private final Point down;
     /**
      * This point is defined as the left point of the ball.
      */
-    private Point left;
+    private final Point left;
     /**
      * This point is defined as the right point of the ball.
      */
-    private Point right;
+    private final Point right;
     /**
      * The inner colour of the ball.
      */
-    private final Color inner = new Color(255, 219, 88);
+    private static final Color INNER = new Color(255, 219, 88);
     /**
      * The border colour of the ball.
      */
-    private final Color border = inner.darker().darker();
+    private static final Color BORDER = INNER.darker().darker();
 
-    private final Color powerUp = Color.red;
+    private static final Color POWER_UP = Color.red;
 
-    private final Color first = Color.WHITE;
+    private static final Color FIRST = Color.WHITE;
 
     private boolean lost;
 
@@ -74,8 +93,10 @@ public class Ball {
      * @param diameter This is the diameter of the new ball.
      */
     public Ball(Point center,int diameter){
-        this.center = center;
+        this.center = new Point(center);
         this.diameter = diameter;
+        this.x = this.previousX = center.x;
+        this.y = this.previousY = center.y;
         this.up = new Point(center.x,center.y - diameter/2);
         this.down = new Point(center.x,center.y + diameter/2);
         this.left = new Point(center.x - diameter/2,center.y);
@@ -87,11 +108,30 @@ public class Ball {
 
     /**
      * This method is used to set the new center point of the ball to move the ball. The other 4 points of the ball
-     * are also updated.
+     * are also updated. The ball is placed at the point directly, so it is not interpolated from its old position.
+     * The point is copied, so the ball does not share it with anything else.
      * @param center This is the new center point of the ball.
      */
     public void setCenter(Point center) {
-        this.center = center;
+        this.center.setLocation(center);
+        this.x = this.previousX = center.x;
+        this.y = this.previousY = center.y;
+        setPoints(this.center);
+    }
+
+    /**
+     * This method is used to move the ball to an exact position. The old position is kept so that the ball can be
+     * interpolated between update cycles, and the center point and the other 4 points are rounded from the new
+     * position. No objects are created.
+     * @param x The new exact horizontal position of the center of the ball.
+     * @param y The new exact vertical position of the center of the ball.
+     */
+    public void moveTo(double x, double y) {
+        this.previousX = this.x;
+        this.previousY = this.y;
+        this.x = x;
+        this.y = y;
+        this.center.setLocation((int) Math.round(x),(int) Math.round(y));
         setPoints(center);
     }
 
@@ -100,10 +140,10 @@ public class Ball {
      * @param center This is the new center point of the ball.
      */
     public void setPoints(Point center){
-        this.up = new Point(center.x,center.y - diameter/2);
-        this.down = new Point(center.x,center.y + diameter/2);
-        this.left = new Point(center.x - diameter/2,center.y);
-        this.right = new Point(center.x + diameter/2,center.y);
+        this.up.setLocation(center.x,center.y - diameter/2);
+        this.down.setLocation(center.x,center.y + diameter/2);
+        this.left.setLocation(center.x - diameter/2,center.y);
+        this.right.setLocation(center.x + diameter/2,center.y);
     }
 
     /**
@@ -134,7 +174,7 @@ public class Ball {
      * This method is used to return horizontal speed of the ball.
      * @return The horizontal speed of the ball is returned.
      */
-    public int getSpeedX() {
+    public double getSpeedX() {
         return speedX;
     }
 
@@ -142,7 +182,7 @@ public class Ball {
      * This method is used to change the horizontal speed of the ball.
      * @param speedX This is the new horizontal speed of the ball.
      */
-    public void setSpeedX(int speedX){
+    public void setSpeedX(double speedX){
         this.speedX = speedX;
     }
 
@@ -150,7 +190,7 @@ public class Ball {
      * This method is used to return vertical speed of the ball.
      * @return The vertical speed of the ball is returned.
      */
-    public int getSpeedY() {
+    public double getSpeedY() {
         return speedY;
     }
 
@@ -158,7 +198,7 @@ public class Ball {
      * This method is used to change the vertical speed of the ball.
      * @param speedY This is the new vertical speed of the ball.
      */
-    public void setSpeedY(int speedY){
+    public void setSpeedY(double speedY){
         this.speedY = speedY;
     }
 
@@ -167,7 +207,7 @@ public class Ball {
      * @return The inner colour of the ball is returned.
      */
     public Color getInner() {
-        return inner;
+        return INNER;
     }
 
     /**
@@ -175,7 +215,7 @@ public class Ball {
      * @return The border colour of the ball is returned.
      */
     public Color getBorder() {
-        return border;
+        return BORDER;
     }
 
     /**
@@ -210,6 +250,38 @@ public class Ball {
         return right;
     }
 
+    /**
+     * This method is used to return the exact horizontal position of the center of the ball.
+     * @return The exact horizontal position is returned.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * This method is used to return the exact vertical position of the center of the ball.
+     * @return The exact vertical position is returned.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * This method is used to return the exact horizontal position of the center of the ball before the last move.
+     * @return The exact horizontal position before the last move is returned.
+     */
+    public double getPreviousX() {
+        return previousX;
+    }
+
+    /**
+     * This method is used to return the exact vertical position of the center of the ball before the last move.
+     * @return The exact vertical position before the last move is returned.
+     */
+    public double getPreviousY() {
+        return previousY;
+    }
+
     public boolean isLost() {
         return lost;
     }
@@ -227,10 +299,10 @@ public class Ball {
     }
 
     public Color getPowerUp() {
-        return powerUp;
+        return POWER_UP;
     }
 
     public Color getFirst() {
-        return first;
+        return FIRST;
     }
 }
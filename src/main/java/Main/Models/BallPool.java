@@ -0,0 +1,124 @@
+package Main.Models;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Public class BallPool holds all the balls of the game in a pool so that balls can be spawned and lost without
+ * creating any objects. The balls in play are kept together at the start of the pool, so the game only has to look at
+ * the balls in play, even if thousands of balls have been created. Lost balls are moved behind the balls in play and
+ * are reused when new balls are spawned. The pool only grows, by doubling, when more balls are spawned than it has
+ * ever held before.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class BallPool {
+
+    /**
+     * All the balls of the pool. The balls in play come first, followed by the lost balls.
+     */
+    private Ball[] balls;
+    /**
+     * The number of balls in play.
+     */
+    private int active = 0;
+    /**
+     * The diameter of the balls.
+     */
+    private final int diameter;
+    /**
+     * The point where new balls are created.
+     */
+    private final Point spawnPoint;
+
+    /**
+     * This constructor creates a pool with the given number of lost balls.
+     * @param capacity The number of balls to be created.
+     * @param spawnPoint The point where new balls are created.
+     * @param diameter The diameter of the balls.
+     */
+    public BallPool(int capacity, Point spawnPoint, int diameter) {
+        this.diameter = diameter;
+        this.spawnPoint = new Point(spawnPoint);
+        balls = new Ball[Math.max(capacity,1)];
+        for(int i = 0; i < balls.length; i++)
+            balls[i] = new Ball(spawnPoint,diameter);
+    }
+
+    /**
+     * This method puts a lost ball back into play. The ball is stopped and does not have the power up. The pool grows
+     * if all its balls are in play.
+     * @return The ball put into play is returned.
+     */
+    public Ball spawn() {
+        if(active == balls.length) {
+            int capacity = balls.length;
+            balls = Arrays.copyOf(balls,capacity * 2);
+            for(int i = capacity; i < balls.length; i++)
+                balls[i] = new Ball(spawnPoint,diameter);
+        }
+        Ball ball = balls[active++];
+        ball.setLost(false);
+        ball.setCollected(false);
+        ball.setSpeedX(0);
+        ball.setSpeedY(0);
+        return ball;
+    }
+
+    /**
+     * This method moves the balls which have been lost since the last call behind the balls in play. The balls in
+     * play keep their order, so the first ball stays the first ball while it is in play.
+     */
+    public void removeLost() {
+        int kept = 0;
+        for(int i = 0; i < active; i++) {
+            if(!balls[i].isLost()) {
+                Ball ball = balls[i];
+                balls[i] = balls[kept];
+                balls[kept++] = ball;
+            }
+        }
+        active = kept;
+    }
+
+    /**
+     * This method takes all the balls out of play. The balls are stopped and lose the power up.
+     */
+    public void clear() {
+        for(int i = 0; i < active; i++) {
+            balls[i].setLost(true);
+            balls[i].setCollected(false);
+            balls[i].setSpeedX(0);
+            balls[i].setSpeedY(0);
+        }
+        active = 0;
+    }
+
+    /**
+     * This method returns a ball of the pool. The balls in play come first, so a ball with an index lower than the
+     * number of balls in play is in play.
+     * @param index The index of the ball.
+     * @return The ball at the index is returned.
+     */
+    public Ball get(int index) {
+        return balls[index];
+    }
+
+    /**
+     * This method returns the number of balls in play.
+     * @return The number of balls in play is returned.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * This method returns the number of balls in the pool, including the lost balls.
+     * @return The number of balls in the pool is returned.
+     */
+    public int capacity() {
+        return balls.length;
+    }
+}
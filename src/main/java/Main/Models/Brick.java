@@ -258,4 +258,12 @@ public class Brick {
     public int getScore() {
         return score;
     }
+
+    /**
+     * This method returns the score multiplier of the brick.
+     * @return The score multiplier of the brick is returned.
+     */
+    public int getScoreMultiplier() {
+        return scoreMultiplier;
+    }
 }
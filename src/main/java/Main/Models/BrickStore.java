@@ -0,0 +1,383 @@
+package Main.Models;
+
+import java.awt.*;
+import java.awt.geom.GeneralPath;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Public class BrickStore holds all the bricks of a level in a structure of arrays. Instead of one object per brick,
+ * the position, size, type, strength and score of every brick are kept in primitive arrays and the broken flags in a
+ * BitSet, so a level of many bricks takes little memory and can be scanned quickly. Each brick is identified by its
+ * index in the store. The colours, break probability and full strength are shared by all bricks of a type and are
+ * read from a prototype Brick of each type. Cracks are only created for the bricks which are cracked.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class BrickStore {
+
+    /**
+     * The prototype Brick of each type, indexed by brickID.
+     */
+    private final Brick[] types;
+    /**
+     * The width of the game screen used to calculate the score of the bricks.
+     */
+    private final int areaWidth;
+    /**
+     * The number of bricks in the store.
+     */
+    private int size = 0;
+    /**
+     * The x-coordinates of the top-left corners of the bricks.
+     */
+    private int[] x;
+    /**
+     * The y-coordinates of the top-left corners of the bricks.
+     */
+    private int[] y;
+    /**
+     * The widths of the bricks.
+     */
+    private int[] width;
+    /**
+     * The heights of the bricks.
+     */
+    private int[] height;
+    /**
+     * The scores of the bricks when broken.
+     */
+    private int[] score;
+    /**
+     * The brickIDs of the bricks.
+     */
+    private byte[] type;
+    /**
+     * The current strengths of the bricks.
+     */
+    private byte[] strength;
+    /**
+     * The flags to see if the bricks are broken.
+     */
+    private final BitSet broken = new BitSet();
+    /**
+     * The cracks of the bricks, which are null until the brick is cracked.
+     */
+    private GeneralPath[] cracks;
+    /**
+     * The number of times the cracks of the bricks have changed, so that a copy of the cracks can tell if it is out
+     * of date.
+     */
+    private int crackChanges = 0;
+    /**
+     * The flags to see if the bricks have been broken, repaired or cracked since the changes were last cleared, so
+     * that a drawing of the bricks only has to redraw the bricks which look different.
+     */
+    private final BitSet changed = new BitSet();
+
+    /**
+     * This constructor creates an empty store with room for the given number of bricks. More bricks can be added,
+     * but the arrays then have to grow.
+     * @param capacity The number of bricks the store has room for.
+     * @param area The dimensions of the screen so that the width of the screen can be used to calculate the score of
+     *             the bricks.
+     */
+    public BrickStore(int capacity, Dimension area) {
+        areaWidth = area.width;
+        types = new Brick[5];
+        for(int i = 1; i < types.length; i++)
+            types[i] = new Brick(i,0,0,1,1,area);
+        capacity = Math.max(capacity,1);
+        x = new int[capacity];
+        y = new int[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        score = new int[capacity];
+        type = new byte[capacity];
+        strength = new byte[capacity];
+        cracks = new GeneralPath[capacity];
+    }
+
+    /**
+     * This method adds a new brick of the given type, position and dimensions to the store.
+     * @param brickID The ID of the type of the new brick.
+     * @param x The x-coordinate of the top-left corner of the new brick.
+     * @param y The y-coordinate of the top-left corner of the new brick.
+     * @param width The width of the new brick.
+     * @param height The height of the new brick.
+     * @return The index of the new brick is returned.
+     */
+    public int add(int brickID, int x, int y, int width, int height) {
+        if(size == this.x.length)
+            grow();
+        this.x[size] = x;
+        this.y[size] = y;
+        this.width[size] = width;
+        this.height[size] = height;
+        this.type[size] = (byte) brickID;
+        this.strength[size] = (byte) types[brickID].getFullStrength();
+        this.score[size] = types[brickID].getScoreMultiplier() * areaWidth / width;
+        broken.clear(size);
+        return size++;
+    }
+
+    /**
+     * This method doubles the room in the store when it is full.
+     */
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x,capacity);
+        y = Arrays.copyOf(y,capacity);
+        width = Arrays.copyOf(width,capacity);
+        height = Arrays.copyOf(height,capacity);
+        score = Arrays.copyOf(score,capacity);
+        type = Arrays.copyOf(type,capacity);
+        strength = Arrays.copyOf(strength,capacity);
+        cracks = Arrays.copyOf(cracks,capacity);
+    }
+
+    /**
+     * This method repairs a brick by setting its broken flag to false and resetting its strength. The crack on the
+     * brick is also removed if it is present.
+     * @param index The index of the brick to be repaired.
+     */
+    public void repair(int index) {
+        if(broken.get(index))
+            changed.set(index);
+        broken.clear(index);
+        strength[index] = (byte) getFullStrength(index);
+        if(cracks[index] != null && cracks[index].getCurrentPoint() != null) {
+            cracks[index].reset();
+            crackChanges++;
+            changed.set(index);
+        }
+    }
+
+    /**
+     * This method repairs all the bricks in the store.
+     */
+    public void repairAll() {
+        for(int i = 0; i < size; i++)
+            repair(i);
+    }
+
+    /**
+     * This method adds a crack to a brick. The general path of the crack is only created when the brick is first
+     * cracked.
+     * @param index The index of the brick to be cracked.
+     * @param path The path of the new crack.
+     */
+    public void addCrack(int index, Shape path) {
+        if(cracks[index] == null)
+            cracks[index] = new GeneralPath();
+        cracks[index].append(path,true);
+        crackChanges++;
+        changed.set(index);
+    }
+
+    /**
+     * This method returns the number of times the cracks of the bricks have changed. A copy of the cracks taken when
+     * the number was the same is still up to date.
+     * @return The number of times the cracks have changed is returned.
+     */
+    public int getCrackChanges() {
+        return crackChanges;
+    }
+
+    /**
+     * This method checks if any brick has been broken, repaired or cracked since the changes were last cleared.
+     * @return A boolean to signal if any brick has changed is returned.
+     */
+    public boolean hasChanged() {
+        return !changed.isEmpty();
+    }
+
+    /**
+     * This method finds the next brick which has been broken, repaired or cracked since the changes were last cleared.
+     * @param from The index of the brick to start looking from.
+     * @return The index of the next changed brick is returned, or -1 if there is none.
+     */
+    public int nextChanged(int from) {
+        return changed.nextSetBit(from);
+    }
+
+    /**
+     * This method clears the changes of the bricks, once they have been drawn.
+     */
+    public void clearChanged() {
+        changed.clear();
+    }
+
+    /**
+     * This method orders bricks by their type, so the bricks can be drawn a type at a time with the colours of the
+     * type set only once. The bricks of the same type keep their order.
+     * @param indexes The indexes of the bricks to be ordered.
+     * @param count The number of indexes at the start of the array to be ordered.
+     * @param sorted The array the ordered indexes are written to, which must hold at least count indexes.
+     */
+    public void sortByType(int[] indexes, int count, int[] sorted) {
+        int[] start = new int[types.length + 1];
+        for(int j = 0; j < count; j++)
+            start[type[indexes[j]] + 1]++;
+        for(int t = 1; t < start.length; t++)
+            start[t] += start[t - 1];
+        for(int j = 0; j < count; j++)
+            sorted[start[type[indexes[j]]]++] = indexes[j];
+    }
+
+    /**
+     * This method returns the number of bricks in the store.
+     * @return The number of bricks is returned.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the x-coordinate of the top-left corner of a brick.
+     * @param index The index of the brick.
+     * @return The x-coordinate of the brick is returned.
+     */
+    public int getX(int index) {
+        return x[index];
+    }
+
+    /**
+     * This method returns the y-coordinate of the top-left corner of a brick.
+     * @param index The index of the brick.
+     * @return The y-coordinate of the brick is returned.
+     */
+    public int getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * This method returns the width of a brick.
+     * @param index The index of the brick.
+     * @return The width of the brick is returned.
+     */
+    public int getWidth(int index) {
+        return width[index];
+    }
+
+    /**
+     * This method returns the height of a brick.
+     * @param index The index of the brick.
+     * @return The height of the brick is returned.
+     */
+    public int getHeight(int index) {
+        return height[index];
+    }
+
+    /**
+     * This method returns the brickID of a brick.
+     * @param index The index of the brick.
+     * @return The brickID of the brick is returned.
+     */
+    public int getType(int index) {
+        return type[index];
+    }
+
+    /**
+     * This method returns the condition of a brick.
+     * @param index The index of the brick.
+     * @return The condition of the brick is returned.
+     */
+    public boolean isBroken(int index) {
+        return broken.get(index);
+    }
+
+    /**
+     * This method is used to change the condition of a brick.
+     * @param index The index of the brick.
+     * @param broken This is the new condition of the brick.
+     */
+    public void setBroken(int index, boolean broken) {
+        if(this.broken.get(index) != broken)
+            changed.set(index);
+        this.broken.set(index,broken);
+    }
+
+    /**
+     * This method returns the current strength of a brick.
+     * @param index The index of the brick.
+     * @return The current strength of the brick is returned.
+     */
+    public int getStrength(int index) {
+        return strength[index];
+    }
+
+    /**
+     * This method changes the current strength of a brick.
+     * @param index The index of the brick.
+     * @param strength The new strength of the brick.
+     */
+    public void setStrength(int index, int strength) {
+        this.strength[index] = (byte) strength;
+    }
+
+    /**
+     * This method returns the score of a brick when broken.
+     * @param index The index of the brick.
+     * @return The score of the brick is returned.
+     */
+    public int getScore(int index) {
+        return score[index];
+    }
+
+    /**
+     * This method returns the crack of a brick.
+     * @param index The index of the brick.
+     * @return The crack of the brick is returned, or null if the brick has never been cracked.
+     */
+    public GeneralPath getCrack(int index) {
+        return cracks[index];
+    }
+
+    /**
+     * This method returns the full strength of a brick.
+     * @param index The index of the brick.
+     * @return The full strength of the brick is returned.
+     */
+    public int getFullStrength(int index) {
+        return types[type[index]].getFullStrength();
+    }
+
+    /**
+     * This method returns the probability of damage to a brick.
+     * @param index The index of the brick.
+     * @return The probability of damage to the brick is returned.
+     */
+    public double getBreakProbability(int index) {
+        return types[type[index]].getBreakProbability();
+    }
+
+    /**
+     * This method returns the crackable condition of a brick.
+     * @param index The index of the brick.
+     * @return The crackable condition of the brick is returned.
+     */
+    public boolean isCrackable(int index) {
+        return types[type[index]].isCrackable();
+    }
+
+    /**
+     * This method returns the inner colour of a brick.
+     * @param index The index of the brick.
+     * @return The inner colour of the brick is returned.
+     */
+    public Color getInner(int index) {
+        return types[type[index]].getInner();
+    }
+
+    /**
+     * This method returns the border colour of a brick.
+     * @param index The index of the brick.
+     * @return The border colour of the brick is returned.
+     */
+    public Color getBorder(int index) {
+        return types[type[index]].getBorder();
+    }
+}
@@ -21,15 +21,15 @@ public class GodModePowerUp {
     /**
      * This point is defined as the midpoint of the power up.
      */
-    private Point midPoint;
+    private final Point midPoint;
     /**
      * The inner colour of the power up.
      */
-    private final Color inner = Color.RED;
+    private static final Color INNER = Color.RED;
     /**
      * The border colour of the power up.
      */
-    private final Color border = Color.BLACK;
+    private static final Color BORDER = Color.BLACK;
     /**
      * A flag to signal if the power up has spawned and is ready for collection.
      */
@@ -45,7 +45,7 @@ public class GodModePowerUp {
      * @param diameter This is the diameter of the new power up.
      */
     public GodModePowerUp(Point midPoint, int diameter){
-        this.midPoint = midPoint;
+        this.midPoint = new Point(midPoint);
         this.powerUp = new Ellipse2D.Double(midPoint.x - (double) diameter/2,midPoint.y - (double) diameter/2,diameter,diameter);
     }
 
@@ -58,11 +58,12 @@ public class GodModePowerUp {
     }
 
     /**
-     * This method is used to set the new midpoint of the power up to move the power up.
+     * This method is used to set the new midpoint of the power up to move the power up. The point is copied, so the
+     * power up does not share it with anything else.
      * @param midPoint This is the new midpoint of the power up.
      */
     public void setMidPoint(Point midPoint) {
-        this.midPoint = midPoint;
+        this.midPoint.setLocation(midPoint);
     }
 
     /**
@@ -86,7 +87,7 @@ public class GodModePowerUp {
      * @return The inner colour of the power up is returned.
      */
     public Color getInner() {
-        return inner;
+        return INNER;
     }
 
     /**
@@ -94,7 +95,7 @@ public class GodModePowerUp {
      * @return The border colour of the power up is returned.
      */
     public Color getBorder() {
-        return border;
+        return BORDER;
     }
 
     /**
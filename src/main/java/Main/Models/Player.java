@@ -17,9 +17,28 @@ public class Player {
      */
     private Rectangle playerFace;
     /**
-     * This point is defined as the midpoint of the player.
+     * This point is defined as the midpoint of the player. It is moved instead of replaced, so moving the player
+     * does not create any objects.
      */
-    private Point midPoint;
+    private final Point midPoint;
+    /**
+     * The exact horizontal position of the midpoint of the player. The midpoint is rounded from it.
+     */
+    private double x;
+    /**
+     * The exact vertical position of the midpoint of the player. The midpoint is rounded from it.
+     */
+    private double y;
+    /**
+     * The exact horizontal position of the midpoint before the last move. It is used to interpolate the player
+     * between update cycles when rendering.
+     */
+    private double previousX;
+    /**
+     * The exact vertical position of the midpoint before the last move. It is used to interpolate the player
+     * between update cycles when rendering.
+     */
+    private double previousY;
     /**
      * The move amount of the player.
      */
@@ -47,11 +66,11 @@ public class Player {
     /**
      * The border colour of the brick.
      */
-    private final Color border = Color.GREEN.darker().darker();
+    private static final Color BORDER = Color.GREEN.darker().darker();
     /**
      * The inner colour of the brick.
      */
-    private final Color inner = Color.GREEN;
+    private static final Color INNER = Color.GREEN;
 
     /**
      * This constructor is used to create a player with the given midpoint and dimensions. The min and max position of
@@ -62,7 +81,9 @@ public class Player {
      * @param area The dimensions of the screen to define the min and max position of the player.
      */
     public Player(Point midPoint,int width,int height,Dimension area){
-        this.midPoint = midPoint;
+        this.midPoint = new Point(midPoint);
+        this.x = this.previousX = midPoint.x;
+        this.y = this.previousY = midPoint.y;
         min = width / 2;
         max = min + area.width - width;
         top = 0;
@@ -80,11 +101,62 @@ public class Player {
     }
 
     /**
-     * This method is used to set the new midpoint of the player to move the player.
+     * This method is used to set the new midpoint of the player to move the player. The player is placed at the point
+     * directly, so it is not interpolated from its old position. The point is copied, so the player does not share it
+     * with anything else.
      * @param midPoint This is the new midpoint of the player.
      */
     public void setMidPoint(Point midPoint) {
-        this.midPoint = midPoint;
+        this.midPoint.setLocation(midPoint);
+        this.x = this.previousX = midPoint.x;
+        this.y = this.previousY = midPoint.y;
+    }
+
+    /**
+     * This method is used to move the player to an exact position. The old position is kept so that the player can
+     * be interpolated between update cycles, and the midpoint is rounded from the new position. No objects are
+     * created.
+     * @param x The new exact horizontal position of the midpoint.
+     * @param y The new exact vertical position of the midpoint.
+     */
+    public void moveTo(double x, double y) {
+        this.previousX = this.x;
+        this.previousY = this.y;
+        this.x = x;
+        this.y = y;
+        this.midPoint.setLocation((int) Math.round(x),(int) Math.round(y));
+    }
+
+    /**
+     * This method is used to return the exact horizontal position of the midpoint of the player.
+     * @return The exact horizontal position is returned.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * This method is used to return the exact vertical position of the midpoint of the player.
+     * @return The exact vertical position is returned.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * This method is used to return the exact horizontal position of the midpoint before the last move.
+     * @return The exact horizontal position before the last move is returned.
+     */
+    public double getPreviousX() {
+        return previousX;
+    }
+
+    /**
+     * This method is used to return the exact vertical position of the midpoint before the last move.
+     * @return The exact vertical position before the last move is returned.
+     */
+    public double getPreviousY() {
+        return previousY;
     }
 
     /**
@@ -143,7 +215,7 @@ public class Player {
      * @return The border colour of the player is returned.
      */
     public Color getBorder() {
-        return border;
+        return BORDER;
     }
 
     /**
@@ -151,7 +223,7 @@ public class Player {
      * @return The inner colour of the player is returned.
      */
     public Color getInner() {
-        return inner;
+        return INNER;
     }
 
     /**
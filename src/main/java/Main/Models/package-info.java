@@ -1,4 +1,5 @@
 /**
- * This package holds the models of the game. The models are the Ball, Brick, Player and GodModePowerUp.
+ * This package holds the models of the game. The models are the Ball, Brick, Player and GodModePowerUp. The bricks of
+ * each level are held together in a BrickStore.
  */
 package Main.Models;
\ No newline at end of file
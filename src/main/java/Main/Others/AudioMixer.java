@@ -0,0 +1,290 @@
+package Main.Others;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+
+/**
+ * Public class AudioMixer plays all the sound effects of the game through a single output line. A dedicated audio
+ * thread adds up the samples of every playing voice, each with its own gain, and writes the sum to the line a small
+ * block at a time. The number of voices is fixed, and so is the number of voices each sound can use, so however many
+ * balls bounce in an update cycle, the work of the audio thread and the delay before a sound is heard stay the same.
+ * When a sound has used up its voices, or every voice is playing, the voice which started first is stolen. The BGM
+ * streamed by a MusicStreamer is added to the same output line.
+ * <p>
+ * Starting a voice only writes a few numbers into arrays which are allocated once, so playing a sound never waits for
+ * the line. If there is no audio device, the audio thread is not started and nothing is heard, but the voices are still
+ * tracked so the game runs as normal.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class AudioMixer {
+
+    /**
+     * The format of the sounds and of the output line, which is 44.1 kHz 16 bit signed stereo.
+     */
+    public static final AudioFormat FORMAT = new AudioFormat(44100,16,2,true,false);
+    /**
+     * The number of frames mixed and written at a time, which is about 6 milliseconds.
+     */
+    private static final int BLOCK_FRAMES = 256;
+    /**
+     * The number of frames held by the output line, which is about 35 milliseconds.
+     */
+    private static final int LINE_FRAMES = BLOCK_FRAMES * 6;
+    /**
+     * The number of bits after the point of the fixed point gains, which are used so the samples are mixed with int
+     * maths only.
+     */
+    private static final int GAIN_BITS = 12;
+    /**
+     * The fixed point gain which plays a sound as loaded.
+     */
+    private static final int GAIN_ONE = 1 << GAIN_BITS;
+
+    /**
+     * The samples of the loaded sounds, with the channels interleaved.
+     */
+    private short[][] sounds = new short[0][];
+    /**
+     * The number of voices each loaded sound can use at once.
+     */
+    private int[] limits = new int[0];
+    /**
+     * The sound played by each voice, or -1 if the voice is free.
+     */
+    private final int[] voiceSound;
+    /**
+     * The position of the next sample of each voice.
+     */
+    private final int[] voicePosition;
+    /**
+     * The gain of each voice as a fixed point number, where GAIN_ONE plays the sound as loaded.
+     */
+    private final int[] voiceGain;
+    /**
+     * The order in which the voices were started, used to find the voice which started first.
+     */
+    private final long[] voiceStarted;
+    /**
+     * The number of voices started so far.
+     */
+    private long started = 0;
+    /**
+     * The sums of the samples of a block, kept as ints so they can be clamped.
+     */
+    private final int[] sums = new int[BLOCK_FRAMES * 2];
+    /**
+     * The BGM added to the output, or null if there is none.
+     */
+    private volatile MusicStreamer music;
+    /**
+     * The output line, or null if it is not open.
+     */
+    private SourceDataLine line;
+    /**
+     * The audio thread, or null if it is not running.
+     */
+    private Thread thread;
+    /**
+     * A flag to signal the audio thread to keep running.
+     */
+    private volatile boolean running = false;
+
+    /**
+     * This constructor allocates the voices of the mixer. The audio thread is started separately.
+     * @param voices The number of voices which can play at once.
+     */
+    public AudioMixer(int voices) {
+        voiceSound = new int[voices];
+        voicePosition = new int[voices];
+        voiceGain = new int[voices];
+        voiceStarted = new long[voices];
+        Arrays.fill(voiceSound,-1);
+    }
+
+    /**
+     * This method opens the output line and starts the audio thread.
+     * @return A boolean to signal if the output line could be opened is returned.
+     */
+    public synchronized boolean start() {
+        if(running)
+            return true;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT,LINE_FRAMES * FORMAT.getFrameSize());
+            line.start();
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            line = null;
+            return false;
+        }
+        running = true;
+        thread = new Thread(this::run,"Audio Mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * This method is run by the audio thread. It mixes a block of the playing voices and writes it to the output line,
+     * which waits until the line has room, until the mixer is closed.
+     */
+    private void run() {
+        short[] block = new short[BLOCK_FRAMES * 2];
+        byte[] bytes = new byte[BLOCK_FRAMES * FORMAT.getFrameSize()];
+        while(running) {
+            mix(block,BLOCK_FRAMES);
+            for(int i = 0; i < block.length; i++) {
+                bytes[i * 2] = (byte) block[i];
+                bytes[i * 2 + 1] = (byte) (block[i] >> 8);
+            }
+            line.write(bytes,0,bytes.length);
+        }
+    }
+
+    /**
+     * This method loads a sound into the mixer.
+     * @param samples The samples of the sound in the format of the mixer, with the channels interleaved.
+     * @param limit The number of voices the sound can use at once.
+     * @return The id of the sound is returned, which is used to play it.
+     */
+    public synchronized int load(short[] samples, int limit) {
+        sounds = Arrays.copyOf(sounds,sounds.length + 1);
+        limits = Arrays.copyOf(limits,limits.length + 1);
+        sounds[sounds.length - 1] = samples;
+        limits[limits.length - 1] = Math.max(1,Math.min(limit,voiceSound.length));
+        return sounds.length - 1;
+    }
+
+    /**
+     * This method sets the BGM added to the output.
+     * @param music The MusicStreamer of the BGM, or null for no BGM.
+     */
+    public void setMusic(MusicStreamer music) {
+        this.music = music;
+    }
+
+    /**
+     * This method starts playing a sound on a voice. If the sound has used up its voices, the voice of the sound which
+     * started first is restarted. Otherwise a free voice is used, or the voice which started first if every voice is
+     * playing.
+     * @param sound The id of the sound.
+     * @param gain The gain of the voice, where 1 plays the sound as loaded.
+     */
+    public synchronized void play(int sound, float gain) {
+        if(sound < 0 || sound >= sounds.length)
+            return;
+        int same = 0;
+        int oldestSame = -1;
+        int free = -1;
+        int oldest = 0;
+        for(int v = 0; v < voiceSound.length; v++) {
+            if(voiceSound[v] == sound) {
+                same++;
+                if(oldestSame < 0 || voiceStarted[v] < voiceStarted[oldestSame])
+                    oldestSame = v;
+            }
+            else if(voiceSound[v] < 0) {
+                if(free < 0)
+                    free = v;
+            }
+            if(voiceSound[v] >= 0 && voiceStarted[v] < voiceStarted[oldest])
+                oldest = v;
+        }
+        int voice = same >= limits[sound] ? oldestSame : free >= 0 ? free : oldest;
+        voiceSound[voice] = sound;
+        voicePosition[voice] = 0;
+        voiceGain[voice] = Math.round(Math.max(0f,gain) * GAIN_ONE);
+        voiceStarted[voice] = started++;
+    }
+
+    /**
+     * This method adds up the next samples of every playing voice and the BGM. Voices which reach the end of their
+     * sound are freed.
+     * @param out The array the mixed samples are written to, with the channels interleaved.
+     * @param frames The number of frames to be mixed, which must not be more than a block.
+     */
+    public synchronized void mix(short[] out, int frames) {
+        int length = frames * 2;
+        Arrays.fill(sums,0,length,0);
+        for(int v = 0; v < voiceSound.length; v++) {
+            if(voiceSound[v] < 0)
+                continue;
+            short[] samples = sounds[voiceSound[v]];
+            int position = voicePosition[v];
+            int count = Math.min(length,samples.length - position);
+            int gain = voiceGain[v];
+            for(int i = 0; i < count; i++)
+                sums[i] += samples[position + i] * gain >> GAIN_BITS;
+            voicePosition[v] = position + count;
+            if(voicePosition[v] >= samples.length)
+                voiceSound[v] = -1;
+        }
+        MusicStreamer stream = music;
+        if(stream != null)
+            stream.mixInto(sums,length);
+        for(int i = 0; i < length; i++)
+            out[i] = (short) Math.max(Short.MIN_VALUE,Math.min(Short.MAX_VALUE,sums[i]));
+    }
+
+    /**
+     * This method stops the audio thread and closes the output line.
+     */
+    public void close() {
+        Thread audio;
+        synchronized(this) {
+            running = false;
+            audio = thread;
+            thread = null;
+        }
+        if(audio == null)
+            return;
+        try {
+            audio.join(1000);
+        }
+        catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        line.close();
+        line = null;
+    }
+
+    /**
+     * This method returns the number of voices playing.
+     * @return The number of voices playing is returned.
+     */
+    public synchronized int getActiveVoices() {
+        int active = 0;
+        for(int sound : voiceSound)
+            if(sound >= 0)
+                active++;
+        return active;
+    }
+
+    /**
+     * This method returns the number of voices a sound is playing on.
+     * @param sound The id of the sound.
+     * @return The number of voices playing the sound is returned.
+     */
+    public synchronized int getActiveVoices(int sound) {
+        int active = 0;
+        for(int playing : voiceSound)
+            if(playing == sound)
+                active++;
+        return active;
+    }
+
+    /**
+     * This method checks if the audio thread is writing to an output line.
+     * @return A boolean to signal if the audio thread is running is returned.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+}
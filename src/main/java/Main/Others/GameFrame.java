@@ -19,6 +19,9 @@ package Main.Others;
 
 import Main.Consoles.CustomConsole;
 import Main.MVC.BrickBreaker;
+import Main.MVC.GameBoardController;
+import Main.MVC.GameEngine;
+import Main.Replay.InputReplay;
 import Main.Scores.Highscore;
 
 import javax.sound.sampled.Clip;
@@ -26,7 +29,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Public class GameFrame is responsible for loading between all the different screens in the game. These screens
@@ -61,6 +67,12 @@ public class GameFrame extends JFrame {
      * The height of the game screen.
      */
     private static final int GAME_HEIGHT = 450;
+    /**
+     * The number of update cycles in one second of game time. It can be changed with the system property
+     * "brickdestroy.tickRate", for example 100, 240 or 1000. A tick rate which cannot be played falls back to the
+     * default.
+     */
+    private static final int TICK_RATE = readTickRate();
 
     /**
      * The GameBoard to play the game, accessed from the HomeMenu.
@@ -124,6 +136,20 @@ public class GameFrame extends JFrame {
         this.setUndecorated(true);
     }
 
+    /**
+     * This method reads the tick rate from the system property "brickdestroy.tickRate". A tick rate which cannot be
+     * played is reported and the default tick rate is used instead.
+     * @return The tick rate to play the game at is returned.
+     */
+    private static int readTickRate() {
+        int tickRate = Integer.getInteger("brickdestroy.tickRate", GameBoardController.BASE_TICK_RATE);
+        if(GameBoardController.isValidTickRate(tickRate))
+            return tickRate;
+        System.err.println("brickdestroy.tickRate " + tickRate + " is not from 1 to " + GameBoardController.MAX_TICK_RATE
+                + ", so " + GameBoardController.BASE_TICK_RATE + " is used");
+        return GameBoardController.BASE_TICK_RATE;
+    }
+
     /**
      * This method is called when the game starts to load. The game title is set, the game screen is centered
      * and the game screen is made visible.
@@ -138,14 +164,17 @@ public class GameFrame extends JFrame {
 
     /**
      * This method is called when the player clicks the start button on the HomeMenu. The HomeMenu is removed and
-     * the GameBoard is loaded. The game screen is centered, the game is initialized and window focus listeners
-     * are added.
+     * the GameBoard is loaded. If the last game did not end, the player is offered to resume it from its last
+     * checkpoint instead of starting a new game. The game screen is centered, the game is initialized and window
+     * focus listeners are added.
      * @throws IOException This constructor throws IOException if game background image is not found.
      */
     public void enableGameBoard() throws IOException {
+        brickBreaker = resumeGame();
         this.dispose();
         this.remove(homeMenu);
-        brickBreaker = new BrickBreaker(this,choice,gameSounds,new Dimension(GAME_WIDTH, GAME_HEIGHT));
+        if(brickBreaker == null)
+            brickBreaker = new BrickBreaker(this,choice,gameSounds,new Dimension(GAME_WIDTH, GAME_HEIGHT),TICK_RATE);
         this.add(brickBreaker, BorderLayout.CENTER);
         this.setUndecorated(false);
         initialize();
@@ -171,11 +200,35 @@ public class GameFrame extends JFrame {
             public void windowLostFocus(WindowEvent windowEvent) {
                 if (gaming)
                     brickBreaker.onLostFocus();
-                gameSounds.getBgm().stop();
+                gameSounds.pauseBgm();
             }
         });
     }
 
+    /**
+     * This method offers the player to resume the last game from its checkpoint if the game did not end. The
+     * checkpoint is deleted if the player starts a new game instead or if it cannot be resumed.
+     * @return The resumed game is returned, or null if a new game is started.
+     */
+    private BrickBreaker resumeGame() {
+        if(!GameEngine.hasCheckpoint())
+            return null;
+        int option = JOptionPane.showConfirmDialog(this,"Resume the last game from its checkpoint?",DEF_TITLE,
+                JOptionPane.YES_NO_OPTION);
+        if(option == JOptionPane.YES_OPTION) {
+            try {
+                byte[] snapshot = Files.readAllBytes(Path.of(GameEngine.CHECKPOINT_FILE));
+                InputReplay replay = InputReplay.load(new File(GameEngine.CHECKPOINT_REPLAY_FILE));
+                return new BrickBreaker(this,snapshot,replay,gameSounds);
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        GameEngine.deleteCheckpoint();
+        return null;
+    }
+
     /**
      * This method is used to center the game screen on the window screen.
      */
@@ -1,12 +1,13 @@
 package Main.Others;
 
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
 import java.io.File;
 
 /**
  * Public class GameSounds is responsible for adding audio to the game such as BGM and sound effects. There are 2 types
- * of audio in the game which are BGM which loop continuously and sound effects which only play once.
+ * of audio in the game which are BGM which loop continuously and sound effects which only play once. The sound
+ * effects are decoded once when the game starts into a SoundEffectPool and mixed by an AudioMixer on its own thread
+ * into a single output line, so no file is read and no line is opened while playing. The BGM is streamed from disk by
+ * a MusicStreamer on its own thread into the same output line, so changing the BGM never holds up the screen.
  *
  * @author TanZhunXian
  * @version 1.0
@@ -15,64 +16,105 @@ import java.io.File;
 public class GameSounds {
 
     /**
-     * The BGM for the current screen.
+     * The number of sound effects which can play at once.
      */
-    private Clip bgm;
+    private static final int MIXER_VOICES = 24;
     /**
-     * The sound effects for actions like collision.
+     * The number of times a short sound effect can overlap itself.
      */
-    private Clip soundEffect;
+    private static final int SOUND_EFFECT_VOICES = 4;
+
+    /**
+     * The mixer which plays the sound effects and the BGM.
+     */
+    private final AudioMixer mixer;
+    /**
+     * The preloaded sound effects for actions like collision.
+     */
+    private final SoundEffectPool soundEffects;
+    /**
+     * The streamer of the BGM for the current screen.
+     */
+    private final MusicStreamer bgm;
     /**
      * The id of the song used to control song change
      */
     private int songID = 0;
 
     /**
-     * This method stops the current BGM and loads and plays a new BGM from file.
+     * This constructor decodes the sound effects and starts the mixer which plays them. The BGM is only streamed if
+     * the mixer has an output line.
+     */
+    public GameSounds() {
+        mixer = new AudioMixer(MIXER_VOICES);
+        soundEffects = new SoundEffectPool(new File("sounds/SoundEffects"),SOUND_EFFECT_VOICES,mixer);
+        bgm = new MusicStreamer(new File("sounds/BGM"));
+        mixer.setMusic(bgm);
+        if(mixer.start())
+            bgm.start();
+    }
+
+    /**
+     * This method fades out the current BGM and plays a new BGM from the start. The new BGM is streamed from file on
+     * the streaming thread.
      * @param filename The name of the new BGM.
      */
     public void setBgm(String filename){
+        bgm.play(filename);
+    }
 
-        if(bgm!=null)
-            bgm.stop();
-
-        File song = new File("sounds/BGM/"+filename+".wav");
+    /**
+     * This method pauses the current BGM where it is.
+     */
+    public void pauseBgm(){
+        bgm.pause();
+    }
 
-        try{
-            Clip bgm = AudioSystem.getClip();
-            bgm.open(AudioSystem.getAudioInputStream(song));
-            this.bgm = bgm;
-        }
-        catch (Exception e){
-            e.printStackTrace();
-        }
-        bgm.loop(Clip.LOOP_CONTINUOUSLY);
+    /**
+     * This method resumes the current BGM from where it was paused.
+     */
+    public void resumeBgm(){
+        bgm.resume();
     }
 
     /**
-     * This method loads and plays the specified sound effect from file.
+     * This method plays the specified sound effect from the preloaded sound effects.
      * @param filename The name of the sound effect.
      */
     public void playSoundEffect(String filename){
+        soundEffects.play(filename);
+    }
+
+    /**
+     * This method plays the specified sound effect from the preloaded sound effects with the given gain.
+     * @param filename The name of the sound effect.
+     * @param gain The gain of the sound effect, where 1 plays it as loaded.
+     */
+    public void playSoundEffect(String filename, float gain){
+        soundEffects.play(filename,gain);
+    }
 
-        File sound = new File("sounds/SoundEffects/"+filename+".wav");
+    /**
+     * This method returns the preloaded sound effects.
+     * @return The SoundEffectPool of the sound effects is returned.
+     */
+    public SoundEffectPool getSoundEffects() {
+        return soundEffects;
+    }
 
-        try{
-            Clip soundEffect = AudioSystem.getClip();
-            soundEffect.open(AudioSystem.getAudioInputStream(sound));
-            this.soundEffect = soundEffect;
-        }
-        catch (Exception e){
-            e.printStackTrace();
-        }
-        soundEffect.start();
+    /**
+     * This method returns the mixer which plays the sound effects.
+     * @return The AudioMixer of the sound effects is returned.
+     */
+    public AudioMixer getMixer() {
+        return mixer;
     }
 
     /**
-     * This method returns the current BGM.
-     * @return The current BGM is returned.
+     * This method returns the streamer of the current BGM.
+     * @return The MusicStreamer of the BGM is returned.
      */
-    public Clip getBgm() {
+    public MusicStreamer getBgm() {
         return bgm;
     }
 
@@ -1,9 +1,9 @@
 package Main.Others;
 
-import Main.Models.Brick;
+import Main.MVC.GameRandom;
+import Main.Models.BrickStore;
 
 import java.awt.*;
-import java.util.Random;
 
 /**
  * Public class LevelGeneration is responsible for generating the brick for all 5 levels of the game. It receives the
@@ -40,7 +40,7 @@ public class LevelGeneration {
     /**
      * This is the randomizer to simulate randomness for the custom levels.
      */
-    private static final Random random = new Random();
+    private final GameRandom random;
 
     /**
      * This is the double array to hold all the choices of the player in the custom console to create the custom levels.
@@ -58,22 +58,35 @@ public class LevelGeneration {
      * @param levelCount The level count of the game.
      */
     public LevelGeneration(int[][] choice,Dimension area,int levelCount){
+        this(choice,area,levelCount,new GameRandom(GameRandom.newSeed()));
+    }
+
+    /**
+     * This method sends the custom choices, game screen area, level count and randomizer to this class. Levels made
+     * with randomizers of the same seed are the same.
+     * @param choice The choices of the player in the custom menu.
+     * @param area The area of the game screen to calculate brick score.
+     * @param levelCount The level count of the game.
+     * @param random The randomizer used to make the custom levels.
+     */
+    public LevelGeneration(int[][] choice,Dimension area,int levelCount,GameRandom random){
         this.choice = choice;
         this.area = area;
         this.levelCount = levelCount;
+        this.random = random;
     }
 
     /**
-     * This method controls the generation for all the custom levels and returns an array of Bricks for a custom level.
+     * This method controls the generation for all the custom levels and returns the bricks for a custom level.
      *
      * @param drawArea This is the area of the game screen. It is used to get the width of the screen so that
      *                 brick length can be determined by dividing the number of bricks.
      * @param brickRow This is the number of bricks in a row entered by the player. It is used unless the player chooses
      *                 a level type which uses random number of bricks in a row.
      * @param level This is the level number and is used to check the level custom choices.
-     * @return The method returns an array of Bricks which is used for the generation of a custom level.
+     * @return The method returns a BrickStore which holds the bricks of a custom level.
      */
-    private Brick[][] makeAllLevel(Rectangle drawArea, int brickRow, int level){
+    private BrickStore makeAllLevel(Rectangle drawArea, int brickRow, int level){
 
         int randRow,randBrickRow;
 
@@ -100,87 +113,53 @@ public class LevelGeneration {
         double brickLength = drawArea.getWidth() / randBrickRow;
         double brickHeight = 20;
 
-        Brick[][] tmp  = new Brick[2][];
-        Brick[] even = new Brick[(randRow+1)/2 * randBrickRow];
-        Brick[] odd = new Brick[randRow/2 * (randBrickRow+1)];
-
         Dimension brickSize = new Dimension((int) brickLength, (int) brickHeight);
         int brickTotal = (randRow * randBrickRow) + (randRow / 2);
+        BrickStore tmp = new BrickStore(brickTotal,area);
 
         for(int i = 0; i < brickTotal; i++){
 
             Point p = getBrickLocation(drawArea,i,randBrickRow,(int)brickLength,(int)brickHeight,level);
-            int twoRows = 2 * randBrickRow + 1;
-            int evenRow = (i / twoRows) * randBrickRow;
-            int oddRow = (i / twoRows) * (randBrickRow+1);
-
-            if((choice[level][0]-1)/4==0){
-
-                if(i % twoRows < randBrickRow){ //even row
-
-                    if(choice[level][0]%4==0||choice[level][0]%4==3)
-                        even[evenRow + i % twoRows] = makeBrick(p,brickSize,brickRand[i%4]);
-                    else if(choice[level][0]%4==1)
-                        even[evenRow + i % twoRows] = makeBrick(p,brickSize,brickChoice[i%(choice[level][3]+1)]+1);
-                    else if(choice[level][0]%4==2)
-                        even[evenRow + i % twoRows] = makeBrick(p,brickSize,brickRand[i%(choice[level][3]+1)]);
-                }
-                else{ //odd row
-
-                    int posX = i % twoRows - randBrickRow; //get position of brick on odd row
-                    if(choice[level][0]%4==0||choice[level][0]%4==3)
-                        odd[oddRow + posX] = makeBrick(p,brickSize,brickRand[i%4]);
-                    else if(choice[level][0]%4==1)
-                        odd[oddRow + posX] = makeBrick(p,brickSize,brickChoice[i%(choice[level][3]+1)]+1);
-                    else if(choice[level][0]%4==2)
-                        odd[oddRow + posX] = makeBrick(p,brickSize,brickRand[i%(choice[level][3]+1)]);
-                }
+
+            if((choice[level][0]-1)/4==0){ //ordered types
+
+                if(choice[level][0]%4==0||choice[level][0]%4==3)
+                    makeBrick(tmp,p,brickSize,brickRand[i%4]);
+                else if(choice[level][0]%4==1)
+                    makeBrick(tmp,p,brickSize,brickChoice[i%(choice[level][3]+1)]+1);
+                else if(choice[level][0]%4==2)
+                    makeBrick(tmp,p,brickSize,brickRand[i%(choice[level][3]+1)]);
             }
-            else if((choice[level][0]-1)/4==1){
-
-                if(i % twoRows < randBrickRow){ //even row
-
-                    if(choice[level][0]%4==0||choice[level][0]%4==3)
-                        even[evenRow + i % twoRows] = makeBrick(p,brickSize,random.nextInt(4)+1);
-                    else if(choice[level][0]%4==1)
-                        even[evenRow + i % twoRows] = makeBrick(p,brickSize,brickChoice[random.nextInt(choice[level][3]+1)]+1);
-                    else if(choice[level][0]%4==2)
-                        even[evenRow + i % twoRows] = makeBrick(p,brickSize,brickRand[random.nextInt(choice[level][3]+1)]);
-                }
-                else{ //odd row
-
-                    int posX = i % twoRows - randBrickRow; //get position of brick on odd row
-                    if(choice[level][0]%4==0||choice[level][0]%4==3)
-                        odd[oddRow + posX] = makeBrick(p,brickSize,random.nextInt(4)+1);
-                    else if(choice[level][0]%4==1)
-                        odd[oddRow + posX] = makeBrick(p,brickSize,brickChoice[random.nextInt(choice[level][3]+1)]+1);
-                    else if(choice[level][0]%4==2)
-                        odd[oddRow + posX] = makeBrick(p,brickSize,brickRand[random.nextInt(choice[level][3]+1)]);
-                }
+            else if((choice[level][0]-1)/4==1){ //random types
+
+                if(choice[level][0]%4==0||choice[level][0]%4==3)
+                    makeBrick(tmp,p,brickSize,random.nextInt(4)+1);
+                else if(choice[level][0]%4==1)
+                    makeBrick(tmp,p,brickSize,brickChoice[random.nextInt(choice[level][3]+1)]+1);
+                else if(choice[level][0]%4==2)
+                    makeBrick(tmp,p,brickSize,brickRand[random.nextInt(choice[level][3]+1)]);
             }
         }
-        tmp[0] = even;
-        tmp[1] = odd;
         return tmp;
     }
 
     /**
-     * This method is used to generate an array of 31 bricks in 3 lines, all of which are the same type. This
-     * method is used to generate an array of Clay Bricks for the first default level. By studying the code closely,
+     * This method is used to generate 31 bricks in 3 lines, all of which are the same type. This method is used to
+     * generate the Clay Bricks for the first default level. By studying the code closely,
      * we can conclude that this method works exactly the same as the method for making the other 3 default chessboard
      * levels if we specify both typeA and typeB brick to be the same. So, the method body is replaced with the
      * method call for the makeChessboardLevel to improve readability.
      *
      * @param drawArea This is the area of the game screen. It is used to get the width of the screen so that
      *                 brick length can be determined by dividing the number of bricks.
-     * @return This method returns an array of Clay Bricks for the first default level.
+     * @return This method returns a BrickStore of Clay Bricks for the first default level.
      */
-    private Brick[][] makeSingleTypeLevel(Rectangle drawArea){
+    private BrickStore makeSingleTypeLevel(Rectangle drawArea){
         return makeChessboardLevel(drawArea, CLAY, CLAY, 0);
     }
 
     /**
-     * This method is used to generate an array of 31 bricks in 3 lines. The bricks are of 2 different types
+     * This method is used to generate 31 bricks in 3 lines. The bricks are of 2 different types
      * depending on the conditions specified. This method controls the generation of the other 3 default levels.
      * For even rows, even bricks are of typeA while odd bricks are of typeB. For odd rows, bricks 6, 7 and 11
      * are of typeA while the rest are typeB. The brick generation code has been rewritten to improve readability.
@@ -190,9 +169,9 @@ public class LevelGeneration {
      * @param typeA This is the first type of brick to be generated for bricks satisfying certain conditions.
      * @param typeB This is the second type of brick to be generated for bricks satisfying certain conditions.
      * @param level This is the level number and is used to check the level orientation.
-     * @return This method returns an array of Bricks for the other 3 default levels.
+     * @return This method returns a BrickStore of Bricks for the other 3 default levels.
      */
-    private Brick[][] makeChessboardLevel(Rectangle drawArea, int typeA, int typeB, int level){
+    private BrickStore makeChessboardLevel(Rectangle drawArea, int typeA, int typeB, int level){
 
         int brickOnLine = 30 / 3; //number of bricks on single line (number of bricks/number of lines)
 
@@ -202,9 +181,7 @@ public class LevelGeneration {
         double brickLen = drawArea.getWidth() / brickOnLine; //get brick length (width of area/number of bricks)
         double brickHgt = brickLen / 3; //get brick height (brick length/brick size ratio)
 
-        Brick[][] tmp  = new Brick[2][]; //array of Bricks which account for extra brick in odd rows
-        Brick[] even = new Brick[20];
-        Brick[] odd = new Brick[11];
+        BrickStore tmp = new BrickStore(31,area); //31 bricks which account for extra brick in odd rows
 
         Dimension brickSize = new Dimension((int) brickLen,(int) brickHgt);
 
@@ -213,18 +190,15 @@ public class LevelGeneration {
         for(int i = 0; i < 31; i++){
 
             Point p = getBrickLocation(drawArea,i,brickOnLine,(int)brickLen,(int)brickHgt,level);
-            int rowNum = (i / twoRows) * brickOnLine;
 
             if(i % twoRows < brickOnLine){ //even row
-                even[rowNum + i % twoRows] = ((i % twoRows) % 2 == 0) ? makeBrick(p,brickSize,typeA) : makeBrick(p,brickSize,typeB);
+                makeBrick(tmp,p,brickSize,((i % twoRows) % 2 == 0) ? typeA : typeB);
             }
             else{ //odd row
                 int posX = i % twoRows - brickOnLine; //get position of brick on odd row
-                odd[rowNum + posX] = ((posX > centerLeft && posX <= centerRight) || posX == 10) ? makeBrick(p,brickSize,typeA) : makeBrick(p,brickSize,typeB);
+                makeBrick(tmp,p,brickSize,((posX > centerLeft && posX <= centerRight) || posX == 10) ? typeA : typeB);
             }
         }
-        tmp[0] = even;
-        tmp[1] = odd;
         return tmp;
     }
 
@@ -275,17 +249,17 @@ public class LevelGeneration {
 
     /**
      * This method is used to create 5 levels to be loaded into the game. At first, the 5 default levels are created
-     * and loaded into the double array of Bricks. Then, the level type entered by the player is read. If the level
-     * type for that level entered is not default, a custom level is generated and overwrites the array of Bricks
+     * and loaded into the array of BrickStores. Then, the level type entered by the player is read. If the level
+     * type for that level entered is not default, a custom level is generated and overwrites the BrickStore
      * for that level.
      *
      * @param drawArea This is the area of the game screen. It is used to get the width of the screen so that
      *                 brick length can be determined by dividing the number of bricks.
-     * @return The method returns a double array of Bricks which contain the bricks generated for all 4 level.
+     * @return The method returns an array of BrickStores which contain the bricks generated for all 5 levels.
      */
-    public Brick[][][] makeCustomLevels(Rectangle drawArea){
+    public BrickStore[] makeCustomLevels(Rectangle drawArea){
 
-        Brick[][][] tmp = makeDefaultLevels(drawArea); //get default levels
+        BrickStore[] tmp = makeDefaultLevels(drawArea); //get default levels
 
         int [] brickNum = {1,2,3,4,5,6,8,10,12,15};
 
@@ -300,14 +274,14 @@ public class LevelGeneration {
     }
 
     /**
-     * This method creates the 5 default levels and loads them into a double array of Bricks.
+     * This method creates the 5 default levels and loads them into an array of BrickStores.
      *
      * @param drawArea This is the area of the game screen. It is used to get the width of the screen so that
      *                 brick length can be determined by dividing the number of bricks.
-     * @return The method returns a double array of Bricks which contain the bricks generated for all default 4 level.
+     * @return The method returns an array of BrickStores which contain the bricks generated for all 5 default levels.
      */
-    private Brick[][][] makeDefaultLevels(Rectangle drawArea){
-        Brick[][][] tmp = new Brick[levelCount][][]; //5 levels with 31 bricks each
+    private BrickStore[] makeDefaultLevels(Rectangle drawArea){
+        BrickStore[] tmp = new BrickStore[levelCount]; //5 levels with 31 bricks each
         tmp[0] = makeSingleTypeLevel(drawArea);
         tmp[1] = makeChessboardLevel(drawArea, CLAY,CEMENT,1);
         tmp[2] = makeChessboardLevel(drawArea, CLAY,STEEL,2);
@@ -317,13 +291,13 @@ public class LevelGeneration {
     }
 
     /**
-     * This method is used to create a brick of a certain type with a given size at a given point.
+     * This method is used to add a brick of a certain type with a given size at a given point to a level.
+     * @param bricks This is the BrickStore of the level.
      * @param point This is the top-left corner of the new brick.
      * @param size This is the dimensions of the new brick.
      * @param type This is the type of the new brick.
-     * @return This method returns a new brick of a certain type with a given size at a given point.
      */
-    private Brick makeBrick(Point point, Dimension size, int type){ //make new bricks
-        return new Brick(type,point.x,point.y,size.width,size.height,area);
+    private void makeBrick(BrickStore bricks, Point point, Dimension size, int type){ //make new bricks
+        bricks.add(type,point.x,point.y,size.width,size.height);
     }
 }
@@ -0,0 +1,457 @@
+package Main.Others;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Public class MusicStreamer streams the BGM from disk a small block at a time on its own thread, so a whole song is
+ * never held in memory and switching screens never waits for a song to load. The decoded samples are written into a
+ * small ring which the AudioMixer reads from and mixes into its output line together with the sound effects.
+ * <p>
+ * When a song reaches its end, the file is opened again and the samples carry on in the same block, so the song loops
+ * without a gap. When the song is changed while one is playing, the old song fades out as the new one fades in. The
+ * fade starts from the sample the reader is at, so the samples of the old song already in the ring are faded out
+ * instead of being skipped. The methods which change the song only leave a request for the streaming thread, which
+ * opens the files itself.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class MusicStreamer {
+
+    /**
+     * The number of frames held by the ring, which is about 190 milliseconds.
+     */
+    private static final int RING_FRAMES = 8192;
+    /**
+     * The number of frames streamed at a time.
+     */
+    private static final int CHUNK_FRAMES = 1024;
+    /**
+     * The number of frames the songs take to fade into each other, which is half a second.
+     */
+    private static final int FADE_FRAMES = 22050;
+    /**
+     * The number of milliseconds the streaming thread waits when the ring is full or nothing is playing.
+     */
+    private static final int WAIT_MILLIS = 5;
+
+    /**
+     * The folder holding the songs.
+     */
+    private final File folder;
+    /**
+     * The ring of decoded samples, with the channels interleaved.
+     */
+    private final short[] ring = new short[RING_FRAMES * 2];
+    /**
+     * The number of samples written into the ring so far.
+     */
+    private volatile long writePosition = 0;
+    /**
+     * The number of samples read from the ring so far.
+     */
+    private volatile long readPosition = 0;
+    /**
+     * A flag to signal if the reader takes samples from the ring.
+     */
+    private volatile boolean playing = false;
+    /**
+     * A flag to signal if the song should be playing once the requested song has been opened.
+     */
+    private boolean wantPlaying = false;
+    /**
+     * The name of the song requested, or null if no new song has been requested.
+     */
+    private String requested;
+    /**
+     * A flag to signal if a requested song has not been opened by the streaming thread yet.
+     */
+    private boolean changing = false;
+    /**
+     * The name of the latest song requested.
+     */
+    private String track;
+    /**
+     * The song being streamed, or null if there is none.
+     */
+    private Track current;
+    /**
+     * The song fading out, or null if there is none.
+     */
+    private Track fading;
+    /**
+     * The number of frames left before the fading song is silent.
+     */
+    private int fadeLeft = 0;
+    /**
+     * The streaming thread, or null if it is not running.
+     */
+    private Thread thread;
+    /**
+     * A flag to signal the streaming thread to keep running.
+     */
+    private volatile boolean running = false;
+
+    /**
+     * Private static class Track decodes a song from its file and opens the file again at the end so the song loops.
+     */
+    private static class Track {
+
+        /**
+         * The file of the song.
+         */
+        private final File file;
+        /**
+         * The stream of decoded samples in the format of the AudioMixer.
+         */
+        private AudioInputStream stream;
+        /**
+         * The buffer the bytes of the samples are read into.
+         */
+        private final byte[] bytes = new byte[CHUNK_FRAMES * AudioMixer.FORMAT.getFrameSize()];
+        /**
+         * The samples of the song read ahead, which are read again before the stream.
+         */
+        private short[] held = new short[0];
+        /**
+         * The index of the next held sample to be read.
+         */
+        private int heldFrom = 0;
+
+        /**
+         * This constructor opens the song.
+         * @param file The file of the song.
+         * @throws Exception If the song cannot be opened or converted to the format of the AudioMixer.
+         */
+        private Track(File file) throws Exception {
+            this.file = file;
+            stream = open();
+        }
+
+        /**
+         * This method opens the file of the song as a stream of samples in the format of the AudioMixer.
+         * @return The stream of samples is returned.
+         * @throws Exception If the song cannot be opened or converted to the format of the AudioMixer.
+         */
+        private AudioInputStream open() throws Exception {
+            AudioInputStream in = AudioSystem.getAudioInputStream(file);
+            if(in.getFormat().matches(AudioMixer.FORMAT))
+                return in;
+            return AudioSystem.getAudioInputStream(AudioMixer.FORMAT,in);
+        }
+
+        /**
+         * This method reads the next samples of the song, going back to the start of the song when it ends. The held
+         * samples are read first.
+         * @param out The array the samples are written to.
+         * @param samples The number of samples to be read.
+         * @throws Exception If the song cannot be read or has no samples.
+         */
+        private void read(short[] out, int samples) throws Exception {
+            int done = Math.min(samples,held.length - heldFrom);
+            System.arraycopy(held,heldFrom,out,0,done);
+            heldFrom += done;
+            boolean reopened = false;
+            while(done < samples) {
+                int read = stream.read(bytes,0,Math.min(samples - done,bytes.length / 2) * 2);
+                if(read <= 0) {
+                    if(reopened)
+                        throw new IOException("no samples in " + file);
+                    stream.close();
+                    stream = open();
+                    reopened = true;
+                    continue;
+                }
+                reopened = false;
+                for(int i = 0; i < read / 2; i++)
+                    out[done + i] = (short) ((bytes[i * 2] & 0xff) | (bytes[i * 2 + 1] << 8));
+                done += read / 2;
+            }
+        }
+
+        /**
+         * This method keeps samples which were read ahead, so they are read again before the rest of the song.
+         * @param samples The array holding the samples.
+         * @param from The index of the first sample to be kept.
+         * @param to The index after the last sample to be kept.
+         */
+        private void hold(short[] samples, int from, int to) {
+            held = Arrays.copyOfRange(samples,from,to);
+            heldFrom = 0;
+        }
+
+        /**
+         * This method closes the file of the song.
+         */
+        private void close() {
+            try {
+                stream.close();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This constructor sets the folder the songs are streamed from. The streaming thread is started separately.
+     * @param folder The folder holding the songs as WAV files, which are named after the songs.
+     */
+    public MusicStreamer(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * This method starts the streaming thread.
+     */
+    public synchronized void start() {
+        if(running)
+            return;
+        running = true;
+        thread = new Thread(this::run,"Music Streamer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This method plays a song from the start, fading out the song which was playing. It returns at once, as the song
+     * is opened by the streaming thread.
+     * @param name The name of the song.
+     */
+    public synchronized void play(String name) {
+        requested = name;
+        track = name;
+        wantPlaying = true;
+        changing = true;
+        notifyAll();
+    }
+
+    /**
+     * This method pauses the song where it is.
+     */
+    public synchronized void pause() {
+        wantPlaying = false;
+        playing = false;
+    }
+
+    /**
+     * This method resumes the song from where it was paused.
+     */
+    public synchronized void resume() {
+        wantPlaying = true;
+        if(!changing)
+            playing = true;
+        notifyAll();
+    }
+
+    /**
+     * This method is run by the streaming thread. It opens the requested songs and keeps the ring filled with the
+     * next samples of the song until the streamer is closed.
+     */
+    private void run() {
+        short[] chunk = new short[CHUNK_FRAMES * 2];
+        short[] fade = new short[CHUNK_FRAMES * 2];
+        while(running) {
+            String name;
+            synchronized(this) {
+                name = requested;
+                requested = null;
+            }
+            if(name != null)
+                change(name);
+            if(current == null || ring.length - (writePosition - readPosition) < chunk.length) {
+                synchronized(this) {
+                    try {
+                        if(requested == null)
+                            wait(WAIT_MILLIS);
+                    }
+                    catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            stream(chunk,fade);
+        }
+        closeTracks();
+    }
+
+    /**
+     * This method changes the song streamed. If a song was playing, it fades out while the new song fades in. The fade
+     * starts from the sample the reader is at, so the samples of the old song left in the ring are mixed with the start
+     * of the new song in place, and the change is heard at once without skipping any of the old song. The new song is
+     * read ahead before the reader is held up, so the reader only waits while the samples are mixed.
+     * @param name The name of the new song.
+     */
+    private void change(String name) {
+        Track next = null;
+        short[] lead = null;
+        try {
+            next = new Track(new File(folder,name + ".wav"));
+            lead = new short[ring.length];
+            next.read(lead,lead.length);
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            if(next != null)
+                next.close();
+            next = null;
+        }
+        synchronized(this) {
+            if(fading != null)
+                fading.close();
+            fading = null;
+            int count = 0;
+            if(current != null && next != null && playing) {
+                long position = readPosition;
+                count = (int) (writePosition - position);
+                for(int i = 0; i < count; i++) {
+                    int index = (int) ((position + i) % ring.length);
+                    float out = (FADE_FRAMES - i / 2) / (float) FADE_FRAMES;
+                    ring[index] = (short) (lead[i] * (1 - out) + ring[index] * out);
+                }
+                fading = current;
+                fadeLeft = FADE_FRAMES - count / 2;
+            }
+            else {
+                if(current != null)
+                    current.close();
+                readPosition = writePosition;
+            }
+            if(next != null)
+                next.hold(lead,count,lead.length);
+            current = next;
+            if(requested == null) {
+                playing = wantPlaying;
+                changing = false;
+            }
+        }
+    }
+
+    /**
+     * This method streams the next chunk of the song into the ring, mixed with the fading song if there is one.
+     * @param chunk The array the samples of the song are read into.
+     * @param fade The array the samples of the fading song are read into.
+     */
+    private void stream(short[] chunk, short[] fade) {
+        try {
+            current.read(chunk,chunk.length);
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            current.close();
+            current = null;
+            return;
+        }
+        if(fading != null) {
+            try {
+                fading.read(fade,fade.length);
+                for(int f = 0; f < CHUNK_FRAMES; f++) {
+                    float out = Math.max(fadeLeft - f,0) / (float) FADE_FRAMES;
+                    for(int c = f * 2; c < f * 2 + 2; c++)
+                        chunk[c] = (short) (chunk[c] * (1 - out) + fade[c] * out);
+                }
+                fadeLeft -= CHUNK_FRAMES;
+            }
+            catch (Exception e) {
+                e.printStackTrace();
+                fadeLeft = 0;
+            }
+            if(fadeLeft <= 0) {
+                fading.close();
+                fading = null;
+            }
+        }
+        long position = writePosition;
+        for(int i = 0; i < chunk.length; i++)
+            ring[(int) ((position + i) % ring.length)] = chunk[i];
+        writePosition = position + chunk.length;
+    }
+
+    /**
+     * This method adds the next samples of the ring to the sums of the AudioMixer. Nothing is added while paused, and
+     * silence is left if the ring runs out.
+     * @param sums The sums of the samples being mixed.
+     * @param length The number of samples to be added.
+     */
+    public synchronized void mixInto(int[] sums, int length) {
+        if(!playing)
+            return;
+        long position = readPosition;
+        int count = (int) Math.min(length,writePosition - position);
+        for(int i = 0; i < count; i++)
+            sums[i] += ring[(int) ((position + i) % ring.length)];
+        readPosition = position + count;
+    }
+
+    /**
+     * This method stops the streaming thread and closes the songs.
+     */
+    public void close() {
+        Thread streaming;
+        synchronized(this) {
+            running = false;
+            playing = false;
+            streaming = thread;
+            thread = null;
+            notifyAll();
+        }
+        if(streaming == null)
+            return;
+        try {
+            streaming.join(1000);
+        }
+        catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * This method closes the song and the fading song.
+     */
+    private void closeTracks() {
+        if(current != null)
+            current.close();
+        if(fading != null)
+            fading.close();
+        current = null;
+        fading = null;
+    }
+
+    /**
+     * This method checks if the song is playing.
+     * @return A boolean to signal if the song is playing is returned.
+     */
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * This method returns the name of the latest song requested.
+     * @return The name of the song is returned, or null if no song has been requested.
+     */
+    public synchronized String getTrack() {
+        return track;
+    }
+
+    /**
+     * This method checks if a requested song is still being opened by the streaming thread.
+     * @return A boolean to signal if the song is being changed is returned.
+     */
+    public synchronized boolean isChanging() {
+        return changing;
+    }
+
+    /**
+     * This method returns the number of frames streamed into the ring which have not been read yet.
+     * @return The number of frames buffered is returned.
+     */
+    public int getBuffered() {
+        return (int) (writePosition - readPosition) / 2;
+    }
+}
@@ -0,0 +1,141 @@
+package Main.Others;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Public class SoundEffectPool decodes every sound effect once when the game starts and plays them through an
+ * AudioMixer, which mixes them into a single output line. Each short sound effect can use a few voices of the mixer
+ * so the same sound effect can overlap itself, like when many balls bounce at once. When all the voices of a sound
+ * effect are playing, the voice which started first is restarted. Playing a sound effect therefore never reads a file
+ * or opens a line, and only takes a few microseconds.
+ * <p>
+ * If there is no audio device, the sound effects are still decoded but nothing is heard, so the game runs as normal
+ * without sound.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class SoundEffectPool {
+
+    /**
+     * Sound effects longer than this number of seconds only get one voice, as they are never played over themselves.
+     */
+    private static final float LONG_SECONDS = 1f;
+
+    /**
+     * The mixer the sound effects are played through.
+     */
+    private final AudioMixer mixer;
+    /**
+     * The ids of the sound effects in the mixer, mapped by name.
+     */
+    private final Map<String, Integer> effects = new HashMap<>();
+    /**
+     * The number of voices each sound effect can use, mapped by name.
+     */
+    private final Map<String, Integer> voices = new HashMap<>();
+
+    /**
+     * This constructor decodes every sound effect in the folder and loads them into the mixer.
+     * @param folder The folder holding the sound effects as WAV files, which are named after the sound effects.
+     * @param voices The number of voices of the mixer each short sound effect can use, which is the number of times it
+     *               can overlap itself.
+     * @param mixer The mixer the sound effects are played through.
+     */
+    public SoundEffectPool(File folder, int voices, AudioMixer mixer) {
+        this.mixer = mixer;
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".wav"));
+        if(files == null)
+            return;
+        for(File file : files) {
+            String name = file.getName().substring(0,file.getName().length() - 4);
+            try {
+                short[] samples = decode(file);
+                float seconds = samples.length / (AudioMixer.FORMAT.getChannels() * AudioMixer.FORMAT.getFrameRate());
+                int limit = seconds > LONG_SECONDS ? 1 : voices;
+                effects.put(name,mixer.load(samples,limit));
+                this.voices.put(name,limit);
+            }
+            catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * This method decodes a sound effect into samples in the format of the mixer held in memory.
+     * @param file The WAV file of the sound effect.
+     * @return The decoded samples are returned, with the channels interleaved.
+     * @throws Exception If the file cannot be read or converted to the format of the mixer.
+     */
+    private static short[] decode(File file) throws Exception {
+        try(AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            AudioFormat format = stream.getFormat();
+            byte[] bytes;
+            if(format.matches(AudioMixer.FORMAT))
+                bytes = stream.readAllBytes();
+            else {
+                try(AudioInputStream converted = AudioSystem.getAudioInputStream(AudioMixer.FORMAT,stream)) {
+                    bytes = converted.readAllBytes();
+                }
+            }
+            short[] samples = new short[bytes.length / 2];
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+            return samples;
+        }
+    }
+
+    /**
+     * This method plays a sound effect from the start as loaded. Unknown sound effects are ignored.
+     * @param name The name of the sound effect.
+     */
+    public void play(String name) {
+        play(name,1f);
+    }
+
+    /**
+     * This method plays a sound effect from the start with the given gain. Unknown sound effects are ignored.
+     * @param name The name of the sound effect.
+     * @param gain The gain of the sound effect, where 1 plays it as loaded.
+     */
+    public void play(String name, float gain) {
+        Integer effect = effects.get(name);
+        if(effect != null)
+            mixer.play(effect,gain);
+    }
+
+    /**
+     * This method checks if a sound effect has been decoded.
+     * @param name The name of the sound effect.
+     * @return A boolean to signal if the sound effect has been decoded is returned.
+     */
+    public boolean isLoaded(String name) {
+        return effects.containsKey(name);
+    }
+
+    /**
+     * This method returns the number of voices a sound effect can be played on at once.
+     * @param name The name of the sound effect.
+     * @return The number of voices of the sound effect is returned, which is 0 if it is not loaded.
+     */
+    public int getVoices(String name) {
+        return voices.getOrDefault(name,0);
+    }
+
+    /**
+     * This method returns the id of a sound effect in the mixer.
+     * @param name The name of the sound effect.
+     * @return The id of the sound effect is returned, or -1 if it is not loaded.
+     */
+    public int getId(String name) {
+        return effects.getOrDefault(name,-1);
+    }
+}
@@ -2,6 +2,7 @@
  * This package holds the other java classes which cannot be clearly fitted into another package. These include
  * GameFrame which loads in the entire game, GraphicsMain which calls GameFrame, HomeMenu which is the home menu
  * for the game, InfoScreen which describes the game mechanics in detail and LevelGeneration which generates the
- * bricks for all 5 levels for the GameBoard.
+ * bricks for all 5 levels for the GameBoard. GameSounds plays the BGM and the sound effects, which are preloaded into
+ * a SoundEffectPool and mixed into a single output line by an AudioMixer.
  */
 package Main.Others;
\ No newline at end of file
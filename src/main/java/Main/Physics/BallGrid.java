@@ -0,0 +1,129 @@
+package Main.Physics;
+
+import Main.Models.BallPool;
+
+import java.util.Arrays;
+
+/**
+ * Public class BallGrid is a uniform grid used as a spatial index for the balls in play. The game screen is divided
+ * into square cells and the balls are sorted into the cell holding their center each time the grid is built. This
+ * allows the balls near a rectangle, such as the power up, to be found by only looking at the few cells the rectangle
+ * overlaps instead of every ball in play. The grid is built again after the balls move, which only takes one pass over
+ * the balls, and no objects are created unless the number of balls grows past the size of the grid.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class BallGrid {
+
+    /**
+     * The width and height of a cell.
+     */
+    private final double cellSize;
+    /**
+     * The number of columns of cells.
+     */
+    private final int columns;
+    /**
+     * The number of rows of cells.
+     */
+    private final int rows;
+    /**
+     * The index in cellBalls of the first ball of each cell. The balls of a cell run up to the first ball of the next
+     * cell.
+     */
+    private final int[] cellStart;
+    /**
+     * The indexes in the pool of the balls of all the cells, one cell after another.
+     */
+    private int[] cellBalls = new int[0];
+    /**
+     * The cell of each ball when the grid was last built.
+     */
+    private int[] ballCell = new int[0];
+
+    /**
+     * This constructor creates an empty grid covering the game screen.
+     * @param width The width of the game screen.
+     * @param height The height of the game screen.
+     * @param cellSize The width and height of a cell, which should be larger than a ball.
+     */
+    public BallGrid(int width, int height, double cellSize) {
+        this.cellSize = cellSize;
+        columns = Math.max(1,(int) Math.ceil(width / cellSize));
+        rows = Math.max(1,(int) Math.ceil(height / cellSize));
+        cellStart = new int[columns * rows + 1];
+    }
+
+    /**
+     * This method sorts the balls in play into the cells of their centers. Balls outside the game screen are put into
+     * the nearest cell.
+     * @param balls The pool of balls.
+     */
+    public void build(BallPool balls) {
+        int count = balls.getActive();
+        if(cellBalls.length < count) {
+            cellBalls = new int[balls.capacity()];
+            ballCell = new int[balls.capacity()];
+        }
+
+        Arrays.fill(cellStart,0);
+        for(int i = 0; i < count; i++) { //count the balls of each cell
+            ballCell[i] = row(balls.get(i).getY()) * columns + column(balls.get(i).getX());
+            cellStart[ballCell[i] + 1]++;
+        }
+
+        for(int i = 0; i < columns * rows; i++)
+            cellStart[i+1] += cellStart[i];
+
+        for(int i = count - 1; i >= 0; i--) //list the balls of each cell, filling each cell from the back
+            cellBalls[--cellStart[ballCell[i] + 1]] = i;
+
+        for(int i = 0; i < columns * rows; i++) //move the starts of the cells into place
+            cellStart[i] = cellStart[i+1];
+        cellStart[columns * rows] = count;
+    }
+
+    /**
+     * This method finds all the balls whose centers lie in the cells of a rectangle. The balls of a cell are returned
+     * in the order of the pool. The caller still has to test the balls found against the rectangle.
+     * @param minX The left side of the rectangle.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @param out The array to hold the indexes of the balls found, which must be at least as long as the number of
+     *            balls in play.
+     * @return The number of balls found is returned.
+     */
+    public int query(double minX, double minY, double maxX, double maxY, int[] out) {
+        int left = column(minX), top = row(minY), right = column(maxX), bottom = row(maxY);
+        int found = 0;
+        for(int y = top; y <= bottom; y++) {
+            for(int x = left; x <= right; x++) {
+                int cell = y * columns + x;
+                for(int i = cellStart[cell]; i < cellStart[cell+1]; i++)
+                    out[found++] = cellBalls[i];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * This method returns the column of the cell containing a horizontal position, limited to the grid.
+     * @param x The horizontal position.
+     * @return The column of the cell is returned.
+     */
+    private int column(double x) {
+        return Math.max(0,Math.min(columns - 1,(int) Math.floor(x / cellSize)));
+    }
+
+    /**
+     * This method returns the row of the cell containing a vertical position, limited to the grid.
+     * @param y The vertical position.
+     * @return The row of the cell is returned.
+     */
+    private int row(double y) {
+        return Math.max(0,Math.min(rows - 1,(int) Math.floor(y / cellSize)));
+    }
+}
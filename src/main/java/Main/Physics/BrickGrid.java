@@ -0,0 +1,192 @@
+package Main.Physics;
+
+import Main.Models.BrickStore;
+
+/**
+ * Public class BrickGrid is a uniform grid used as a spatial index for the bricks of a level. The area covered by the
+ * bricks is divided into cells the size of the largest brick and every brick is listed in each cell it overlaps. This
+ * allows the bricks near a rectangle, such as the path of the ball during an update cycle, to be found by only looking
+ * at the few cells the rectangle overlaps instead of every brick of the level. The grid does not depend on the size of
+ * the game screen or on the layout of the bricks, so it works for any board dimensions and brick sizes.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class BrickGrid {
+
+    /**
+     * The number of bricks in the grid.
+     */
+    private final int size;
+    /**
+     * The horizontal position of the left side of the grid.
+     */
+    private final double originX;
+    /**
+     * The vertical position of the top side of the grid.
+     */
+    private final double originY;
+    /**
+     * The width of a cell.
+     */
+    private final double cellWidth;
+    /**
+     * The height of a cell.
+     */
+    private final double cellHeight;
+    /**
+     * The number of columns of cells.
+     */
+    private final int columns;
+    /**
+     * The number of rows of cells.
+     */
+    private final int rows;
+    /**
+     * The index in cellBricks of the first brick of each cell. The bricks of a cell run up to the first brick of the
+     * next cell.
+     */
+    private final int[] cellStart;
+    /**
+     * The brick indexes of all the cells, one cell after another.
+     */
+    private final int[] cellBricks;
+    /**
+     * The column of the first cell overlapped by each brick.
+     */
+    private final int[] firstColumn;
+    /**
+     * The row of the first cell overlapped by each brick.
+     */
+    private final int[] firstRow;
+
+    /**
+     * This constructor builds the grid for the bricks of a level. The cells are the size of the largest brick so
+     * that each brick overlaps at most 4 cells. The bricks are identified by their index in the BrickStore.
+     * @param bricks The bricks of the level.
+     */
+    public BrickGrid(BrickStore bricks) {
+        int count = size = bricks.size();
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        double width = 1, height = 1;
+        for(int i = 0; i < count; i++) {
+            minX = Math.min(minX,bricks.getX(i));
+            minY = Math.min(minY,bricks.getY(i));
+            maxX = Math.max(maxX,bricks.getX(i) + bricks.getWidth(i));
+            maxY = Math.max(maxY,bricks.getY(i) + bricks.getHeight(i));
+            width = Math.max(width,bricks.getWidth(i));
+            height = Math.max(height,bricks.getHeight(i));
+        }
+
+        originX = count == 0 ? 0 : minX;
+        originY = count == 0 ? 0 : minY;
+        cellWidth = width;
+        cellHeight = height;
+        columns = count == 0 ? 0 : Math.max(1,(int) Math.ceil((maxX - minX) / cellWidth));
+        rows = count == 0 ? 0 : Math.max(1,(int) Math.ceil((maxY - minY) / cellHeight));
+
+        firstColumn = new int[count];
+        firstRow = new int[count];
+        cellStart = new int[columns * rows + 1];
+
+        for(int i = 0; i < count; i++) { //count the bricks of each cell
+            firstColumn[i] = column(bricks.getX(i));
+            firstRow[i] = row(bricks.getY(i));
+            for(int y = firstRow[i]; y <= lastRow(bricks.getY(i) + bricks.getHeight(i)); y++)
+                for(int x = firstColumn[i]; x <= lastColumn(bricks.getX(i) + bricks.getWidth(i)); x++)
+                    cellStart[y * columns + x + 1]++;
+        }
+
+        for(int i = 0; i < columns * rows; i++)
+            cellStart[i+1] += cellStart[i];
+
+        cellBricks = new int[cellStart[columns * rows]];
+        int[] next = new int[columns * rows];
+        System.arraycopy(cellStart,0,next,0,next.length);
+
+        for(int i = 0; i < count; i++) { //list the bricks in each cell
+            for(int y = firstRow[i]; y <= lastRow(bricks.getY(i) + bricks.getHeight(i)); y++)
+                for(int x = firstColumn[i]; x <= lastColumn(bricks.getX(i) + bricks.getWidth(i)); x++)
+                    cellBricks[next[y * columns + x]++] = i;
+        }
+    }
+
+    /**
+     * This method finds all the bricks which overlap the cells of a rectangle. Each brick is returned once, even if
+     * it lies in several of the cells. The caller still has to test the bricks found against the rectangle, as a
+     * brick in an overlapped cell may not overlap the rectangle itself. No objects are created by the query.
+     * @param minX The left side of the rectangle.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @param out The array to hold the indexes of the bricks found, which must be at least as long as the number of
+     *            bricks in the grid.
+     * @return The number of bricks found is returned.
+     */
+    public int query(double minX, double minY, double maxX, double maxY, int[] out) {
+        if(size == 0 || maxX < originX || maxY < originY || minX > originX + columns * cellWidth || minY > originY + rows * cellHeight)
+            return 0;
+
+        int left = column(minX), top = row(minY), right = lastColumn(maxX), bottom = lastRow(maxY);
+        int found = 0;
+        for(int y = top; y <= bottom; y++) {
+            for(int x = left; x <= right; x++) {
+                int cell = y * columns + x;
+                for(int i = cellStart[cell]; i < cellStart[cell+1]; i++) {
+                    int brick = cellBricks[i];
+                    if(Math.max(firstColumn[brick],left) == x && Math.max(firstRow[brick],top) == y) //only return the brick from its first overlapped cell
+                        out[found++] = brick;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * This method returns the column of the cell containing a horizontal position, limited to the grid.
+     * @param x The horizontal position.
+     * @return The column of the cell is returned.
+     */
+    private int column(double x) {
+        return Math.max(0,Math.min(columns - 1,(int) Math.floor((x - originX) / cellWidth)));
+    }
+
+    /**
+     * This method returns the row of the cell containing a vertical position, limited to the grid.
+     * @param y The vertical position.
+     * @return The row of the cell is returned.
+     */
+    private int row(double y) {
+        return Math.max(0,Math.min(rows - 1,(int) Math.floor((y - originY) / cellHeight)));
+    }
+
+    /**
+     * This method returns the column of the last cell reached by a right side. A right side lying exactly on the
+     * border between two cells does not reach into the second cell.
+     * @param x The horizontal position of the right side.
+     * @return The column of the cell is returned.
+     */
+    private int lastColumn(double x) {
+        return Math.max(0,Math.min(columns - 1,(int) Math.ceil((x - originX) / cellWidth) - 1));
+    }
+
+    /**
+     * This method returns the row of the last cell reached by a bottom side. A bottom side lying exactly on the border
+     * between two cells does not reach into the second cell.
+     * @param y The vertical position of the bottom side.
+     * @return The row of the cell is returned.
+     */
+    private int lastRow(double y) {
+        return Math.max(0,Math.min(rows - 1,(int) Math.ceil((y - originY) / cellHeight) - 1));
+    }
+
+    /**
+     * This method returns the number of bricks in the grid.
+     * @return The number of bricks is returned.
+     */
+    public int size() {
+        return size;
+    }
+}
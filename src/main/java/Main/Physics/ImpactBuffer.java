@@ -0,0 +1,210 @@
+package Main.Physics;
+
+import java.util.Arrays;
+
+/**
+ * Public class ImpactBuffer records the impacts found while a group of balls is moved, so that the balls can be moved
+ * on several threads at once while the impacts are processed later on a single thread. Each thread moving balls owns
+ * one buffer, which also holds its own SweptCollision and brick query array so that the threads share no scratch
+ * space. The impacts are kept in the order they were found, so processing the buffers one after another in the order
+ * of the balls always gives the same result, however the threads were scheduled.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class ImpactBuffer {
+
+    /**
+     * The code for a bounce of the ball off a page border or the player.
+     */
+    public static final int BOUNCE = 0;
+    /**
+     * The code for an impact of the ball with a brick.
+     */
+    public static final int BRICK = 1;
+    /**
+     * The code for the ball leaving the page border behind the player.
+     */
+    public static final int LOST = 2;
+
+    /**
+     * SweptCollision used by the thread which owns the buffer.
+     */
+    private final SweptCollision collision = new SweptCollision();
+    /**
+     * The array to hold the indexes of the bricks near the path of a ball.
+     */
+    private final int[] candidates;
+    /**
+     * The number of impacts recorded.
+     */
+    private int size = 0;
+    /**
+     * The codes of the impacts.
+     */
+    private int[] kind = new int[16];
+    /**
+     * The indexes of the balls of the impacts.
+     */
+    private int[] ball = new int[16];
+    /**
+     * The indexes of the bricks hit, or -1 if no brick is hit.
+     */
+    private int[] brick = new int[16];
+    /**
+     * The horizontal positions of the center of the ball at the time of impact.
+     */
+    private double[] x = new double[16];
+    /**
+     * The vertical positions of the center of the ball at the time of impact.
+     */
+    private double[] y = new double[16];
+    /**
+     * The horizontal parts of the surface normals at the points of impact.
+     */
+    private double[] normalX = new double[16];
+    /**
+     * The vertical parts of the surface normals at the points of impact.
+     */
+    private double[] normalY = new double[16];
+
+    /**
+     * This constructor creates an empty buffer.
+     * @param bricks The largest number of bricks in a level, which is the most bricks a query can find.
+     */
+    public ImpactBuffer(int bricks) {
+        candidates = new int[bricks];
+    }
+
+    /**
+     * This method records an impact. The buffer grows if it is full.
+     * @param kind The code of the impact.
+     * @param ball The index of the ball.
+     * @param brick The index of the brick hit, or -1 if no brick is hit.
+     * @param x The horizontal position of the center of the ball at the time of impact.
+     * @param y The vertical position of the center of the ball at the time of impact.
+     * @param normalX The horizontal part of the surface normal at the point of impact.
+     * @param normalY The vertical part of the surface normal at the point of impact.
+     */
+    public void add(int kind, int ball, int brick, double x, double y, double normalX, double normalY) {
+        if(size == this.kind.length)
+            grow();
+        this.kind[size] = kind;
+        this.ball[size] = ball;
+        this.brick[size] = brick;
+        this.x[size] = x;
+        this.y[size] = y;
+        this.normalX[size] = normalX;
+        this.normalY[size] = normalY;
+        size++;
+    }
+
+    /**
+     * This method doubles the room in the buffer when it is full.
+     */
+    private void grow() {
+        int capacity = kind.length * 2;
+        kind = Arrays.copyOf(kind,capacity);
+        ball = Arrays.copyOf(ball,capacity);
+        brick = Arrays.copyOf(brick,capacity);
+        x = Arrays.copyOf(x,capacity);
+        y = Arrays.copyOf(y,capacity);
+        normalX = Arrays.copyOf(normalX,capacity);
+        normalY = Arrays.copyOf(normalY,capacity);
+    }
+
+    /**
+     * This method removes all the recorded impacts.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * This method returns the number of recorded impacts.
+     * @return The number of recorded impacts is returned.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the code of an impact.
+     * @param index The index of the impact.
+     * @return The code of the impact is returned.
+     */
+    public int getKind(int index) {
+        return kind[index];
+    }
+
+    /**
+     * This method returns the index of the ball of an impact.
+     * @param index The index of the impact.
+     * @return The index of the ball is returned.
+     */
+    public int getBall(int index) {
+        return ball[index];
+    }
+
+    /**
+     * This method returns the index of the brick hit by an impact.
+     * @param index The index of the impact.
+     * @return The index of the brick is returned, or -1 if no brick is hit.
+     */
+    public int getBrick(int index) {
+        return brick[index];
+    }
+
+    /**
+     * This method returns the horizontal position of the center of the ball at the time of an impact.
+     * @param index The index of the impact.
+     * @return The horizontal position is returned.
+     */
+    public double getX(int index) {
+        return x[index];
+    }
+
+    /**
+     * This method returns the vertical position of the center of the ball at the time of an impact.
+     * @param index The index of the impact.
+     * @return The vertical position is returned.
+     */
+    public double getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * This method returns the horizontal part of the surface normal at the point of an impact.
+     * @param index The index of the impact.
+     * @return The horizontal part of the surface normal is returned.
+     */
+    public double getNormalX(int index) {
+        return normalX[index];
+    }
+
+    /**
+     * This method returns the vertical part of the surface normal at the point of an impact.
+     * @param index The index of the impact.
+     * @return The vertical part of the surface normal is returned.
+     */
+    public double getNormalY(int index) {
+        return normalY[index];
+    }
+
+    /**
+     * This method returns the SweptCollision of the thread which owns the buffer.
+     * @return The SweptCollision is returned.
+     */
+    public SweptCollision getCollision() {
+        return collision;
+    }
+
+    /**
+     * This method returns the array to hold the indexes of the bricks found by a query.
+     * @return The array for the query is returned.
+     */
+    public int[] getCandidates() {
+        return candidates;
+    }
+}
@@ -0,0 +1,173 @@
+package Main.Physics;
+
+/**
+ * Public class SweptCollision is used for continuous collision detection between a moving circle and an axis aligned
+ * rectangle. Instead of only testing the end position of the circle, the whole path of the circle during an update
+ * cycle is tested, so a fast ball can never pass through a thin brick. The circle is shrunk to a point and the
+ * rectangle is grown by the radius of the circle into a rounded rectangle, which is then tested against the path of
+ * the point. The result of the last test is kept in the object so that no objects are created during the test.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class SweptCollision {
+
+    /**
+     * The time of impact of the last successful test, as a fraction of the path from 0 to 1.
+     */
+    private double time;
+    /**
+     * The horizontal part of the surface normal at the point of impact of the last successful test.
+     */
+    private double normalX;
+    /**
+     * The vertical part of the surface normal at the point of impact of the last successful test.
+     */
+    private double normalY;
+
+    /**
+     * This method tests if a circle moving along a path hits a rectangle. A circle which already overlaps the
+     * rectangle at the start of the path, or which does not move, does not hit it. If the circle hits the rectangle, the time of impact and
+     * the surface normal at the point of impact can be read with the getters.
+     * @param x The horizontal position of the center of the circle at the start of the path.
+     * @param y The vertical position of the center of the circle at the start of the path.
+     * @param dx The horizontal length of the path.
+     * @param dy The vertical length of the path.
+     * @param radius The radius of the circle.
+     * @param minX The left side of the rectangle.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @return This method returns a boolean to signal if the circle hits the rectangle along the path.
+     */
+    public boolean sweep(double x, double y, double dx, double dy, double radius, double minX, double minY, double maxX, double maxY){
+
+        if((dx == 0 && dy == 0) || overlaps(x,y,radius,minX,minY,maxX,maxY))
+            return false;
+
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = 1;
+        boolean horizontal = false;
+
+        if(dx == 0) {
+            if(x < minX - radius || x > maxX + radius)
+                return false;
+        }
+        else {
+            double near = ((dx > 0 ? minX - radius : maxX + radius) - x) / dx;
+            double far = ((dx > 0 ? maxX + radius : minX - radius) - x) / dx;
+            if(near > enter) {
+                enter = near;
+                horizontal = true;
+            }
+            exit = Math.min(exit,far);
+        }
+
+        if(dy == 0) {
+            if(y < minY - radius || y > maxY + radius)
+                return false;
+        }
+        else {
+            double near = ((dy > 0 ? minY - radius : maxY + radius) - y) / dy;
+            double far = ((dy > 0 ? maxY + radius : minY - radius) - y) / dy;
+            if(near > enter) {
+                enter = near;
+                horizontal = false;
+            }
+            exit = Math.min(exit,far);
+        }
+
+        if(enter >= exit || enter > 1 || exit <= 0) //path misses, grazes or only leaves the rectangle
+            return false;
+
+        double t = Math.max(enter,0);
+        double px = x + dx * t;
+        double py = y + dy * t;
+
+        if((px < minX || px > maxX) && (py < minY || py > maxY)) //path enters near a corner
+            return sweepCorner(x, y, dx, dy, radius, px < minX ? minX : maxX, py < minY ? minY : maxY);
+
+        time = t;
+        normalX = horizontal ? -Math.signum(dx) : 0;
+        normalY = horizontal ? 0 : -Math.signum(dy);
+        return true;
+    }
+
+    /**
+     * This method tests if a point moving along a path comes within the radius of a corner of the rectangle.
+     * @param x The horizontal position of the point at the start of the path.
+     * @param y The vertical position of the point at the start of the path.
+     * @param dx The horizontal length of the path.
+     * @param dy The vertical length of the path.
+     * @param radius The radius of the circle.
+     * @param cornerX The horizontal position of the corner.
+     * @param cornerY The vertical position of the corner.
+     * @return This method returns a boolean to signal if the circle hits the corner along the path.
+     */
+    private boolean sweepCorner(double x, double y, double dx, double dy, double radius, double cornerX, double cornerY){
+
+        double fx = x - cornerX;
+        double fy = y - cornerY;
+        double a = dx * dx + dy * dy;
+        double b = 2 * (fx * dx + fy * dy);
+        double c = fx * fx + fy * fy - radius * radius;
+        double discriminant = b * b - 4 * a * c;
+
+        if(a == 0 || discriminant < 0)
+            return false;
+
+        double t = (-b - Math.sqrt(discriminant)) / (2 * a);
+        if(t < 0 || t > 1)
+            return false;
+
+        time = t;
+        normalX = (fx + dx * t) / radius;
+        normalY = (fy + dy * t) / radius;
+        return true;
+    }
+
+    /**
+     * This method tests if a circle overlaps a rectangle.
+     * @param x The horizontal position of the center of the circle.
+     * @param y The vertical position of the center of the circle.
+     * @param radius The radius of the circle.
+     * @param minX The left side of the rectangle.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @return This method returns a boolean to signal if the circle overlaps the rectangle.
+     */
+    public boolean overlaps(double x, double y, double radius, double minX, double minY, double maxX, double maxY){
+        double nearX = Math.max(minX,Math.min(x,maxX));
+        double nearY = Math.max(minY,Math.min(y,maxY));
+        double distX = x - nearX;
+        double distY = y - nearY;
+        return distX * distX + distY * distY < radius * radius;
+    }
+
+    /**
+     * This method returns the time of impact of the last successful test.
+     * @return The time of impact as a fraction of the path from 0 to 1 is returned.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * This method returns the horizontal part of the surface normal at the point of impact of the last successful
+     * test.
+     * @return The horizontal part of the surface normal is returned.
+     */
+    public double getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * This method returns the vertical part of the surface normal at the point of impact of the last successful test.
+     * @return The vertical part of the surface normal is returned.
+     */
+    public double getNormalY() {
+        return normalY;
+    }
+}
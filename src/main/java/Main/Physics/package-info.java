@@ -0,0 +1,7 @@
+/**
+ * This package holds the java files used for the physics of the game. SweptCollision computes the time and normal
+ * of impact between the moving ball and the rectangles of the bricks and the player. BrickGrid and BallGrid are
+ * spatial indexes used to quickly find the bricks near a ball and the balls near the power up. ImpactBuffer records
+ * the impacts of a group of balls so that the balls can be moved on several threads.
+ */
+package Main.Physics;
\ No newline at end of file
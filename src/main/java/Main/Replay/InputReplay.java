@@ -0,0 +1,268 @@
+package Main.Replay;
+
+import Main.MVC.GameBoardController;
+
+import java.awt.*;
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Public class InputReplay holds a recorded game, which is the seed and settings of the game followed by the inputs
+ * of the player. As the game only depends on its seed and the inputs, playing the inputs back into a new game with the
+ * same seed and settings gives the same game.
+ * <p>
+ * The header holds a magic number, the format version, the seed, the tick rate, the size of the game screen and the
+ * choices of the player. Each input is then written as a variable length integer holding the number of update cycles
+ * since the last input, the input code and a flag set if the input has a value, followed by the value if it has one.
+ * As most inputs come a few hundred update cycles apart, an input mostly takes 2 or 3 bytes. The replay is closed by
+ * the END code, whose update cycle is the length of the replay.
+ * <p>
+ * When the game goes back in time while it is recorded, the inputs after the point it went back to no longer belong to
+ * the game. As a replay is written to its file as it is recorded, the RESET code is then written, followed by all the
+ * inputs the game still holds. Only the inputs after the last RESET code are kept when a replay is read.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class InputReplay {
+
+    /**
+     * The magic number at the start of every replay, which is "BBRP" in ASCII.
+     */
+    public static final int MAGIC = 0x42425250;
+    /**
+     * The version of the replay format. Version 2 added the RESET code, and replays of version 1 can still be read.
+     */
+    public static final int VERSION = 2;
+    /**
+     * The number of bits of an input used for the input code and the value flag.
+     */
+    static final int CODE_BITS = 6;
+    /**
+     * The input code which drops all the inputs before it, as the inputs after it are all the inputs of the game.
+     */
+    public static final int RESET = 30;
+    /**
+     * The input code which closes the replay.
+     */
+    public static final int END = 31;
+
+    /**
+     * The seed of the game.
+     */
+    private final long seed;
+    /**
+     * The number of update cycles in one second of game time.
+     */
+    private final int tickRate;
+    /**
+     * The size of the game screen.
+     */
+    private final Dimension area;
+    /**
+     * The choices of the player in the custom console.
+     */
+    private final int[][] choice;
+    /**
+     * The encoded inputs of the player, up to and including the END code.
+     */
+    private final byte[] inputs;
+    /**
+     * The number of inputs in the replay, not counting the END code.
+     */
+    private final int inputCount;
+    /**
+     * The number of update cycles in the replay.
+     */
+    private final long length;
+
+    /**
+     * This constructor creates a replay from the header and the encoded inputs, which are checked to find the number of
+     * inputs and the length of the replay. The inputs before the last RESET code are dropped.
+     * @param seed The seed of the game.
+     * @param tickRate The number of update cycles in one second of game time.
+     * @param area The size of the game screen.
+     * @param choice The choices of the player in the custom console.
+     * @param inputs The encoded inputs of the player, up to and including the END code.
+     * @throws IOException If the tick rate cannot be played or the inputs are not closed by the END code.
+     */
+    public InputReplay(long seed, int tickRate, Dimension area, int[][] choice, byte[] inputs) throws IOException {
+        if(!GameBoardController.isValidTickRate(tickRate))
+            throw new IOException("broken replay");
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.area = new Dimension(area);
+        this.choice = choice;
+
+        InputStream in = new ByteArrayInputStream(inputs);
+        long tick = 0;
+        int count = 0;
+        int start = 0;
+        while(true) {
+            long key = VarInts.read(in);
+            tick += key >>> CODE_BITS;
+            if(code(key) == END)
+                break;
+            if(code(key) == RESET) {
+                tick = 0;
+                count = 0;
+                start = inputs.length - in.available();
+                continue;
+            }
+            if(hasValue(key))
+                VarInts.readSigned(in);
+            count++;
+        }
+        this.inputs = start == 0 ? inputs : Arrays.copyOfRange(inputs,start,inputs.length);
+        inputCount = count;
+        length = tick;
+    }
+
+    /**
+     * This method reads a replay from a stream.
+     * @param in The stream to read from.
+     * @return The replay read is returned.
+     * @throws IOException If the stream cannot be read or does not hold a replay.
+     */
+    public static InputReplay read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if(data.readInt() != MAGIC)
+            throw new IOException("not a replay");
+        int version = data.readUnsignedByte();
+        if(version < 1 || version > VERSION)
+            throw new IOException("unsupported replay version " + version);
+        long seed = data.readLong();
+        int tickRate = (int) Math.min(VarInts.read(data),Integer.MAX_VALUE);
+        Dimension area = new Dimension((int) VarInts.read(data),(int) VarInts.read(data));
+        int[][] choice = new int[(int) VarInts.read(data)][(int) VarInts.read(data)];
+        for(int[] level : choice)
+            for(int i = 0; i < level.length; i++)
+                level[i] = (int) VarInts.readSigned(data);
+        return new InputReplay(seed,tickRate,area,choice,data.readAllBytes());
+    }
+
+    /**
+     * This method reads a replay from a file.
+     * @param file The file to read from.
+     * @return The replay read is returned.
+     * @throws IOException If the file cannot be read or does not hold a replay.
+     */
+    public static InputReplay load(File file) throws IOException {
+        try(InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * This method writes the replay to a stream.
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void write(OutputStream out) throws IOException {
+        writeHeader(out,seed,tickRate,area,choice);
+        out.write(inputs);
+    }
+
+    /**
+     * This method writes the header of a replay.
+     * @param out The stream to write to.
+     * @param seed The seed of the game.
+     * @param tickRate The number of update cycles in one second of game time.
+     * @param area The size of the game screen.
+     * @param choice The choices of the player in the custom console.
+     * @throws IOException If the stream cannot be written to.
+     */
+    static void writeHeader(OutputStream out, long seed, int tickRate, Dimension area, int[][] choice) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(seed);
+        VarInts.write(data,tickRate);
+        VarInts.write(data,area.width);
+        VarInts.write(data,area.height);
+        VarInts.write(data,choice.length);
+        VarInts.write(data,choice.length == 0 ? 0 : choice[0].length);
+        for(int[] level : choice)
+            for(int value : level)
+                VarInts.writeSigned(data,value);
+        data.flush();
+    }
+
+    /**
+     * This method returns the input code of an encoded input.
+     * @param key The encoded input.
+     * @return The input code is returned.
+     */
+    static int code(long key) {
+        return (int) (key >>> 1) & ((1 << (CODE_BITS - 1)) - 1);
+    }
+
+    /**
+     * This method checks if an encoded input is followed by a value.
+     * @param key The encoded input.
+     * @return A boolean to signal if the input has a value is returned.
+     */
+    static boolean hasValue(long key) {
+        return (key & 1) != 0;
+    }
+
+    /**
+     * This method returns the seed of the game.
+     * @return The seed of the game is returned.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * This method returns the number of update cycles in one second of game time.
+     * @return The tick rate of the game is returned.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * This method returns the size of the game screen.
+     * @return A copy of the size of the game screen is returned.
+     */
+    public Dimension getArea() {
+        return new Dimension(area);
+    }
+
+    /**
+     * This method returns a copy of the choices of the player, so the replay can be played more than once.
+     * @return A copy of the choices of the player is returned.
+     */
+    public int[][] getChoice() {
+        int[][] copy = new int[choice.length][];
+        for(int i = 0; i < choice.length; i++)
+            copy[i] = choice[i].clone();
+        return copy;
+    }
+
+    /**
+     * This method returns a stream over the encoded inputs of the player.
+     * @return A new stream over the inputs is returned.
+     */
+    public InputStream openInputs() {
+        return new ByteArrayInputStream(inputs);
+    }
+
+    /**
+     * This method returns the number of inputs in the replay.
+     * @return The number of inputs is returned.
+     */
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * This method returns the number of update cycles in the replay.
+     * @return The length of the replay in update cycles is returned.
+     */
+    public long getLength() {
+        return length;
+    }
+}
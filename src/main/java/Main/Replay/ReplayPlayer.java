@@ -0,0 +1,121 @@
+package Main.Replay;
+
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Public class ReplayPlayer plays a replay back into a new game with the seed and settings of the replay. Each update
+ * cycle, the inputs recorded before that update cycle are applied to the game and the game is updated. The player can
+ * be stepped once per update cycle by the GameLoop to watch the replay in real time, or run on its own as fast as
+ * possible to check the outcome of a game.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class ReplayPlayer {
+
+    /**
+     * The replay being played.
+     */
+    private final InputReplay replay;
+    /**
+     * The game the replay is played into.
+     */
+    private final GameSimulation simulation;
+    /**
+     * The stream over the encoded inputs of the replay.
+     */
+    private final InputStream inputs;
+    /**
+     * The update cycle of the next input.
+     */
+    private long nextTick = 0;
+    /**
+     * The input code of the next input.
+     */
+    private int nextCode;
+    /**
+     * The value of the next input.
+     */
+    private int nextValue;
+
+    /**
+     * This constructor creates a new game from the header of the replay and reads the first input.
+     * @param replay The replay to be played.
+     * @param listener GameListener to notify the front end, or GameListener.NONE to play the replay headless.
+     */
+    public ReplayPlayer(InputReplay replay, GameListener listener) {
+        this.replay = replay;
+        simulation = new GameSimulation(replay.getChoice(),replay.getArea(),listener,replay.getTickRate(),replay.getSeed());
+        inputs = replay.openInputs();
+        readNext();
+    }
+
+    /**
+     * This method reads the next input of the replay.
+     */
+    private void readNext() {
+        try {
+            long key = VarInts.read(inputs);
+            nextTick += key >>> InputReplay.CODE_BITS;
+            nextCode = InputReplay.code(key);
+            nextValue = InputReplay.hasValue(key) ? (int) VarInts.readSigned(inputs) : 0;
+        }
+        catch (IOException e) { //the inputs were checked when the replay was read
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method applies the inputs recorded before the current update cycle and processes the update cycle. Nothing
+     * happens once the replay has finished.
+     */
+    public void step() {
+        while(nextCode != InputReplay.END && nextTick == simulation.getTick()) {
+            simulation.input(nextCode,nextValue);
+            readNext();
+        }
+        if(!isFinished())
+            simulation.update();
+    }
+
+    /**
+     * This method plays the rest of the replay as fast as possible.
+     * @return The number of update cycles processed is returned.
+     */
+    public long run() {
+        long start = simulation.getTick();
+        while(!isFinished())
+            step();
+        return simulation.getTick() - start;
+    }
+
+    /**
+     * This method checks if every update cycle of the replay has been processed.
+     * @return A boolean to signal if the replay has finished is returned.
+     */
+    public boolean isFinished() {
+        return nextCode == InputReplay.END && simulation.getTick() >= nextTick;
+    }
+
+    /**
+     * This method returns the replay being played.
+     * @return The replay is returned.
+     */
+    public InputReplay getReplay() {
+        return replay;
+    }
+
+    /**
+     * This method returns the game the replay is played into.
+     * @return The GameSimulation is returned.
+     */
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
+}
@@ -0,0 +1,402 @@
+package Main.Replay;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Public class ReplayRecorder records the inputs of the player into a replay. The inputs are encoded into a small
+ * buffer on the thread of the game, and every time the buffer fills up it is handed to a background thread which
+ * writes it to the stream, so the game never waits for the disk. The recorder is closed when the game ends, or when
+ * the program exits if the game is still running, so the replay is always closed by the END code. The recorded inputs
+ * are also kept in memory, so a copy of the replay up to any update cycle can be taken while the game is running,
+ * for example to verify a highscore.
+ * <p>
+ * When the game goes back in time, the inputs after the point it went back to are dropped, or all the inputs are
+ * replaced by a copy taken earlier, so the recording goes on from there. If inputs which are no longer recorded have
+ * already been written to the stream, the RESET code and all the inputs recorded are written again after them.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class ReplayRecorder {
+
+    /**
+     * The size at which the buffer is handed to the background thread.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The stream the replay is written to.
+     */
+    private final OutputStream out;
+    /**
+     * The source of the number of update cycles processed by the game.
+     */
+    private final LongSupplier clock;
+    /**
+     * The background thread which writes the buffers to the stream.
+     */
+    private final ExecutorService writer;
+    /**
+     * The encoded inputs recorded so far.
+     */
+    private final History inputs = new History();
+    /**
+     * The number of bytes of the inputs which have been handed to the background thread.
+     */
+    private int flushed = 0;
+    /**
+     * The seed of the game.
+     */
+    private final long seed;
+    /**
+     * The number of update cycles in one second of game time.
+     */
+    private final int tickRate;
+    /**
+     * The size of the game screen.
+     */
+    private final Dimension area;
+    /**
+     * A copy of the choices of the player at the start of the game.
+     */
+    private final int[][] choice;
+    /**
+     * The thread which closes the recorder if the program exits while the game is still running.
+     */
+    private final Thread shutdownHook;
+    /**
+     * The update cycle of the last input.
+     */
+    private long lastTick = 0;
+    /**
+     * A flag to signal if the recorder has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * This constructor starts a replay by writing its header. The stream is closed when the recorder is closed.
+     * @param out The stream to write the replay to.
+     * @param clock The source of the number of update cycles processed by the game.
+     * @param seed The seed of the game.
+     * @param tickRate The number of update cycles in one second of game time.
+     * @param area The size of the game screen.
+     * @param choice The choices of the player in the custom console.
+     * @throws IOException If the header cannot be encoded.
+     */
+    public ReplayRecorder(OutputStream out, LongSupplier clock, long seed, int tickRate, Dimension area, int[][] choice)
+            throws IOException {
+        this.out = out;
+        this.clock = clock;
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.area = new Dimension(area);
+        this.choice = new int[choice.length][];
+        for(int i = 0; i < choice.length; i++)
+            this.choice[i] = choice[i].clone();
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        InputReplay.writeHeader(header,seed,tickRate,area,choice);
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r,"Replay Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writeChunk(header.toByteArray());
+        shutdownHook = new Thread(this::close,"Replay Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * This method records an input of the player at the current update cycle of the game.
+     * @param code The input code, which is below the RESET code.
+     * @param value The value of the input, which is 0 if the input has no value.
+     */
+    public synchronized void record(int code, int value) {
+        record(clock.getAsLong(),code,value);
+    }
+
+    /**
+     * This method records an input of the player at an update cycle of the game.
+     * @param tick The update cycle of the input, which must not be before the last input.
+     * @param code The input code, which is below the RESET code.
+     * @param value The value of the input, which is 0 if the input has no value.
+     */
+    public synchronized void record(long tick, int code, int value) {
+        if(closed)
+            return;
+        try {
+            write(tick,code,value);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        if(inputs.size() - flushed >= CHUNK_SIZE)
+            flushBuffer();
+    }
+
+    /**
+     * This method encodes an input into the buffer.
+     * @param tick The number of update cycles processed before the input.
+     * @param code The input code.
+     * @param value The value of the input.
+     * @throws IOException If the input cannot be encoded.
+     */
+    private void write(long tick, int code, int value) throws IOException {
+        encode(inputs,tick - lastTick,code,value);
+        lastTick = tick;
+    }
+
+    /**
+     * This method encodes an input.
+     * @param out The stream to write to.
+     * @param delta The number of update cycles since the last input.
+     * @param code The input code.
+     * @param value The value of the input.
+     * @throws IOException If the input cannot be encoded.
+     */
+    private static void encode(OutputStream out, long delta, int code, int value) throws IOException {
+        VarInts.write(out,(delta << InputReplay.CODE_BITS) | ((long) code << 1) | (value != 0 ? 1 : 0));
+        if(value != 0)
+            VarInts.writeSigned(out,value);
+    }
+
+    /**
+     * This method hands the inputs which have not been written yet to the background thread.
+     */
+    private void flushBuffer() {
+        writeChunk(Arrays.copyOfRange(inputs.array(),flushed,inputs.size()));
+        flushed = inputs.size();
+    }
+
+    /**
+     * This method hands a chunk of the replay to the background thread to be written to the stream.
+     * @param chunk The chunk to be written.
+     */
+    private void writeChunk(byte[] chunk) {
+        writer.execute(() -> {
+            try {
+                out.write(chunk);
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * This method drops the inputs recorded at or after an update cycle, for when the game has gone back to a snapshot
+     * taken right after that update cycle. The recording goes on from there.
+     * @param tick The update cycle the game has gone back to.
+     */
+    public synchronized void truncate(long tick) {
+        if(closed)
+            return;
+        long[] found = find(tick);
+        cut((int) found[0],found[1],false);
+    }
+
+    /**
+     * This method replaces the inputs recorded with the inputs of a copy of the replay taken earlier, for when the game
+     * has gone back to a snapshot taken together with the copy. The recording goes on from there.
+     * @param replay The copy of the replay, which must be of the same game.
+     */
+    public synchronized void replace(InputReplay replay) {
+        if(closed)
+            return;
+        inputs.reset();
+        try {
+            inputs.write(replay.openInputs().readAllBytes());
+        }
+        catch (IOException e) { //cannot happen when reading from memory
+            throw new IllegalStateException(e);
+        }
+        long[] found = find(Long.MAX_VALUE);
+        cut((int) found[0],found[1],true);
+    }
+
+    /**
+     * This method keeps only the first bytes of the inputs recorded. If inputs which are no longer recorded have been
+     * handed to the background thread, the RESET code and all the inputs kept are handed to it again.
+     * @param size The number of bytes of the inputs kept.
+     * @param last The update cycle of the last input kept.
+     * @param replaced A flag to signal if the inputs kept are not the inputs handed to the background thread.
+     */
+    private void cut(int size, long last, boolean replaced) {
+        inputs.truncate(size);
+        lastTick = last;
+        if(size < flushed || (replaced && flushed > 0)) {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(size + 1);
+            try {
+                encode(chunk,0,InputReplay.RESET,0);
+            }
+            catch (IOException e) { //cannot happen when writing to memory
+                throw new IllegalStateException(e);
+            }
+            chunk.write(inputs.array(),0,size);
+            writeChunk(chunk.toByteArray());
+            flushed = size;
+        }
+    }
+
+    /**
+     * This method finds the first input recorded at or after an update cycle.
+     * @param tick The update cycle.
+     * @return The offset of the input, or of the end of the inputs if there is none, and the update cycle of the input
+     *         before it are returned.
+     */
+    private long[] find(long tick) {
+        ByteArrayInputStream in = new ByteArrayInputStream(inputs.array(),0,inputs.size());
+        long at = 0;
+        long before = 0;
+        int offset = 0;
+        try {
+            while(in.available() > 0) {
+                long key = VarInts.read(in);
+                at += key >>> InputReplay.CODE_BITS;
+                if(at >= tick || InputReplay.code(key) == InputReplay.END)
+                    break;
+                if(InputReplay.hasValue(key))
+                    VarInts.readSigned(in);
+                offset = inputs.size() - in.available();
+                before = at;
+            }
+        }
+        catch (IOException e) { //cannot happen when reading from memory
+            throw new IllegalStateException(e);
+        }
+        return new long[]{offset,before};
+    }
+
+    /**
+     * This method closes the replay with the END code, waits for the background thread to write the rest of the
+     * replay and closes the stream. The current update cycle of the game is the length of the replay. Inputs recorded
+     * after the recorder is closed are ignored.
+     */
+    public synchronized void close() {
+        if(closed)
+            return;
+        closed = true;
+        try {
+            write(Math.max(clock.getAsLong(),lastTick),InputReplay.END,0);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        flushBuffer();
+        writer.execute(() -> {
+            try {
+                out.close();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10,TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        if(Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            }
+            catch (IllegalStateException e) { //the program is already exiting
+            }
+        }
+    }
+
+    /**
+     * This method takes a copy of the replay up to the given update cycle. The recording goes on. If the recorder has
+     * been closed, the whole replay is copied.
+     * @param length The number of update cycles of the copy, which must not be before the last input.
+     * @return The copy of the replay is returned.
+     * @throws IllegalArgumentException If the length is before the last input.
+     */
+    public synchronized InputReplay snapshot(long length) {
+        if(length < lastTick)
+            throw new IllegalArgumentException("the replay is longer than " + length + " update cycles");
+        try {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream(inputs.size() + 10);
+            copy.write(inputs.array(),0,inputs.size());
+            if(!closed) //a closed recording already ends with the END code
+                encode(copy,length - lastTick,InputReplay.END,0);
+            return new InputReplay(seed,tickRate,area,choice,copy.toByteArray());
+        }
+        catch (IOException e) { //cannot happen when writing to memory
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This method takes a copy of the replay up to the given update cycle, as it will be once the inputs at or after an
+     * update cycle are dropped and another input is recorded there. The recording is not changed. If the recorder has
+     * been closed, the whole replay is copied.
+     * @param cut The update cycle from which the inputs are left out.
+     * @param code The input code recorded at the cut, or -1 for none.
+     * @param length The number of update cycles of the copy, which must not be before the cut.
+     * @return The copy of the replay is returned.
+     * @throws IllegalArgumentException If the length is before the cut.
+     */
+    public synchronized InputReplay snapshot(long cut, int code, long length) {
+        if(closed)
+            return snapshot(length);
+        long[] found = find(cut);
+        long last = found[1];
+        if(length < Math.max(last,code >= 0 ? cut : 0))
+            throw new IllegalArgumentException("the replay is longer than " + length + " update cycles");
+        try {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream((int) found[0] + 20);
+            copy.write(inputs.array(),0,(int) found[0]);
+            if(code >= 0) {
+                encode(copy,cut - last,code,0);
+                last = cut;
+            }
+            encode(copy,length - last,InputReplay.END,0);
+            return new InputReplay(seed,tickRate,area,choice,copy.toByteArray());
+        }
+        catch (IOException e) { //cannot happen when writing to memory
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This method checks if the recorder has been closed.
+     * @return A boolean to signal if the recorder has been closed is returned.
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Private class History is a growable byte array whose contents can be read without copying them.
+     */
+    private static class History extends ByteArrayOutputStream {
+
+        /**
+         * This method keeps only the first bytes written.
+         * @param size The number of bytes kept, which must not be more than size().
+         */
+        void truncate(int size) {
+            count = size;
+        }
+
+        /**
+         * This method returns the array holding the bytes, of which the first size() bytes are written.
+         * @return The array holding the bytes is returned.
+         */
+        byte[] array() {
+            return buf;
+        }
+    }
+}
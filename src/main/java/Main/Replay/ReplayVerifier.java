@@ -0,0 +1,168 @@
+package Main.Replay;
+
+import Main.MVC.GameListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Public class ReplayVerifier checks highscore claims by playing their replays back headless. A claim is confirmed
+ * if the game played back shows the highscore of the claimed level with the claimed score and time, and the replay
+ * ends at the update cycle where it was shown. Each replay is played on its own game, so the claims are verified on a
+ * pool of threads across all the cores without the games sharing anything.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class ReplayVerifier {
+
+    /**
+     * The folder the claims of saved highscores are kept in.
+     */
+    public static final String CLAIM_FOLDER = "replays/highscores";
+    /**
+     * The file extension of claim files.
+     */
+    public static final String CLAIM_EXTENSION = ".bbc";
+
+    /**
+     * The pool of threads the replays are played on.
+     */
+    private final ExecutorService pool;
+    /**
+     * The number of update cycles played back since the verifier was created.
+     */
+    private final AtomicLong ticks = new AtomicLong();
+
+    /**
+     * This constructor creates a verifier with the given number of threads. The threads do not keep the program
+     * running.
+     * @param threads The number of threads to play the replays on.
+     */
+    public ReplayVerifier(int threads) {
+        pool = Executors.newFixedThreadPool(threads,r -> {
+            Thread thread = new Thread(r,"Replay Verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method verifies a claim on the calling thread.
+     * @param claim The claim to be verified.
+     * @return A boolean to signal if the claim was confirmed by its replay is returned.
+     */
+    public boolean verify(ScoreClaim claim) {
+        long[] shown = {-1,-1,-1}; //the update cycle, score and time of the last highscore of the level shown
+        ReplayPlayer[] player = new ReplayPlayer[1];
+        player[0] = new ReplayPlayer(claim.getReplay(),new GameListener() {
+            @Override
+            public void showScoreBoard(int level, int[][] scoreAndTime) {
+                if(level == claim.getLevel()) {
+                    shown[0] = player[0].getSimulation().getTick();
+                    shown[1] = scoreAndTime[level][0];
+                    shown[2] = scoreAndTime[level][1];
+                }
+            }
+        });
+        try {
+            ticks.addAndGet(player[0].run());
+        }
+        catch (RuntimeException e) { //a broken replay cannot confirm anything
+            e.printStackTrace();
+            return false;
+        }
+        return shown[0] == claim.getReplay().getLength() - 1 && shown[1] == claim.getScore() && shown[2] == claim.getTime();
+    }
+
+    /**
+     * This method verifies a claim on the pool of threads.
+     * @param claim The claim to be verified.
+     * @return A future which is completed with the outcome of the claim is returned.
+     */
+    public CompletableFuture<Boolean> submit(ScoreClaim claim) {
+        return CompletableFuture.supplyAsync(() -> verify(claim),pool);
+    }
+
+    /**
+     * This method verifies a batch of claims on the pool of threads and waits for all of them.
+     * @param claims The claims to be verified.
+     * @return The report of the batch is returned, with the outcomes in the order of the claims.
+     * @throws InterruptedException If the thread is interrupted while waiting for the claims.
+     */
+    public VerificationReport verifyAll(List<ScoreClaim> claims) throws InterruptedException {
+        List<Callable<Boolean>> tasks = new ArrayList<>(claims.size());
+        double gameTime = 0;
+        for(ScoreClaim claim : claims) {
+            tasks.add(() -> verify(claim));
+            gameTime += claim.getReplay().getLength() / (double) claim.getReplay().getTickRate();
+        }
+
+        long startTicks = ticks.get();
+        long start = System.nanoTime();
+        boolean[] verified = new boolean[claims.size()];
+        int i = 0;
+        for(Future<Boolean> future : pool.invokeAll(tasks)) {
+            try {
+                verified[i++] = future.get();
+            }
+            catch (ExecutionException e) {
+                throw new IllegalStateException("A replay failed to play",e.getCause());
+            }
+        }
+        return new VerificationReport(verified,ticks.get() - startTicks,gameTime,System.nanoTime() - start);
+    }
+
+    /**
+     * This method returns the number of update cycles played back since the verifier was created.
+     * @return The number of update cycles played back is returned.
+     */
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    /**
+     * This method stops the threads of the verifier once the claims given so far are verified.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * This method verifies all the claim files in a folder and prints a report.
+     * @param args The folder of claim files, which is the folder of the saved highscores if not given, and the number
+     *             of threads, which is the number of cores if not given.
+     * @throws InterruptedException If the thread is interrupted while waiting for the claims.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        File folder = new File(args.length > 0 ? args[0] : CLAIM_FOLDER);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        File[] files = folder.listFiles((dir,name) -> name.endsWith(CLAIM_EXTENSION));
+        List<ScoreClaim> claims = new ArrayList<>();
+        List<File> loaded = new ArrayList<>();
+        if(files != null) {
+            for(File file : files) {
+                try {
+                    claims.add(ScoreClaim.load(file));
+                    loaded.add(file);
+                }
+                catch (IOException e) {
+                    System.out.println("Unreadable: " + file);
+                }
+            }
+        }
+
+        ReplayVerifier verifier = new ReplayVerifier(threads);
+        VerificationReport report = verifier.verifyAll(claims);
+        verifier.shutdown();
+        for(int i = 0; i < loaded.size(); i++)
+            if(!report.isVerified(i))
+                System.out.println("Rejected: " + loaded.get(i));
+        System.out.print(report);
+    }
+}
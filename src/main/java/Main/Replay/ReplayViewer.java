@@ -0,0 +1,63 @@
+package Main.Replay;
+
+import Main.MVC.BrickBreaker;
+import Main.MVC.GameBoard;
+import Main.MVC.GameEngine;
+import Main.MVC.GameListener;
+import Main.Others.GameSounds;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Public class ReplayViewer plays a replay file. By default the replay is shown in a window in real time through
+ * BrickBreaker. With the headless option, the replay is played as fast as possible without a window and the outcome
+ * of the game and the speed of the playback are printed.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class ReplayViewer {
+
+    /**
+     * This method plays a replay file.
+     * @param args The replay file, which is the file of the last game if not given, followed by "--headless" to play
+     *             the replay without a window.
+     * @throws IOException If the replay cannot be read or the game background image is not found.
+     */
+    public static void main(String[] args) throws IOException {
+        File file = new File(args.length > 0 ? args[0] : GameEngine.REPLAY_FILE);
+        InputReplay replay = InputReplay.load(file);
+        if(args.length > 1 && args[1].equals("--headless")) {
+            ReplayPlayer player = new ReplayPlayer(replay,GameListener.NONE);
+            long start = System.nanoTime();
+            long ticks = player.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            GameBoard gameBoard = player.getSimulation().getGameBoard();
+            System.out.printf("Replay: %s (%d bytes, %d inputs)%n",file,file.length(),replay.getInputCount());
+            System.out.printf("Level: %d, Score: %d, Ended: %b%n",gameBoard.getLevel(),gameBoard.getScore(0),gameBoard.isEnded());
+            System.out.printf("Played %d update cycles in %.3f s (%.0fx real time)%n",ticks,seconds,
+                    ticks / (double) replay.getTickRate() / seconds);
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Replay - " + file.getName());
+            try {
+                frame.add(new BrickBreaker(frame,replay,new GameSounds()),BorderLayout.CENTER);
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+            frame.setResizable(false);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        });
+    }
+}
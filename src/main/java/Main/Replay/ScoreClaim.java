@@ -0,0 +1,130 @@
+package Main.Replay;
+
+import java.io.*;
+
+/**
+ * Public class ScoreClaim is a highscore claimed by a player together with the replay of the game which reached it.
+ * The replay ends at the update cycle where the highscore was shown, so a ReplayVerifier can play the replay back and
+ * check that the game really reached the claimed score and time. A claim file holds the level, score and time
+ * followed by the replay.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class ScoreClaim {
+
+    /**
+     * The level number of the highscore, or 0 for the highscore of the whole game.
+     */
+    private final int level;
+    /**
+     * The claimed score.
+     */
+    private final int score;
+    /**
+     * The claimed time in seconds.
+     */
+    private final int time;
+    /**
+     * The replay of the game which reached the highscore.
+     */
+    private final InputReplay replay;
+
+    /**
+     * This constructor creates a claim.
+     * @param level The level number of the highscore, or 0 for the highscore of the whole game.
+     * @param score The claimed score.
+     * @param time The claimed time in seconds.
+     * @param replay The replay of the game which reached the highscore.
+     */
+    public ScoreClaim(int level, int score, int time, InputReplay replay) {
+        this.level = level;
+        this.score = score;
+        this.time = time;
+        this.replay = replay;
+    }
+
+    /**
+     * This method reads a claim from a stream.
+     * @param in The stream to read from.
+     * @return The claim read is returned.
+     * @throws IOException If the stream cannot be read or does not hold a claim.
+     */
+    public static ScoreClaim read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int level = data.readUnsignedByte();
+        int score = data.readInt();
+        int time = data.readInt();
+        return new ScoreClaim(level,score,time,InputReplay.read(data));
+    }
+
+    /**
+     * This method reads a claim from a file.
+     * @param file The file to read from.
+     * @return The claim read is returned.
+     * @throws IOException If the file cannot be read or does not hold a claim.
+     */
+    public static ScoreClaim load(File file) throws IOException {
+        try(InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * This method writes the claim to a stream.
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeByte(level);
+        data.writeInt(score);
+        data.writeInt(time);
+        replay.write(data);
+        data.flush();
+    }
+
+    /**
+     * This method writes the claim to a file.
+     * @param file The file to write to.
+     * @throws IOException If the file cannot be written to.
+     */
+    public void save(File file) throws IOException {
+        try(OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(out);
+        }
+    }
+
+    /**
+     * This method returns the level number of the highscore.
+     * @return The level number is returned, or 0 for the highscore of the whole game.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * This method returns the claimed score.
+     * @return The claimed score is returned.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * This method returns the claimed time.
+     * @return The claimed time in seconds is returned.
+     */
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * This method returns the replay of the game which reached the highscore.
+     * @return The replay is returned.
+     */
+    public InputReplay getReplay() {
+        return replay;
+    }
+}
@@ -0,0 +1,79 @@
+package Main.Replay;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Public class VarInts writes and reads numbers as variable length integers. Each byte holds 7 bits of the number,
+ * starting from the lowest bits, and the top bit of a byte is set if more bytes follow. Small numbers such as the
+ * number of update cycles between two inputs take a single byte. Signed numbers are zigzag encoded first, so small
+ * negative numbers are also short.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public final class VarInts {
+
+    /**
+     * This constructor is private as the class only holds static methods.
+     */
+    private VarInts() {
+    }
+
+    /**
+     * This method writes a number which is not negative.
+     * @param out The stream to write to.
+     * @param value The number to be written.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static void write(OutputStream out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * This method writes a number which may be negative.
+     * @param out The stream to write to.
+     * @param value The number to be written.
+     * @throws IOException If the stream cannot be written to.
+     */
+    public static void writeSigned(OutputStream out, long value) throws IOException {
+        write(out,(value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * This method reads a number which is not negative.
+     * @param in The stream to read from.
+     * @return The number read is returned.
+     * @throws IOException If the stream ends in the middle of the number or the number is too long.
+     */
+    public static long read(InputStream in) throws IOException {
+        long value = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if(b < 0)
+                throw new EOFException("stream ends inside a number");
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("number is longer than 64 bits");
+    }
+
+    /**
+     * This method reads a number which may be negative.
+     * @param in The stream to read from.
+     * @return The number read is returned.
+     * @throws IOException If the stream ends in the middle of the number or the number is too long.
+     */
+    public static long readSigned(InputStream in) throws IOException {
+        long value = read(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
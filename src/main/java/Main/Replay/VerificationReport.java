@@ -0,0 +1,106 @@
+package Main.Replay;
+
+/**
+ * Public class VerificationReport sums up the verification of a batch of highscore claims. It reports which claims
+ * were confirmed by their replays and how fast the replays were played back.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class VerificationReport {
+
+    /**
+     * The outcome of each claim in the order the claims were given.
+     */
+    private final boolean[] verified;
+    /**
+     * The number of update cycles played back over all the replays.
+     */
+    private final long totalTicks;
+    /**
+     * The game time played back over all the replays in seconds.
+     */
+    private final double gameTime;
+    /**
+     * The time taken to verify all the claims in nanoseconds.
+     */
+    private final long wallTime;
+
+    /**
+     * This constructor creates the report of a batch of claims.
+     * @param verified The outcome of each claim in the order the claims were given.
+     * @param totalTicks The number of update cycles played back over all the replays.
+     * @param gameTime The game time played back over all the replays in seconds.
+     * @param wallTime The time taken to verify all the claims in nanoseconds.
+     */
+    public VerificationReport(boolean[] verified, long totalTicks, double gameTime, long wallTime) {
+        this.verified = verified;
+        this.totalTicks = totalTicks;
+        this.gameTime = gameTime;
+        this.wallTime = wallTime;
+    }
+
+    /**
+     * This method checks if a claim was confirmed by its replay.
+     * @param index The index of the claim.
+     * @return A boolean to signal if the claim was confirmed is returned.
+     */
+    public boolean isVerified(int index) {
+        return verified[index];
+    }
+
+    /**
+     * This method returns the number of claims in the batch.
+     * @return The number of claims is returned.
+     */
+    public int getClaims() {
+        return verified.length;
+    }
+
+    /**
+     * This method returns the number of claims confirmed by their replays.
+     * @return The number of confirmed claims is returned.
+     */
+    public int getVerified() {
+        int count = 0;
+        for(boolean ok : verified)
+            if(ok)
+                count++;
+        return count;
+    }
+
+    /**
+     * This method returns the number of update cycles played back over all the replays.
+     * @return The total number of update cycles is returned.
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * This method returns the number of claims verified in one second of real time.
+     * @return The number of claims verified in one second is returned.
+     */
+    public double getClaimsPerSecond() {
+        return wallTime == 0 ? 0 : verified.length * 1e9 / wallTime;
+    }
+
+    /**
+     * This method returns how many times faster than real time the replays were played back.
+     * @return The ratio of game time to real time is returned.
+     */
+    public double getSpeedUp() {
+        return wallTime == 0 ? 0 : gameTime * 1e9 / wallTime;
+    }
+
+    /**
+     * This method returns the report as text.
+     * @return The report is returned as a String.
+     */
+    @Override
+    public String toString() {
+        return String.format("Claims: %d  Verified: %d  Rejected: %d%n",verified.length,getVerified(),verified.length - getVerified()) +
+                String.format("Ticks: %d  Wall Time: %.2f s  Claims/s: %.1f  Speed: %.0fx real time%n",totalTicks,wallTime / 1e9,getClaimsPerSecond(),getSpeedUp());
+    }
+}
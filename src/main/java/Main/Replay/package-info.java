@@ -0,0 +1,9 @@
+/**
+ * This package holds the java files used to record, play back and verify games. A game only depends on its seed and
+ * the inputs of the player, so ReplayRecorder writes the seed and settings of the game followed by the inputs into a
+ * compact binary replay, which InputReplay reads back. ReplayPlayer feeds the inputs of a replay into a new game, either
+ * once per update cycle to watch the replay or as fast as possible, and ReplayViewer plays a replay file. A ScoreClaim
+ * is a highscore with the replay which reached it, and ReplayVerifier plays the replays of claims back on a pool of
+ * threads to confirm them, summed up in a VerificationReport. VarInts encodes the numbers of the replay.
+ */
+package Main.Replay;
\ No newline at end of file
@@ -1,5 +1,8 @@
 package Main.Scores;
 
+import Main.Replay.ReplayVerifier;
+import Main.Replay.ScoreClaim;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -19,7 +22,8 @@ import java.util.StringTokenizer;
  * Public class ScoreBoard is responsible for showing the list of highscores for that level at the end of every
  * level and also the highscores for the whole game at the end of the game. The player score, time and category
  * are listed and the player is prompted to enter their name to save their achievement. A new object is created
- * at the end of each level and at the end of the game.
+ * at the end of each level and at the end of the game. The score is verified by playing back the replay of the
+ * game on a background thread, and can only be saved once the replay confirms it.
  *
  * @author TanZhunXian
  * @version 1.0
@@ -36,6 +40,10 @@ public class ScoreBoard extends JDialog implements ActionListener {
      * Title string.
      */
     private static final String TITLE = "Highscore Board";
+    /**
+     * ReplayVerifier shared by all the ScoreBoards to verify the scores in the background.
+     */
+    private static final ReplayVerifier VERIFIER = new ReplayVerifier(Runtime.getRuntime().availableProcessors());
     /**
      * Array of strings to hold the different categories for the whole game.
      */
@@ -73,6 +81,10 @@ public class ScoreBoard extends JDialog implements ActionListener {
      * Integer to get current level number.
      */
     private final int level;
+    /**
+     * The claimed score with the replay of the game, or null if the game was not recorded.
+     */
+    private final ScoreClaim claim;
 
     /**
      * This constructor is used to load and display highscores for each level after the level is completed and
@@ -84,10 +96,12 @@ public class ScoreBoard extends JDialog implements ActionListener {
      * @param level Integer to get current level number.
      * @param scoreAndTime Double array of integers to record player time and score for each level and the whole game.
      * @param choice Double array of integers to get player choice to generate level category.
+     * @param claim The claimed score with the replay of the game, or null if the game was not recorded, in which
+     *              case the score cannot be saved.
      * @throws FileNotFoundException This constructor throws FileNotFoundException when the highscore list for
      *                               that level does not exist.
      */
-    public ScoreBoard(JFrame owner, int level, int[][] scoreAndTime, int[][] choice) throws FileNotFoundException {
+    public ScoreBoard(JFrame owner, int level, int[][] scoreAndTime, int[][] choice, ScoreClaim claim) throws FileNotFoundException {
 
         String[] column = {"Ranking","Name","Category","Time","Score"};
 
@@ -97,6 +111,7 @@ public class ScoreBoard extends JDialog implements ActionListener {
         this.choice = choice;
         this.scoreAndTime = scoreAndTime;
         this.level = level;
+        this.claim = claim;
 
         Load(newScore,level);
         newScore.sort(new ScoreComp());
@@ -202,11 +217,52 @@ public class ScoreBoard extends JDialog implements ActionListener {
         constraints.gridy = 8;
         this.add(saveName,constraints);
 
+        verifyScore();
+
         this.setSize(450,300);
         this.pack();
         this.setVisible(true);
     }
 
+    /**
+     * This method verifies the score by playing back the replay of the game on a background thread. The Save button is
+     * disabled until the replay confirms the score, so only verified scores are written to the highscore list.
+     */
+    private void verifyScore() {
+        saveName.setEnabled(false);
+        if(claim == null) {
+            name.setText("Score cannot be saved without a replay.");
+            getName.setEnabled(false);
+            return;
+        }
+        name.setText("Verifying score...");
+        VERIFIER.submit(claim).thenAccept(verified -> SwingUtilities.invokeLater(() -> {
+            if(verified) {
+                name.setText("Please enter username. (Max 8 characters)");
+                saveName.setEnabled(true);
+            }
+            else {
+                name.setText("Score could not be verified.");
+                getName.setEnabled(false);
+            }
+        }));
+    }
+
+    /**
+     * This method saves the claimed score with its replay next to the highscore list, so the highscores can be
+     * verified again later.
+     */
+    private void saveClaim() {
+        File folder = new File(ReplayVerifier.CLAIM_FOLDER);
+        folder.mkdirs();
+        try {
+            claim.save(new File(folder,"highscore" + level + "_" + System.currentTimeMillis() + ReplayVerifier.CLAIM_EXTENSION));
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * This method is used to load the highscore lists into linked lists so that the top 10 highscores for each
      * level and the total highscore for the game can be shown.
@@ -437,6 +493,7 @@ public class ScoreBoard extends JDialog implements ActionListener {
             } catch (IOException ex) {
                 ex.printStackTrace();
             }
+            saveClaim();
             saveName.setEnabled(false);
             getName.setEnabled(false);
         }
@@ -0,0 +1,96 @@
+package Main.Simulation;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameSimulation;
+import Main.Models.Ball;
+import Main.Models.BallPool;
+import Main.Models.Player;
+
+/**
+ * Public class Autopilot plays a headless game in place of a player so that games can be simulated to the end. Before
+ * every update cycle, the autopilot finds the ball in play which will reach the side of the player first, works out
+ * where it will cross the line of the player after bouncing off the side borders and moves the player towards that
+ * point. No objects are created while playing.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class Autopilot {
+
+    /**
+     * The distance from the target within which the player stops moving.
+     */
+    private static final int DEAD_ZONE = 5;
+
+    /**
+     * The game played by the autopilot.
+     */
+    private final GameSimulation simulation;
+    /**
+     * The width of the game screen used to work out the bounces of the balls off the side borders.
+     */
+    private final int width;
+
+    /**
+     * This constructor creates an autopilot for a headless game.
+     * @param simulation The game to be played.
+     * @param width The width of the game screen.
+     */
+    public Autopilot(GameSimulation simulation, int width) {
+        this.simulation = simulation;
+        this.width = width;
+    }
+
+    /**
+     * This method moves the player towards the point where the next ball will reach the line of the player. If no
+     * ball is moving towards the player, the player follows the first ball in play.
+     */
+    public void step() {
+        GameBoard gameBoard = simulation.getGameBoard();
+        BallPool balls = gameBoard.getBalls();
+        Player player = gameBoard.getPlayer();
+        if(balls.getActive() == 0) {
+            simulation.stop();
+            return;
+        }
+
+        boolean bottom = gameBoard.getChoice()[gameBoard.getLevel()-1][9] == 0;
+        double line = bottom ? player.getY() : player.getY() + player.getPlayerFace().getHeight();
+        double target = balls.get(0).getX();
+        double first = Double.MAX_VALUE;
+
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            double speedY = ball.getSpeedY();
+            if(speedY == 0 || (speedY > 0) != bottom) //ball moving away from the player
+                continue;
+            double time = (line - ball.getY()) / speedY;
+            if(time >= 0 && time < first) {
+                first = time;
+                target = fold(ball.getX() + ball.getSpeedX() * time);
+            }
+        }
+
+        if(target > player.getX() + DEAD_ZONE)
+            simulation.moveRight();
+        else if(target < player.getX() - DEAD_ZONE)
+            simulation.moveLeft();
+        else
+            simulation.stop();
+    }
+
+    /**
+     * This method folds a horizontal position back into the game screen as if the ball bounced off the side borders.
+     * @param x The horizontal position, which may be outside the game screen.
+     * @return The horizontal position inside the game screen is returned.
+     */
+    private double fold(double x) {
+        double radius = GameBoard.BALL_DIAMETER / 2.0;
+        double span = width - 2 * radius;
+        double t = (x - radius) % (2 * span);
+        if(t < 0)
+            t += 2 * span;
+        return radius + (t <= span ? t : 2 * span - t);
+    }
+}
@@ -0,0 +1,103 @@
+package Main.Simulation;
+
+/**
+ * Public class GameResult holds the outcome of a single simulated game, such as the number of update cycles played,
+ * whether all the levels were cleared and the total score.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class GameResult {
+
+    /**
+     * The seed of the randomizer of the game.
+     */
+    private final long seed;
+    /**
+     * The number of update cycles played.
+     */
+    private final int ticks;
+    /**
+     * The flag to see if all the levels were cleared.
+     */
+    private final boolean completed;
+    /**
+     * The level reached.
+     */
+    private final int level;
+    /**
+     * The total score at the end of the game.
+     */
+    private final int score;
+    /**
+     * The number of times all the balls were lost.
+     */
+    private final int gameOvers;
+
+    /**
+     * This constructor creates the result of a game.
+     * @param seed The seed of the randomizer of the game.
+     * @param ticks The number of update cycles played.
+     * @param completed The flag to see if all the levels were cleared.
+     * @param level The level reached.
+     * @param score The total score at the end of the game.
+     * @param gameOvers The number of times all the balls were lost.
+     */
+    public GameResult(long seed, int ticks, boolean completed, int level, int score, int gameOvers) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.completed = completed;
+        this.level = level;
+        this.score = score;
+        this.gameOvers = gameOvers;
+    }
+
+    /**
+     * This method returns the seed of the randomizer of the game, which can be used to play the game again.
+     * @return The seed of the game is returned.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * This method returns the number of update cycles played.
+     * @return The number of update cycles is returned.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * This method returns the flag to see if all the levels were cleared.
+     * @return The flag to see if the game was completed is returned.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * This method returns the level reached.
+     * @return The level reached is returned.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * This method returns the total score at the end of the game.
+     * @return The total score is returned.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * This method returns the number of times all the balls were lost.
+     * @return The number of game overs is returned.
+     */
+    public int getGameOvers() {
+        return gameOvers;
+    }
+}
@@ -0,0 +1,161 @@
+package Main.Simulation;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameBoardController;
+import Main.MVC.GameEventQueue;
+import Main.MVC.GameListener;
+import Main.MVC.GameRandom;
+import Main.MVC.GameSimulation;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Public class SimulationFarm plays many independent headless games at once to balance the custom levels. Each game
+ * has its own GameBoard, controller and randomizer and is played by an Autopilot until all the levels are cleared or
+ * a time limit is reached. The games are spread over a fixed pool of threads, one per core by default. The seed of
+ * every game is drawn from a single batch seed before the games start, so a batch gives the same results however the
+ * threads are scheduled.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class SimulationFarm {
+
+    /**
+     * The names of the level types in the CustomConsole.
+     */
+    private static final String[] LEVEL_TYPES = {"Default","True Ordered","Ordered (Max)","Ordered (Mid)","Ordered (Min)","Random (Min)","Random (Mid)","Random (Max)","True Random"};
+
+    /**
+     * The choices of the CustomConsole used to make the levels of every game.
+     */
+    private final int[][] choice;
+    /**
+     * The dimensions of the game screen.
+     */
+    private final Dimension area;
+    /**
+     * The number of update cycles in one second of game time.
+     */
+    private final int tickRate;
+    /**
+     * The most update cycles a game is played for.
+     */
+    private final int maxTicks;
+
+    /**
+     * This constructor creates a farm to play games with the given choices.
+     * @param choice The choices of the CustomConsole used to make the levels of every game.
+     * @param area The dimensions of the game screen.
+     * @param tickRate The number of update cycles in one second of game time.
+     * @param maxTicks The most update cycles a game is played for.
+     */
+    public SimulationFarm(int[][] choice, Dimension area, int tickRate, int maxTicks) {
+        this.choice = choice;
+        this.area = area;
+        this.tickRate = tickRate;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * This method plays a single game with the autopilot until all the levels are cleared or the time limit is
+     * reached. The game is resumed whenever it is paused.
+     * @param seed The seed of the randomizer of the game.
+     * @return The result of the game is returned.
+     */
+    public GameResult play(long seed) {
+        int[][] levels = new int[choice.length][];
+        for(int i = 0; i < choice.length; i++)
+            levels[i] = choice[i].clone(); //each game has its own choices
+
+        GameSimulation simulation = new GameSimulation(levels,area,GameListener.NONE,tickRate,seed);
+        int[] gameOvers = new int[1];
+        simulation.getController().getEvents().subscribe((type, first, second) -> {
+            if(type == GameEventQueue.GAME_OVER)
+                gameOvers[0]++;
+        });
+        GameBoard gameBoard = simulation.getGameBoard();
+        Autopilot autopilot = new Autopilot(simulation,area.width);
+
+        int ticks = 0;
+        while(ticks < maxTicks && !gameBoard.isEnded()) {
+            if(!gameBoard.isNotPaused())
+                simulation.getController().reversePauseFlag();
+            autopilot.step();
+            simulation.update();
+            ticks++;
+        }
+        return new GameResult(seed,ticks,gameBoard.isEnded(),gameBoard.getLevel(),gameBoard.getScore(0),gameOvers[0]);
+    }
+
+    /**
+     * This method plays a batch of games on a fixed pool of threads and waits for all of them to finish.
+     * @param games The number of games to play.
+     * @param seed The seed used to draw the seeds of the games.
+     * @param threads The number of threads to play the games on.
+     * @return The report of the batch is returned, with the results in the order the games were started.
+     * @throws InterruptedException If the thread is interrupted while waiting for the games.
+     */
+    public SimulationReport run(int games, long seed, int threads) throws InterruptedException {
+        GameRandom seeds = new GameRandom(seed);
+        List<Callable<GameResult>> tasks = new ArrayList<>(games);
+        for(int i = 0; i < games; i++) {
+            long gameSeed = seeds.nextLong();
+            tasks.add(() -> play(gameSeed));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<GameResult> results = new ArrayList<>(games);
+            for(Future<GameResult> future : pool.invokeAll(tasks))
+                results.add(future.get());
+            return new SimulationReport(results,System.nanoTime() - start,tickRate);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A simulated game failed",e.getCause());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * This method plays a batch of games for every level type of the CustomConsole and prints a report for each. All
+     * 5 levels of a game use the level type, with 3 rows of 8 bricks of all 4 brick types.
+     * @param args The number of games for each level type, the time limit of a game in seconds of game time, the
+     *             number of threads and the batch seed, all of which are optional.
+     * @throws InterruptedException If the thread is interrupted while waiting for the games.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3600;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        int tickRate = GameBoardController.BASE_TICK_RATE;
+
+        for(int type = 0; type < LEVEL_TYPES.length; type++) {
+            int[][] choice = new int[GameBoard.LEVELS_COUNT][12];
+            for(int[] level : choice) {
+                level[0] = type;
+                level[1] = 2; //3 rows
+                level[2] = 6; //8 bricks in a row
+                level[3] = 3; //4 brick types
+                level[5] = 1;
+                level[6] = 2;
+                level[7] = 3;
+            }
+            SimulationReport report = new SimulationFarm(choice,new Dimension(600,450),tickRate,seconds * tickRate).run(games,seed,threads);
+            System.out.println("Level Type: " + LEVEL_TYPES[type]);
+            System.out.println(report);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package Main.Simulation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Public class SimulationReport sums up the results of a batch of simulated games. It reports how fast the games were
+ * simulated, how many games cleared all the levels, how long they took in game time and how the scores are spread.
+ *
+ * @author TanZhunXian
+ * @version 1.0
+ * @since 28/11/2021
+ */
+public class SimulationReport {
+
+    /**
+     * The results of the games in the order they were started.
+     */
+    private final List<GameResult> results;
+    /**
+     * The time taken to simulate all the games in nanoseconds.
+     */
+    private final long wallTime;
+    /**
+     * The number of update cycles in one second of game time.
+     */
+    private final int tickRate;
+
+    /**
+     * This constructor creates the report of a batch of games.
+     * @param results The results of the games.
+     * @param wallTime The time taken to simulate all the games in nanoseconds.
+     * @param tickRate The number of update cycles in one second of game time.
+     */
+    public SimulationReport(List<GameResult> results, long wallTime, int tickRate) {
+        this.results = Collections.unmodifiableList(results);
+        this.wallTime = wallTime;
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * This method returns the results of the games in the order they were started.
+     * @return The results of the games are returned.
+     */
+    public List<GameResult> getResults() {
+        return results;
+    }
+
+    /**
+     * This method returns the number of update cycles of all the games.
+     * @return The total number of update cycles is returned.
+     */
+    public long getTotalTicks() {
+        long total = 0;
+        for(GameResult result : results)
+            total += result.getTicks();
+        return total;
+    }
+
+    /**
+     * This method returns the number of update cycles simulated in one second of real time over all the games.
+     * @return The number of update cycles simulated in one second is returned.
+     */
+    public double getTicksPerSecond() {
+        return wallTime == 0 ? 0 : getTotalTicks() * 1e9 / wallTime;
+    }
+
+    /**
+     * This method returns the number of games which cleared all the levels.
+     * @return The number of completed games is returned.
+     */
+    public int getCompleted() {
+        int completed = 0;
+        for(GameResult result : results)
+            if(result.isCompleted())
+                completed++;
+        return completed;
+    }
+
+    /**
+     * This method returns the sorted game times in seconds of the games which cleared all the levels.
+     * @return The sorted completion times are returned.
+     */
+    public double[] getCompletionTimes() {
+        double[] times = new double[getCompleted()];
+        int i = 0;
+        for(GameResult result : results)
+            if(result.isCompleted())
+                times[i++] = (double) result.getTicks() / tickRate;
+        Arrays.sort(times);
+        return times;
+    }
+
+    /**
+     * This method returns the sorted total scores of all the games.
+     * @return The sorted scores are returned.
+     */
+    public double[] getScores() {
+        double[] scores = new double[results.size()];
+        for(int i = 0; i < scores.length; i++)
+            scores[i] = results.get(i).getScore();
+        Arrays.sort(scores);
+        return scores;
+    }
+
+    /**
+     * This method returns a percentile of sorted values using the nearest rank.
+     * @param sorted The sorted values.
+     * @param percent The percentile from 0 to 100.
+     * @return The value at the percentile is returned, or 0 if there are no values.
+     */
+    public static double percentile(double[] sorted, double percent) {
+        if(sorted.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(percent / 100 * sorted.length);
+        return sorted[Math.max(0,Math.min(sorted.length - 1,rank - 1))];
+    }
+
+    /**
+     * This method returns the mean of the values.
+     * @param values The values.
+     * @return The mean of the values is returned, or 0 if there are no values.
+     */
+    public static double mean(double[] values) {
+        double total = 0;
+        for(double value : values)
+            total += value;
+        return values.length == 0 ? 0 : total / values.length;
+    }
+
+    /**
+     * This method returns the report as lines of text.
+     * @return The report is returned as text.
+     */
+    @Override
+    public String toString() {
+        double[] times = getCompletionTimes();
+        double[] scores = getScores();
+        return String.format("Games: %d  Ticks: %d  Ticks/s: %.0f  Wall Time: %.2f s%n",results.size(),getTotalTicks(),getTicksPerSecond(),wallTime / 1e9) +
+                String.format("Completed: %d (%.1f%%)%n",times.length,results.isEmpty() ? 0 : 100.0 * times.length / results.size()) +
+                String.format("Completion Time (s): min %.1f  p50 %.1f  p90 %.1f  max %.1f  mean %.1f%n",percentile(times,0),percentile(times,50),percentile(times,90),percentile(times,100),mean(times)) +
+                String.format("Score: min %.0f  p10 %.0f  p50 %.0f  p90 %.0f  max %.0f  mean %.1f%n",percentile(scores,0),percentile(scores,10),percentile(scores,50),percentile(scores,90),percentile(scores,100),mean(scores));
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package holds the java files used to simulate many headless games at once. SimulationFarm plays batches of
+ * games on a pool of threads, Autopilot plays each game in place of a player and SimulationReport sums up the
+ * results of a batch.
+ */
+package Main.Simulation;
\ No newline at end of file
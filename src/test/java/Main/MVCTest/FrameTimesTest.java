@@ -0,0 +1,88 @@
+package Main.MVCTest;
+
+import Main.MVC.FrameTimes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FrameTimesTest tests to see if FrameTimes keeps the times of the last frames and works out their averages, the
+ * longest time taken to show a frame and how evenly the frames are paced.
+ */
+class FrameTimesTest {
+
+    /**
+     * FrameTimes used in the tests.
+     */
+    FrameTimes times;
+
+    /**
+     * New FrameTimes are created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        times = new FrameTimes();
+    }
+
+    /**
+     * The FrameTimes are cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        times = null;
+    }
+
+    /**
+     * This tests if the averages and the longest time are worked out from the recorded frames. Test returns true if
+     * the averages and the longest time match the times recorded.
+     */
+    @Test
+    void averages() {
+        assertEquals(0,times.getAverageRender());
+        times.record(1000,1500,2000);
+        times.record(3000,3200,5000);
+        assertEquals(2,times.size());
+        assertEquals(1150,times.getAverageRender());
+        assertEquals(1500,times.getAveragePresent());
+        assertEquals(2000,times.getMaxPresent());
+    }
+
+    /**
+     * This tests if evenly paced frames have no jitter and unevenly paced frames do. Test returns true if the jitter
+     * is 0 for frames shown every 8 milliseconds and the spread of the times between frames otherwise.
+     */
+    @Test
+    void jitter() {
+        for(int i = 1; i <= 10; i++)
+            times.record(i * 8_000_000L,i * 8_000_000L,i * 8_000_000L + 100);
+        assertEquals(0,times.getJitter());
+        times.clear();
+        long shown = 1_000_000;
+        for(int i = 0; i < 11; i++) {
+            shown += i % 2 == 0 ? 6_000_000 : 10_000_000;
+            times.record(shown,shown,shown);
+        }
+        assertEquals(2_000_000,times.getJitter());
+    }
+
+    /**
+     * This tests if only the last 120 frames are kept and clearing drops them. Test returns true if the old frames no
+     * longer count towards the averages and no frames are kept after clearing.
+     */
+    @Test
+    void window() {
+        for(int i = 0; i < 100; i++)
+            times.record(0,0,5000);
+        for(int i = 0; i < 120; i++)
+            times.record(0,0,1000);
+        assertEquals(120,times.size());
+        assertEquals(1000,times.getAverageRender());
+        assertEquals(1000,times.getMaxPresent());
+        times.clear();
+        assertEquals(0,times.size());
+        assertEquals(0,times.getMaxPresent());
+        assertEquals(0,times.getJitter());
+    }
+}
@@ -2,6 +2,7 @@ package Main.MVCTest;
 
 import Main.MVC.GameBoard;
 import Main.MVC.GameBoardController;
+import Main.MVC.SwingGameListener;
 import Main.Others.GameSounds;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,7 +37,7 @@ class GameBoardControllerTest {
     void setUp() {
         gameBoard = new GameBoard(new int[5][11],new Dimension(600,450));
         gameSounds = new GameSounds();
-        controller = new GameBoardController(null,gameBoard,gameSounds,new Dimension(600,450));
+        controller = new GameBoardController(gameBoard,new SwingGameListener(null,gameSounds,gameBoard.getChoice()),new Dimension(600,450));
     }
 
     /**
@@ -0,0 +1,225 @@
+package Main.MVCTest;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameBoardRenderer;
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+import Main.Models.BrickStore;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameBoardRendererTest tests to see if the brick layer kept by the GameBoardRenderer stays the same as a brick layer
+ * drawn from scratch while the bricks are broken, cracked and repaired. A new GameBoardRenderer, which draws every
+ * brick of the level, is used to check the frames drawn by a GameBoardRenderer which only redraws the changed bricks.
+ */
+class GameBoardRendererTest {
+
+    /**
+     * GameSimulation used in the tests.
+     */
+    GameSimulation simulation;
+    /**
+     * GameBoardRenderer which keeps its brick layers for the whole test.
+     */
+    GameBoardRenderer renderer;
+
+    /**
+     * A new true random game with a fixed seed and its renderer are created before every test.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        int[][] choice = new int[5][12];
+        for(int[] level : choice) {
+            level[0] = 8;
+            level[8] = 5;
+        }
+        simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,99);
+        renderer = new GameBoardRenderer(simulation.getGameBoard(),new Dimension(600,450));
+    }
+
+    /**
+     * The game and renderer are cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        simulation = null;
+        renderer = null;
+    }
+
+    /**
+     * This method draws a frame of the game.
+     * @param frameRenderer The renderer which draws the frame.
+     * @return The frame drawn is returned.
+     */
+    BufferedImage draw(GameBoardRenderer frameRenderer) {
+        BufferedImage frame = new BufferedImage(600,450,BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        frameRenderer.render(g2d,1);
+        g2d.dispose();
+        return frame;
+    }
+
+    /**
+     * This method checks that a frame drawn by the renderer is the same as a frame drawn by a new renderer.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    void assertSameFrame() throws IOException {
+        BufferedImage kept = draw(renderer);
+        BufferedImage fresh = draw(new GameBoardRenderer(simulation.getGameBoard(),new Dimension(600,450)));
+        for(int y = 0; y < 450; y++)
+            for(int x = 0; x < 600; x++)
+                assertEquals(fresh.getRGB(x,y),kept.getRGB(x,y),"pixel " + x + "," + y + " at tick " + simulation.getTick());
+    }
+
+    /**
+     * This tests if the frames stay the same as frames drawn from scratch while the game is played across levels.
+     * Test returns true if every checked frame is the same.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    @Test
+    void playedFrames() throws IOException {
+        Autopilot autopilot = new Autopilot(simulation,600);
+        int level = simulation.getGameBoard().getLevel();
+        for(int i = 0; i < 6000 && !simulation.getGameBoard().isEnded(); i++) {
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            autopilot.step();
+            simulation.update();
+            draw(renderer);
+            if(i % 500 == 0 || simulation.getGameBoard().getLevel() != level) {
+                level = simulation.getGameBoard().getLevel();
+                assertSameFrame();
+            }
+        }
+        assertTrue(simulation.getGameBoard().getScore(0) > 0);
+    }
+
+    /**
+     * This tests if bricks which are broken, cracked and repaired between frames are redrawn. Test returns true if
+     * each frame is the same as a frame drawn from scratch and the changes of the bricks are cleared.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    @Test
+    void changedBricks() throws IOException {
+        BrickStore bricks = simulation.getGameBoard().getBricks()[simulation.getGameBoard().getLevel()-1];
+        draw(renderer);
+        bricks.setBroken(3,true);
+        bricks.setBroken(bricks.size() - 1,true);
+        assertSameFrame();
+        assertFalse(bricks.hasChanged());
+
+        int x = bricks.getX(5), y = bricks.getY(5);
+        bricks.addCrack(5,new Line2D.Double(x,y,x + bricks.getWidth(5),y + bricks.getHeight(5)));
+        bricks.setBroken(6,true);
+        assertSameFrame();
+
+        bricks.repairAll();
+        assertSameFrame();
+    }
+
+    /**
+     * This tests if the game messages are drawn under the bricks. Test returns true if the messages change the frame,
+     * but not inside a brick placed over them.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    @Test
+    void messagesUnderBricks() throws IOException {
+        GameBoard gameBoard = simulation.getGameBoard();
+        BrickStore bricks = gameBoard.getBricks()[gameBoard.getLevel()-1];
+        int brick = bricks.add(bricks.getType(0),250,212,80,20);
+        for(int i = 0; i < 6; i++)
+            gameBoard.setGameMessages(i,"#".repeat(30));
+        BufferedImage shown = draw(renderer);
+        for(int i = 0; i < 6; i++)
+            gameBoard.setGameMessages(i,null);
+        BufferedImage hidden = draw(renderer);
+
+        for(int y = 212; y <= 232; y++)
+            for(int x = 250; x <= 330; x++)
+                assertEquals(hidden.getRGB(x,y),shown.getRGB(x,y),"pixel " + x + "," + y + " of brick " + brick);
+        boolean changed = false;
+        for(int y = 205; y < 310 && !changed; y++)
+            for(int x = 210; x < 600 && !changed; x++)
+                changed = hidden.getRGB(x,y) != shown.getRGB(x,y);
+        assertTrue(changed);
+    }
+
+    /**
+     * This tests if changes far apart are kept in separate dirty regions. Test returns true if the first regions cover
+     * the whole screen, and two bricks broken at opposite sides of the screen are each covered by a small region
+     * instead of one region spanning the screen.
+     */
+    @Test
+    void separateRegions() {
+        assertEquals(List.of(new Rectangle(0,0,600,450)),renderer.getDirtyRegions());
+        BrickStore bricks = simulation.getGameBoard().getBricks()[simulation.getGameBoard().getLevel()-1];
+        int last = bricks.size() - 1;
+        bricks.setBroken(0,true);
+        bricks.setBroken(last,true);
+        List<Rectangle> dirty = renderer.getDirtyRegions();
+        Rectangle first = null, second = null;
+        for(Rectangle region : dirty) {
+            if(region.contains(Math.max(bricks.getX(0),0),bricks.getY(0)))
+                first = region;
+            if(region.contains(Math.min(bricks.getX(last) + bricks.getWidth(last),599),bricks.getY(last)))
+                second = region;
+        }
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first,second);
+        assertTrue(first.width < 100 && second.width < 100);
+    }
+
+    /**
+     * This tests if a screen repainted only inside the dirty regions stays the same as frames drawn from scratch while
+     * the game is played. Each region is repainted on its own, as Swing would for each repaint. Test returns true if
+     * every checked screen is the same, the regions never overlap and the regions of most frames cover under a
+     * quarter of the screen.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    @Test
+    void dirtyRegions() throws IOException {
+        Autopilot autopilot = new Autopilot(simulation,600);
+        BufferedImage screen = new BufferedImage(600,450,BufferedImage.TYPE_INT_RGB);
+        int small = 0;
+        for(int i = 0; i < 3000 && !simulation.getGameBoard().isEnded(); i++) {
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            autopilot.step();
+            simulation.update();
+            List<Rectangle> dirty = renderer.getDirtyRegions();
+            int covered = 0;
+            for(int j = 0; j < dirty.size(); j++) {
+                Rectangle region = dirty.get(j);
+                covered += region.width * region.height;
+                for(int k = 0; k < j; k++)
+                    assertFalse(region.intersects(dirty.get(k)),"overlapping regions at tick " + i);
+                Graphics2D g2d = screen.createGraphics();
+                g2d.setClip(region);
+                renderer.render(g2d,1);
+                g2d.dispose();
+            }
+            if(covered < 600 * 450 / 4)
+                small++;
+            if(i % 250 == 0) {
+                BufferedImage fresh = draw(new GameBoardRenderer(simulation.getGameBoard(),new Dimension(600,450)));
+                for(int y = 0; y < 450; y++)
+                    for(int x = 0; x < 600; x++)
+                        assertEquals(fresh.getRGB(x,y),screen.getRGB(x,y),"pixel " + x + "," + y + " at tick " + i);
+            }
+        }
+        assertTrue(small > 1500,small + " small regions");
+    }
+}
@@ -0,0 +1,136 @@
+package Main.MVCTest;
+
+import Main.MVC.GameEventQueue;
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameEventQueueTest tests to see if the GameEventQueue hands the events emitted during an update cycle to every
+ * subscriber in order once the update cycle is done, and if the GameBoardController emits the events of a game.
+ */
+class GameEventQueueTest {
+
+    /**
+     * GameEventQueue used in the tests.
+     */
+    GameEventQueue events;
+    /**
+     * The events handed to the subscriber, each written as type, first value and second value.
+     */
+    List<String> received;
+
+    /**
+     * A new GameEventQueue with a subscriber which writes down the events is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        events = new GameEventQueue();
+        received = new ArrayList<>();
+        events.subscribe((type, first, second) -> received.add(type + " " + first + " " + second));
+    }
+
+    /**
+     * The GameEventQueue is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        events = null;
+        received = null;
+    }
+
+    /**
+     * This tests if the events are only handed out when the queue is drained. Test returns true if the events are
+     * handed out in the order they were emitted and the queue is empty afterwards.
+     */
+    @Test
+    void drain() {
+        events.emit(GameEventQueue.BRICK_DAMAGED,3,1);
+        events.emit(GameEventQueue.BALL_LOST,2,0);
+        assertEquals(2,events.size());
+        assertTrue(received.isEmpty());
+        events.drain();
+        assertEquals(List.of("1 3 1","4 2 0"),received);
+        assertEquals(0,events.size());
+        events.drain();
+        assertEquals(2,received.size());
+    }
+
+    /**
+     * This tests if the queue grows when more events are emitted than it can hold. Test returns true if all the
+     * events are handed out in order.
+     */
+    @Test
+    void grow() {
+        for(int i = 0; i < 1000; i++)
+            events.emit(GameEventQueue.BALL_BOUNCED,i,0);
+        events.drain();
+        assertEquals(1000,received.size());
+        for(int i = 0; i < 1000; i++)
+            assertEquals("0 " + i + " 0",received.get(i));
+    }
+
+    /**
+     * This tests if the events emitted by a subscriber are handed out in the same drain, and if draining again from a
+     * subscriber does nothing. Test returns true if every subscriber sees every event once and in order.
+     */
+    @Test
+    void emitWhileDraining() {
+        List<Integer> second = new ArrayList<>();
+        events.subscribe((type, first, value) -> {
+            second.add(type);
+            if(type == GameEventQueue.LEVEL_CLEARED)
+                events.emit(GameEventQueue.GAME_PAUSED,0,0);
+            events.drain();
+        });
+        events.emit(GameEventQueue.LEVEL_CLEARED,1,1);
+        events.emit(GameEventQueue.BRICK_BROKEN,5,10);
+        events.drain();
+        assertEquals(List.of("5 1 1","3 5 10","9 0 0"),received);
+        assertEquals(List.of(5,3,9),second);
+        assertEquals(0,events.size());
+    }
+
+    /**
+     * This tests if the GameBoardController emits the events of a game and hands them out after every update cycle.
+     * Test returns true if the bricks broken add up to the score, the balls bounce and the queue is always empty after
+     * an update cycle.
+     */
+    @Test
+    void gameEvents() {
+        int[][] choice = new int[5][12];
+        for(int[] level : choice)
+            level[0] = 8;
+        GameSimulation simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,99);
+        Autopilot autopilot = new Autopilot(simulation,600);
+        int[] counts = new int[11];
+        int[] score = new int[1];
+        simulation.getController().getEvents().subscribe((type, first, second) -> {
+            counts[type]++;
+            if(type == GameEventQueue.BRICK_BROKEN)
+                score[0] += second;
+        });
+
+        for(int i = 0; i < 3000 && counts[GameEventQueue.LEVEL_CLEARED] == 0; i++) {
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            autopilot.step();
+            simulation.update();
+            assertEquals(0,simulation.getController().getEvents().size());
+        }
+        assertTrue(counts[GameEventQueue.BALL_BOUNCED] > 0);
+        assertTrue(counts[GameEventQueue.BRICK_BROKEN] > 0);
+        assertTrue(counts[GameEventQueue.BRICK_DAMAGED] >= counts[GameEventQueue.BRICK_BROKEN]);
+        assertEquals(1,counts[GameEventQueue.GAME_RESUMED]);
+        assertEquals(simulation.getGameBoard().getScore(0),score[0]);
+    }
+}
@@ -0,0 +1,70 @@
+package Main.MVCTest;
+
+import Main.MVC.GameMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameMessageTest tests to see if the text of a game message is built correctly in its char buffer from words and
+ * numbers, and if the buffer is reused when the message is cleared.
+ */
+class GameMessageTest {
+
+    /**
+     * GameMessage object used in the tests.
+     */
+    GameMessage message;
+
+    /**
+     * A new game message is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        message = new GameMessage();
+    }
+
+    /**
+     * The game message is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        message = null;
+    }
+
+    /**
+     * This tests if numbers are appended the same way as String.format. Test returns true if the messages match.
+     */
+    @Test
+    void appendNumbers() {
+        message.append("Level ").append(3).append(" Time: ").append(7,2).append(":").append(125,2);
+        assertEquals(String.format("Level %d Time: %02d:%02d",3,7,125),message.toString());
+        message.clear().append(0).append(" ").append(-42).append(" ").append(Integer.MIN_VALUE);
+        assertEquals("0 -42 " + Integer.MIN_VALUE,message.toString());
+    }
+
+    /**
+     * This tests if clearing a message keeps its buffer. Test returns true if the same buffer holds the new message.
+     */
+    @Test
+    void clearReusesBuffer() {
+        message.append("Total Score: ").append(1000);
+        char[] buffer = message.getChars();
+        message.clear().append("Game over");
+        assertSame(buffer,message.getChars());
+        assertEquals(9,message.length());
+        assertEquals("Game over",message.toString());
+    }
+
+    /**
+     * This tests if the buffer grows for a long message. Test returns true if the whole message is kept.
+     */
+    @Test
+    void appendLongMessage() {
+        String text = "x".repeat(200);
+        message.append(text).append(5);
+        assertEquals(text + "5",message.toString());
+    }
+}
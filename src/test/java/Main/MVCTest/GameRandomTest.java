@@ -0,0 +1,99 @@
+package Main.MVCTest;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameRandomTest tests to see if the randomizer of a game gives the same values for the same seed, if its values are
+ * in range and evenly spread, and if split randomizers do not change each other.
+ */
+class GameRandomTest {
+
+    /**
+     * GameRandom object used in the tests.
+     */
+    GameRandom random;
+
+    /**
+     * A new randomizer with a fixed seed is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        random = new GameRandom(42);
+    }
+
+    /**
+     * The randomizer is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        random = null;
+    }
+
+    /**
+     * This tests if the randomizer gives the same values as the SplitMix64 generator of SplittableRandom with the same
+     * seed, including after a split. Test returns true if all the values match.
+     */
+    @Test
+    void matchesSplitMix() {
+        SplittableRandom expected = new SplittableRandom(42);
+        for(int i = 0; i < 100; i++) {
+            assertEquals(expected.nextLong(),random.nextLong());
+            assertEquals(expected.nextInt(7),random.nextInt(7));
+            assertEquals(expected.nextInt(16),random.nextInt(16));
+            assertEquals(expected.nextDouble(),random.nextDouble());
+        }
+        SplittableRandom expectedSplit = expected.split();
+        GameRandom split = random.split();
+        for(int i = 0; i < 100; i++)
+            assertEquals(expectedSplit.nextLong(),split.nextLong());
+    }
+
+    /**
+     * This tests if the ints are below the bound and every value is drawn. Test returns true if each of 5 values is
+     * drawn roughly a fifth of the time.
+     */
+    @Test
+    void nextIntInRange() {
+        int[] counts = new int[5];
+        for(int i = 0; i < 50000; i++)
+            counts[random.nextInt(5)]++;
+        for(int count : counts)
+            assertTrue(Math.abs(count - 10000) < 500);
+        assertThrows(IllegalArgumentException.class,() -> random.nextInt(0));
+    }
+
+    /**
+     * This tests if drawing from one split randomizer leaves the values of another untouched, and if games with the
+     * same seed get the same levels. Test returns true if the values and brick counts match.
+     */
+    @Test
+    void splitIndependent() {
+        GameRandom other = new GameRandom(42);
+        GameRandom first = random.split(), second = random.split();
+        GameRandom otherFirst = other.split(), otherSecond = other.split();
+        for(int i = 0; i < 1000; i++)
+            first.nextLong();
+        assertEquals(otherSecond.nextLong(),second.nextLong());
+
+        int[][] choice = new int[5][12];
+        for(int i = 0; i < 5; i++)
+            choice[i][0] = 8;
+        GameBoard a = new GameBoard(choice,new Dimension(600,450),7);
+        GameBoard b = new GameBoard(choice,new Dimension(600,450),7);
+        for(int i = 0; i < 5; i++) {
+            assertEquals(a.getBricks()[i].size(),b.getBricks()[i].size());
+            for(int j = 0; j < a.getBricks()[i].size(); j++)
+                assertEquals(a.getBricks()[i].getType(j),b.getBricks()[i].getType(j));
+        }
+        assertEquals(7,a.getSeed());
+    }
+}
@@ -0,0 +1,192 @@
+package Main.MVCTest;
+
+import Main.MVC.GameListener;
+import Main.MVC.GameRewind;
+import Main.MVC.GameSimulation;
+import Main.Replay.InputReplay;
+import Main.Replay.ReplayPlayer;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameRewindTest tests to see if the GameRewind keeps the last seconds of a game in bounded memory and can move the
+ * game back to any of the kept update cycles. Snapshots of the game taken with GameSnapshot, which has been tested,
+ * are used to check that the game is moved back to exactly the right state.
+ */
+class GameRewindTest {
+
+    /**
+     * GameSimulation used in the tests.
+     */
+    GameSimulation simulation;
+    /**
+     * Autopilot to play the game.
+     */
+    Autopilot autopilot;
+    /**
+     * The snapshots of the game taken every time the GameRewind kept an update cycle.
+     */
+    List<byte[]> expected;
+    /**
+     * The pause flags of the game at the kept update cycles, as the game is left paused when it is moved back.
+     */
+    List<Boolean> paused;
+
+    /**
+     * A new true random game with a fixed seed is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        int[][] choice = new int[5][12];
+        for(int[] level : choice)
+            level[0] = 8;
+        simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,99);
+        autopilot = new Autopilot(simulation,600);
+        expected = new ArrayList<>();
+        paused = new ArrayList<>();
+    }
+
+    /**
+     * The game is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        simulation.stopRecording();
+        simulation = null;
+        autopilot = null;
+        expected = null;
+        paused = null;
+    }
+
+    /**
+     * This method lets the autopilot play the game while the GameRewind keeps it. A snapshot of the game is taken
+     * every time the GameRewind keeps an update cycle.
+     * @param rewind The GameRewind keeping the game.
+     * @param ticks The number of update cycles to play.
+     */
+    void play(GameRewind rewind, int ticks) {
+        for(int i = 0; i < ticks && !simulation.getGameBoard().isEnded(); i++) {
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            autopilot.step();
+            int tick = simulation.getGameBoard().getTick();
+            simulation.update();
+            boolean kept = rewind.getPosition() < 0 || simulation.getGameBoard().getTick() != tick;
+            rewind.update();
+            if(kept) {
+                expected.add(simulation.snapshot());
+                paused.add(!simulation.getGameBoard().isNotPaused());
+            }
+        }
+    }
+
+    /**
+     * This tests if the game can be moved back and forward to any kept update cycle. Test returns true if the game is
+     * the same as when the update cycle was kept, apart from being paused.
+     * @throws IOException If a kept update cycle cannot be restored.
+     */
+    @Test
+    void rewindTo() throws IOException {
+        GameRewind rewind = new GameRewind(simulation,60,8 << 20);
+        play(rewind,3000);
+        assertEquals(expected.size(),rewind.size());
+        assertEquals(rewind.size() - 1,rewind.getPosition());
+
+        for(int index : new int[]{rewind.size() - 1,0,1,99,100,101,1234,rewind.size() / 2,rewind.size() - 2}) {
+            rewind.rewindTo(index);
+            assertEquals(index,rewind.getPosition());
+            assertFalse(simulation.getGameBoard().isNotPaused());
+            simulation.getGameBoard().setPauseFlag(paused.get(index));
+            assertArrayEquals(expected.get(index),simulation.snapshot());
+        }
+        assertEquals(expected.size(),rewind.size());
+    }
+
+    /**
+     * This tests if the game resumed from an earlier update cycle goes on from there. Test returns true if the kept
+     * update cycles after that point are dropped and the new update cycles are kept instead.
+     * @throws IOException If a kept update cycle cannot be restored.
+     */
+    @Test
+    void resume() throws IOException {
+        GameRewind rewind = new GameRewind(simulation,60,8 << 20);
+        play(rewind,2000);
+        rewind.rewindTo(500);
+        simulation.getGameBoard().setPauseFlag(false);
+        expected.subList(501,expected.size()).clear();
+        paused.subList(501,paused.size()).clear();
+        play(rewind,300);
+        assertEquals(801,rewind.size());
+        assertEquals(800,rewind.getPosition());
+
+        rewind.rewindTo(650);
+        simulation.getGameBoard().setPauseFlag(paused.get(650));
+        assertArrayEquals(expected.get(650),simulation.snapshot());
+    }
+
+    /**
+     * This tests if the game is still recorded after it is moved back and forward and then resumed. Test returns true
+     * if the later update cycles can no longer be moved to once the player resumes, and the replay gives the game
+     * which was played.
+     * @throws IOException If a kept update cycle cannot be restored or the replay cannot be read.
+     */
+    @Test
+    void recorded() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        simulation.startRecording(out);
+        GameRewind rewind = new GameRewind(simulation,60,8 << 20);
+        play(rewind,2000);
+        rewind.rewindTo(500);
+        rewind.rewindTo(1500);
+        rewind.rewindTo(800);
+        assertTrue(simulation.isRewound());
+        simulation.togglePause();
+        assertFalse(simulation.isRewound());
+        assertThrows(IndexOutOfBoundsException.class,() -> rewind.rewindTo(1500));
+        assertEquals(801,rewind.size());
+        play(rewind,1000);
+        simulation.stopRecording();
+
+        InputReplay replay = InputReplay.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(simulation.getTick(),replay.getLength());
+        ReplayPlayer player = new ReplayPlayer(replay,GameListener.NONE);
+        player.run();
+        assertArrayEquals(simulation.snapshot(),player.getSimulation().snapshot());
+    }
+
+    /**
+     * This tests if the memory used stays bounded however long the game is played. Test returns true if no more than
+     * the given seconds and bytes are kept, the changes take far less room than whole snapshots and the oldest kept
+     * update cycle can still be restored.
+     * @throws IOException If a kept update cycle cannot be restored.
+     */
+    @Test
+    void bounded() throws IOException {
+        GameRewind seconds = new GameRewind(simulation,10,8 << 20);
+        play(seconds,5000);
+        assertTrue(seconds.size() > 900 && seconds.size() <= 1000);
+        assertTrue(seconds.getBytesUsed() < 1000 * expected.get(0).length / 4);
+
+        expected.clear();
+        paused.clear();
+        GameRewind bytes = new GameRewind(simulation,60,16 << 10);
+        play(bytes,3000);
+        assertTrue(bytes.size() > 0 && bytes.size() < 3000);
+        assertTrue(bytes.getBytesUsed() <= 16 << 10);
+        int oldest = expected.size() - bytes.size();
+        bytes.rewindTo(0);
+        simulation.getGameBoard().setPauseFlag(paused.get(oldest));
+        assertArrayEquals(expected.get(oldest),simulation.snapshot());
+    }
+}
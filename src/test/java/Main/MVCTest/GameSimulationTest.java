@@ -0,0 +1,243 @@
+package Main.MVCTest;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameBoardController;
+import Main.MVC.GameListener;
+import Main.MVC.GameLoop;
+import Main.MVC.GameSimulation;
+import Main.Models.Ball;
+import Main.Models.BallPool;
+import Main.Models.BrickStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameSimulationTest tests to see if the headless core of the game can be stepped without a display or audio. The
+ * getters of GameBoard which have been tested are used to check the results.
+ */
+class GameSimulationTest {
+
+    /**
+     * GameSimulation used in the tests.
+     */
+    GameSimulation simulation;
+
+    /**
+     * A new headless GameSimulation with the default levels is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        simulation = new GameSimulation(new int[5][12],new Dimension(600,450));
+    }
+
+    /**
+     * The GameSimulation is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        simulation = null;
+    }
+
+    /**
+     * This tests that tick rates which cannot be played are refused. Test returns true if a tick rate of 0, a negative
+     * tick rate or one above the highest tick rate is refused by the game and the game loop, and the tick rate of the
+     * game is left unchanged.
+     */
+    @Test
+    void tickRate() {
+        int[][] choice = new int[5][12];
+        Dimension area = new Dimension(600,450);
+        for(int tickRate : new int[]{0,-100,GameBoardController.MAX_TICK_RATE + 1,Integer.MAX_VALUE}) {
+            assertThrows(IllegalArgumentException.class,() -> new GameSimulation(choice,area,GameListener.NONE,tickRate,1));
+            assertThrows(IllegalArgumentException.class,() -> simulation.getController().setTickRate(tickRate));
+            assertThrows(IllegalArgumentException.class,() -> new GameLoop(null,() -> {},tickRate));
+        }
+        assertEquals(GameBoardController.BASE_TICK_RATE,simulation.getController().getTickRate());
+        simulation.getController().setTickRate(GameBoardController.MAX_TICK_RATE);
+        assertEquals(GameBoardController.MAX_TICK_RATE,simulation.getController().getTickRate());
+        new GameLoop(null,() -> {},1);
+    }
+
+    /**
+     * This tests that the game starts paused at the first level.
+     */
+    @Test
+    void startsPaused() {
+        assertEquals(simulation.getGameBoard().getLevel(),1);
+        assertFalse(simulation.getGameBoard().isNotPaused());
+    }
+
+    /**
+     * This tests that running the game for 1000 update cycles processes every cycle and counts at most 10 seconds of
+     * game time. Seconds which are cut short by a lost ball are not counted.
+     */
+    @Test
+    void run() {
+        assertEquals(simulation.run(1000),1000);
+        assertEquals(simulation.getGameBoard().getTick(),1000);
+        assertTrue(simulation.getGameBoard().getTime(0) <= 10);
+    }
+
+    /**
+     * This tests that the game messages are generated from the game data and that a message whose game data has not
+     * changed is not generated again.
+     */
+    @Test
+    void gameMessages() {
+        simulation.run(1500);
+        GameBoard gameBoard = simulation.getGameBoard();
+        int level = gameBoard.getLevel();
+        assertEquals(String.format("Total Score: %d",gameBoard.getScore(0)),gameBoard.getGameMessages(1));
+        assertEquals(String.format("Level %d Time: %02d:%02d",level,gameBoard.getTime(level)/60,gameBoard.getTime(level)%60),gameBoard.getGameMessages(4));
+
+        int time = gameBoard.getTime(0);
+        gameBoard.setGameMessages(3,"Unchanged");
+        simulation.run(1);
+        assertEquals(gameBoard.getTime(0) == time ? "Unchanged" : String.format("Total Time: %02d:%02d",
+                gameBoard.getTime(0)/60,gameBoard.getTime(0)%60),gameBoard.getGameMessages(3));
+    }
+
+    /**
+     * This tests that the scores added when bricks are broken match the scores of all the broken bricks.
+     */
+    @Test
+    void score() {
+        simulation.run(3000);
+        GameBoard gameBoard = simulation.getGameBoard();
+        BrickStore bricks = gameBoard.getBricks()[gameBoard.getLevel()-1];
+        int score = 0;
+        for(int i = 0; i < bricks.size(); i++)
+            if(bricks.isBroken(i))
+                score += bricks.getScore(i);
+        assertEquals(gameBoard.getScore(gameBoard.getLevel()),score);
+        assertEquals(gameBoard.getScore(0),score + simulation.getController().returnPreviousLevelsScore());
+        assertEquals(gameBoard.getTime(0),gameBoard.getTime(gameBoard.getLevel()) + simulation.getController().returnPreviousLevelsTime());
+    }
+
+    /**
+     * This tests that a game running at 1000 update cycles per second counts at most 10 seconds of game time in
+     * 10000 update cycles.
+     */
+    @Test
+    void runAtHigherTickRate() {
+        simulation = new GameSimulation(new int[5][12],new Dimension(600,450),GameListener.NONE,1000);
+        assertEquals(simulation.run(10000),10000);
+        assertTrue(simulation.getGameBoard().getTime(0) <= 10);
+    }
+
+    /**
+     * This tests that the ball never leaves the screen through a border or a brick when the game runs at 10 update
+     * cycles per second at the highest ball speed, so the ball moves 80 pixels in every update cycle.
+     */
+    @Test
+    void runAtCoarseTickRate() {
+        simulation = new GameSimulation(new int[5][12],new Dimension(600,450),GameListener.NONE,10);
+        Ball ball = simulation.getGameBoard().getBalls().get(0);
+        int fewestBricks = simulation.getGameBoard().getBrickCount();
+        for(int i = 0; i < 1000; i++) {
+            simulation.run(1);
+            ball.setSpeedX((int)Math.signum(ball.getSpeedX()) * GameBoardController.MAX_BALL_SPEED);
+            ball.setSpeedY((int)Math.signum(ball.getSpeedY()) * GameBoardController.MAX_BALL_SPEED);
+            assertTrue(ball.getX() >= 0 && ball.getX() <= 600);
+            assertTrue(ball.getY() >= 0 && ball.getY() <= 450);
+            fewestBricks = Math.min(fewestBricks,simulation.getGameBoard().getBrickCount());
+        }
+        assertTrue(fewestBricks < 30); //the bricks are repaired on game over, so check the fewest bricks left
+    }
+
+    /**
+     * This tests that a level of 5000 balls in multiball mode keeps every ball in play on the screen and keeps the
+     * balls in play at the start of the pool.
+     */
+    @Test
+    void runChaosMultiball() {
+        int[][] choice = new int[5][12];
+        choice[0][8] = 13;
+        choice[0][11] = 1;
+        simulation = new GameSimulation(choice,new Dimension(600,450));
+        BallPool balls = simulation.getGameBoard().getBalls();
+        assertEquals(balls.getActive(),5000);
+        simulation.run(500);
+        assertEquals(balls.getActive(),simulation.getGameBoard().getBallCount());
+        for(int i = 0; i < balls.getActive(); i++) {
+            Ball ball = balls.get(i);
+            assertFalse(ball.isLost());
+            assertTrue(ball.getX() >= 0 && ball.getX() <= 600 && ball.getY() >= 0 && ball.getY() <= 450);
+        }
+    }
+
+    /**
+     * This tests that moving 5000 balls on several threads gives exactly the same balls and bricks as moving them on
+     * one thread. The first level only has clay bricks, which are always damaged, so the bricks do not depend on the
+     * randomizer.
+     */
+    @Test
+    void parallelPhysicsMatchesSequential() {
+        int[][] choice = new int[5][12];
+        choice[0][8] = 13;
+        choice[0][11] = 1;
+        GameSimulation parallel = new GameSimulation(choice,new Dimension(600,450));
+        simulation = new GameSimulation(choice,new Dimension(600,450));
+        BallPool sequentialBalls = simulation.getGameBoard().getBalls();
+        BallPool parallelBalls = parallel.getGameBoard().getBalls();
+        for(int i = 0; i < sequentialBalls.getActive(); i++) { //start both games with the same ball speeds
+            parallelBalls.get(i).setSpeedX(sequentialBalls.get(i).getSpeedX());
+            parallelBalls.get(i).setSpeedY(sequentialBalls.get(i).getSpeedY());
+        }
+        parallel.getController().setParallelPhysics(true);
+
+        for(int tick = 0; tick < 300; tick++) {
+            simulation.getController().moveBall();
+            parallel.getController().moveBall();
+        }
+
+        assertEquals(sequentialBalls.getActive(),parallelBalls.getActive());
+        for(int i = 0; i < sequentialBalls.getActive(); i++) {
+            assertEquals(sequentialBalls.get(i).getX(),parallelBalls.get(i).getX());
+            assertEquals(sequentialBalls.get(i).getY(),parallelBalls.get(i).getY());
+        }
+        BrickStore sequentialBricks = simulation.getGameBoard().getBricks()[0];
+        BrickStore parallelBricks = parallel.getGameBoard().getBricks()[0];
+        for(int i = 0; i < sequentialBricks.size(); i++)
+            assertEquals(sequentialBricks.isBroken(i),parallelBricks.isBroken(i));
+        assertEquals(simulation.getGameBoard().getBrickCount(),parallel.getGameBoard().getBrickCount());
+        assertEquals(simulation.getGameBoard().getScore(0),parallel.getGameBoard().getScore(0));
+    }
+
+    /**
+     * This tests that two games with the same seed play the same, including the random levels, ball speeds, brick
+     * damage and power up spawns.
+     */
+    @Test
+    void sameSeedPlaysSame() {
+        int[][] choice = new int[5][12];
+        choice[0][0] = 8; //true random level
+        simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,7);
+        GameSimulation other = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,7);
+        assertEquals(simulation.getGameBoard().getBrickCount(),other.getGameBoard().getBrickCount());
+        simulation.run(5000);
+        other.run(5000);
+        assertEquals(simulation.getGameBoard().getBalls().get(0).getX(),other.getGameBoard().getBalls().get(0).getX());
+        assertEquals(simulation.getGameBoard().getBalls().get(0).getY(),other.getGameBoard().getBalls().get(0).getY());
+        assertEquals(simulation.getGameBoard().getBrickCount(),other.getGameBoard().getBrickCount());
+        assertEquals(simulation.getGameBoard().getScore(0),other.getGameBoard().getScore(0));
+        assertEquals(simulation.getGameBoard().getPowerUp().getMidPoint(),other.getGameBoard().getPowerUp().getMidPoint());
+    }
+
+    /**
+     * This tests that the pause menu pauses the game.
+     */
+    @Test
+    void togglePauseMenu() {
+        simulation.togglePause();
+        assertTrue(simulation.getGameBoard().isNotPaused());
+        simulation.togglePauseMenu();
+        assertTrue(simulation.getGameBoard().isShowPauseMenu());
+        assertFalse(simulation.getGameBoard().isNotPaused());
+    }
+}
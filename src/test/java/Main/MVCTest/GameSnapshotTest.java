@@ -0,0 +1,256 @@
+package Main.MVCTest;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+import Main.MVC.GameSnapshot;
+import Main.Replay.InputReplay;
+import Main.Replay.ReplayPlayer;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameSnapshotTest tests to see if a snapshot of a game restores the whole state of the game, so the restored game
+ * plays on exactly like the game the snapshot was taken of. As a snapshot holds the whole state, two games are the
+ * same if their snapshots are the same.
+ */
+class GameSnapshotTest {
+
+    /**
+     * The choices of the player, which are true random levels with 5 balls.
+     */
+    int[][] choice;
+    /**
+     * GameSimulation used in the tests.
+     */
+    GameSimulation simulation;
+
+    /**
+     * A new true random game with a fixed seed is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        choice = new int[5][12];
+        for(int[] level : choice) {
+            level[0] = 8;
+            level[8] = 5;
+        }
+        simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,99);
+    }
+
+    /**
+     * The game is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        simulation.stopRecording();
+        simulation = null;
+    }
+
+    /**
+     * This method lets the autopilot play a game for the given number of update cycles, resuming the game whenever it
+     * is paused.
+     * @param game The game to be played.
+     * @param ticks The number of update cycles to play.
+     */
+    void play(GameSimulation game, int ticks) {
+        Autopilot autopilot = new Autopilot(game,600);
+        for(int i = 0; i < ticks && !game.getGameBoard().isEnded(); i++) {
+            if(!game.getGameBoard().isNotPaused())
+                game.togglePause();
+            autopilot.step();
+            game.update();
+        }
+    }
+
+    /**
+     * This tests if a new game loaded from a snapshot plays on like the game the snapshot was taken of. Test returns
+     * true if both games are the same after another 3000 update cycles.
+     * @throws IOException If the snapshot cannot be loaded.
+     */
+    @Test
+    void loadPlaysSame() throws IOException {
+        play(simulation,3000);
+        byte[] snapshot = simulation.snapshot();
+        GameSimulation loaded = GameSnapshot.load(snapshot,GameListener.NONE);
+        assertArrayEquals(snapshot,loaded.snapshot());
+        assertEquals(simulation.getGameBoard().getGameMessages(2),loaded.getGameBoard().getGameMessages(2));
+
+        play(simulation,3000);
+        play(loaded,3000);
+        assertEquals(simulation.getTick(),loaded.getTick());
+        assertEquals(simulation.getGameBoard().getScore(0),loaded.getGameBoard().getScore(0));
+        assertArrayEquals(simulation.snapshot(),loaded.snapshot());
+    }
+
+    /**
+     * This tests if a game can jump back to a snapshot taken earlier. Test returns true if the game is the same as
+     * when the snapshot was taken, the recording so far plays back into the game of the snapshot, and the game plays
+     * on the same as before and is still recorded.
+     * @throws IOException If the snapshot cannot be restored or the replay cannot be read.
+     */
+    @Test
+    void jumpBack() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        simulation.startRecording(out);
+        play(simulation,2000);
+        byte[] snapshot = simulation.snapshot();
+        play(simulation,2000);
+        byte[] later = simulation.snapshot();
+
+        simulation.restore(snapshot);
+        assertEquals(2000,simulation.getTick());
+        assertArrayEquals(snapshot,simulation.snapshot());
+        InputReplay soFar = simulation.getReplaySoFar();
+        assertEquals(2000,soFar.getLength());
+        assertArrayEquals(snapshot,played(soFar));
+
+        play(simulation,2000);
+        assertArrayEquals(later,simulation.snapshot());
+        simulation.stopRecording();
+        assertArrayEquals(later,played(InputReplay.read(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    /**
+     * This tests if a snapshot restored with the copy of the recording taken with it puts the recording back too.
+     * Test returns true if the game goes back to the snapshot from later or earlier, and the replay gives the game
+     * which was played from the snapshot.
+     * @throws IOException If the snapshot cannot be restored or the replay cannot be read.
+     */
+    @Test
+    void jumpWithReplay() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        simulation.startRecording(out);
+        play(simulation,1000);
+        byte[] early = simulation.snapshot();
+        InputReplay earlyReplay = simulation.getReplaySoFar();
+        play(simulation,2000);
+        byte[] late = simulation.snapshot();
+        InputReplay lateReplay = simulation.getReplaySoFar();
+
+        simulation.restore(early,earlyReplay);
+        assertArrayEquals(early,simulation.snapshot());
+        play(simulation,500);
+        simulation.restore(late,lateReplay);
+        assertArrayEquals(late,played(simulation.getReplaySoFar()));
+        play(simulation,500);
+        simulation.stopRecording();
+        assertArrayEquals(simulation.snapshot(),played(InputReplay.read(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    /**
+     * This tests if a game can be resumed from a checkpoint, which is a snapshot with the copy of the recording taken
+     * with it. Test returns true if the resumed game is the same as when the checkpoint was taken, its replay gives
+     * the whole game it played, and a snapshot with a recording taken at another time is refused.
+     * @throws IOException If the checkpoint cannot be resumed or the replay cannot be read.
+     */
+    @Test
+    void resume() throws IOException {
+        simulation.startRecording(new ByteArrayOutputStream());
+        play(simulation,2000);
+        byte[] snapshot = simulation.snapshot();
+        InputReplay replay = simulation.getReplaySoFar();
+        play(simulation,1000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSimulation resumed = GameSimulation.resume(snapshot,replay,GameListener.NONE,out);
+        assertEquals(2000,resumed.getTick());
+        assertArrayEquals(snapshot,resumed.snapshot());
+        play(resumed,1000);
+        resumed.stopRecording();
+        assertArrayEquals(resumed.snapshot(),played(InputReplay.read(new ByteArrayInputStream(out.toByteArray()))));
+
+        InputReplay later = simulation.getReplaySoFar();
+        assertThrows(IOException.class,() -> GameSimulation.resume(snapshot,later,GameListener.NONE,null));
+    }
+
+    /**
+     * This method plays a replay back into a new game.
+     * @param replay The replay to be played back.
+     * @return The snapshot of the game at the end of the replay is returned.
+     */
+    byte[] played(InputReplay replay) {
+        ReplayPlayer player = new ReplayPlayer(replay,GameListener.NONE);
+        player.run();
+        return player.getSimulation().snapshot();
+    }
+
+    /**
+     * This tests if a snapshot of another game, a broken snapshot or a snapshot with a tick rate which cannot be
+     * played is refused. Test returns true if an IOException is thrown and the game is not changed.
+     */
+    @Test
+    void refused() {
+        play(simulation,500);
+        byte[] snapshot = simulation.snapshot();
+        GameSimulation other = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,98);
+        assertThrows(IOException.class,() -> other.restore(snapshot));
+        assertEquals(0,other.getTick());
+        assertThrows(IOException.class,() -> simulation.restore(Arrays.copyOf(snapshot,20)));
+        assertThrows(IOException.class,() -> GameSnapshot.load(new byte[]{1,2,3},GameListener.NONE));
+        byte[] noTicks = Arrays.copyOf(snapshot,snapshot.length);
+        Arrays.fill(noTicks,13,17,(byte) 0); //the tick rate follows the magic number, version and seed
+        assertThrows(IOException.class,() -> simulation.restore(noTicks));
+        assertThrows(IOException.class,() -> GameSnapshot.load(noTicks,GameListener.NONE));
+        assertArrayEquals(snapshot,simulation.snapshot());
+    }
+
+    /**
+     * This tests if a snapshot written to a file on the background thread can be loaded. Test returns true if the
+     * loaded game is the same.
+     * @throws Exception If the file cannot be written or read.
+     */
+    @Test
+    void saveAndLoad() throws Exception {
+        play(simulation,1500);
+        byte[] snapshot = simulation.snapshot();
+        File file = File.createTempFile("snapshot",".bbs");
+        file.deleteOnExit();
+        GameSnapshot.save(snapshot,file).get();
+        GameSimulation loaded = GameSnapshot.load(file,GameListener.NONE);
+        assertArrayEquals(snapshot,loaded.snapshot());
+    }
+
+    /**
+     * This tests if a snapshot file is deleted after it has been written on the background thread. Test returns true
+     * if the file no longer exists.
+     * @throws Exception If the file cannot be written or deleted.
+     */
+    @Test
+    void delete() throws Exception {
+        File file = File.createTempFile("snapshot",".bbs");
+        file.deleteOnExit();
+        GameSnapshot.save(simulation.snapshot(),file);
+        GameSnapshot.delete(file).get();
+        assertFalse(file.exists());
+    }
+
+    /**
+     * This tests if a snapshot of a normal level is small and can be restored over and over. Test returns true if the
+     * snapshot takes less than 4 kilobytes and is the same after being taken and restored many times.
+     * @throws IOException If the snapshot cannot be restored.
+     */
+    @Test
+    void small() throws IOException {
+        play(simulation,3000);
+        GameBoard gameBoard = simulation.getGameBoard();
+        assertTrue(gameBoard.getBalls().getActive() > 0);
+        byte[] snapshot = simulation.snapshot();
+        assertTrue(snapshot.length < 4096);
+
+        for(int i = 0; i < 100; i++)
+            simulation.restore(simulation.snapshot());
+        assertArrayEquals(snapshot,simulation.snapshot());
+    }
+}
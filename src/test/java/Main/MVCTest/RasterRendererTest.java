@@ -0,0 +1,181 @@
+package Main.MVCTest;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameBoardRenderer;
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+import Main.MVC.RasterRenderer;
+import Main.MVC.Renderer;
+import Main.Models.BrickStore;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RasterRendererTest tests to see if the frames written by the RasterRenderer are the same as the frames drawn through
+ * Java2D by the GameBoardRenderer, and if it only writes inside the clip so the screen can be repainted only where it
+ * has changed.
+ */
+class RasterRendererTest {
+
+    /**
+     * GameSimulation used in the tests.
+     */
+    GameSimulation simulation;
+    /**
+     * RasterRenderer which keeps its brick layers for the whole test.
+     */
+    RasterRenderer renderer;
+
+    /**
+     * A new true random game with a fixed seed and its renderers are created before every test.
+     * @throws IOException If the background image cannot be loaded.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        int[][] choice = new int[5][12];
+        for(int[] level : choice) {
+            level[0] = 8;
+            level[8] = 5;
+        }
+        simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,99);
+        renderer = new RasterRenderer(simulation.getGameBoard(),new Dimension(600,450));
+    }
+
+    /**
+     * The game and renderers are cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        simulation = null;
+        renderer = null;
+    }
+
+    /**
+     * This method draws a frame of the game.
+     * @param frameRenderer The renderer which draws the frame.
+     * @return The frame drawn is returned.
+     */
+    BufferedImage draw(Renderer frameRenderer) {
+        BufferedImage frame = new BufferedImage(600,450,BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        frameRenderer.render(g2d,1);
+        g2d.dispose();
+        return frame;
+    }
+
+    /**
+     * This method checks that a frame is the same as a frame drawn through Java2D by a new GameBoardRenderer, as the
+     * renderers share the changes of the bricks.
+     * @param frame The frame written by the RasterRenderer.
+     */
+    void assertSameFrame(BufferedImage frame) {
+        BufferedImage expectedFrame;
+        try {
+            expectedFrame = draw(new GameBoardRenderer(simulation.getGameBoard(),new Dimension(600,450)));
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        for(int y = 0; y < 450; y++)
+            for(int x = 0; x < 600; x++)
+                assertEquals(expectedFrame.getRGB(x,y),frame.getRGB(x,y),"pixel " + x + "," + y + " at tick " + simulation.getTick());
+    }
+
+    /**
+     * This method plays the game for an update cycle, unpausing it first if needed.
+     * @param autopilot The autopilot moving the player.
+     */
+    void step(Autopilot autopilot) {
+        if(!simulation.getGameBoard().isNotPaused())
+            simulation.togglePause();
+        autopilot.step();
+        simulation.update();
+    }
+
+    /**
+     * This tests if the frames are the same as frames drawn through Java2D while the game is played across levels,
+     * with a frame written after every update cycle. Test returns true if every checked frame is the same.
+     */
+    @Test
+    void playedFrames() {
+        Autopilot autopilot = new Autopilot(simulation,600);
+        int level = simulation.getGameBoard().getLevel();
+        for(int i = 0; i < 6000 && !simulation.getGameBoard().isEnded(); i++) {
+            step(autopilot);
+            BufferedImage frame = draw(renderer);
+            if(i % 200 == 0 || simulation.getGameBoard().getLevel() != level) {
+                level = simulation.getGameBoard().getLevel();
+                assertSameFrame(frame);
+            }
+        }
+        assertTrue(simulation.getGameBoard().getScore(0) > 0);
+    }
+
+    /**
+     * This tests if the game messages are written under the bricks as through Java2D. Test returns true if the frame
+     * is the same with a brick placed over the messages.
+     */
+    @Test
+    void messagesUnderBricks() {
+        GameBoard gameBoard = simulation.getGameBoard();
+        BrickStore bricks = gameBoard.getBricks()[gameBoard.getLevel()-1];
+        bricks.add(bricks.getType(0),250,212,80,20);
+        for(int i = 0; i < 6; i++)
+            gameBoard.setGameMessages(i,"#".repeat(30));
+        assertSameFrame(draw(renderer));
+    }
+
+    /**
+     * This tests if cracked and broken bricks are written the same as through Java2D. Test returns true if the frames
+     * are the same after bricks are cracked, broken and repaired.
+     */
+    @Test
+    void changedBricks() {
+        BrickStore bricks = simulation.getGameBoard().getBricks()[simulation.getGameBoard().getLevel()-1];
+        draw(renderer);
+        int x = bricks.getX(5), y = bricks.getY(5);
+        bricks.addCrack(5,new Line2D.Double(x,y,x + bricks.getWidth(5),y + bricks.getHeight(5)));
+        bricks.setBroken(6,true);
+        assertSameFrame(draw(renderer));
+
+        bricks.repairAll();
+        assertSameFrame(draw(renderer));
+    }
+
+    /**
+     * This tests if a screen repainted only inside the dirty regions stays the same as frames drawn through Java2D,
+     * and if the frame is shaded when the pause menu is shown. Test returns true if every checked screen is the same
+     * and the pause menu darkens the screen.
+     */
+    @Test
+    void dirtyRegions() {
+        Autopilot autopilot = new Autopilot(simulation,600);
+        BufferedImage screen = new BufferedImage(600,450,BufferedImage.TYPE_INT_RGB);
+        for(int i = 0; i < 1500 && !simulation.getGameBoard().isEnded(); i++) {
+            step(autopilot);
+            for(Rectangle region : renderer.getDirtyRegions()) {
+                Graphics2D g2d = screen.createGraphics();
+                g2d.setClip(region);
+                renderer.render(g2d,1);
+                g2d.dispose();
+            }
+            if(i % 250 == 0)
+                assertSameFrame(screen);
+        }
+
+        simulation.getGameBoard().setShowPauseMenu(true);
+        assertEquals(List.of(new Rectangle(0,0,600,450)),renderer.getDirtyRegions());
+        BufferedImage paused = draw(renderer);
+        assertTrue((paused.getRGB(5,440) & 0xff) < (screen.getRGB(5,440) & 0xff));
+    }
+}
@@ -1,6 +1,8 @@
 /**
  * This package contains the test files testing the MVC design pattern of the game. The Model (GameBoard) and Controller
- * (GameBoardController) are tested here. The View (GameBoardRenderer) is not tested because of the issue of how to
- * decide if the rendered graphics is the correct graphics.
+ * (GameBoardController) are tested here, together with the headless GameSimulation. The View is tested by comparing
+ * frames instead of judging the graphics: GameBoardRendererTest checks the brick layer kept by the GameBoardRenderer
+ * against a brick layer drawn from scratch, and RasterRendererTest checks the frames written by the RasterRenderer
+ * against the frames drawn through Java2D.
  */
 package Main.MVCTest;
\ No newline at end of file
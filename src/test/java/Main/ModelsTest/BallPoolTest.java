@@ -0,0 +1,84 @@
+package Main.ModelsTest;
+
+import Main.Models.Ball;
+import Main.Models.BallPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BallPoolTest tests to see if balls are spawned, lost and reused correctly by the pool, and if the balls in play are
+ * always kept at the start of the pool.
+ */
+class BallPoolTest {
+
+    /**
+     * BallPool object used in the tests.
+     */
+    BallPool balls;
+
+    /**
+     * A new pool of 4 balls is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        balls = new BallPool(4,new Point(300,430),10);
+    }
+
+    /**
+     * The pool is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        balls = null;
+    }
+
+    /**
+     * This tests that a new pool has no balls in play. Test returns true if no ball is in play.
+     */
+    @Test
+    void startsEmpty() {
+        assertEquals(balls.getActive(),0);
+        assertEquals(balls.capacity(),4);
+        assertTrue(balls.get(0).isLost());
+    }
+
+    /**
+     * This tests that lost balls are moved behind the balls in play without changing the order of the balls in play.
+     */
+    @Test
+    void removeLost() {
+        Ball[] spawned = new Ball[4];
+        for(int i = 0; i < 4; i++)
+            spawned[i] = balls.spawn();
+        spawned[0].setLost(true);
+        spawned[2].setLost(true);
+        balls.removeLost();
+        assertEquals(balls.getActive(),2);
+        assertSame(balls.get(0),spawned[1]);
+        assertSame(balls.get(1),spawned[3]);
+        assertTrue(balls.get(2).isLost() && balls.get(3).isLost());
+    }
+
+    /**
+     * This tests that lost balls are reused and that the pool only grows when every ball is in play.
+     */
+    @Test
+    void spawnReusesBalls() {
+        Ball first = balls.spawn();
+        first.setCollected(true);
+        first.setSpeedX(3);
+        balls.clear();
+        assertSame(balls.spawn(),first);
+        assertFalse(first.isLost() || first.isCollected());
+        assertEquals(first.getSpeedX(),0);
+        for(int i = 0; i < 4; i++)
+            balls.spawn();
+        assertEquals(balls.getActive(),5);
+        assertEquals(balls.capacity(),8);
+    }
+}
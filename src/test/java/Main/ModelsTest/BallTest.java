@@ -126,6 +126,21 @@ class BallTest {
         assertEquals(ball.getCenter(),new Point(50,50));
     }
 
+    /**
+     * This tests that the ball copies the center point instead of sharing it, so moving the ball does not move the
+     * point it was placed at.
+     */
+    @Test
+    void setCenterCopiesPoint() {
+        Point start = new Point(50,50);
+        ball.setCenter(start);
+        ball.moveTo(60.5,40.25);
+        assertEquals(start,new Point(50,50));
+        assertEquals(ball.getCenter(),new Point(61,40));
+        assertEquals(ball.getX(),60.5);
+        assertEquals(ball.getPreviousX(),50);
+    }
+
     /**
      * This tests the setter for ball top, bottom, left and right points using the tested getters.
      */
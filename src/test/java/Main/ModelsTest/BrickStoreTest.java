@@ -0,0 +1,169 @@
+package Main.ModelsTest;
+
+import Main.Models.BrickStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BrickStoreTest tests to see if the bricks added to the BrickStore keep their data and if the setters and repairs of
+ * the BrickStore are working properly. The getters are tested first to ensure that they are working before using
+ * them to test the setters.
+ */
+class BrickStoreTest {
+
+    /**
+     * BrickStore object used in the tests.
+     */
+    BrickStore bricks;
+
+    /**
+     * A new BrickStore with a Clay brick and a Concrete brick is created before every test. The store only has room
+     * for one brick, so it has to grow when the second brick is added.
+     */
+    @BeforeEach
+    void setUp() {
+        bricks = new BrickStore(1,new Dimension(600,450));
+        bricks.add(1,0,0,60,20);
+        bricks.add(4,60,20,60,20);
+    }
+
+    /**
+     * The BrickStore object is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        bricks = null;
+    }
+
+    /**
+     * This tests the number of bricks in the store.
+     */
+    @Test
+    void size() {
+        assertEquals(bricks.size(),2);
+    }
+
+    /**
+     * This tests the getters for the position and dimensions of the bricks.
+     */
+    @Test
+    void getBounds() {
+        assertEquals(bricks.getX(1),60);
+        assertEquals(bricks.getY(1),20);
+        assertEquals(bricks.getWidth(1),60);
+        assertEquals(bricks.getHeight(1),20);
+    }
+
+    /**
+     * This tests the getters for the data shared by the bricks of a type.
+     */
+    @Test
+    void getTypeData() {
+        assertEquals(bricks.getType(1),4);
+        assertEquals(bricks.getFullStrength(1),2);
+        assertEquals(bricks.getBreakProbability(1),0.4);
+        assertTrue(bricks.isCrackable(1));
+        assertFalse(bricks.isCrackable(0));
+        assertEquals(bricks.getInner(0),new Color(178, 34, 34).darker());
+        assertEquals(bricks.getBorder(1),new Color(24, 22, 16));
+    }
+
+    /**
+     * This tests the getter for the score of the bricks.
+     */
+    @Test
+    void getScore() {
+        assertEquals(bricks.getScore(0),100);
+        assertEquals(bricks.getScore(1),1000);
+    }
+
+    /**
+     * This tests the setters for the strength and condition of the bricks.
+     */
+    @Test
+    void setStrengthAndBroken() {
+        bricks.setStrength(1,1);
+        assertEquals(bricks.getStrength(1),1);
+        bricks.setBroken(0,true);
+        assertTrue(bricks.isBroken(0));
+        assertFalse(bricks.isBroken(1));
+    }
+
+    /**
+     * This tests that a crack is only created for a cracked brick and that the bricks are fully restored by repairs.
+     */
+    @Test
+    void repairAll() {
+        assertNull(bricks.getCrack(1));
+        bricks.addCrack(1,new Line2D.Double(60,20,120,40));
+        assertNotNull(bricks.getCrack(1));
+        bricks.setStrength(1,0);
+        bricks.setBroken(1,true);
+        bricks.repairAll();
+        assertFalse(bricks.isBroken(1));
+        assertEquals(bricks.getStrength(1),2);
+        assertNull(bricks.getCrack(1).getCurrentPoint());
+    }
+
+    /**
+     * This tests that the count of crack changes only goes up when a crack is added or a cracked brick is repaired, so
+     * a copy of the cracks can tell if it is out of date.
+     */
+    @Test
+    void getCrackChanges() {
+        int changes = bricks.getCrackChanges();
+        bricks.repairAll();
+        assertEquals(changes,bricks.getCrackChanges());
+        bricks.addCrack(1,new Line2D.Double(60,20,120,40));
+        assertEquals(changes + 1,bricks.getCrackChanges());
+        bricks.repair(0);
+        assertEquals(changes + 1,bricks.getCrackChanges());
+        bricks.repair(1);
+        assertEquals(changes + 2,bricks.getCrackChanges());
+    }
+
+    /**
+     * This tests that only the bricks which look different are marked as changed, which are the bricks broken,
+     * repaired after being broken or cracked, and that the marks are cleared together.
+     */
+    @Test
+    void nextChanged() {
+        bricks.clearChanged();
+        bricks.setStrength(0,1);
+        bricks.setBroken(0,false);
+        bricks.repair(1);
+        assertFalse(bricks.hasChanged());
+        bricks.setBroken(1,true);
+        bricks.addCrack(0,new Line2D.Double(10,20,50,40));
+        assertTrue(bricks.hasChanged());
+        assertEquals(0,bricks.nextChanged(0));
+        assertEquals(1,bricks.nextChanged(1));
+        assertEquals(-1,bricks.nextChanged(2));
+        bricks.clearChanged();
+        assertFalse(bricks.hasChanged());
+        bricks.repair(1);
+        assertEquals(1,bricks.nextChanged(0));
+    }
+
+    /**
+     * This tests that bricks are ordered by their type and that the bricks of the same type keep their order. Test
+     * returns true if the Clay bricks come before the Concrete bricks in the order they were given.
+     */
+    @Test
+    void sortByType() {
+        bricks.add(4,120,20,60,20);
+        bricks.add(1,180,20,60,20);
+        int[] sorted = new int[4];
+        bricks.sortByType(new int[]{3,2,1,0},4,sorted);
+        assertArrayEquals(new int[]{3,0,2,1},sorted);
+        bricks.sortByType(new int[]{1,0,9},2,sorted);
+        assertEquals(0,sorted[0]);
+        assertEquals(1,sorted[1]);
+    }
+}
@@ -1,5 +1,5 @@
 /**
  * This package contains the test files for testing the models of the game. The models tested are the Ball, Brick,
- * Player and GodModePowerUp.
+ * Player and GodModePowerUp, together with the BrickStore holding the bricks of a level.
  */
 package Main.ModelsTest;
\ No newline at end of file
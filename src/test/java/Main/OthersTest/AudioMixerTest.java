@@ -0,0 +1,173 @@
+package Main.OthersTest;
+
+import Main.Others.AudioMixer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AudioMixerTest tests to see if the AudioMixer adds up its voices with their gains, frees voices which have finished
+ * and steals voices when a sound or the whole mixer has no free voice. The blocks are mixed by the tests instead of the
+ * audio thread, so no audio device is needed.
+ */
+class AudioMixerTest {
+
+    /**
+     * AudioMixer with 4 voices used in the tests.
+     */
+    AudioMixer mixer;
+    /**
+     * The array the mixed samples are written to.
+     */
+    short[] out;
+
+    /**
+     * A new AudioMixer with 4 voices is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        mixer = new AudioMixer(4);
+        out = new short[512];
+    }
+
+    /**
+     * The AudioMixer is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        mixer.close();
+        mixer = null;
+        out = null;
+    }
+
+    /**
+     * This method creates a sound with every sample set to the same value.
+     * @param frames The number of stereo frames of the sound.
+     * @param value The value of every sample.
+     * @return The samples of the sound are returned.
+     */
+    short[] constant(int frames, int value) {
+        short[] samples = new short[frames * 2];
+        Arrays.fill(samples,(short) value);
+        return samples;
+    }
+
+    /**
+     * This tests if the voices are added up with their gains. Test returns true if the mixed samples are the sum of
+     * the samples times their gains, silence follows the end of a sound and finished voices are freed.
+     */
+    @Test
+    void mix() {
+        int loud = mixer.load(constant(100,1000),2);
+        int quiet = mixer.load(constant(50,400),2);
+        mixer.play(loud,1f);
+        mixer.play(quiet,0.5f);
+        mixer.mix(out,200);
+        assertEquals(1200,out[0]);
+        assertEquals(1200,out[99]);
+        assertEquals(1000,out[100]);
+        assertEquals(0,out[200]);
+        assertEquals(0,mixer.getActiveVoices());
+    }
+
+    /**
+     * This tests if a sound played over and over keeps playing after the first block. Test returns true if the sound
+     * goes on from where the first block ended.
+     */
+    @Test
+    void continues() {
+        short[] ramp = new short[1000];
+        for(int i = 0; i < ramp.length; i++)
+            ramp[i] = (short) i;
+        mixer.play(mixer.load(ramp,1),1f);
+        mixer.mix(out,256);
+        mixer.mix(out,256);
+        assertEquals(512,out[0]);
+        assertEquals(999,out[487]);
+        assertEquals(0,out[488]);
+    }
+
+    /**
+     * This tests if the sum of loud voices is clamped to the range of the samples. Test returns true if the samples
+     * do not wrap around.
+     */
+    @Test
+    void clamp() {
+        int loud = mixer.load(constant(10,30000),4);
+        int low = mixer.load(constant(10,-30000),4);
+        mixer.play(loud,1f);
+        mixer.play(loud,1f);
+        mixer.mix(out,10);
+        assertEquals(Short.MAX_VALUE,out[0]);
+        mixer.play(low,1f);
+        mixer.play(low,1f);
+        mixer.mix(out,10);
+        assertEquals(Short.MIN_VALUE,out[0]);
+    }
+
+    /**
+     * This tests if a sound which has used up its voices restarts its oldest voice. Test returns true if the sound
+     * never plays on more voices than its limit and other sounds keep their voices.
+     */
+    @Test
+    void soundLimit() {
+        short[] ramp = new short[2000];
+        for(int i = 0; i < ramp.length; i++)
+            ramp[i] = (short) i;
+        int bounce = mixer.load(ramp,2);
+        int other = mixer.load(constant(1000,0),4);
+        mixer.play(other,1f);
+        mixer.play(bounce,1f);
+        mixer.mix(out,100);
+        mixer.play(bounce,1f);
+        mixer.mix(out,100);
+        mixer.play(bounce,1f);
+        assertEquals(2,mixer.getActiveVoices(bounce));
+        assertEquals(1,mixer.getActiveVoices(other));
+        mixer.mix(out,1);
+        assertEquals(200,out[0]); //the second voice is at 200 and the restarted first voice is back at 0
+    }
+
+    /**
+     * This tests if the voice which started first is stolen when every voice is playing. Test returns true if the
+     * mixer never plays more than its voices and the newest sounds are kept.
+     */
+    @Test
+    void steal() {
+        int[] sounds = new int[6];
+        for(int i = 0; i < sounds.length; i++)
+            sounds[i] = mixer.load(constant(100,i + 1),4);
+        for(int sound : sounds)
+            mixer.play(sound,1f);
+        assertEquals(4,mixer.getActiveVoices());
+        assertEquals(0,mixer.getActiveVoices(sounds[0]));
+        assertEquals(0,mixer.getActiveVoices(sounds[1]));
+        mixer.mix(out,1);
+        assertEquals(3 + 4 + 5 + 6,out[0]);
+    }
+
+    /**
+     * This tests if playing many sounds keeps the mix bounded by the voices. Test returns true if after 100000 plays
+     * only 4 voices play, each block is the sum of 4 voices with their gain, and unknown sounds are ignored.
+     */
+    @Test
+    void flat() {
+        int bounce = mixer.load(constant(20000,100),4);
+        for(int i = 0; i < 100_000; i++) {
+            mixer.play(bounce,0.5f);
+            if(i % 20 == 0)
+                mixer.mix(out,256);
+        }
+        assertEquals(4,mixer.getActiveVoices());
+        mixer.mix(out,256);
+        assertEquals(4 * 50,out[0]);
+        assertEquals(4 * 50,out[511]);
+        mixer.play(-1,1f);
+        mixer.play(5,1f);
+        assertEquals(4,mixer.getActiveVoices(bounce));
+    }
+}
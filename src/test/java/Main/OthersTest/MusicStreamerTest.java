@@ -0,0 +1,257 @@
+package Main.OthersTest;
+
+import Main.Others.AudioMixer;
+import Main.Others.MusicStreamer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MusicStreamerTest tests to see if the MusicStreamer streams songs into the AudioMixer on its own thread, loops them
+ * without a gap, pauses and resumes them where they were and fades between songs. The blocks are mixed by the tests
+ * instead of the audio thread, so no audio device is needed.
+ */
+class MusicStreamerTest {
+
+    /**
+     * The folder holding the songs written for the tests.
+     */
+    File folder;
+    /**
+     * MusicStreamer used in the tests.
+     */
+    MusicStreamer streamer;
+    /**
+     * AudioMixer the songs are mixed by.
+     */
+    AudioMixer mixer;
+    /**
+     * The array the mixed samples are written to.
+     */
+    short[] out;
+
+    /**
+     * A song counting up its frames, a loud song and a quiet song are written before every test.
+     * @throws IOException If the songs cannot be written.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        folder = Files.createTempDirectory("bgm").toFile();
+        short[] ramp = new short[1000 * 2];
+        for(int i = 0; i < ramp.length; i++)
+            ramp[i] = (short) (i / 2);
+        write("Ramp",ramp);
+        write("Loud",constant(30000,10000));
+        write("Quiet",constant(30000,-10000));
+        streamer = new MusicStreamer(folder);
+        mixer = new AudioMixer(4);
+        mixer.setMusic(streamer);
+        out = new short[512];
+        streamer.start();
+    }
+
+    /**
+     * The streamer is closed and the songs are deleted after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        streamer.close();
+        mixer.close();
+        File[] files = folder.listFiles();
+        if(files != null)
+            for(File file : files)
+                file.delete();
+        folder.delete();
+        streamer = null;
+        mixer = null;
+        out = null;
+    }
+
+    /**
+     * This method creates a song with every sample set to the same value.
+     * @param frames The number of stereo frames of the song.
+     * @param value The value of every sample.
+     * @return The samples of the song are returned.
+     */
+    short[] constant(int frames, int value) {
+        short[] samples = new short[frames * 2];
+        for(int i = 0; i < samples.length; i++)
+            samples[i] = (short) value;
+        return samples;
+    }
+
+    /**
+     * This method writes a song as a WAV file in the format of the AudioMixer.
+     * @param name The name of the song.
+     * @param samples The samples of the song, with the channels interleaved.
+     * @throws IOException If the song cannot be written.
+     */
+    void write(String name, short[] samples) throws IOException {
+        byte[] bytes = new byte[samples.length * 2];
+        for(int i = 0; i < samples.length; i++) {
+            bytes[i * 2] = (byte) samples[i];
+            bytes[i * 2 + 1] = (byte) (samples[i] >> 8);
+        }
+        AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(bytes),AudioMixer.FORMAT,samples.length / 2);
+        AudioSystem.write(stream,AudioFileFormat.Type.WAVE,new File(folder,name + ".wav"));
+    }
+
+    /**
+     * This method waits for the streamer to buffer a block and mixes it.
+     * @param frames The number of frames to be mixed.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    void mix(int frames) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while(streamer.getBuffered() < frames && System.currentTimeMillis() < end)
+            Thread.sleep(1);
+        mixer.mix(out,frames);
+    }
+
+    /**
+     * This method waits for the streamer to open the song requested.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    void waitChanged() throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while(streamer.isChanging() && System.currentTimeMillis() < end)
+            Thread.sleep(1);
+        assertFalse(streamer.isChanging());
+    }
+
+    /**
+     * This tests if a song loops without a gap. Test returns true if the frames mixed count up to the end of the song
+     * and carry on from the start of the song at once, three times over.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Test
+    void loop() throws InterruptedException {
+        streamer.play("Ramp");
+        for(int frame = 0; frame < 3000; frame += 250) {
+            mix(250);
+            for(int i = 0; i < 250; i++) {
+                assertEquals((frame + i) % 1000,out[i * 2]);
+                assertEquals((frame + i) % 1000,out[i * 2 + 1]);
+            }
+        }
+    }
+
+    /**
+     * This tests if a paused song is silent and resumes where it was paused. Test returns true if nothing is mixed
+     * while paused and the song goes on from the same frame after resuming.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Test
+    void pause() throws InterruptedException {
+        streamer.play("Ramp");
+        mix(100);
+        streamer.pause();
+        assertFalse(streamer.isPlaying());
+        mixer.mix(out,100);
+        assertEquals(0,out[0]);
+        assertEquals(0,out[198]);
+        streamer.resume();
+        mix(100);
+        assertEquals(100,out[0]);
+        assertEquals(199,out[198]);
+    }
+
+    /**
+     * This tests if changing the song while one is playing fades the old song into the new one. Test returns true if
+     * the samples move steadily from the old song to the new one and the new song is heard alone after half a second.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Test
+    void fade() throws InterruptedException {
+        streamer.play("Loud");
+        mix(256);
+        assertEquals(10000,out[0]);
+        streamer.play("Quiet");
+        waitChanged();
+        int last = 10000;
+        for(int frame = 0; frame < 22050; frame += 256) {
+            mix(256);
+            assertTrue(out[0] <= last,"the fade went back at frame " + frame);
+            last = out[510];
+        }
+        assertTrue(last < -9000);
+        mix(256);
+        assertEquals(-10000,out[0]);
+        assertEquals("Quiet",streamer.getTrack());
+    }
+
+    /**
+     * This tests if the fade starts where the reader is and keeps the samples of the old song already streamed. Test
+     * returns true if every frame of the fade holds the old song carrying on from the frame it was at, mixed with the
+     * new song by the share of the fade passed.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Test
+    void fadeKeepsBuffered() throws InterruptedException {
+        streamer.play("Ramp");
+        mix(256);
+        streamer.play("Quiet");
+        waitChanged();
+        for(int frame = 0; frame < 22050; frame += 256) {
+            mix(256);
+            for(int i = 0; i < 256 && frame + i < 22050; i++) {
+                double old = (22050 - frame - i) / 22050.0;
+                double expected = (256 + frame + i) % 1000 * old - 10000 * (1 - old);
+                assertEquals(expected,out[i * 2],1.5,"the fade is wrong at frame " + (frame + i));
+            }
+        }
+    }
+
+    /**
+     * This tests if changing the song does not wait for the reader. Test returns true if the song is changed while
+     * the ring is full and nothing is read from it.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Test
+    void changeWhileFull() throws InterruptedException {
+        streamer.play("Ramp");
+        long end = System.currentTimeMillis() + 5000;
+        int buffered = 0;
+        while(System.currentTimeMillis() < end) {
+            Thread.sleep(1);
+            buffered = streamer.getBuffered();
+            if(buffered == 8192)
+                break;
+        }
+        assertEquals(8192,buffered);
+        assertTimeoutPreemptively(Duration.ofSeconds(5),() -> streamer.play("Loud"));
+        waitChanged();
+        assertEquals(8192,streamer.getBuffered());
+        assertEquals("Loud",streamer.getTrack());
+    }
+
+    /**
+     * This tests if a missing song is silent. Test returns true if nothing is mixed for the missing song and the next
+     * song plays from its start.
+     * @throws InterruptedException If the wait is interrupted.
+     */
+    @Test
+    void missing() throws InterruptedException {
+        streamer.pause();
+        streamer.play("Missing");
+        waitChanged();
+        assertEquals(0,streamer.getBuffered());
+        mixer.mix(out,256);
+        assertEquals(0,out[0]);
+        streamer.play("Ramp");
+        mix(10);
+        assertEquals(0,out[0]);
+        assertEquals(9,out[18]);
+    }
+}
@@ -0,0 +1,119 @@
+package Main.OthersTest;
+
+import Main.Others.AudioMixer;
+import Main.Others.SoundEffectPool;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * SoundEffectPoolTest tests to see if the SoundEffectPool decodes all the sound effects of the game once and plays
+ * them through the AudioMixer without reading files. The mixer is not started, so no audio device is needed.
+ */
+class SoundEffectPoolTest {
+
+    /**
+     * The names of the sound effects played by the game.
+     */
+    static final String[] NAMES = {"BallLost","Bounce","Damage","Deflect","GameOver","LastLevel","NextLevel","Pickup"};
+
+    /**
+     * AudioMixer the sound effects are loaded into.
+     */
+    AudioMixer mixer;
+    /**
+     * SoundEffectPool used in the tests.
+     */
+    SoundEffectPool pool;
+
+    /**
+     * A new SoundEffectPool is loaded from the sound effects of the game before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        mixer = new AudioMixer(24);
+        pool = new SoundEffectPool(new File("sounds/SoundEffects"),4,mixer);
+    }
+
+    /**
+     * The SoundEffectPool and AudioMixer are cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        mixer.close();
+        mixer = null;
+        pool = null;
+    }
+
+    /**
+     * This tests if every sound effect of the game is decoded. Test returns true if all are loaded and the long sound
+     * effects have one voice while the short ones have more.
+     */
+    @Test
+    void loaded() {
+        for(String name : NAMES)
+            assertTrue(pool.isLoaded(name),name);
+        assertFalse(pool.isLoaded("Missing"));
+        assertEquals(-1,pool.getId("Missing"));
+        assertEquals(1,pool.getVoices("LastLevel"));
+        assertEquals(4,pool.getVoices("Bounce"));
+    }
+
+    /**
+     * This tests if playing a sound effect reuses the samples decoded when the pool was loaded. Test returns true if
+     * unknown sound effects are ignored, a sound effect never uses more than its voices, its id never changes and
+     * nothing new is loaded into the mixer.
+     */
+    @Test
+    void play() {
+        pool.play("Missing");
+        assertEquals(0,mixer.getActiveVoices());
+        int bounce = pool.getId("Bounce");
+        for(int i = 0; i < 200; i++)
+            pool.play(NAMES[i % 4]);
+        assertEquals(bounce,pool.getId("Bounce"));
+        assertEquals(4,mixer.getActiveVoices(bounce));
+        assertEquals(1,mixer.getActiveVoices(pool.getId("BallLost")));
+        assertEquals(NAMES.length,mixer.load(new short[2],1));
+    }
+
+    /**
+     * This tests if playing a sound effect whose voices are all busy restarts one of them without allocating. Test
+     * returns true if the thread allocates less than a byte for each play, which it would if a line or a buffer was
+     * created for each play.
+     */
+    @Test
+    void busyNoAllocation() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long id = Thread.currentThread().getId();
+        for(int i = 0; i < 10_000; i++) //fill the voices and load the classes used
+            pool.play("Bounce");
+        assertEquals(4,mixer.getActiveVoices(pool.getId("Bounce")));
+        long before = threads.getThreadAllocatedBytes(id);
+        for(int i = 0; i < 10_000; i++)
+            pool.play("Bounce");
+        long allocated = threads.getThreadAllocatedBytes(id) - before;
+        assertTrue(allocated < 10_000,"playing allocated " + allocated + " bytes");
+        assertEquals(4,mixer.getActiveVoices(pool.getId("Bounce")));
+    }
+
+    /**
+     * This tests if a folder without sound effects leaves the pool empty. Test returns true if nothing is loaded and
+     * playing does nothing.
+     */
+    @Test
+    void missingFolder() {
+        SoundEffectPool empty = new SoundEffectPool(new File("sounds/Missing"),4,mixer);
+        assertFalse(empty.isLoaded("Bounce"));
+        empty.play("Bounce");
+        assertEquals(0,mixer.getActiveVoices());
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the test files for testing the other classes of the game. The preloading and pooled playback
+ * of the sound effects are tested here.
+ */
+package Main.OthersTest;
\ No newline at end of file
@@ -0,0 +1,82 @@
+package Main.PhysicsTest;
+
+import Main.Models.BallPool;
+import Main.Physics.BallGrid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BallGridTest tests to see if the balls near a rectangle are found correctly by the grid. A pool of 1000 balls spread
+ * over a screen of 600 by 450 pixels is used, with some balls outside the screen.
+ */
+class BallGridTest {
+
+    /**
+     * The balls used in the tests.
+     */
+    BallPool balls;
+    /**
+     * BallGrid object used in the tests.
+     */
+    BallGrid grid;
+
+    /**
+     * A new grid of 1000 balls is built before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        balls = new BallPool(10,new Point(0,0),10);
+        for(int i = 0; i < 1000; i++)
+            balls.spawn().moveTo((i * 37) % 640 - 20,(i * 53) % 490 - 20);
+        grid = new BallGrid(600,450,30);
+        grid.build(balls);
+    }
+
+    /**
+     * The grid is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        balls = null;
+        grid = null;
+    }
+
+    /**
+     * This tests that the query finds every ball inside the rectangle exactly once.
+     */
+    @Test
+    void query() {
+        int[] out = new int[balls.capacity()];
+        int found = grid.query(100,100,250,200,out);
+        boolean[] seen = new boolean[balls.getActive()];
+        for(int i = 0; i < found; i++) {
+            assertFalse(seen[out[i]]);
+            seen[out[i]] = true;
+        }
+        for(int i = 0; i < balls.getActive(); i++) {
+            double x = balls.get(i).getX(), y = balls.get(i).getY();
+            if(x >= 100 && x <= 250 && y >= 100 && y <= 200)
+                assertTrue(seen[i]);
+        }
+        assertTrue(found < balls.getActive() / 4);
+    }
+
+    /**
+     * This tests that balls outside the screen are still found and that a rebuilt grid finds the moved balls.
+     */
+    @Test
+    void rebuild() {
+        int[] out = new int[balls.capacity()];
+        balls.get(0).moveTo(-50,-50);
+        grid.build(balls);
+        boolean found = false;
+        for(int i = grid.query(-60,-60,5,5,out) - 1; i >= 0; i--)
+            found |= out[i] == 0;
+        assertTrue(found);
+    }
+}
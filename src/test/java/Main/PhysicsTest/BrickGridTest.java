@@ -0,0 +1,87 @@
+package Main.PhysicsTest;
+
+import Main.Models.BrickStore;
+import Main.Physics.BrickGrid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BrickGridTest tests to see if the bricks near a rectangle are found correctly by the grid. A board of 1000 by 800
+ * pixels is used with a row of 50 by 20 pixel bricks and an offset row of 120 by 30 pixel bricks, so the layout does
+ * not match the default game screen.
+ */
+class BrickGridTest {
+
+    /**
+     * The bricks used in the tests.
+     */
+    BrickStore bricks;
+    /**
+     * BrickGrid object used in the tests.
+     */
+    BrickGrid grid;
+
+    /**
+     * A new grid of bricks is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        bricks = new BrickStore(28,new Dimension(1000,800));
+        for(int i = 0; i < 20; i++)
+            bricks.add(1,i * 50,100,50,20);
+        for(int i = 0; i < 8; i++)
+            bricks.add(2,35 + i * 120,120,120,30);
+        grid = new BrickGrid(bricks);
+    }
+
+    /**
+     * The grid is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        bricks = null;
+        grid = null;
+    }
+
+    /**
+     * This tests that every brick is added to the grid.
+     */
+    @Test
+    void size() {
+        assertEquals(grid.size(),28);
+    }
+
+    /**
+     * This tests that the query finds every brick overlapping the rectangle exactly once and no brick far away.
+     */
+    @Test
+    void query() {
+        int[] out = new int[grid.size()];
+        int found = grid.query(140,110,260,125,out);
+        boolean[] seen = new boolean[grid.size()];
+        for(int i = 0; i < found; i++) {
+            assertFalse(seen[out[i]]);
+            seen[out[i]] = true;
+            assertTrue(bricks.getX(out[i]) + bricks.getWidth(out[i]) >= 20 && bricks.getX(out[i]) <= 380);
+        }
+        for(int i = 0; i < grid.size(); i++) {
+            if(new Rectangle(bricks.getX(i),bricks.getY(i),bricks.getWidth(i),bricks.getHeight(i)).intersects(140,110,120,15))
+                assertTrue(seen[i]);
+        }
+    }
+
+    /**
+     * This tests that a rectangle away from all the bricks finds nothing.
+     */
+    @Test
+    void queryOutside() {
+        int[] out = new int[grid.size()];
+        assertEquals(grid.query(0,500,1000,800,out),0);
+        assertEquals(new BrickGrid(new BrickStore(0,new Dimension(1000,800))).query(0,0,1000,800,out),0);
+    }
+}
@@ -0,0 +1,99 @@
+package Main.PhysicsTest;
+
+import Main.Physics.SweptCollision;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SweptCollisionTest tests to see if the time and normal of impact between a moving ball and a brick are found
+ * correctly. The brick used in the tests is 60 by 20 pixels at the top-left corner of the screen and the ball has a
+ * radius of 5 pixels.
+ */
+class SweptCollisionTest {
+
+    /**
+     * SweptCollision object used in the tests.
+     */
+    SweptCollision collision;
+
+    /**
+     * A new SweptCollision object is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        collision = new SweptCollision();
+    }
+
+    /**
+     * The SweptCollision object is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        collision = null;
+    }
+
+    /**
+     * This tests an impact to the bottom of the brick.
+     */
+    @Test
+    void sweepBottom() {
+        assertTrue(collision.sweep(30,35,0,-20,5,0,0,60,20));
+        assertEquals(collision.getTime(),0.5,1e-9);
+        assertEquals(collision.getNormalX(),0);
+        assertEquals(collision.getNormalY(),1);
+    }
+
+    /**
+     * This tests that a ball which moves through the whole brick in a single step still hits it.
+     */
+    @Test
+    void sweepThrough() {
+        assertTrue(collision.sweep(-20,10,200,0,5,0,0,60,20));
+        assertEquals(collision.getTime(),0.075,1e-9);
+        assertEquals(collision.getNormalX(),-1);
+        assertEquals(collision.getNormalY(),0);
+    }
+
+    /**
+     * This tests an impact to the corner of the brick.
+     */
+    @Test
+    void sweepCorner() {
+        assertTrue(collision.sweep(70,30,-10,-10,5,0,0,60,20));
+        assertTrue(collision.getNormalX() > 0);
+        assertTrue(collision.getNormalY() > 0);
+        assertEquals(Math.hypot(collision.getNormalX(),collision.getNormalY()),1,1e-9);
+    }
+
+    /**
+     * This tests that a ball touching the brick only hits it when moving towards it, not when moving away from it.
+     */
+    @Test
+    void sweepTouching() {
+        assertFalse(collision.sweep(30,25,-2,1,5,0,0,60,20));
+        assertTrue(collision.sweep(30,25,-2,-1,5,0,0,60,20));
+        assertEquals(collision.getTime(),0,1e-9);
+    }
+
+    /**
+     * This tests that a ball which misses the brick, stops short of it or already overlaps it does not hit it.
+     */
+    @Test
+    void sweepMiss() {
+        assertFalse(collision.sweep(70,30,0,-40,5,0,0,60,20));
+        assertFalse(collision.sweep(30,50,0,-10,5,0,0,60,20));
+        assertFalse(collision.sweep(30,22,0,-10,5,0,0,60,20));
+    }
+
+    /**
+     * This tests that a ball overlapping the brick is detected.
+     */
+    @Test
+    void overlaps() {
+        assertTrue(collision.overlaps(30,22,5,0,0,60,20));
+        assertFalse(collision.overlaps(64,24,5,0,0,60,20));
+    }
+}
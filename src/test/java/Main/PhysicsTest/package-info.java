@@ -0,0 +1,5 @@
+/**
+ * This package contains the test files for testing the physics of the game. The collision detection of SweptCollision
+ * and the spatial indexes of BrickGrid and BallGrid are tested here.
+ */
+package Main.PhysicsTest;
\ No newline at end of file
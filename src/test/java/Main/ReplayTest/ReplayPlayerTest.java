@@ -0,0 +1,191 @@
+package Main.ReplayTest;
+
+import Main.MVC.GameBoard;
+import Main.MVC.GameBoardController;
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+import Main.Replay.InputReplay;
+import Main.Replay.ReplayPlayer;
+import Main.Replay.VarInts;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReplayPlayerTest tests to see if a recorded game played back into a new game gives the same game, and if the replays
+ * are compact.
+ */
+class ReplayPlayerTest {
+
+    /**
+     * The game which is recorded.
+     */
+    GameSimulation simulation;
+    /**
+     * The stream the replay is recorded into.
+     */
+    ByteArrayOutputStream out;
+
+    /**
+     * A new true random game is created and recorded before every test.
+     * @throws IOException If the header of the replay cannot be encoded.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        int[][] choice = new int[5][12];
+        for(int[] level : choice)
+            level[0] = 8;
+        simulation = new GameSimulation(choice,new Dimension(600,450),GameListener.NONE,100,99);
+        out = new ByteArrayOutputStream();
+        simulation.startRecording(out);
+    }
+
+    /**
+     * The game is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        simulation.stopRecording();
+        simulation = null;
+    }
+
+    /**
+     * This tests if a game played by the autopilot for 5 minutes of game time is played back into the same game.
+     * Test returns true if the player, ball, bricks and score match at the end of the replay.
+     * @throws IOException If the replay cannot be read.
+     */
+    @Test
+    void playbackMatches() throws IOException {
+        Autopilot autopilot = new Autopilot(simulation,600);
+        for(int i = 0; i < 30000 && !simulation.getGameBoard().isEnded(); i++) {
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            if(i % 5000 == 2500) { //visit the pause menu now and then
+                simulation.togglePauseMenu();
+                simulation.continueGame();
+            }
+            autopilot.step();
+            simulation.update();
+        }
+        simulation.stopRecording();
+
+        InputReplay replay = InputReplay.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(simulation.getTick(),replay.getLength());
+        assertTrue(replay.getInputCount() > 0);
+
+        ReplayPlayer player = new ReplayPlayer(replay,GameListener.NONE);
+        assertEquals(simulation.getTick(),player.run());
+        assertTrue(player.isFinished());
+
+        GameBoard expected = simulation.getGameBoard();
+        GameBoard actual = player.getSimulation().getGameBoard();
+        assertEquals(expected.getPlayer().getPlayerFace().getLocation(),actual.getPlayer().getPlayerFace().getLocation());
+        assertEquals(expected.getBalls().get(0).getX(),actual.getBalls().get(0).getX());
+        assertEquals(expected.getBalls().get(0).getY(),actual.getBalls().get(0).getY());
+        assertEquals(expected.getLevel(),actual.getLevel());
+        assertEquals(expected.getBrickCount(),actual.getBrickCount());
+        assertEquals(expected.getScore(0),actual.getScore(0));
+    }
+
+    /**
+     * This tests if held keys are only recorded when the movement changes, so a long game is still small. Test returns
+     * true if a thousand repeats of a held key add one input.
+     * @throws IOException If the replay cannot be read.
+     */
+    @Test
+    void repeatsNotRecorded() throws IOException {
+        for(int i = 0; i < 1000; i++) {
+            simulation.moveLeft();
+            simulation.update();
+        }
+        simulation.stop();
+        simulation.run(100000);
+        simulation.stopRecording();
+
+        InputReplay replay = InputReplay.read(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(replay.getInputCount() <= 2 + 100000 / 100); //move, stop and at most a resume for every pause
+        assertTrue(out.size() < 200 + replay.getInputCount() * 4);
+    }
+
+    /**
+     * This tests if a game which jumps back to a snapshot after its inputs were handed to the background thread is
+     * still played back into the same game. Test returns true if the replay drops the inputs after the snapshot and
+     * gives the game which was played.
+     * @throws IOException If the snapshot cannot be restored or the replay cannot be read.
+     */
+    @Test
+    void jumpBackAfterWritten() throws IOException {
+        byte[] snapshot = null;
+        for(int i = 0; i < 6000; i++) { //a key every update cycle hands the inputs to the background thread
+            if(i == 1000)
+                snapshot = simulation.snapshot();
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            if(i % 2 == 0)
+                simulation.moveLeft();
+            else
+                simulation.moveRight();
+            simulation.update();
+        }
+        simulation.restore(snapshot);
+        for(int i = 0; i < 500; i++) {
+            if(!simulation.getGameBoard().isNotPaused())
+                simulation.togglePause();
+            simulation.moveRight();
+            simulation.update();
+        }
+        simulation.stopRecording();
+
+        InputReplay replay = InputReplay.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(1500,replay.getLength());
+        ReplayPlayer player = new ReplayPlayer(replay,GameListener.NONE);
+        player.run();
+        assertArrayEquals(simulation.snapshot(),player.getSimulation().snapshot());
+    }
+
+    /**
+     * This tests if a replay with a tick rate which cannot be played is refused. Test returns true if an IOException
+     * is thrown for a tick rate of 0 and of one above the highest tick rate.
+     * @throws IOException If the replay cannot be written.
+     */
+    @Test
+    void badTickRate() throws IOException {
+        simulation.stopRecording();
+        byte[] bytes = out.toByteArray();
+        byte[] zero = bytes.clone();
+        zero[13] = 0; //the tick rate follows the magic number, version and seed
+        assertThrows(IOException.class,() -> InputReplay.read(new ByteArrayInputStream(zero)));
+
+        ByteArrayOutputStream fast = new ByteArrayOutputStream();
+        fast.write(bytes,0,13);
+        VarInts.write(fast,GameBoardController.MAX_TICK_RATE + 1);
+        fast.write(bytes,14,bytes.length - 14);
+        assertThrows(IOException.class,() -> InputReplay.read(new ByteArrayInputStream(fast.toByteArray())));
+    }
+
+    /**
+     * This tests if numbers are written and read back the same, and if small numbers take one byte.
+     * @throws IOException If the numbers cannot be read.
+     */
+    @Test
+    void varInts() throws IOException {
+        long[] values = {0,1,63,127,128,300,Integer.MAX_VALUE,Long.MAX_VALUE,-1,Long.MIN_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for(long value : values)
+            VarInts.writeSigned(bytes,value);
+        VarInts.write(bytes,127);
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+        for(long value : values)
+            assertEquals(value,VarInts.readSigned(in));
+        assertEquals(1,in.available());
+        assertEquals(127,VarInts.read(in));
+    }
+}
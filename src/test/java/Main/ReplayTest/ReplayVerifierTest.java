@@ -0,0 +1,131 @@
+package Main.ReplayTest;
+
+import Main.MVC.GameListener;
+import Main.MVC.GameSimulation;
+import Main.Replay.InputReplay;
+import Main.Replay.ReplayVerifier;
+import Main.Replay.ScoreClaim;
+import Main.Replay.VerificationReport;
+import Main.Simulation.Autopilot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReplayVerifierTest tests to see if highscore claims are confirmed by their replays, and if claims whose score, time,
+ * level or replay do not match are rejected.
+ */
+class ReplayVerifierTest {
+
+    /**
+     * ReplayVerifier used in the tests.
+     */
+    ReplayVerifier verifier;
+    /**
+     * The replay of the last recorded game, which goes on for 50 update cycles after the claim.
+     */
+    InputReplay longer;
+
+    /**
+     * A new verifier with 4 threads is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        verifier = new ReplayVerifier(4);
+    }
+
+    /**
+     * The verifier is shut down after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+        verifier = null;
+    }
+
+    /**
+     * This method records a game with a single brick played by the autopilot and returns the claim made when the
+     * first level is cleared, the same way the highscore popup of the game makes it. The game goes on for 50 more
+     * update cycles, whose replay is kept in longer.
+     * @param seed The seed of the game.
+     * @return The claim of the first level is returned.
+     * @throws IOException If the recording cannot be started.
+     */
+    private ScoreClaim recordClaim(long seed) throws IOException {
+        int[][] choice = new int[5][12];
+        for(int[] level : choice)
+            level[0] = 1; //true ordered with a single brick
+        ScoreClaim[] claim = new ScoreClaim[1];
+        GameSimulation[] simulation = new GameSimulation[1];
+        simulation[0] = new GameSimulation(choice,new Dimension(600,450),new GameListener() {
+            @Override
+            public void showScoreBoard(int level, int[][] scoreAndTime) {
+                if(claim[0] == null)
+                    claim[0] = new ScoreClaim(level,scoreAndTime[level][0],scoreAndTime[level][1],simulation[0].getReplaySoFar());
+            }
+        },100,seed);
+        simulation[0].startRecording(new ByteArrayOutputStream());
+        Autopilot autopilot = new Autopilot(simulation[0],600);
+        for(int i = 0; i < 100000 && claim[0] == null; i++) {
+            if(!simulation[0].getGameBoard().isNotPaused())
+                simulation[0].togglePause();
+            autopilot.step();
+            simulation[0].update();
+        }
+        simulation[0].run(50);
+        longer = simulation[0].getReplaySoFar();
+        simulation[0].stopRecording();
+        assertNotNull(claim[0]);
+        return claim[0];
+    }
+
+    /**
+     * This tests if a true claim is confirmed and if claims with a changed score, time, level or a replay which goes
+     * on after the claim are rejected.
+     * @throws IOException If the recording cannot be started.
+     */
+    @Test
+    void verify() throws IOException {
+        ScoreClaim claim = recordClaim(1);
+        assertTrue(verifier.verify(claim));
+        assertFalse(verifier.verify(new ScoreClaim(claim.getLevel(),claim.getScore() + 1,claim.getTime(),claim.getReplay())));
+        assertFalse(verifier.verify(new ScoreClaim(claim.getLevel(),claim.getScore(),claim.getTime() - 1,claim.getReplay())));
+        assertFalse(verifier.verify(new ScoreClaim(2,claim.getScore(),claim.getTime(),claim.getReplay())));
+        assertFalse(verifier.verify(new ScoreClaim(claim.getLevel(),claim.getScore(),claim.getTime(),longer)));
+    }
+
+    /**
+     * This tests if a claim is written and read back the same, and if a batch of claims is verified in order on
+     * several threads.
+     * @throws IOException If the claims cannot be recorded, written or read.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    void verifyAll() throws IOException, InterruptedException {
+        ScoreClaim claim = recordClaim(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        claim.write(out);
+        ScoreClaim read = ScoreClaim.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(claim.getScore(),read.getScore());
+        assertEquals(claim.getReplay().getLength(),read.getReplay().getLength());
+
+        List<ScoreClaim> claims = new ArrayList<>();
+        for(int i = 0; i < 40; i++)
+            claims.add(i % 4 == 3 ? new ScoreClaim(read.getLevel(),read.getScore() * 2,read.getTime(),read.getReplay()) : read);
+        VerificationReport report = verifier.verifyAll(claims);
+        assertEquals(40,report.getClaims());
+        assertEquals(30,report.getVerified());
+        for(int i = 0; i < 40; i++)
+            assertEquals(i % 4 != 3,report.isVerified(i));
+        assertEquals(40 * read.getReplay().getLength(),report.getTotalTicks());
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains the test files for testing the recording, playback and verification of games. The encoding of
+ * the replays, the playback of recorded games by ReplayPlayer and the checking of highscore claims by ReplayVerifier
+ * are tested here.
+ */
+package Main.ReplayTest;
\ No newline at end of file
@@ -0,0 +1,88 @@
+package Main.SimulationTest;
+
+import Main.Simulation.GameResult;
+import Main.Simulation.SimulationFarm;
+import Main.Simulation.SimulationReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimulationFarmTest tests to see if batches of games played by the autopilot give the same results however many
+ * threads they are played on, and if the autopilot keeps the ball in play.
+ */
+class SimulationFarmTest {
+
+    /**
+     * SimulationFarm used in the tests, which plays the default levels for at most 30 seconds of game time.
+     */
+    SimulationFarm farm;
+
+    /**
+     * A new farm is created before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        farm = new SimulationFarm(new int[5][12],new Dimension(600,450),100,3000);
+    }
+
+    /**
+     * The farm is cleaned up after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        farm = null;
+    }
+
+    /**
+     * This tests that a batch played on 4 threads gives the same results in the same order as on a single thread.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    void runIsDeterministic() throws InterruptedException {
+        SimulationReport single = farm.run(8,42,1);
+        SimulationReport pooled = farm.run(8,42,4);
+        assertEquals(single.getResults().size(),8);
+        for(int i = 0; i < 8; i++) {
+            GameResult a = single.getResults().get(i);
+            GameResult b = pooled.getResults().get(i);
+            assertEquals(a.getSeed(),b.getSeed());
+            assertEquals(a.getTicks(),b.getTicks());
+            assertEquals(a.getScore(),b.getScore());
+            assertEquals(a.getLevel(),b.getLevel());
+        }
+        assertEquals(single.getTotalTicks(),pooled.getTotalTicks());
+    }
+
+    /**
+     * This tests that the autopilot catches the ball on the default first level, so no game is lost and every game
+     * breaks some bricks.
+     */
+    @Test
+    void autopilotKeepsBall() {
+        for(long seed = 0; seed < 4; seed++) {
+            GameResult result = farm.play(seed);
+            assertEquals(result.getGameOvers(),0);
+            assertEquals(result.getTicks(),3000);
+            assertTrue(result.getScore() > 0);
+        }
+    }
+
+    /**
+     * This tests the percentiles and mean used in the reports.
+     */
+    @Test
+    void statistics() {
+        double[] sorted = {1,2,3,4,5,6,7,8,9,10};
+        assertEquals(SimulationReport.percentile(sorted,50),5);
+        assertEquals(SimulationReport.percentile(sorted,90),9);
+        assertEquals(SimulationReport.percentile(sorted,0),1);
+        assertEquals(SimulationReport.percentile(sorted,100),10);
+        assertEquals(SimulationReport.mean(sorted),5.5);
+        assertEquals(SimulationReport.percentile(new double[0],50),0);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the test files for testing the simulation of many headless games. The autopilot, the
+ * results of a batch of games and the reports of SimulationFarm are tested here.
+ */
+package Main.SimulationTest;
\ No newline at end of file